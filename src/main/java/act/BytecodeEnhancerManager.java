@@ -38,6 +38,17 @@ public class BytecodeEnhancerManager extends DestroyableBase {
         return l.isEmpty() ? null : ByteCodeVisitor.chain(cw, l);
     }
 
+    /**
+     * Returns the classes of all registered app enhancers in registration order
+     */
+    public List<Class<?>> appEnhancerClasses() {
+        List<Class<?>> l = C.newList();
+        for (AppByteCodeEnhancer e : appEnhancers) {
+            l.add(e.getClass());
+        }
+        return l;
+    }
+
     public ByteCodeVisitor generalEnhancer(String className, $.Var<ClassWriter> cw) {
         List<AsmByteCodeEnhancer> l = generalFilter(className);
         return l.isEmpty() ? null : ByteCodeVisitor.chain(cw, l);
@@ -2,7 +2,15 @@ package act;
 
 import act.conf.AppConfig;
 import org.osgl.http.H;
+import org.osgl.util.E;
+import org.osgl.util.IO;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.util.Locale;
 
 public abstract class ResponseImplBase<T extends ResponseImplBase> extends H.Response<T> {
@@ -26,6 +34,53 @@ public abstract class ResponseImplBase<T extends ResponseImplBase> extends H.Res
         return me();
     }
 
+    /**
+     * Send `length` bytes of a file starting from `offset` as the
+     * response body.
+     *
+     * The default implementation transfers the file region into the
+     * response output stream. Network implementations that support zero
+     * copy file transfer shall override this method and write the region
+     * without blocking the calling thread, in which case the exchange is
+     * completed once the transfer finished.
+     *
+     * @param file the file to be sent
+     * @param offset the position in the file to start with
+     * @param length the number of bytes to be sent
+     */
+    public void sendFile(File file, long offset, long length) {
+        FileChannel channel = null;
+        try {
+            channel = new RandomAccessFile(file, "r").getChannel();
+            WritableByteChannel target = Channels.newChannel(outputStream());
+            long end = offset + length;
+            while (offset < end) {
+                long n = channel.transferTo(offset, end - offset, target);
+                if (n <= 0) {
+                    break;
+                }
+                offset += n;
+            }
+        } catch (IOException e) {
+            throw E.ioException(e);
+        } finally {
+            IO.close(channel);
+        }
+    }
+
+    /**
+     * Whether the calling thread could write to the {@link #outputStream()}.
+     *
+     * Network implementations shall return `false` when the calling thread is
+     * a non-blocking IO thread, in which case the content shall be sent with
+     * {@link #writeContent(java.nio.ByteBuffer)}
+     *
+     * @return `true` if blocking write is allowed
+     */
+    public boolean blockingAllowed() {
+        return true;
+    }
+
     protected final T me() {
         return (T) this;
     }
@@ -28,6 +28,10 @@ import org.osgl.web.util.UserAgent;
 import javax.enterprise.context.RequestScoped;
 import javax.inject.Inject;
 import javax.validation.ConstraintViolation;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.*;
 
 import static act.controller.Controller.Util.*;
@@ -56,7 +60,14 @@ public class ActionContext extends ActContext.Base<ActionContext> implements Des
     private H.Flash flash;
     private Set<Map.Entry<String, String[]>> requestParamCache;
     private Map<String, String> extraParams;
+    // path variables recorded by the compiled route table, see #pathVars
+    private String pathVarSource;
+    private String[] pathVarNames;
+    private int[] pathVarSlots = new int[9];
+    private String[] pathVarVals;
     private volatile Map<String, String[]> bodyParams;
+    // set once the body stream is taken, see #takeBodyStream
+    private BodyStream bodyStream;
     private Map<String, String[]> allParams;
     private String actionPath; // e.g. com.mycorp.myapp.controller.AbcController.foo
     private State state;
@@ -238,6 +249,11 @@ public class ActionContext extends ActContext.Base<ActionContext> implements Des
     }
 
     public String body() {
+        BodyStream stream = bodyStream;
+        if (null != stream && null == bodyParams.get(REQ_BODY)) {
+            String body = stream.content(request.characterEncoding());
+            bodyParams.put(REQ_BODY, S.empty(body) ? null : new String[]{body});
+        }
         return paramVal(REQ_BODY);
     }
 
@@ -246,8 +262,135 @@ public class ActionContext extends ActContext.Base<ActionContext> implements Des
         return this;
     }
 
+    /**
+     * Returns the slot array used by the router to record path variable
+     * boundaries. The array is reused across routing calls on this context
+     * and grows only when a route declares more variables than it can hold.
+     *
+     * @param capacity the minimum length required
+     * @return the slot array
+     */
+    public int[] pathVarSlots(int capacity) {
+        if (pathVarSlots.length < capacity) {
+            pathVarSlots = new int[capacity];
+        }
+        return pathVarSlots;
+    }
+
+    /**
+     * Record path variables matched by the router. `slots[1 + 2 * i]` and
+     * `slots[2 + 2 * i]` are the start and end offset of the value of
+     * `names[i]` in `path`. A negative start offset means the variable is absent.
+     *
+     * The values are decoded lazily when they are looked up.
+     *
+     * @param path the routed path
+     * @param names the path variable names in slot order
+     * @param slots the slot array returned by {@link #pathVarSlots(int)}
+     * @return this context
+     */
+    public ActionContext pathVars(String path, String[] names, int[] slots) {
+        this.pathVarSource = path;
+        this.pathVarNames = names;
+        this.pathVarSlots = slots;
+        this.pathVarVals = null;
+        return this;
+    }
+
+    private String pathVarVal(String name) {
+        String[] names = pathVarNames;
+        if (null == names) {
+            return null;
+        }
+        for (int i = names.length - 1; i >= 0; --i) {
+            if (name.equals(names[i])) {
+                return pathVarVal(i);
+            }
+        }
+        return null;
+    }
+
+    private String pathVarVal(int i) {
+        int start = pathVarSlots[1 + 2 * i];
+        if (start < 0) {
+            return null;
+        }
+        if (null == pathVarVals) {
+            pathVarVals = new String[pathVarNames.length];
+        }
+        String val = pathVarVals[i];
+        if (null == val) {
+            val = S.urlDecode(pathVarSource.substring(start, pathVarSlots[2 + 2 * i]));
+            pathVarVals[i] = val;
+        }
+        return val;
+    }
+
+    /*
+     * Move path variables into extra params so they show up
+     * in the views that iterate through all params
+     */
+    private void flushPathVars() {
+        String[] names = pathVarNames;
+        if (null == names) {
+            return;
+        }
+        for (int i = 0; i < names.length; ++i) {
+            String name = names[i];
+            if (!extraParams.containsKey(name)) {
+                String val = pathVarVal(i);
+                if (null != val) {
+                    extraParams.put(name, val);
+                }
+            }
+        }
+        pathVarNames = null;
+    }
+
+    /**
+     * Returns param keys come from query string, path variables and
+     * extra params. Unlike {@link #paramKeys()} this method does not
+     * trigger request body parsing
+     *
+     * @return param keys except those parsed from request body
+     */
+    public Set<String> nonBodyParamKeys() {
+        flushPathVars();
+        Set<String> set = new HashSet<String>();
+        set.addAll(C.<String>list(request.paramNames()));
+        set.addAll(extraParams.keySet());
+        return set;
+    }
+
+    /**
+     * Take over the request body input stream, e.g. to bind a JSON body
+     * directly from the stream without reading it into memory first.
+     *
+     * Once taken the body will not be parsed into params any more. The
+     * bytes read from the returned stream are kept, so that {@link #body()}
+     * still returns the whole body, without building the String unless it
+     * is called.
+     *
+     * @return the request input stream, or `null` if the body has
+     *         already been parsed
+     */
+    public InputStream takeBodyStream() {
+        if (null != bodyParams) {
+            return null;
+        }
+        synchronized (this) {
+            if (null != bodyParams) {
+                return null;
+            }
+            bodyParams = C.newMap();
+            bodyStream = new BodyStream(request.inputStream(), request.contentLength());
+        }
+        return bodyStream;
+    }
+
     @Override
     public Set<String> paramKeys() {
+        flushPathVars();
         Set<String> set = new HashSet<String>();
         set.addAll(C.<String>list(request.paramNames()));
         set.addAll(extraParams.keySet());
@@ -255,12 +398,26 @@ public class ActionContext extends ActContext.Base<ActionContext> implements Des
         return set;
     }
 
+    @Override
+    public Set<String> paramKeys(String root) {
+        flushPathVars();
+        Set<String> set = new HashSet<>();
+        addParamKeys(set, request.paramNames(), root);
+        addParamKeys(set, extraParams.keySet(), root);
+        addParamKeys(set, bodyParams().keySet(), root);
+        return set;
+    }
+
     @Override
     public String paramVal(String name) {
         String val = extraParams.get(name);
         if (null != val) {
             return val;
         }
+        val = pathVarVal(name);
+        if (null != val) {
+            return val;
+        }
         val = request.paramVal(name);
         if (null == val) {
             String[] sa = getBody(name);
@@ -273,6 +430,9 @@ public class ActionContext extends ActContext.Base<ActionContext> implements Des
 
     public String[] paramVals(String name) {
         String val = extraParams.get(name);
+        if (null == val) {
+            val = pathVarVal(name);
+        }
         if (null != val) {
             return new String[]{val};
         }
@@ -712,6 +872,10 @@ public class ActionContext extends ActContext.Base<ActionContext> implements Des
         if (this.state != State.DESTROYED) {
             this.allParams = null;
             this.extraParams = null;
+            this.pathVarNames = null;
+            this.pathVarVals = null;
+            this.pathVarSource = null;
+            this.bodyStream = null;
             this.requestParamCache = null;
             this.router = null;
             this.handler = null;
@@ -765,6 +929,7 @@ public class ActionContext extends ActContext.Base<ActionContext> implements Des
         final Set<Map.Entry<String, String[]>> paramEntrySet = new AbstractSet<Map.Entry<String, String[]>>() {
             @Override
             public Iterator<Map.Entry<String, String[]>> iterator() {
+                flushPathVars();
                 final Iterator<Map.Entry<String, String[]>> extraItr = new Iterator<Map.Entry<String, String[]>>() {
                     Iterator<Map.Entry<String, String>> parent = extraParams.entrySet().iterator();
 
@@ -821,6 +986,7 @@ public class ActionContext extends ActContext.Base<ActionContext> implements Des
 
             @Override
             public int size() {
+                flushPathVars();
                 int size = extraParams.size();
                 if (null != request) {
                     size += requestParamCache().size();
@@ -949,4 +1115,68 @@ public class ActionContext extends ActContext.Base<ActionContext> implements Des
             super(source);
         }
     }
+
+    /**
+     * Keeps a copy of the bytes read from the request body, so that
+     * the body is still available after the stream has been consumed
+     */
+    private static class BodyStream extends FilterInputStream {
+
+        private final ByteArrayOutputStream copy;
+
+        BodyStream(InputStream is, long contentLength) {
+            super(is);
+            copy = new ByteArrayOutputStream(contentLength > 0 && contentLength < Integer.MAX_VALUE ? (int) contentLength : 1024);
+        }
+
+        @Override
+        public synchronized int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                copy.write(b);
+            }
+            return b;
+        }
+
+        @Override
+        public synchronized int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                copy.write(b, off, n);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = 0;
+            byte[] buf = new byte[(int) Math.min(n, 4096)];
+            while (skipped < n) {
+                int read = read(buf, 0, (int) Math.min(n - skipped, buf.length));
+                if (read < 0) {
+                    break;
+                }
+                skipped += read;
+            }
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        // read the rest of the body and returns the whole body
+        synchronized String content(String encoding) {
+            try {
+                byte[] buf = new byte[4096];
+                while (read(buf, 0, buf.length) >= 0) {
+                    // keep reading into the copy
+                }
+                return copy.toString(encoding);
+            } catch (IOException e) {
+                throw E.ioException(e);
+            }
+        }
+    }
 }
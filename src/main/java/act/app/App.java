@@ -21,6 +21,7 @@ import act.event.AppEventListenerBase;
 import act.event.EventBus;
 import act.event.bytecode.SimpleEventListenerByteCodeScanner;
 import act.handler.RequestHandler;
+import act.handler.builtin.ResourceCache;
 import act.handler.builtin.StaticResourceGetter;
 import act.handler.builtin.controller.FastRequestHandler;
 import act.inject.DependencyInjectionBinder;
@@ -33,11 +34,14 @@ import act.job.AppJobManager;
 import act.job.bytecode.JobByteCodeScanner;
 import act.mail.MailerConfigManager;
 import act.mail.bytecode.MailerByteCodeScanner;
+import act.metric.PrometheusExporter;
 import act.route.RouteSource;
 import act.route.RouteTableRouterBuilder;
 import act.route.Router;
 import act.util.*;
 import act.view.ActErrorResult;
+import act.view.FragmentCache;
+import act.view.TemplatePrecompiler;
 import act.view.rythm.JodaDateTimeFormatter;
 import act.view.rythm.JodaTransformers;
 import act.view.rythm.RythmTransformerScanner;
@@ -446,10 +450,12 @@ public class App extends DestroyableBase {
         Act.viewManager().reload(this);
 
         initCache();
+        initFragmentCache();
         initDataPropertyRepository();
         initCrypto();
         initIdGenerator();
         initJobManager();
+        initResourceCache();
         initDaemonRegistry();
 
         initInterceptorManager();
@@ -512,6 +518,8 @@ public class App extends DestroyableBase {
         emit(DEPENDENCY_INJECTOR_PROVISIONED);
         emit(SINGLETON_PROVISIONED);
         config().preloadConfigurations();
+        freezeRouters();
+        precompileTemplates();
         emit(PRE_START);
         emit(START);
         daemonKeeper();
@@ -930,6 +938,13 @@ public class App extends DestroyableBase {
         }
     }
 
+    private void freezeRouters() {
+        router.freeze();
+        for (Router router : moreRouters.values()) {
+            router.freeze();
+        }
+    }
+
     private void initEventBus() {
         eventBus = new EventBus(this);
     }
@@ -950,6 +965,10 @@ public class App extends DestroyableBase {
         HttpConfig.setSessionCache(sessionCache);
     }
 
+    private void initFragmentCache() {
+        new FragmentCache(this);
+    }
+
     private void initCrypto() {
         crypto = new AppCrypto(config());
         registerSingleton(AppCrypto.class, crypto);
@@ -959,6 +978,10 @@ public class App extends DestroyableBase {
         jobManager = new AppJobManager(this);
     }
 
+    private void initResourceCache() {
+        new ResourceCache(this);
+    }
+
     private void shutdownJobManager() {
         if (null != jobManager) {
             jobManager.destroy();
@@ -1047,6 +1070,12 @@ public class App extends DestroyableBase {
             router().addMapping(H.Method.GET, "/~upload/{path}", new UploadFileStorageService.UploadFileGetter(), RouteSource.BUILD_IN);
         }
         router().addContext("act.", "/~");
+        String metricExportPort = config.metricExportPort();
+        if (null != metricExportPort && config.metricEnabled()) {
+            Router router = router(metricExportPort);
+            E.invalidConfigurationIf(null == router, "metric export port not found in named ports: %s", metricExportPort);
+            router.addMapping(H.Method.GET, config.metricExportPath(), new PrometheusExporter(Act.metricPlugin().metricStore()), RouteSource.BUILD_IN);
+        }
         if (config.cliOverHttp()) {
             Router router = router(AppConfig.PORT_CLI_OVER_HTTP);
             router.addMapping(H.Method.GET, "/asset/", new StaticResourceGetter("asset"), RouteSource.BUILD_IN);
@@ -1088,6 +1117,12 @@ public class App extends DestroyableBase {
         // TODO: load app level plugins
     }
 
+    private void precompileTemplates() {
+        if (!isDev() && config().templatePrecompile()) {
+            new TemplatePrecompiler(this).precompile();
+        }
+    }
+
     private void initViewManager() {
         Act.viewManager().onAppStart();
         registerBuiltInRythmTransformers();
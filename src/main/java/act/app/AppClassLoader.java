@@ -20,6 +20,7 @@ import act.mail.meta.MailerClassMetaInfo;
 import act.mail.meta.MailerClassMetaInfoHolder;
 import act.mail.meta.MailerClassMetaInfoManager;
 import act.metric.Metric;
+import act.metric.MetricHandle;
 import act.metric.MetricInfo;
 import act.util.*;
 import org.osgl.$;
@@ -57,6 +58,9 @@ public class AppClassLoader
             ActClassLoader {
 
     private final static Logger logger = L.get(AppClassLoader.class);
+    // scanners read the bytecode but never write it, thus they don't need
+    // the stack map frames, which are the bulk of a parsed method body
+    static final int SCAN_FLAGS = ClassReader.SKIP_FRAMES;
     private App app;
     private Map<String, byte[]> libClsCache = C.newMap();
     private ClassInfoRepository classInfoRepository;
@@ -67,6 +71,8 @@ public class AppClassLoader
     protected JobClassMetaInfoManager jobInfo = new JobClassMetaInfoManager();
     protected SimpleBean.MetaInfoManager simpleBeanInfo;
     protected Metric metric = Act.metricPlugin().metric(MetricInfo.CLASS_LOADING);
+    private EnhancedBytecodeCache enhanceCache;
+    private boolean enhanceCacheResolved;
 
     @Inject
     public AppClassLoader(final App app) {
@@ -257,7 +263,7 @@ public class AppClassLoader
             ByteCodeVisitor theVisitor = ByteCodeVisitor.chain(visitors);
             ClassReader cr = new ClassReader(ba);
             try {
-                cr.accept(theVisitor, 0);
+                cr.accept(theVisitor, SCAN_FLAGS);
             } catch (UnexpectedException e) {
                 Throwable t = e.getCause();
                 if (t instanceof ClassNotFoundException) {
@@ -302,7 +308,7 @@ public class AppClassLoader
             byte[] bytes = bytecodeProvider.apply(className);
             libClsCache.put(className, bytes);
             ClassReader cr = new ClassReader(bytes);
-            cr.accept(theVisitor, 0);
+            cr.accept(theVisitor, SCAN_FLAGS);
             for (AppByteCodeScanner scanner : scanners) {
                 scanner.scanFinished(className);
                 Map<Class<? extends AppByteCodeScanner>, Set<String>> ss = scanner.dependencyClasses();
@@ -451,6 +457,26 @@ public class AppClassLoader
         if (null == enhancer) {
             return bytecode;
         }
+        EnhancedBytecodeCache cache = enhanceCache();
+        if (null == cache) {
+            return asmEnhance(enhancer, cw, bytecode);
+        }
+        EnhancedBytecodeCache.Entry entry = cache.get(bytecode);
+        if (null != entry) {
+            // record the enhancement time saved by the cache hit
+            metric.handle("act:classload:enhance:cache:hit").record(entry.enhanceNs);
+            return entry.bytecode;
+        }
+        MetricHandle handle = metric.handle("act:classload:enhance:cache:miss");
+        long start = handle.start();
+        byte[] enhanced = asmEnhance(enhancer, cw, bytecode);
+        long enhanceNs = $.ns() - start;
+        handle.stop(start);
+        cache.put(bytecode, enhanced, enhanceNs);
+        return enhanced;
+    }
+
+    private byte[] asmEnhance(ByteCodeVisitor enhancer, $.Var<ClassWriter> cw, byte[] bytecode) {
         cw.set(new ClassWriter(ClassWriter.COMPUTE_FRAMES));
         enhancer.commitDownstream();
         ClassReader r = new ClassReader(bytecode);
@@ -458,6 +484,43 @@ public class AppClassLoader
         return cw.get().toByteArray();
     }
 
+    /**
+     * Returns the enhanced bytecode cache or `null` if the cache is disabled.
+     *
+     * The cache is not used in dev mode as the classes compiled from source
+     * are not covered by the cache fingerprint. The cache is created on the
+     * first enhancement, i.e. after all app classes have been scanned
+     */
+    private synchronized EnhancedBytecodeCache enhanceCache() {
+        if (enhanceCacheResolved) {
+            return enhanceCache;
+        }
+        enhanceCacheResolved = true;
+        AppConfig config = app.config();
+        if (null == config || !config.enhanceCache() || app.isDev()) {
+            return null;
+        }
+        String path = config.enhanceCacheDir();
+        File dir;
+        if (null == path) {
+            dir = new File(app.home(), "tmp/bytecode");
+        } else {
+            dir = new File(path);
+            if (!dir.isAbsolute()) {
+                dir = new File(app.base(), path);
+            }
+        }
+        String fingerprint = EnhancedBytecodeCache.fingerprint(Act.VERSION,
+                Act.enhancerManager().appEnhancerClasses(), libClsCache,
+                RuntimeDirs.conf(app), RuntimeDirs.lib(app));
+        try {
+            enhanceCache = new EnhancedBytecodeCache(dir, fingerprint);
+        } catch (RuntimeException e) {
+            logger.warn(e, "error creating enhanced bytecode cache in %s, cache disabled", dir);
+        }
+        return enhanceCache;
+    }
+
     protected byte[] appBytecode(String name) {
         return appBytecode(name, true);
     }
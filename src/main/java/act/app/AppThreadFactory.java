@@ -1,10 +1,12 @@
 package act.app;
 
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicInteger;
 
 // Disclaim: the source code of this class come from Play.util.PThreadFactory
-public class AppThreadFactory implements ThreadFactory {
+public class AppThreadFactory implements ThreadFactory, ForkJoinPool.ForkJoinWorkerThreadFactory {
 
     final ThreadGroup group;
     final AtomicInteger threadNumber = new AtomicInteger(1);
@@ -30,4 +32,12 @@ public class AppThreadFactory implements ThreadFactory {
         }
         return t;
     }
+
+    @Override
+    public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+        ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        t.setName(namePrefix + threadNumber.getAndIncrement());
+        t.setDaemon(daemon);
+        return t;
+    }
 }
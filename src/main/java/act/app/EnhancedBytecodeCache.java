@@ -0,0 +1,164 @@
+package act.app;
+
+import act.util.Fingerprint;
+import org.osgl.logging.LogManager;
+import org.osgl.logging.Logger;
+import org.osgl.util.E;
+import org.osgl.util.IO;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A content addressed store of enhanced bytecode.
+ *
+ * Enhanced bytecode depends not only on the original bytecode of a class
+ * but also on the meta info scanned from other classes and on the app
+ * configuration. Thus entries are stored in a dir named after a fingerprint
+ * of the whole app - the Act version, the enhancers and the jars they come
+ * from, all app classes, the conf files and the lib jars - and keyed by the
+ * digest of the original bytecode. The fingerprint is based on content, so
+ * it survives redeploying the same app to another location. Any change to the app starts a new dir and the stale dirs are
+ * removed.
+ */
+class EnhancedBytecodeCache {
+
+    private static final Logger LOGGER = LogManager.get(EnhancedBytecodeCache.class);
+
+    private static final String SUFFIX = ".class";
+
+    /**
+     * A cached enhanced bytecode and the time spent to enhance it
+     */
+    static class Entry {
+        final byte[] bytecode;
+        final long enhanceNs;
+
+        Entry(byte[] bytecode, long enhanceNs) {
+            this.bytecode = bytecode;
+            this.enhanceNs = enhanceNs;
+        }
+    }
+
+    private final File dir;
+
+    /**
+     * Construct a cache
+     *
+     * @param root the root dir of the cache
+     * @param fingerprint the fingerprint of the app
+     */
+    EnhancedBytecodeCache(File root, String fingerprint) {
+        this.dir = new File(root, fingerprint);
+        E.unexpectedIf(!dir.exists() && !dir.mkdirs(), "Cannot create enhanced bytecode cache dir: %s", dir);
+        File[] stale = root.listFiles();
+        if (null != stale) {
+            for (File file : stale) {
+                if (!file.getName().equals(fingerprint)) {
+                    delete(file);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the cached entry for the original bytecode or `null` if not found
+     */
+    Entry get(byte[] original) {
+        File file = file(original);
+        if (!file.exists()) {
+            return null;
+        }
+        DataInputStream is = null;
+        try {
+            is = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+            long enhanceNs = is.readLong();
+            byte[] bytecode = new byte[(int) file.length() - 8];
+            is.readFully(bytecode);
+            return new Entry(bytecode, enhanceNs);
+        } catch (IOException e) {
+            LOGGER.warn(e, "error reading enhanced bytecode cache: %s", file);
+            return null;
+        } finally {
+            IO.close(is);
+        }
+    }
+
+    void put(byte[] original, byte[] enhanced, long enhanceNs) {
+        File file = file(original);
+        File tmp = new File(dir, file.getName() + ".tmp" + Thread.currentThread().getId());
+        DataOutputStream os = null;
+        try {
+            os = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)));
+            os.writeLong(enhanceNs);
+            os.write(enhanced);
+            os.close();
+            os = null;
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOGGER.warn(e, "error writing enhanced bytecode cache: %s", file);
+            tmp.delete();
+        } finally {
+            IO.close(os);
+        }
+    }
+
+    File dir() {
+        return dir;
+    }
+
+    private File file(byte[] original) {
+        return new File(dir, digest(original) + SUFFIX);
+    }
+
+    /**
+     * Returns a fingerprint of an app
+     *
+     * @param actVersion the Act version
+     * @param enhancers the enhancer classes, identified by the name and
+     *                  the jar or class file they are loaded from
+     * @param classes the original bytecode of app classes indexed by class name
+     * @param files conf and lib files or dirs, identified by the content
+     * @return the fingerprint
+     * @see Fingerprint
+     */
+    static String fingerprint(String actVersion, Iterable<Class<?>> enhancers, Map<String, byte[]> classes, File... files) {
+        Fingerprint fingerprint = new Fingerprint().add(actVersion);
+        for (Class<?> enhancer : enhancers) {
+            fingerprint.addCodeSource(enhancer);
+        }
+        for (Map.Entry<String, byte[]> entry : new TreeMap<>(classes).entrySet()) {
+            fingerprint.add(entry.getKey());
+            byte[] bytecode = entry.getValue();
+            if (null != bytecode) {
+                fingerprint.add(bytecode);
+            }
+        }
+        for (File file : files) {
+            if (null != file) {
+                fingerprint.addContent(file);
+            }
+        }
+        return fingerprint.digest();
+    }
+
+    static String digest(byte[] bytes) {
+        return new Fingerprint().add(bytes).digest();
+    }
+
+    private static void delete(File file) {
+        File[] children = file.listFiles();
+        if (null != children) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        if (!file.delete()) {
+            LOGGER.warn("cannot delete stale enhanced bytecode cache: %s", file);
+        }
+    }
+
+}
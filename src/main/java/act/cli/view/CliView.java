@@ -8,17 +8,16 @@ import act.cli.util.CliCursor;
 import act.cli.util.MappedFastJsonNameFilter;
 import act.cli.util.TableCursor;
 import act.data.DataPropertyRepository;
+import act.data.FilteredJsonSerializer;
 import act.util.ActContext;
 import act.util.DisableFastJsonCircularReferenceDetect;
 import act.util.FastJsonPropertyPreFilter;
 import act.util.PropertySpec;
 import com.alibaba.fastjson.serializer.SerializeFilter;
 import com.alibaba.fastjson.serializer.SerializerFeature;
-import org.osgl.$;
 import org.osgl.util.C;
 import org.osgl.util.E;
 import org.osgl.util.S;
-import org.rythmengine.utils.Escape;
 
 import java.util.*;
 
@@ -159,31 +158,12 @@ public enum CliView {
             String json;
             FastJsonPropertyPreFilter propertyFilter;
             spec = PropertySpec.MetaInfo.withCurrent(spec, context);
-            if (null == spec) {
-                propertyFilter = null;
-            } else {
-                propertyFilter = new FastJsonPropertyPreFilter();
-                List<String> outputs = spec.outputFields(context);
-                Set<String> excluded = spec.excludedFields(context);
-                if (excluded.isEmpty()) {
-                    if (outputs.isEmpty()) {
-                        propertyFilter = null; // no filter defined actually
-                    } else {
-                        // output fields only applied when excluded fields not presented
-                        propertyFilter.addIncludes(outputs);
-                        if (FastJsonPropertyPreFilter.hasPattern(outputs)) {
-                            // TODO: handle the case when result is an Iterable
-                            propertyFilter.setFullPaths(context.app().service(DataPropertyRepository.class).propertyListOf(result.getClass()));
-                        }
-                    }
-                } else {
-                    propertyFilter.addExcludes(excluded);
-                    if (FastJsonPropertyPreFilter.hasPattern(excluded)) {
-                        // TODO: handle the case when result is an Iterable
-                        propertyFilter.setFullPaths(context.app().service(DataPropertyRepository.class).propertyListOf(result.getClass()));
-                    }
-                }
+            // the compiled serializer is cached, try it before building a property filter
+            FilteredJsonSerializer serializer = null == spec || format ? null : jsonSerializer(spec, context);
+            if (null != serializer) {
+                return serializer.toJSONString(result);
             }
+            propertyFilter = null == spec ? null : FastJsonPropertyPreFilter.of(spec, result.getClass(), context);
 
             List<SerializerFeature> featureList = C.newList();
             if (format) {
@@ -222,6 +202,10 @@ public enum CliView {
             return json;
         }
 
+        private FilteredJsonSerializer jsonSerializer(PropertySpec.MetaInfo spec, ActContext context) {
+            DataPropertyRepository repo = context.app().service(DataPropertyRepository.class);
+            return null == repo ? null : repo.jsonSerializer(spec, context);
+        }
 
     },
 
@@ -272,52 +256,13 @@ public enum CliView {
             }
             List<String> outputFields = repo.outputFields(spec, componentType, context);
             S.Buffer sb = S.buffer();
-            buildHeaderLine(sb, outputFields, spec.labelMapping());
+            CsvWriter writer = new CsvWriter(sb, outputFields, spec.labelMapping(), repo).writeHeader();
             for (Object entity : dataList) {
-                sb.append($.OS.lineSeparator());
-                buildDataLine(sb, entity, outputFields);
+                writer.writeLine(entity);
             }
             return sb.toString();
         }
 
-        private void buildDataLine(S.Buffer sb, Object data, List<String> outputFields) {
-            Iterator<String> itr = outputFields.iterator();
-            String prop = itr.next();
-            sb.append(getProperty(data, prop));
-            while (itr.hasNext()) {
-                sb.append(",").append(getProperty(data, itr.next()));
-            }
-        }
-
-        private String getProperty(Object data, String prop) {
-            if ("this".equals(prop)) {
-                return (escape(data));
-            } else {
-                return escape($.getProperty(data, prop));
-            }
-        }
-
-        private void buildHeaderLine(S.Buffer sb, List<String> outputFields, Map<String, String> labels) {
-            if (null == labels) {
-                labels = C.newMap();
-            }
-            Iterator<String> itr = outputFields.iterator();
-            String label = label(itr.next(), labels);
-            sb.append(label);
-            while (itr.hasNext()) {
-                sb.append(",").append(escape(label(itr.next(), labels)));
-            }
-        }
-
-        private String label(String key, Map<String, String> labels) {
-            String s = labels.get(key);
-            return null == s ? key : s;
-        }
-
-        private String escape(Object o) {
-            return Escape.CSV.apply(o).toString();
-        }
-
     };
 
     public String render(Object result, PropertySpec.MetaInfo spec, ActContext context) {
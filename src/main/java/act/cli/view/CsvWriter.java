@@ -0,0 +1,109 @@
+package act.cli.view;
+
+import act.data.DataPropertyRepository;
+import act.data.PropertyAccessor;
+import org.osgl.$;
+import org.osgl.util.E;
+import org.rythmengine.utils.Escape;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Write objects as CSV lines to an {@link Appendable} one by one.
+ *
+ * Output field values are read through {@link PropertyAccessor}s which
+ * are resolved once for each distinct class of the objects written.
+ */
+public class CsvWriter {
+
+    private final Appendable out;
+    private final List<String> outputFields;
+    private final Map<String, String> labels;
+    private final DataPropertyRepository repo;
+    private final String lineSeparator = $.OS.lineSeparator();
+
+    private Class<?> accessorsClass;
+    private PropertyAccessor[] accessors;
+
+    /**
+     * Construct a CSV writer
+     *
+     * @param out the target
+     * @param outputFields the output fields, must not be empty
+     * @param labels the label mapping, could be `null`
+     * @param repo the data property repository to lookup accessors
+     */
+    public CsvWriter(Appendable out, List<String> outputFields, Map<String, String> labels, DataPropertyRepository repo) {
+        this.out = $.notNull(out);
+        this.outputFields = outputFields;
+        this.labels = labels;
+        this.repo = $.notNull(repo);
+    }
+
+    public CsvWriter writeHeader() {
+        Iterator<String> itr = outputFields.iterator();
+        append(label(itr.next()));
+        while (itr.hasNext()) {
+            append(",").append(escape(label(itr.next())));
+        }
+        return this;
+    }
+
+    /**
+     * Write a line separator followed by the data line of an object. A
+     * `null` object is written as a line of empty fields
+     *
+     * @param data the object
+     * @return this writer
+     */
+    public CsvWriter writeLine(Object data) {
+        append(lineSeparator);
+        if (null == data) {
+            for (int i = 1; i < outputFields.size(); ++i) {
+                append(",");
+            }
+            return this;
+        }
+        PropertyAccessor[] accessors = accessors(data);
+        append(escape(accessors[0].get(data)));
+        for (int i = 1; i < accessors.length; ++i) {
+            append(",").append(escape(accessors[i].get(data)));
+        }
+        return this;
+    }
+
+    private PropertyAccessor[] accessors(Object data) {
+        Class<?> c = null == data ? Object.class : data.getClass();
+        if (c != accessorsClass) {
+            PropertyAccessor[] pa = new PropertyAccessor[outputFields.size()];
+            for (int i = 0; i < pa.length; ++i) {
+                pa[i] = repo.accessor(c, outputFields.get(i));
+            }
+            accessors = pa;
+            accessorsClass = c;
+        }
+        return accessors;
+    }
+
+    private String label(String key) {
+        String s = null == labels ? null : labels.get(key);
+        return null == s ? key : s;
+    }
+
+    private CsvWriter append(String s) {
+        try {
+            out.append(s);
+        } catch (IOException e) {
+            throw E.ioException(e);
+        }
+        return this;
+    }
+
+    private static String escape(Object o) {
+        return Escape.CSV.apply(o).toString();
+    }
+
+}
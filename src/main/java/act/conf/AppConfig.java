@@ -12,9 +12,12 @@ import act.app.util.NamedPort;
 import act.cli.CliOverHttpAuthority;
 import act.db.util.SequenceNumberGenerator;
 import act.db.util._SequenceNumberGenerator;
+import act.event.AsyncEventDispatcher;
 import act.handler.UnknownHttpMethodProcessor;
 import act.handler.event.ResultEvent;
 import act.i18n.I18n;
+import act.job.AppJobManager;
+import act.job.JobJournal;
 import act.security.CSRFProtector;
 import act.util.*;
 import act.view.TemplatePathResolver;
@@ -2270,6 +2273,638 @@ public class AppConfig<T extends AppConfigurator> extends Config<AppConfigKey> i
     }
 
 
+    private Boolean jsonBodyStreaming;
+    protected T enableJsonBodyStreaming(boolean b) {
+        jsonBodyStreaming = b;
+        return me();
+    }
+    public boolean jsonBodyStreaming() {
+        if (null == jsonBodyStreaming) {
+            jsonBodyStreaming = get(JSON_BODY_STREAMING);
+            if (null == jsonBodyStreaming) {
+                jsonBodyStreaming = false;
+            }
+        }
+        return jsonBodyStreaming;
+    }
+    private void _mergeJsonBodyStreaming(AppConfig config) {
+        if (!hasConfiguration(JSON_BODY_STREAMING)) {
+            jsonBodyStreaming = config.jsonBodyStreaming;
+        }
+    }
+
+
+    private Boolean resourceSendFile;
+    protected T enableResourceSendFile(boolean b) {
+        resourceSendFile = b;
+        return me();
+    }
+    public boolean resourceSendFile() {
+        if (null == resourceSendFile) {
+            resourceSendFile = get(RESOURCE_SENDFILE);
+            if (null == resourceSendFile) {
+                resourceSendFile = false;
+            }
+        }
+        return resourceSendFile;
+    }
+    private void _mergeResourceSendFile(AppConfig config) {
+        if (!hasConfiguration(RESOURCE_SENDFILE)) {
+            resourceSendFile = config.resourceSendFile;
+        }
+    }
+
+
+    private Integer resourceCacheSizeLimit;
+    protected T resourceCacheSizeLimit(int limit) {
+        resourceCacheSizeLimit = limit;
+        return me();
+    }
+    public int resourceCacheSizeLimit() {
+        if (null == resourceCacheSizeLimit) {
+            resourceCacheSizeLimit = getInteger(RESOURCE_CACHE_SIZE_LIMIT);
+            if (null == resourceCacheSizeLimit) {
+                resourceCacheSizeLimit = 1024 * 1024 * 10;
+            }
+        }
+        return resourceCacheSizeLimit;
+    }
+    private void _mergeResourceCacheSizeLimit(AppConfig conf) {
+        if (!hasConfiguration(RESOURCE_CACHE_SIZE_LIMIT)) {
+            this.resourceCacheSizeLimit = conf.resourceCacheSizeLimit;
+        }
+    }
+
+    private List<String> resourceCacheWarmup;
+    protected T resourceCacheWarmup(String folders) {
+        resourceCacheWarmup = C.listOf(folders.trim().split(Constants.LIST_SEPARATOR));
+        return me();
+    }
+    public List<String> resourceCacheWarmup() {
+        if (null == resourceCacheWarmup) {
+            String s = get(RESOURCE_CACHE_WARMUP);
+            if (S.isBlank(s)) {
+                resourceCacheWarmup = C.list();
+            } else {
+                resourceCacheWarmup = C.listOf(s.trim().split(Constants.LIST_SEPARATOR));
+            }
+        }
+        return resourceCacheWarmup;
+    }
+    private void _mergeResourceCacheWarmup(AppConfig conf) {
+        if (!hasConfiguration(RESOURCE_CACHE_WARMUP)) {
+            this.resourceCacheWarmup = conf.resourceCacheWarmup;
+        }
+    }
+
+    private String metricExportPath;
+
+    protected T metricExportPath(String path) {
+        this.metricExportPath = path;
+        return me();
+    }
+
+    public String metricExportPath() {
+        if (null == metricExportPath) {
+            metricExportPath = get(METRIC_EXPORT_PATH);
+            if (null == metricExportPath) {
+                metricExportPath = "/metrics";
+            }
+        }
+        return metricExportPath;
+    }
+
+    private void _mergeMetricExportPath(AppConfig config) {
+        if (!hasConfiguration(METRIC_EXPORT_PATH)) {
+            metricExportPath = config.metricExportPath;
+        }
+    }
+
+    private String metricExportPort;
+
+    protected T metricExportPort(String portName) {
+        this.metricExportPort = portName;
+        return me();
+    }
+
+    /**
+     * Returns the name of the port to expose metrics, or `null` if
+     * metric exposition is not enabled
+     */
+    public String metricExportPort() {
+        if (null == metricExportPort) {
+            String s = get(METRIC_EXPORT_PORT);
+            metricExportPort = null == s ? "" : s.trim();
+        }
+        return S.blank(metricExportPort) ? null : metricExportPort;
+    }
+
+    private void _mergeMetricExportPort(AppConfig config) {
+        if (!hasConfiguration(METRIC_EXPORT_PORT)) {
+            metricExportPort = config.metricExportPort;
+        }
+    }
+
+    private Integer sessionLocalCacheSize;
+
+    protected T sessionLocalCacheSize(int size) {
+        E.illegalArgumentIf(size < 0, "session local cache size shall not be negative");
+        this.sessionLocalCacheSize = size;
+        return me();
+    }
+
+    public int sessionLocalCacheSize() {
+        if (null == sessionLocalCacheSize) {
+            sessionLocalCacheSize = getInteger(SESSION_LOCAL_CACHE_SIZE);
+            if (null == sessionLocalCacheSize) {
+                sessionLocalCacheSize = 10000;
+            }
+        }
+        return sessionLocalCacheSize;
+    }
+
+    private void _mergeSessionLocalCacheSize(AppConfig config) {
+        if (!hasConfiguration(SESSION_LOCAL_CACHE_SIZE)) {
+            sessionLocalCacheSize = config.sessionLocalCacheSize;
+        }
+    }
+
+    private Boolean sessionServerSide;
+
+    protected T sessionServerSide(boolean enabled) {
+        this.sessionServerSide = enabled;
+        return me();
+    }
+
+    public boolean sessionServerSide() {
+        if (null == sessionServerSide) {
+            sessionServerSide = get(SESSION_SERVER_SIDE);
+            if (null == sessionServerSide) {
+                sessionServerSide = false;
+            }
+        }
+        return sessionServerSide;
+    }
+
+    private void _mergeSessionServerSide(AppConfig config) {
+        if (!hasConfiguration(SESSION_SERVER_SIDE)) {
+            sessionServerSide = config.sessionServerSide;
+        }
+    }
+
+    private SessionStore sessionStore;
+
+    protected T sessionStore(SessionStore store) {
+        this.sessionStore = store;
+        return me();
+    }
+
+    /**
+     * Returns the configured {@link SessionStore} or `null` if not configured
+     */
+    public SessionStore sessionStore() {
+        if (null == sessionStore) {
+            sessionStore = get(SESSION_STORE);
+        }
+        return sessionStore;
+    }
+
+    private void _mergeSessionStore(AppConfig config) {
+        if (!hasConfiguration(SESSION_STORE)) {
+            sessionStore = config.sessionStore;
+        }
+    }
+
+    private Double sessionTtlRefreshFraction;
+
+    protected T sessionTtlRefreshFraction(double fraction) {
+        E.illegalArgumentIf(fraction < 0 || fraction >= 1, "session ttl refresh fraction shall be in range [0, 1)");
+        this.sessionTtlRefreshFraction = fraction;
+        return me();
+    }
+
+    public double sessionTtlRefreshFraction() {
+        if (null == sessionTtlRefreshFraction) {
+            Object o = get(SESSION_TTL_REFRESH_FRACTION);
+            if (null == o) {
+                sessionTtlRefreshFraction = 0d;
+            } else {
+                double d = o instanceof Number ? ((Number) o).doubleValue() : Double.parseDouble(S.string(o));
+                E.invalidConfigurationIf(d < 0 || d >= 1, "session ttl refresh fraction shall be in range [0, 1): %s", d);
+                sessionTtlRefreshFraction = d;
+            }
+        }
+        return sessionTtlRefreshFraction;
+    }
+
+    private void _mergeSessionTtlRefreshFraction(AppConfig config) {
+        if (!hasConfiguration(SESSION_TTL_REFRESH_FRACTION)) {
+            sessionTtlRefreshFraction = config.sessionTtlRefreshFraction;
+        }
+    }
+
+    private Integer sessionCookieCacheSize;
+
+    protected T sessionCookieCacheSize(int size) {
+        E.illegalArgumentIf(size < 0, "session cookie cache size shall not be negative");
+        this.sessionCookieCacheSize = size;
+        return me();
+    }
+
+    public int sessionCookieCacheSize() {
+        if (null == sessionCookieCacheSize) {
+            sessionCookieCacheSize = getInteger(SESSION_COOKIE_CACHE_SIZE);
+            if (null == sessionCookieCacheSize) {
+                sessionCookieCacheSize = 1000;
+            }
+        }
+        return sessionCookieCacheSize;
+    }
+
+    private void _mergeSessionCookieCacheSize(AppConfig config) {
+        if (!hasConfiguration(SESSION_COOKIE_CACHE_SIZE)) {
+            sessionCookieCacheSize = config.sessionCookieCacheSize;
+        }
+    }
+
+    private int eventAsyncWorkers = -1;
+
+    protected T eventAsyncWorkers(int workers) {
+        E.illegalArgumentIf(workers < 1, "async event workers shall be positive number: %s", workers);
+        this.eventAsyncWorkers = workers;
+        return me();
+    }
+
+    public int eventAsyncWorkers() {
+        if (-1 == eventAsyncWorkers) {
+            Integer I = getInteger(EVENT_ASYNC_WORKERS);
+            if (null == I) {
+                I = Runtime.getRuntime().availableProcessors();
+            }
+            E.invalidConfigurationIf(I < 1, "async event workers shall be positive number: %s", I);
+            eventAsyncWorkers = I;
+        }
+        return eventAsyncWorkers;
+    }
+
+    private void _mergeEventAsyncWorkers(AppConfig conf) {
+        if (!hasConfiguration(EVENT_ASYNC_WORKERS)) {
+            eventAsyncWorkers = conf.eventAsyncWorkers;
+        }
+    }
+
+    private int eventAsyncQueueSize = -1;
+
+    protected T eventAsyncQueueSize(int size) {
+        E.illegalArgumentIf(size < 1, "async event queue size shall be positive number: %s", size);
+        this.eventAsyncQueueSize = size;
+        return me();
+    }
+
+    public int eventAsyncQueueSize() {
+        if (-1 == eventAsyncQueueSize) {
+            Integer I = getInteger(EVENT_ASYNC_QUEUE_SIZE);
+            if (null == I) {
+                I = 1024;
+            }
+            E.invalidConfigurationIf(I < 1, "async event queue size shall be positive number: %s", I);
+            eventAsyncQueueSize = I;
+        }
+        return eventAsyncQueueSize;
+    }
+
+    private void _mergeEventAsyncQueueSize(AppConfig conf) {
+        if (!hasConfiguration(EVENT_ASYNC_QUEUE_SIZE)) {
+            eventAsyncQueueSize = conf.eventAsyncQueueSize;
+        }
+    }
+
+    private int eventAsyncBatchSize = -1;
+
+    protected T eventAsyncBatchSize(int size) {
+        E.illegalArgumentIf(size < 1, "async event batch size shall be positive number: %s", size);
+        this.eventAsyncBatchSize = size;
+        return me();
+    }
+
+    public int eventAsyncBatchSize() {
+        if (-1 == eventAsyncBatchSize) {
+            Integer I = getInteger(EVENT_ASYNC_BATCH_SIZE);
+            if (null == I) {
+                I = 64;
+            }
+            E.invalidConfigurationIf(I < 1, "async event batch size shall be positive number: %s", I);
+            eventAsyncBatchSize = I;
+        }
+        return eventAsyncBatchSize;
+    }
+
+    private void _mergeEventAsyncBatchSize(AppConfig conf) {
+        if (!hasConfiguration(EVENT_ASYNC_BATCH_SIZE)) {
+            eventAsyncBatchSize = conf.eventAsyncBatchSize;
+        }
+    }
+
+    private AsyncEventDispatcher.OverflowPolicy eventAsyncOverflow;
+
+    protected T eventAsyncOverflow(AsyncEventDispatcher.OverflowPolicy policy) {
+        this.eventAsyncOverflow = $.notNull(policy);
+        return me();
+    }
+
+    public AsyncEventDispatcher.OverflowPolicy eventAsyncOverflow() {
+        if (null == eventAsyncOverflow) {
+            Object o = get(EVENT_ASYNC_OVERFLOW);
+            if (null == o) {
+                eventAsyncOverflow = AsyncEventDispatcher.OverflowPolicy.CALLER_RUNS;
+            } else if (o instanceof AsyncEventDispatcher.OverflowPolicy) {
+                eventAsyncOverflow = (AsyncEventDispatcher.OverflowPolicy) o;
+            } else {
+                try {
+                    eventAsyncOverflow = AsyncEventDispatcher.OverflowPolicy.valueOfIgnoreCase(S.string(o));
+                } catch (IllegalArgumentException e) {
+                    throw E.invalidConfiguration("unknown async event overflow policy: %s", o);
+                }
+            }
+        }
+        return eventAsyncOverflow;
+    }
+
+    private void _mergeEventAsyncOverflow(AppConfig conf) {
+        if (!hasConfiguration(EVENT_ASYNC_OVERFLOW)) {
+            eventAsyncOverflow = conf.eventAsyncOverflow;
+        }
+    }
+
+    private AppJobManager.ExecutorType jobExecutor;
+
+    protected T jobExecutor(AppJobManager.ExecutorType type) {
+        this.jobExecutor = $.notNull(type);
+        return me();
+    }
+
+    public AppJobManager.ExecutorType jobExecutor() {
+        if (null == jobExecutor) {
+            Object o = get(JOB_EXECUTOR);
+            if (null == o) {
+                jobExecutor = AppJobManager.ExecutorType.SCHEDULED;
+            } else if (o instanceof AppJobManager.ExecutorType) {
+                jobExecutor = (AppJobManager.ExecutorType) o;
+            } else {
+                try {
+                    jobExecutor = AppJobManager.ExecutorType.valueOfIgnoreCase(S.string(o));
+                } catch (IllegalArgumentException e) {
+                    throw E.invalidConfiguration("unknown job executor: %s", o);
+                }
+            }
+        }
+        return jobExecutor;
+    }
+
+    private void _mergeJobExecutor(AppConfig conf) {
+        if (!hasConfiguration(JOB_EXECUTOR)) {
+            jobExecutor = conf.jobExecutor;
+        }
+    }
+
+    private Boolean jobTimerWheel;
+
+    protected T jobTimerWheel(boolean enabled) {
+        this.jobTimerWheel = enabled;
+        return me();
+    }
+
+    public boolean jobTimerWheel() {
+        if (null == jobTimerWheel) {
+            jobTimerWheel = get(JOB_TIMER_WHEEL);
+            if (null == jobTimerWheel) {
+                jobTimerWheel = false;
+            }
+        }
+        return jobTimerWheel;
+    }
+
+    private void _mergeJobTimerWheel(AppConfig conf) {
+        if (!hasConfiguration(JOB_TIMER_WHEEL)) {
+            jobTimerWheel = conf.jobTimerWheel;
+        }
+    }
+
+    private int jobTimerWheelTick = -1;
+
+    protected T jobTimerWheelTick(int tick) {
+        E.illegalArgumentIf(tick < 1, "job timer wheel tick shall be positive number: %s", tick);
+        this.jobTimerWheelTick = tick;
+        return me();
+    }
+
+    public int jobTimerWheelTick() {
+        if (-1 == jobTimerWheelTick) {
+            Integer I = getInteger(JOB_TIMER_WHEEL_TICK);
+            if (null == I) {
+                I = 100;
+            }
+            E.invalidConfigurationIf(I < 1, "job timer wheel tick shall be positive number: %s", I);
+            jobTimerWheelTick = I;
+        }
+        return jobTimerWheelTick;
+    }
+
+    private void _mergeJobTimerWheelTick(AppConfig conf) {
+        if (!hasConfiguration(JOB_TIMER_WHEEL_TICK)) {
+            jobTimerWheelTick = conf.jobTimerWheelTick;
+        }
+    }
+
+    private Boolean jobJournal;
+
+    protected T jobJournal(boolean enabled) {
+        this.jobJournal = enabled;
+        return me();
+    }
+
+    public boolean jobJournal() {
+        if (null == jobJournal) {
+            jobJournal = get(JOB_JOURNAL);
+            if (null == jobJournal) {
+                jobJournal = false;
+            }
+        }
+        return jobJournal;
+    }
+
+    private void _mergeJobJournal(AppConfig conf) {
+        if (!hasConfiguration(JOB_JOURNAL)) {
+            jobJournal = conf.jobJournal;
+        }
+    }
+
+    private String jobJournalDir;
+
+    protected T jobJournalDir(String dir) {
+        this.jobJournalDir = $.notNull(dir);
+        return me();
+    }
+
+    public String jobJournalDir() {
+        if (null == jobJournalDir) {
+            jobJournalDir = get(JOB_JOURNAL_DIR);
+        }
+        return jobJournalDir;
+    }
+
+    private void _mergeJobJournalDir(AppConfig conf) {
+        if (!hasConfiguration(JOB_JOURNAL_DIR)) {
+            jobJournalDir = conf.jobJournalDir;
+        }
+    }
+
+    private JobJournal.MisfirePolicy jobMisfirePolicy;
+
+    protected T jobMisfirePolicy(JobJournal.MisfirePolicy policy) {
+        this.jobMisfirePolicy = $.notNull(policy);
+        return me();
+    }
+
+    public JobJournal.MisfirePolicy jobMisfirePolicy() {
+        if (null == jobMisfirePolicy) {
+            Object o = get(JOB_MISFIRE_POLICY);
+            if (null == o) {
+                jobMisfirePolicy = JobJournal.MisfirePolicy.FIRE_ONCE;
+            } else if (o instanceof JobJournal.MisfirePolicy) {
+                jobMisfirePolicy = (JobJournal.MisfirePolicy) o;
+            } else {
+                try {
+                    jobMisfirePolicy = JobJournal.MisfirePolicy.valueOfIgnoreCase(S.string(o));
+                } catch (IllegalArgumentException e) {
+                    throw E.invalidConfiguration("unknown job misfire policy: %s", o);
+                }
+            }
+        }
+        return jobMisfirePolicy;
+    }
+
+    private void _mergeJobMisfirePolicy(AppConfig conf) {
+        if (!hasConfiguration(JOB_MISFIRE_POLICY)) {
+            jobMisfirePolicy = conf.jobMisfirePolicy;
+        }
+    }
+
+    private Boolean enhanceCache;
+
+    protected T enhanceCache(boolean enabled) {
+        this.enhanceCache = enabled;
+        return me();
+    }
+
+    public boolean enhanceCache() {
+        if (null == enhanceCache) {
+            enhanceCache = get(ENHANCE_CACHE);
+            if (null == enhanceCache) {
+                enhanceCache = false;
+            }
+        }
+        return enhanceCache;
+    }
+
+    private void _mergeEnhanceCache(AppConfig conf) {
+        if (!hasConfiguration(ENHANCE_CACHE)) {
+            enhanceCache = conf.enhanceCache;
+        }
+    }
+
+    private String enhanceCacheDir;
+
+    protected T enhanceCacheDir(String dir) {
+        this.enhanceCacheDir = $.notNull(dir);
+        return me();
+    }
+
+    public String enhanceCacheDir() {
+        if (null == enhanceCacheDir) {
+            enhanceCacheDir = get(ENHANCE_CACHE_DIR);
+        }
+        return enhanceCacheDir;
+    }
+
+    private void _mergeEnhanceCacheDir(AppConfig conf) {
+        if (!hasConfiguration(ENHANCE_CACHE_DIR)) {
+            enhanceCacheDir = conf.enhanceCacheDir;
+        }
+    }
+
+    private int templateFlushThreshold = -1;
+
+    protected T templateFlushThreshold(int threshold) {
+        E.illegalArgumentIf(threshold < 2, "template flush threshold must be at least 2: %s", threshold);
+        this.templateFlushThreshold = threshold;
+        return me();
+    }
+
+    public int templateFlushThreshold() {
+        if (-1 == templateFlushThreshold) {
+            Integer I = getInteger(TEMPLATE_FLUSH_THRESHOLD);
+            if (null == I) {
+                I = 8192;
+            }
+            if (I < 2) {
+                // a surrogate pair must fit in the buffer
+                throw new ConfigurationException("template.flush_threshold setting must be at least 2. Found: %s", I);
+            }
+            templateFlushThreshold = I;
+        }
+        return templateFlushThreshold;
+    }
+
+    private void _mergeTemplateFlushThreshold(AppConfig conf) {
+        if (!hasConfiguration(TEMPLATE_FLUSH_THRESHOLD)) {
+            templateFlushThreshold = conf.templateFlushThreshold;
+        }
+    }
+
+    private Boolean templatePrecompile;
+
+    protected T templatePrecompile(boolean enabled) {
+        this.templatePrecompile = enabled;
+        return me();
+    }
+
+    public boolean templatePrecompile() {
+        if (null == templatePrecompile) {
+            templatePrecompile = get(TEMPLATE_PRECOMPILE);
+            if (null == templatePrecompile) {
+                templatePrecompile = false;
+            }
+        }
+        return templatePrecompile;
+    }
+
+    private void _mergeTemplatePrecompile(AppConfig conf) {
+        if (!hasConfiguration(TEMPLATE_PRECOMPILE)) {
+            templatePrecompile = conf.templatePrecompile;
+        }
+    }
+
+    private String templatePrecompileDir;
+
+    protected T templatePrecompileDir(String dir) {
+        this.templatePrecompileDir = $.notNull(dir);
+        return me();
+    }
+
+    public String templatePrecompileDir() {
+        if (null == templatePrecompileDir) {
+            templatePrecompileDir = get(TEMPLATE_PRECOMPILE_DIR);
+        }
+        return templatePrecompileDir;
+    }
+
+    private void _mergeTemplatePrecompileDir(AppConfig conf) {
+        if (!hasConfiguration(TEMPLATE_PRECOMPILE_DIR)) {
+            templatePrecompileDir = conf.templatePrecompileDir;
+        }
+    }
+
     private Set<AppConfigurator> mergeTracker = C.newSet();
 
     public void loadJarProperties(Map<String, Properties> jarProperties) {
@@ -2395,6 +3030,32 @@ public class AppConfig<T extends AppConfigurator> extends Config<AppConfigKey> i
         _mergeCacheServiceProvider(conf);
         _mergeUnknownHttpMethodHandler(conf);
         _mergeUploadFileDownload(conf);
+        _mergeTemplatePrecompile(conf);
+        _mergeTemplatePrecompileDir(conf);
+        _mergeTemplateFlushThreshold(conf);
+        _mergeEnhanceCache(conf);
+        _mergeEnhanceCacheDir(conf);
+        _mergeJobJournal(conf);
+        _mergeJobJournalDir(conf);
+        _mergeJobMisfirePolicy(conf);
+        _mergeJobExecutor(conf);
+        _mergeJobTimerWheel(conf);
+        _mergeJobTimerWheelTick(conf);
+        _mergeEventAsyncWorkers(conf);
+        _mergeEventAsyncQueueSize(conf);
+        _mergeEventAsyncBatchSize(conf);
+        _mergeEventAsyncOverflow(conf);
+        _mergeSessionCookieCacheSize(conf);
+        _mergeSessionTtlRefreshFraction(conf);
+        _mergeSessionServerSide(conf);
+        _mergeSessionStore(conf);
+        _mergeSessionLocalCacheSize(conf);
+        _mergeMetricExportPath(conf);
+        _mergeMetricExportPort(conf);
+        _mergeResourceCacheSizeLimit(conf);
+        _mergeResourceCacheWarmup(conf);
+        _mergeResourceSendFile(conf);
+        _mergeJsonBodyStreaming(conf);
 
         Set<String> keys = conf.propKeys();
         if (!keys.isEmpty()) {
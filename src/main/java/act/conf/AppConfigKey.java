@@ -308,6 +308,28 @@ public enum AppConfigKey implements ConfigKey {
      */
     ENCODING("encoding"),
 
+    /**
+     * `act.enhance.cache.enabled` when set to `true` the enhanced bytecode
+     * of app classes is stored on disk and reused when the app restarts
+     * without any change to the app classes, conf files, lib jars, enhancer
+     * plugins and Act version. Redeploying the same app to another location
+     * or with fresh file timestamps keeps the cache. See {@link #ENHANCE_CACHE_DIR}
+     *
+     * Default value: `false`
+     */
+    ENHANCE_CACHE("enhance.cache.enabled"),
+
+    /**
+     * `act.enhance.cache.dir` specifies the dir to store the enhanced
+     * bytecode cache. A relative path is resolved against the app base dir.
+     *
+     * Note the app tmp dir is not the default as it is a new dir each time
+     * the app starts in prod mode
+     *
+     * Default value: `tmp/bytecode` dir under the app home dir
+     */
+    ENHANCE_CACHE_DIR("enhance.cache.dir"),
+
     /**
      * `act.enum.resolving.case_sensitive` specifies whether it
      * allow enum resolving for request parameters to ignore case
@@ -507,6 +529,123 @@ public enum AppConfigKey implements ConfigKey {
      */
     ID_GEN_LONG_ENCODER("idgen.encoder.impl"),
 
+    /**
+     * `json_body.streaming.enabled`
+     *
+     * When enabled, JSON request body is bound to action handler
+     * parameters straight from the request input stream without
+     * reading it into a String first. This saves memory copies on
+     * large JSON posts. The raw bytes read are still kept so that
+     * {@link act.app.ActionContext#body()} works, but the String is
+     * only built when it is called
+     *
+     * Default value: `false`
+     */
+    JSON_BODY_STREAMING("json_body.streaming.enabled"),
+
+    /**
+     * `act.event.async.workers` specifies the number of threads calling
+     * async event listeners
+     *
+     * Default value: the number of available processors
+     */
+    EVENT_ASYNC_WORKERS("event.async.workers"),
+
+    /**
+     * `act.event.async.queue.size` specifies the capacity of the queue
+     * of each async event worker
+     *
+     * Default value: `1024`
+     */
+    EVENT_ASYNC_QUEUE_SIZE("event.async.queue.size"),
+
+    /**
+     * `act.event.async.batch.size` specifies the max number of queued
+     * listener calls an async event worker picks up per wake up
+     *
+     * Default value: `64`
+     */
+    EVENT_ASYNC_BATCH_SIZE("event.async.batch.size"),
+
+    /**
+     * `act.event.async.overflow` specifies what to do when an async
+     * event worker queue is full:
+     *
+     * * `block` - the emitting thread waits until the queue has room
+     * * `drop_oldest` - the oldest call in the queue is dropped
+     * * `caller_runs` - the emitting thread calls the listener
+     *
+     * Default value: `caller_runs`
+     */
+    EVENT_ASYNC_OVERFLOW("event.async.overflow"),
+
+    /**
+     * `act.job.executor` specifies the executor that runs jobs submitted
+     * to run immediately, including jobs triggered by app events and async
+     * mail sending:
+     *
+     * * `scheduled` - share the thread pool with delayed and periodic jobs
+     * * `fork_join` - a work stealing `ForkJoinPool` with parallelism of
+     *   {@link #JOB_POOL_SIZE}
+     * * `virtual` - a virtual thread per job. Falls back to `fork_join`
+     *   when the JDK does not support virtual threads
+     *
+     * Default value: `scheduled`
+     */
+    JOB_EXECUTOR("job.executor"),
+
+    /**
+     * `act.job.timer.wheel.enabled` when set to `true` delayed and periodic
+     * jobs are scheduled on a hashed timing wheel and run on the executor
+     * specified by {@link #JOB_EXECUTOR}. This reduces the contention on
+     * scheduling at the cost of firing jobs up to one
+     * {@link #JOB_TIMER_WHEEL_TICK tick} late.
+     *
+     * Default value: `false`
+     */
+    JOB_TIMER_WHEEL("job.timer.wheel.enabled"),
+
+    /**
+     * `act.job.timer.wheel.tick` specifies the tick duration in milliseconds
+     * of the timing wheel
+     *
+     * Default value: `100`
+     */
+    JOB_TIMER_WHEEL_TICK("job.timer.wheel.tick"),
+
+    /**
+     * `act.job.journal.enabled` when set to `true` the next fire time of
+     * cron, every and fixed delay jobs are recorded into a journal file, so
+     * that the jobs missed while the app was down can be fired after the app
+     * restarted. See {@link #JOB_MISFIRE_POLICY}
+     *
+     * Default value: `false`
+     */
+    JOB_JOURNAL("job.journal.enabled"),
+
+    /**
+     * `act.job.journal.dir` specifies the dir to store the job journal file.
+     * A relative path is resolved against the app base dir.
+     *
+     * Note the app tmp dir is not the default as it is a new dir each time
+     * the app starts in prod mode
+     *
+     * Default value: `tmp/jobs` dir under the app home dir
+     */
+    JOB_JOURNAL_DIR("job.journal.dir"),
+
+    /**
+     * `act.job.misfire_policy` specifies what to do with a journaled job
+     * that missed fire times while the app was down:
+     *
+     * * `fire_once` - run the job once when it is scheduled
+     * * `skip` - wait for the next fire time
+     * * `fire_all` - run the job as many times as it missed
+     *
+     * Default value: `fire_once`
+     */
+    JOB_MISFIRE_POLICY("job.misfire_policy"),
+
     /**
      * {@code job.pool.size} specifies the maximum number of threads
      * can exists in the application's job manager's thread pool
@@ -544,6 +683,23 @@ public enum AppConfigKey implements ConfigKey {
      */
     METRIC_ENABLED("metric.enabled"),
 
+    /**
+     * `act.metric.export.path` specifies the URL path of the metric
+     * exposition endpoint. See {@link #METRIC_EXPORT_PORT}
+     *
+     * Default value: `/metrics`
+     */
+    METRIC_EXPORT_PATH("metric.export.path"),
+
+    /**
+     * `act.metric.export.port` specifies the name of the port on which
+     * metrics are exposed in Prometheus text format. The port must be
+     * one of the ports configured in {@link #NAMED_PORTS}.
+     *
+     * Default value: `null`, i.e. metric exposition is disabled
+     */
+    METRIC_EXPORT_PORT("metric.export.port"),
+
     /**
      * {@code act.modules}
      *
@@ -612,6 +768,28 @@ public enum AppConfigKey implements ConfigKey {
      */
     RESOLVER_TEMPLATE_PATH("resolver.template_path.impl"),
 
+    /**
+     * `resource.cache.size.limit`
+     *
+     * Specifies the maximum total number of bytes the static resource
+     * cache can hold, including pre-compressed variants. Least recently
+     * used resources are evicted when the limit is exceeded
+     *
+     * Default value: `1024 * 1024 * 10`, i.e. 10MB
+     */
+    RESOURCE_CACHE_SIZE_LIMIT("resource.cache.size.limit"),
+
+    /**
+     * `resource.cache.warmup`
+     *
+     * Specifies a list of classpath folders, e.g. `asset,public`, whose
+     * resources shall be loaded into the static resource cache when
+     * the app started in prod mode
+     *
+     * Default value: empty list
+     */
+    RESOURCE_CACHE_WARMUP("resource.cache.warmup"),
+
     /**
      * `resource.preload.size.limit`
      *
@@ -622,6 +800,18 @@ public enum AppConfigKey implements ConfigKey {
      */
     RESOURCE_PRELOAD_SIZE_LIMIT("resource.preload.size.limit"),
 
+    /**
+     * `resource.sendfile.enabled`
+     *
+     * When enabled, files served by `file:` and `externalfile:` routes are
+     * transferred to the network with zero copy file transfer straight from
+     * the IO thread instead of being copied through the response output
+     * stream on a worker thread
+     *
+     * Default value: `false`
+     */
+    RESOURCE_SENDFILE("resource.sendfile.enabled"),
+
     /**
      * {@code scan_package}
      * Specify the app package in which all classes is subject
@@ -657,6 +847,20 @@ public enum AppConfigKey implements ConfigKey {
      */
     SESSION_TTL("session.ttl"),
 
+    /**
+     * `act.session.ttl.refresh_fraction` specifies when the session expiration
+     * timestamp shall be extended. The timestamp is extended only after the
+     * specified fraction of {@link #SESSION_TTL} has passed since the last
+     * extension. For example with `0.1` and a 30 minutes TTL, the session
+     * cookie is updated at most once every 3 minutes for a read only session.
+     *
+     * The value must be in range `[0, 1)`. `0` means the expiration is extended
+     * on every request.
+     *
+     * Default value: `0`
+     */
+    SESSION_TTL_REFRESH_FRACTION("session.ttl.refresh_fraction"),
+
     /**
      * {@code session.persistent.enabled}
      * Specify whether the system
@@ -670,6 +874,16 @@ public enum AppConfigKey implements ConfigKey {
      */
     SESSION_PERSISTENT_ENABLED("session.persistent.enabled"),
 
+    /**
+     * `act.session.cookie_cache.size` specifies the maximum number of verified
+     * session cookies to be remembered. A session cookie identical to a
+     * remembered one is resolved without decrypting and verifying the signature
+     * again. Set it to `0` to disable the cache.
+     *
+     * Default value: `1000`
+     */
+    SESSION_COOKIE_CACHE_SIZE("session.cookie_cache.size"),
+
     /**
      * {@code session.encrypted.enabled} specify whether the system should
      * encrypt the key/value pairs in the session cookie. Enable session
@@ -688,6 +902,17 @@ public enum AppConfigKey implements ConfigKey {
      */
     SESSION_KEY_USERNAME("session.key.username"),
 
+    /**
+     * `act.session.local_cache.size` specifies the maximum number of sessions
+     * kept in the in-process cache in front of the {@link #SESSION_STORE session store}
+     * when {@link #SESSION_SERVER_SIDE server side session} is enabled. Set
+     * it to `0` to disable the local cache, e.g. when multiple nodes share
+     * the same session store without sticky session.
+     *
+     * Default value: `10000`
+     */
+    SESSION_LOCAL_CACHE_SIZE("session.local_cache.size"),
+
     /**
      * {@code session.mapper.impl} specify the implementation of {@link act.util.SessionMapper}
      *
@@ -709,6 +934,26 @@ public enum AppConfigKey implements ConfigKey {
      */
     SESSION_SECURE("session.secure.enabled"),
 
+    /**
+     * `act.session.server_side.enabled` specifies whether session data
+     * shall be kept on server side. When enabled the session cookie
+     * carries only a signed session id, and the session data is kept
+     * in the {@link #SESSION_STORE session store}.
+     *
+     * Default value: `false`
+     */
+    SESSION_SERVER_SIDE("session.server_side.enabled"),
+
+    /**
+     * `act.session.store.impl` specifies the implementation of
+     * {@link act.util.SessionStore} used when {@link #SESSION_SERVER_SIDE
+     * server side session} is enabled.
+     *
+     * Default value: `null`, i.e. use {@link act.util.SessionStore.CacheServiceStore}
+     * backed by the {@link #CACHE_NAME_SESSION session cache}
+     */
+    SESSION_STORE("session.store.impl"),
+
     /**
      * {@code act.source.version} specifies the java version
      * of the src code. This configuration is used only
@@ -725,6 +970,17 @@ public enum AppConfigKey implements ConfigKey {
      */
     TARGET_VERSION("target.version"),
 
+    /**
+     * `act.template.flush_threshold` specifies the number of chars a template
+     * writes to the response before they are encoded and flushed to the
+     * response output stream. A larger value means fewer writes to the
+     * network, a smaller value means less memory held by each request.
+     * The value must be at least `2`.
+     *
+     * Default value: `8192`
+     */
+    TEMPLATE_FLUSH_THRESHOLD("template.flush_threshold"),
+
     /**
      * {@code template.home} specifies where the view templates resides.
      * If not specified then will use the {@link View#name() view name
@@ -734,6 +990,36 @@ public enum AppConfigKey implements ConfigKey {
      */
     TEMPLATE_HOME("template.home"),
 
+    /**
+     * `act.template.precompile.enabled` when set to `true` the templates of
+     * all actions are compiled in parallel before the app starts listening,
+     * so that the first requests after a deploy do not pay the compilation
+     * cost. Templates failed to compile are reported in the log.
+     *
+     * Templates are not precompiled in dev mode.
+     *
+     * Default value: `false`
+     */
+    TEMPLATE_PRECOMPILE("template.precompile.enabled"),
+
+    /**
+     * `act.template.precompile.dir` specifies the dir to store the precompiled
+     * template classes, so that later boots load them instead of compiling
+     * the templates again. A relative path is resolved against the app base dir.
+     *
+     * The classes are stored in a `rythm-<fingerprint>` sub dir. The fingerprint
+     * changes, and the classes are compiled again, when the Act version, the
+     * content of any template or app class or conf file, or the entries of any
+     * lib jar change. Redeploying the same app to another location or with
+     * fresh file timestamps keeps the fingerprint. Other `rythm-` sub dirs are
+     * removed, nothing else in the dir is touched.
+     *
+     * Only applied when {@link #TEMPLATE_PRECOMPILE} is enabled.
+     *
+     * Default value: none, i.e. the precompiled classes are not stored
+     */
+    TEMPLATE_PRECOMPILE_DIR("template.precompile.dir"),
+
     /**
      * `upload.file.download.enabled`
      *
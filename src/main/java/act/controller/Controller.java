@@ -6,7 +6,6 @@ import act.conf.AppConfigKey;
 import act.controller.meta.HandlerMethodMetaInfo;
 import act.data.Versioned;
 import act.util.DisableFastJsonCircularReferenceDetect;
-import act.util.FastJsonIterable;
 import act.util.PropertySpec;
 import act.view.*;
 import org.osgl.$;
@@ -881,11 +880,11 @@ public @interface Controller {
                     if (meta.disableJsonCircularRefDetect()) {
                         DisableFastJsonCircularReferenceDetect.option.set(true);
                     }
-                    if (v instanceof Iterable && !(v instanceof Collection)) {
-                        v = new FastJsonIterable((Iterable) v);
-                    }
                     PropertySpec.MetaInfo propertySpec = PropertySpec.MetaInfo.withCurrent(meta, context);
                     try {
+                        if (streamable(v)) {
+                            return new StreamRenderJSON(status, (Iterable) v, propertySpec, context);
+                        }
                         if (null == propertySpec) {
                             return RenderJSON.of(status, v);
                         }
@@ -900,6 +899,9 @@ public @interface Controller {
                     return new FilteredRenderXML(v, propertySpec, context);
                 } else if (context.accept() == H.Format.CSV) {
                     PropertySpec.MetaInfo propertySpec = PropertySpec.MetaInfo.withCurrent(meta, context);
+                    if (streamable(v)) {
+                        return new StreamRenderCSV(status, (Iterable) v, propertySpec, context);
+                    }
                     return RenderCSV.get(status, v, propertySpec, context);
                 } else {
                     String s = meta.returnType().getDescriptor().startsWith("[") ? $.toString2(v) : v.toString();
@@ -908,6 +910,14 @@ public @interface Controller {
             }
         }
 
+        /**
+         * An {@link Iterable} that is not a {@link Collection}, e.g. a database
+         * cursor, is rendered element by element instead of being loaded into memory
+         */
+        private static boolean streamable(Object v) {
+            return v instanceof Iterable && !(v instanceof Collection);
+        }
+
         private static void processEtag(HandlerMethodMetaInfo meta, Object v, ActionContext context, H.Request req) {
             if (!(v instanceof Versioned)) {
                 return;
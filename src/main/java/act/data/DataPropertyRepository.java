@@ -14,6 +14,8 @@ import java.lang.reflect.Type;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * Keep the property information of Data class
@@ -37,6 +39,8 @@ public class DataPropertyRepository extends AppServiceBase<DataPropertyRepositor
 
     private OutputFieldsCache outputFieldsCache = new OutputFieldsCache();
 
+    private ConcurrentMap<Class<?>, ConcurrentMap<String, PropertyAccessor>> accessors = new ConcurrentHashMap<>();
+
     public DataPropertyRepository(App app) {
         super(app, true);
         _init();
@@ -47,6 +51,8 @@ public class DataPropertyRepository extends AppServiceBase<DataPropertyRepositor
         extendedTerminators.clear();
         terminators.clear();
         repo.clear();
+        accessors.clear();
+        outputFieldsCache.clear();
     }
 
     /**
@@ -69,6 +75,40 @@ public class DataPropertyRepository extends AppServiceBase<DataPropertyRepositor
         return outputFieldsCache.getOutputFields(spec, componentClass, context);
     }
 
+    /**
+     * Returns a {@link FilteredJsonSerializer} of a property spec
+     * @param spec the property spec
+     * @param context the current context
+     * @return the serializer or `null` if the spec does not filter any field
+     *         or the fields contain patterns
+     */
+    public FilteredJsonSerializer jsonSerializer(PropertySpec.MetaInfo spec, ActContext context) {
+        return outputFieldsCache.getJsonSerializer(spec, context);
+    }
+
+    /**
+     * Returns a {@link PropertyAccessor} of a property of a class
+     * @param c the class
+     * @param property the property path, e.g. "name" or "address.city"
+     * @return the accessor
+     */
+    public PropertyAccessor accessor(Class<?> c, String property) {
+        ConcurrentMap<String, PropertyAccessor> classAccessors = accessors.get(c);
+        if (null == classAccessors) {
+            classAccessors = new ConcurrentHashMap<>();
+            ConcurrentMap<String, PropertyAccessor> existing = accessors.putIfAbsent(c, classAccessors);
+            if (null != existing) {
+                classAccessors = existing;
+            }
+        }
+        PropertyAccessor accessor = classAccessors.get(property);
+        if (null == accessor) {
+            accessor = PropertyAccessor.create(c, property);
+            classAccessors.putIfAbsent(property, accessor);
+        }
+        return accessor;
+    }
+
     private List<String> buildPropertyList(Class c) {
         Method[] ma = c.getMethods();
         String context = "";
@@ -0,0 +1,434 @@
+package act.data;
+
+import act.cli.util.MappedFastJsonNameFilter;
+import com.alibaba.fastjson.serializer.*;
+import org.osgl.logging.LogManager;
+import org.osgl.logging.Logger;
+import org.osgl.util.E;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Serialize objects to JSON with the output fields or excluded fields
+ * of a {@link act.util.PropertySpec} applied.
+ *
+ * This produces the same output as serializing with
+ * {@link act.util.FastJsonPropertyPreFilter} and
+ * {@link act.cli.util.MappedFastJsonNameFilter}. However instead of building
+ * and matching a property path for each property of each object, the spec
+ * is compiled into a tree of nodes, one for each property path, and each
+ * node compiles the bean classes found at that path into a list of
+ * {@link FieldWriter}s of the allowed properties with their labels. The
+ * property values are read through {@link PropertyAccessor}s. Values that
+ * are not affected by the spec, e.g. a property in exclude mode without
+ * any excluded sub property, are written by fastjson directly.
+ *
+ * The bean properties are read from the fastjson {@link JavaBeanSerializer}
+ * through reflection. If the fastjson version in use does not have the
+ * expected fields, {@link #supported()} returns `false` and callers shall
+ * fall back to {@link act.util.FastJsonPropertyPreFilter}.
+ *
+ * Instances are cached by {@link OutputFieldsCache} and are thread safe.
+ */
+public class FilteredJsonSerializer {
+
+    private static final Logger LOGGER = LogManager.get(FilteredJsonSerializer.class);
+
+    // max number of children of a node cached. Map keys are
+    // nodes as well and could be unbounded
+    private static final int NODE_CHILDREN_CACHE_SIZE = 1024;
+
+    private final Node root;
+    private final Map<String, String> labels;
+
+    /**
+     * Construct a serializer
+     *
+     * @param outputs the output fields, applied only when `excluded` is empty
+     * @param excluded the excluded fields
+     * @param labels the label mapping
+     */
+    FilteredJsonSerializer(Collection<String> outputs, Collection<String> excluded, Map<String, String> labels) {
+        this.labels = null == labels ? Collections.<String, String>emptyMap() : labels;
+        this.root = excluded.isEmpty() ? new Node("", canonical(outputs), false) : new Node("", canonical(excluded), true);
+    }
+
+    /**
+     * Check if the fastjson version in use allows compiling bean serializers
+     *
+     * @return `true` if the fastjson internals read by this class are available
+     */
+    static boolean supported() {
+        return BeanWriter.SUPPORTED;
+    }
+
+    /**
+     * Serialize an object to JSON string
+     *
+     * @param object the object to be serialized
+     * @return the JSON string
+     */
+    public String toJSONString(Object object) {
+        SerializeWriter out = new SerializeWriter();
+        try {
+            write(out, object);
+            return out.toString();
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * Write an object to a fastjson writer. References are tracked within the object only
+     *
+     * @param out the fastjson writer
+     * @param object the object to be serialized
+     */
+    public void write(SerializeWriter out, Object object) {
+        JSONSerializer serializer = new JSONSerializer(out);
+        if (!labels.isEmpty()) {
+            serializer.addFilter(new MappedFastJsonNameFilter(labels));
+        }
+        write(serializer, object);
+    }
+
+    /**
+     * Write an object to a fastjson serializer
+     *
+     * Note a {@link act.cli.util.MappedFastJsonNameFilter} with the same label
+     * mapping shall be added to the serializer, so that the properties written
+     * by fastjson directly are labeled as well
+     *
+     * @param serializer the fastjson serializer
+     * @param object the object to be serialized
+     */
+    public void write(JSONSerializer serializer, Object object) {
+        try {
+            writeValue(serializer, root, object, null);
+        } catch (IOException e) {
+            throw E.ioException(e);
+        }
+    }
+
+    private void writeValue(JSONSerializer serializer, Node node, Object value, Object fieldName) throws IOException {
+        SerializeWriter out = serializer.getWriter();
+        if (null == value) {
+            out.writeNull();
+            return;
+        }
+        if (node.unfiltered) {
+            serializer.writeWithFieldName(value, fieldName);
+            return;
+        }
+        if (value instanceof Map) {
+            writeMap(serializer, node, (Map<?, ?>) value, fieldName);
+        } else if (value instanceof Collection) {
+            writeArray(serializer, node, value, ((Collection<?>) value).iterator(), fieldName);
+        } else if (value instanceof Object[]) {
+            writeArray(serializer, node, value, Arrays.asList((Object[]) value).iterator(), fieldName);
+        } else {
+            BeanWriter writer = node.beanWriter(serializer, value.getClass());
+            if (null == writer) {
+                // not a bean, the spec does not apply
+                serializer.writeWithFieldName(value, fieldName);
+            } else {
+                writer.write(serializer, value, fieldName);
+            }
+        }
+    }
+
+    private void writeArray(JSONSerializer serializer, Node node, Object array, Iterator<?> itr, Object fieldName) throws IOException {
+        SerializeWriter out = serializer.getWriter();
+        SerialContext parent = serializer.getContext();
+        serializer.setContext(parent, array, fieldName, 0);
+        try {
+            out.write('[');
+            for (int i = 0; itr.hasNext(); ++i) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                Object element = itr.next();
+                if (writeReference(serializer, element)) {
+                    continue;
+                }
+                writeValue(serializer, node, element, i);
+            }
+            out.write(']');
+        } finally {
+            serializer.setContext(parent);
+        }
+    }
+
+    private void writeMap(JSONSerializer serializer, Node node, Map<?, ?> map, Object fieldName) throws IOException {
+        SerializeWriter out = serializer.getWriter();
+        boolean writeNull = out.isEnabled(SerializerFeature.WRITE_MAP_NULL_FEATURES);
+        SerialContext parent = serializer.getContext();
+        serializer.setContext(parent, map, fieldName, 0);
+        try {
+            out.write('{');
+            boolean first = true;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                Object value = entry.getValue();
+                if (null == value && !writeNull) {
+                    continue;
+                }
+                String key = String.valueOf(entry.getKey());
+                Node child = node.child(key);
+                if (null == child) {
+                    continue;
+                }
+                if (!first) {
+                    out.write(',');
+                }
+                first = false;
+                out.writeFieldName(label(key), true);
+                if (!writeReference(serializer, value)) {
+                    writeValue(serializer, child, value, key);
+                }
+            }
+            out.write('}');
+        } finally {
+            serializer.setContext(parent);
+        }
+    }
+
+    // check if the spec applies to the value
+    private boolean filterable(JSONSerializer serializer, Node node, Object value) {
+        return value instanceof Map || value instanceof Collection || value instanceof Object[]
+                || null != node.beanWriter(serializer, value.getClass());
+    }
+
+    private String label(String name) {
+        String label = labels.get(name);
+        return null == label ? name : label;
+    }
+
+    private static boolean writeReference(JSONSerializer serializer, Object value) {
+        if (null == value || serializer.isEnabled(SerializerFeature.DisableCircularReferenceDetect) || !serializer.containsReference(value)) {
+            return false;
+        }
+        serializer.writeReference(value);
+        return true;
+    }
+
+    private static Set<String> canonical(Collection<String> paths) {
+        Set<String> set = new HashSet<>();
+        for (String path : paths) {
+            set.add(path.replace('/', '.'));
+        }
+        return set;
+    }
+
+    /**
+     * A property path, e.g. `address.city`. Indexes of arrays and collections
+     * are not part of the path.
+     */
+    private class Node {
+        private final String path;
+        private final Set<String> paths;
+        private final boolean exclude;
+        // true if no property under this path is filtered
+        private final boolean unfiltered;
+        private final ConcurrentMap<String, Node> children = new ConcurrentHashMap<>();
+        private final ConcurrentMap<Class<?>, BeanWriter> beanWriters = new ConcurrentHashMap<>();
+
+        Node(String path, Set<String> paths, boolean exclude) {
+            this.path = path;
+            this.paths = paths;
+            this.exclude = exclude;
+            this.unfiltered = exclude && !hasSubPath(path);
+        }
+
+        FilteredJsonSerializer owner() {
+            return FilteredJsonSerializer.this;
+        }
+
+        /**
+         * Returns the node of a property under this path, or `null` if the property is filtered out
+         */
+        Node child(String name) {
+            Node child = children.get(name);
+            if (null == child) {
+                String childPath = path.isEmpty() ? name : path + "." + name;
+                boolean matched = paths.contains(childPath);
+                boolean allowed = exclude ? !matched : matched || hasSubPath(childPath);
+                if (!allowed) {
+                    return null;
+                }
+                child = new Node(childPath, paths, exclude);
+                if (children.size() < NODE_CHILDREN_CACHE_SIZE) {
+                    children.putIfAbsent(name, child);
+                }
+            }
+            return child;
+        }
+
+        /**
+         * Returns the bean writer of a class or `null` if the class is not serialized as a bean
+         */
+        BeanWriter beanWriter(JSONSerializer serializer, Class<?> c) {
+            BeanWriter writer = beanWriters.get(c);
+            if (null == writer) {
+                ObjectSerializer objectWriter = serializer.getObjectWriter(c);
+                writer = objectWriter instanceof JavaBeanSerializer ? new BeanWriter(this, (JavaBeanSerializer) objectWriter) : BeanWriter.NONE;
+                beanWriters.putIfAbsent(c, writer);
+            }
+            return BeanWriter.NONE == writer ? null : writer;
+        }
+
+        private boolean hasSubPath(String path) {
+            String prefix = path.isEmpty() ? "" : path + ".";
+            for (String s : paths) {
+                if (s.startsWith(prefix)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Write the allowed properties of a bean class
+     */
+    private static class BeanWriter {
+
+        static final BeanWriter NONE = new BeanWriter();
+
+        private static final Field GETTERS = field(JavaBeanSerializer.class, "getters", FieldSerializer[].class);
+        private static final Field SORTED_GETTERS = field(JavaBeanSerializer.class, "sortedGetters", FieldSerializer[].class);
+        private static final Field WRITE_NULL = field(FieldSerializer.class, "writeNull", boolean.class);
+
+        static final boolean SUPPORTED = null != GETTERS && null != SORTED_GETTERS && null != WRITE_NULL;
+
+        private final FieldWriter[] fields;
+        private final FieldWriter[] sortedFields;
+
+        private BeanWriter() {
+            fields = sortedFields = null;
+        }
+
+        BeanWriter(Node node, JavaBeanSerializer beanSerializer) {
+            this.fields = compile(node, (FieldSerializer[]) get(GETTERS, beanSerializer));
+            this.sortedFields = compile(node, (FieldSerializer[]) get(SORTED_GETTERS, beanSerializer));
+        }
+
+        void write(JSONSerializer serializer, Object bean, Object fieldName) throws IOException {
+            SerializeWriter out = serializer.getWriter();
+            if (writeReference(serializer, bean)) {
+                return;
+            }
+            boolean writeNull = out.isEnabled(SerializerFeature.WRITE_MAP_NULL_FEATURES);
+            boolean skipTransient = out.isEnabled(SerializerFeature.SkipTransientField);
+            FieldWriter[] fieldWriters = out.isEnabled(SerializerFeature.SortField) ? sortedFields : fields;
+            SerialContext parent = serializer.getContext();
+            serializer.setContext(parent, bean, fieldName, 0);
+            try {
+                out.write('{');
+                boolean first = true;
+                for (FieldWriter field : fieldWriters) {
+                    if (skipTransient && field.transientField) {
+                        continue;
+                    }
+                    Object value = field.accessor.get(bean);
+                    if (null == value && !writeNull && !field.writeNull) {
+                        continue;
+                    }
+                    if (!first) {
+                        out.write(',');
+                    }
+                    first = false;
+                    field.write(serializer, value);
+                }
+                out.write('}');
+            } finally {
+                serializer.setContext(parent);
+            }
+        }
+
+        private FieldWriter[] compile(Node node, FieldSerializer[] fieldSerializers) {
+            List<FieldWriter> list = new ArrayList<>();
+            for (FieldSerializer fieldSerializer : fieldSerializers) {
+                Node child = node.child(fieldSerializer.fieldInfo.name);
+                if (null != child) {
+                    list.add(new FieldWriter(node.owner(), child, fieldSerializer, (Boolean) get(WRITE_NULL, fieldSerializer)));
+                }
+            }
+            return list.toArray(new FieldWriter[list.size()]);
+        }
+
+        private static Field field(Class<?> c, String name, Class<?> type) {
+            try {
+                Field field = c.getDeclaredField(name);
+                if (type != field.getType()) {
+                    LOGGER.warn("unexpected type of %s.%s, filtered JSON serializer disabled", c.getName(), name);
+                    return null;
+                }
+                field.setAccessible(true);
+                return field;
+            } catch (NoSuchFieldException | SecurityException e) {
+                LOGGER.warn("cannot access %s.%s, filtered JSON serializer disabled", c.getName(), name);
+                return null;
+            }
+        }
+
+        private static Object get(Field field, Object o) {
+            try {
+                return field.get(o);
+            } catch (IllegalAccessException e) {
+                throw E.unexpected(e);
+            }
+        }
+    }
+
+    /**
+     * Write a property of a bean
+     */
+    private static class FieldWriter {
+        private final FilteredJsonSerializer owner;
+        private final Node node;
+        private final FieldSerializer fieldSerializer;
+        private final PropertyAccessor accessor;
+        private final String name;
+        private final String label;
+        private final boolean writeNull;
+        private final boolean transientField;
+
+        FieldWriter(FilteredJsonSerializer owner, Node node, FieldSerializer fieldSerializer, boolean writeNull) {
+            this.owner = owner;
+            this.node = node;
+            this.fieldSerializer = fieldSerializer;
+            this.name = fieldSerializer.fieldInfo.name;
+            this.label = owner.labels.get(name);
+            this.writeNull = writeNull;
+            this.transientField = fieldSerializer.fieldInfo.fieldTransient;
+            this.accessor = null != fieldSerializer.fieldInfo.method
+                    ? PropertyAccessor.of(fieldSerializer.fieldInfo.method)
+                    : PropertyAccessor.of(fieldSerializer.fieldInfo.field);
+        }
+
+        void write(JSONSerializer serializer, Object value) throws IOException {
+            if (null == label) {
+                fieldSerializer.writePrefix(serializer);
+            } else {
+                serializer.getWriter().writeFieldName(label, true);
+            }
+            if (null == value || node.unfiltered || !owner.filterable(serializer, node, value)) {
+                // let fastjson handle format, null values and references
+                try {
+                    fieldSerializer.writeValue(serializer, value);
+                } catch (IOException | RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw E.unexpected(e);
+                }
+            } else if (!writeReference(serializer, value)) {
+                owner.writeValue(serializer, node, value, name);
+            }
+        }
+    }
+
+}
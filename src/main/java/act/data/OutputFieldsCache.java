@@ -3,6 +3,8 @@ package act.data;
 import act.app.App;
 import act.data.util.StringOrPattern;
 import act.util.ActContext;
+import act.util.BoundedCache;
+import act.util.FastJsonPropertyPreFilter;
 import act.util.PropertySpec;
 import org.osgl.$;
 import org.osgl.util.C;
@@ -15,23 +17,34 @@ import java.util.regex.Pattern;
 
 class OutputFieldsCache {
 
-    // Key to index final output fields. Key includes:
+    // max number of entries of each cache, the cache is reset once full.
+    // Specs could be provided by request, e.g. via `PropertySpec.current`
+    private static final int CACHE_SIZE = 2048;
+
+    // Key to index final output fields and JSON serializers. Key includes:
     // 1. excluded - developer declared excluded field list
     // 2. outputs - developer declared output field list
     // 3. component type - the type of the entity where field data get extracted
+    // 4. labels - the label mapping, for JSON serializers only
     private class K {
         Set<String> excluded;
         List<String> outputs;
         Class<?> componentType;
+        Map<String, String> labels;
         K(Set<String> ss, List<String> ls, Class<?> componentType) {
+            this(ss, ls, componentType, null);
+        }
+
+        K(Set<String> ss, List<String> ls, Class<?> componentType, Map<String, String> labels) {
             excluded = ss;
             outputs = ls;
             this.componentType = componentType;
+            this.labels = labels;
         }
 
         @Override
         public int hashCode() {
-            return $.hc(excluded, outputs, componentType);
+            return $.hc(excluded, outputs, componentType, labels);
         }
 
         @Override
@@ -43,13 +56,16 @@ class OutputFieldsCache {
                 K that = (K) obj;
                 return $.eq(that.excluded, this.excluded)
                         && $.eq(that.outputs, this.outputs)
-                        && $.eq(that.componentType, this.componentType);
+                        && $.eq(that.componentType, this.componentType)
+                        && $.eq(that.labels, this.labels);
             }
             return false;
         }
     }
 
-    private Map<K, List<String>> cache = C.newMap();
+    private BoundedCache<K, List<String>> cache = new BoundedCache<>(CACHE_SIZE);
+
+    private BoundedCache<K, FilteredJsonSerializer> serializers = new BoundedCache<>(CACHE_SIZE);
 
     public List<String> getOutputFields(PropertySpec.MetaInfo spec, Class<?> componentClass, ActContext context) {
         K k = new K(spec.excludedFields(context), spec.outputFields(context), componentClass);
@@ -61,6 +77,45 @@ class OutputFieldsCache {
         return outputs;
     }
 
+    /**
+     * Returns the JSON serializer of a spec, or `null` if the spec does not filter
+     * any field, the fields contain patterns or the fastjson version in use is
+     * not supported by {@link FilteredJsonSerializer}
+     *
+     * The serializer is kept with the spec, thus specs declared on methods
+     * are looked up in the cache once.
+     */
+    public FilteredJsonSerializer getJsonSerializer(PropertySpec.MetaInfo spec, ActContext context) {
+        $.Var<FilteredJsonSerializer> compiled = spec.jsonSerializer(context);
+        if (null != compiled) {
+            return compiled.get();
+        }
+        FilteredJsonSerializer serializer = lookupJsonSerializer(spec, context);
+        spec.jsonSerializer(context, serializer);
+        return serializer;
+    }
+
+    private FilteredJsonSerializer lookupJsonSerializer(PropertySpec.MetaInfo spec, ActContext context) {
+        Set<String> excluded = spec.excludedFields(context);
+        List<String> outputs = spec.outputFields(context);
+        Collection<String> fields = excluded.isEmpty() ? outputs : excluded;
+        if (fields.isEmpty() || FastJsonPropertyPreFilter.hasPattern(fields) || !FilteredJsonSerializer.supported()) {
+            return null;
+        }
+        K k = new K(excluded, outputs, null, spec.labelMapping(context));
+        FilteredJsonSerializer serializer = serializers.get(k);
+        if (null == serializer) {
+            serializer = new FilteredJsonSerializer(outputs, excluded, k.labels);
+            serializers.put(k, serializer);
+        }
+        return serializer;
+    }
+
+    void clear() {
+        cache.clear();
+        serializers.clear();
+    }
+
     List<String> calculateOutputs(K k) {
         Class<?> type = k.componentType;
         if ($.isSimpleType(type) && k.excluded.isEmpty() && k.outputs.isEmpty()) {
@@ -0,0 +1,216 @@
+package act.data;
+
+import com.esotericsoftware.reflectasm.MethodAccess;
+import org.osgl.$;
+import org.osgl.util.E;
+import org.osgl.util.S;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Get a property of objects of a certain class.
+ *
+ * The getter methods and fields of the property path are resolved once when
+ * the accessor is created, thus getting the property value does not involve
+ * any name lookup. If any part of the path cannot be resolved on the declared
+ * type, e.g. a map key or a list index, the accessor falls back to
+ * {@link org.osgl.Osgl#getProperty(Object, String)}
+ *
+ * Use {@link DataPropertyRepository#accessor(Class, String)} to obtain
+ * a cached accessor.
+ */
+public abstract class PropertyAccessor {
+
+    /**
+     * Returns the property value of an object
+     *
+     * @param bean the object, must be an instance of the class the accessor created for
+     * @return the property value
+     */
+    public abstract Object get(Object bean);
+
+    private static final PropertyAccessor THIS = new PropertyAccessor() {
+        @Override
+        public Object get(Object bean) {
+            return bean;
+        }
+    };
+
+    private static class Fallback extends PropertyAccessor {
+        private final String property;
+
+        Fallback(String property) {
+            this.property = property;
+        }
+
+        @Override
+        public Object get(Object bean) {
+            return $.getProperty(bean, property);
+        }
+    }
+
+    private static class MethodAccessor extends PropertyAccessor {
+        private final MethodAccess access;
+        private final int index;
+
+        MethodAccessor(MethodAccess access, int index) {
+            this.access = access;
+            this.index = index;
+        }
+
+        @Override
+        public Object get(Object bean) {
+            return access.invoke(bean, index);
+        }
+    }
+
+    private static class ReflectedMethodAccessor extends PropertyAccessor {
+        private final Method method;
+
+        ReflectedMethodAccessor(Method method) {
+            this.method = method;
+        }
+
+        @Override
+        public Object get(Object bean) {
+            return $.invokeVirtual(bean, method);
+        }
+    }
+
+    private static class FieldAccessor extends PropertyAccessor {
+        private final Field field;
+
+        FieldAccessor(Field field) {
+            this.field = field;
+        }
+
+        @Override
+        public Object get(Object bean) {
+            try {
+                return field.get(bean);
+            } catch (IllegalAccessException e) {
+                throw E.unexpected(e);
+            }
+        }
+    }
+
+    private static class Chain extends PropertyAccessor {
+        private final PropertyAccessor[] accessors;
+
+        Chain(PropertyAccessor[] accessors) {
+            this.accessors = accessors;
+        }
+
+        @Override
+        public Object get(Object bean) {
+            Object o = bean;
+            for (PropertyAccessor accessor : accessors) {
+                if (null == o) {
+                    return null;
+                }
+                o = accessor.get(o);
+            }
+            return o;
+        }
+    }
+
+    static PropertyAccessor create(Class<?> type, String property) {
+        if ("this".equals(property)) {
+            return THIS;
+        }
+        String[] path = property.split("[./]");
+        PropertyAccessor[] accessors = new PropertyAccessor[path.length];
+        Class<?> current = type;
+        for (int i = 0; i < path.length; ++i) {
+            Method getter = getter(current, path[i]);
+            Field field = null == getter ? field(current, path[i]) : null;
+            if (null != getter) {
+                accessors[i] = methodAccessor(current, getter);
+                current = getter.getReturnType();
+            } else if (null != field) {
+                accessors[i] = new FieldAccessor(field);
+                current = field.getType();
+            } else {
+                return new Fallback(property);
+            }
+        }
+        return 1 == accessors.length ? accessors[0] : new Chain(accessors);
+    }
+
+    /**
+     * Returns an accessor that calls a getter method
+     */
+    static PropertyAccessor of(Method getter) {
+        return methodAccessor(getter.getDeclaringClass(), getter);
+    }
+
+    /**
+     * Returns an accessor that reads a field
+     */
+    static PropertyAccessor of(Field field) {
+        field.setAccessible(true);
+        return new FieldAccessor(field);
+    }
+
+    private static PropertyAccessor methodAccessor(Class<?> type, Method getter) {
+        if (Modifier.isPublic(type.getModifiers()) && null != type.getClassLoader()) {
+            try {
+                MethodAccess access = MethodAccess.get(type);
+                return new MethodAccessor(access, access.getIndex(getter.getName(), 0));
+            } catch (RuntimeException e) {
+                // fall back to reflection
+            }
+        }
+        getter.setAccessible(true);
+        return new ReflectedMethodAccessor(getter);
+    }
+
+    private static Method getter(Class<?> type, String name) {
+        if (!resolvable(type)) {
+            return null;
+        }
+        String cap = S.capFirst(name);
+        for (String prefix : new String[]{"get", "is"}) {
+            try {
+                Method method = type.getMethod(prefix + cap);
+                if (void.class != method.getReturnType() && !Modifier.isStatic(method.getModifiers())) {
+                    return method;
+                }
+            } catch (NoSuchMethodException e) {
+                // try next
+            }
+        }
+        return null;
+    }
+
+    private static Field field(Class<?> type, String name) {
+        if (!resolvable(type)) {
+            return null;
+        }
+        for (Class<?> c = type; null != c && Object.class != c; c = c.getSuperclass()) {
+            try {
+                Field field = c.getDeclaredField(name);
+                if (Modifier.isStatic(field.getModifiers())) {
+                    return null;
+                }
+                field.setAccessible(true);
+                return field;
+            } catch (NoSuchFieldException e) {
+                // try super class
+            }
+        }
+        return null;
+    }
+
+    // map keys and list indexes are left to the dynamic lookup
+    private static boolean resolvable(Class<?> type) {
+        return !type.isArray() && !type.isPrimitive()
+                && !Map.class.isAssignableFrom(type)
+                && !Collection.class.isAssignableFrom(type);
+    }
+
+}
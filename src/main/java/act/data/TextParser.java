@@ -3,8 +3,8 @@ package act.data;
 import act.app.ActionContext;
 import org.osgl.exception.UnexpectedException;
 import org.osgl.http.H;
+import org.osgl.util.IO;
 
-import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.util.HashMap;
 import java.util.Map;
@@ -19,12 +19,7 @@ public class TextParser extends RequestBodyParser {
         InputStream is = req.inputStream();
         try {
             Map<String, String[]> params = new HashMap<String, String[]>();
-            ByteArrayOutputStream os = new ByteArrayOutputStream();
-            int b;
-            while ((b = is.read()) != -1) {
-                os.write(b);
-            }
-            byte[] data = os.toByteArray();
+            byte[] data = IO.readContent(is);
             params.put(ActionContext.REQ_BODY, data.length == 0 ? null : new String[] {new String(data, req.characterEncoding())});
             return params;
         } catch (Exception e) {
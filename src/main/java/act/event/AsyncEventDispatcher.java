@@ -0,0 +1,240 @@
+package act.event;
+
+import act.app.AppThreadFactory;
+import act.metric.Metric;
+import act.metric.MetricHandle;
+import act.metric.MetricInfo;
+import org.osgl.$;
+import org.osgl.util.E;
+import org.osgl.util.S;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+
+import static act.app.App.LOGGER;
+
+/**
+ * Call async event listeners on dedicated worker threads.
+ *
+ * Each worker drains a bounded queue, picking up to `batchSize` pending calls
+ * per wake up. Calls to the same listener always go to the same worker, thus
+ * a listener receives events in the order they are emitted. When a queue is
+ * full the {@link OverflowPolicy} decides what happens to the new call.
+ *
+ * The following metrics are recorded:
+ *
+ * * `act:event:async:enqueued` - counts the calls put into queues
+ * * `act:event:async:lag` - times the calls between being queued and being picked up
+ * * `act:event:async:dropped` - counts the calls dropped because of overflow
+ * * `act:event:async:caller_runs` - counts the calls run by the emitting thread because of overflow
+ *
+ * The number of calls pending in the queues is `enqueued - lag - dropped`
+ */
+public class AsyncEventDispatcher {
+
+    /**
+     * Specifies how to handle a call when the queue is full
+     */
+    public enum OverflowPolicy {
+        /**
+         * Wait until the queue has room.
+         *
+         * A dispatcher worker does not wait, as it could wait for a worker
+         * that waits for it, and calls the listener itself instead. So does
+         * an emitting thread interrupted while waiting
+         */
+        BLOCK,
+
+        /**
+         * Drop the oldest call in the queue
+         */
+        DROP_OLDEST,
+
+        /**
+         * Call the listener in the emitting thread
+         */
+        CALLER_RUNS;
+
+        public static OverflowPolicy valueOfIgnoreCase(String s) {
+            return valueOf(s.trim().toUpperCase());
+        }
+    }
+
+    // marks the worker threads of all dispatchers
+    private static final ThreadLocal<Boolean> WORKER = new ThreadLocal<>();
+
+    private final Lane[] lanes;
+    private final int batchSize;
+    private final OverflowPolicy overflowPolicy;
+    private final MetricHandle enqueued;
+    private final MetricHandle lag;
+    private final MetricHandle dropped;
+    private final MetricHandle callerRuns;
+    private volatile boolean shutdown;
+
+    /**
+     * Construct a dispatcher
+     *
+     * @param name the name used as worker thread name prefix
+     * @param workers the number of worker threads
+     * @param queueSize the capacity of the queue of each worker
+     * @param batchSize the max number of calls a worker picks up per wake up
+     * @param overflowPolicy the overflow policy
+     * @param metric the metric to record queue metrics
+     */
+    public AsyncEventDispatcher(String name, int workers, int queueSize, int batchSize, OverflowPolicy overflowPolicy, Metric metric) {
+        E.illegalArgumentIf(workers < 1, "workers shall be positive number: %s", workers);
+        E.illegalArgumentIf(queueSize < 1, "queue size shall be positive number: %s", queueSize);
+        E.illegalArgumentIf(batchSize < 1, "batch size shall be positive number: %s", batchSize);
+        this.batchSize = batchSize;
+        this.overflowPolicy = $.notNull(overflowPolicy);
+        this.enqueued = metric.handle(S.concat(MetricInfo.ASYNC_EVENT, ":enqueued"));
+        this.lag = metric.handle(S.concat(MetricInfo.ASYNC_EVENT, ":lag"));
+        this.dropped = metric.handle(S.concat(MetricInfo.ASYNC_EVENT, ":dropped"));
+        this.callerRuns = metric.handle(S.concat(MetricInfo.ASYNC_EVENT, ":caller_runs"));
+        ThreadFactory threadFactory = new AppThreadFactory(name, true);
+        this.lanes = new Lane[workers];
+        for (int i = 0; i < workers; ++i) {
+            lanes[i] = new Lane(queueSize, threadFactory);
+        }
+    }
+
+    /**
+     * Queue a call to a listener
+     *
+     * @param listener the listener, used to pick up the worker
+     * @param call the call to the listener
+     */
+    public void dispatch(Object listener, Runnable call) {
+        if (shutdown) {
+            return;
+        }
+        Lane lane = lane(listener);
+        Call task = new Call(call);
+        if (lane.queue.offer(task)) {
+            enqueued.countOnce();
+            return;
+        }
+        OverflowPolicy policy = overflowPolicy;
+        if (OverflowPolicy.BLOCK == policy && null != WORKER.get()) {
+            // a worker waiting for a full lane could deadlock with the
+            // worker of that lane emitting into a full lane of its own
+            policy = OverflowPolicy.CALLER_RUNS;
+        }
+        switch (policy) {
+            case BLOCK:
+                try {
+                    lane.queue.put(task);
+                    enqueued.countOnce();
+                    break;
+                } catch (InterruptedException e) {
+                    // the call never entered the queue, so it is not counted
+                    // as dropped, which applies to queued calls only
+                    Thread.currentThread().interrupt();
+                }
+                callerRuns.countOnce();
+                run(call);
+                break;
+            case DROP_OLDEST:
+                while (!lane.queue.offer(task)) {
+                    if (null != lane.queue.poll()) {
+                        dropped.countOnce();
+                    }
+                }
+                enqueued.countOnce();
+                break;
+            default:
+                callerRuns.countOnce();
+                run(call);
+        }
+    }
+
+    /**
+     * Returns the number of calls pending in all queues
+     */
+    public int depth() {
+        int depth = 0;
+        for (Lane lane : lanes) {
+            depth += lane.queue.size();
+        }
+        return depth;
+    }
+
+    /**
+     * Stop all workers. Pending calls are discarded
+     */
+    public void shutdown() {
+        shutdown = true;
+        for (Lane lane : lanes) {
+            lane.worker.interrupt();
+            lane.queue.clear();
+        }
+    }
+
+    private Lane lane(Object listener) {
+        if (1 == lanes.length) {
+            return lanes[0];
+        }
+        int h = listener.hashCode();
+        h ^= (h >>> 16);
+        return lanes[(h & 0x7fffffff) % lanes.length];
+    }
+
+    private static void run(Runnable call) {
+        try {
+            call.run();
+        } catch (Throwable e) {
+            // an error must not kill the worker, otherwise the queue of
+            // the lane is never drained again
+            LOGGER.error(e, "Error executing async event listener");
+        }
+    }
+
+    private static class Call {
+        final Runnable runnable;
+        final long queuedAt;
+
+        Call(Runnable runnable) {
+            this.runnable = runnable;
+            this.queuedAt = $.ns();
+        }
+    }
+
+    private class Lane implements Runnable {
+        final BlockingQueue<Call> queue;
+        final Thread worker;
+
+        Lane(int queueSize, ThreadFactory threadFactory) {
+            this.queue = new ArrayBlockingQueue<>(queueSize);
+            this.worker = threadFactory.newThread(this);
+            this.worker.start();
+        }
+
+        @Override
+        public void run() {
+            WORKER.set(Boolean.TRUE);
+            List<Call> batch = new ArrayList<>(batchSize);
+            while (!shutdown) {
+                try {
+                    batch.add(queue.take());
+                } catch (InterruptedException e) {
+                    break;
+                }
+                queue.drainTo(batch, batchSize - 1);
+                for (Call call : batch) {
+                    if (shutdown) {
+                        break;
+                    }
+                    lag.countOnce();
+                    lag.stop(call.queuedAt);
+                    AsyncEventDispatcher.run(call.runnable);
+                }
+                batch.clear();
+            }
+        }
+    }
+
+}
@@ -1,17 +1,19 @@
 package act.event;
 
+import act.Act;
 import act.Destroyable;
 import act.app.App;
 import act.app.AppServiceBase;
 import act.app.event.AppEvent;
 import act.app.event.AppEventId;
 import act.app.event.AppEventListener;
+import act.conf.AppConfig;
 import act.event.bytecode.ReflectedSimpleEventListener;
 import act.inject.DependencyInjectionBinder;
 import act.inject.DependencyInjector;
-import act.job.AppJobManager;
+import act.job.JobContext;
+import act.metric.MetricInfo;
 import org.osgl.mvc.result.Result;
-import org.osgl.util.C;
 import org.osgl.util.E;
 
 import javax.enterprise.context.ApplicationScoped;
@@ -30,29 +32,42 @@ public class EventBus extends AppServiceBase<EventBus> {
 
     private boolean once;
 
-    private final List[] appEventListeners;
-    private final List[] asyncAppEventListeners;
-    private final ConcurrentMap<Class<? extends EventObject>, List<ActEventListener>> actEventListeners;
-    private final ConcurrentMap<Class<? extends EventObject>, List<ActEventListener>> asyncActEventListeners;
+    // indexed by AppEventId ordinal
+    private final List<Listeners<AppEventListener<?>>> appEventListeners;
+    private final List<Listeners<AppEventListener<?>>> asyncAppEventListeners;
+    private final ConcurrentMap<Class<? extends EventObject>, Listeners<ActEventListener>> actEventListeners;
+    private final ConcurrentMap<Class<? extends EventObject>, Listeners<ActEventListener>> asyncActEventListeners;
     private final ConcurrentMap<AppEventId, AppEvent> appEventLookup;
-    private final ConcurrentMap<Object, List<SimpleEventListener>> adhocEventListeners;
-    private final ConcurrentMap<Object, List<SimpleEventListener>> asyncAdhocEventListeners;
+    private final ConcurrentMap<Object, Listeners<SimpleEventListener>> adhocEventListeners;
+    private final ConcurrentMap<Object, Listeners<SimpleEventListener>> asyncAdhocEventListeners;
+
+    // dispatch plans indexed by event class
+    private final ConcurrentMap<Class<?>, Route> routes;
+    private final ConcurrentMap<Class<?>, AdhocRoute> adhocRoutes;
 
     private EventBus onceBus;
 
+    // the bus owns the once bus
+    private EventBus owner;
+
+    private volatile AsyncEventDispatcher asyncDispatcher;
+
     private EventBus(App app, boolean once) {
         super(app, true);
-        appEventListeners = initAppListenerArray();
-        asyncAppEventListeners = initAppListenerArray();
+        appEventListeners = initAppListenerList();
+        asyncAppEventListeners = initAppListenerList();
         actEventListeners = new ConcurrentHashMap<>();
         asyncActEventListeners = new ConcurrentHashMap<>();
         appEventLookup = initAppEventLookup(app);
         adhocEventListeners = new ConcurrentHashMap<>();
         asyncAdhocEventListeners = new ConcurrentHashMap<>();
+        routes = new ConcurrentHashMap<>();
+        adhocRoutes = new ConcurrentHashMap<>();
         loadDefaultEventListeners();
         if (!once) {
             onceBus = new EventBus(app, true);
             onceBus.once = true;
+            onceBus.owner = this;
         }
     }
 
@@ -66,6 +81,12 @@ public class EventBus extends AppServiceBase<EventBus> {
         if (null != onceBus) {
             onceBus.releaseResources();
         }
+        if (null != asyncDispatcher) {
+            asyncDispatcher.shutdown();
+            asyncDispatcher = null;
+        }
+        routes.clear();
+        adhocRoutes.clear();
         releaseAppEventListeners(appEventListeners);
         releaseAppEventListeners(asyncAppEventListeners);
         releaseActEventListeners(actEventListeners);
@@ -88,16 +109,16 @@ public class EventBus extends AppServiceBase<EventBus> {
         return false;
     }
 
-    @SuppressWarnings("unchecked")
-    private EventBus _bind(List[] listeners, AppEventId appEventId, AppEventListener l) {
+    private EventBus _bind(List<Listeners<AppEventListener<?>>> listeners, AppEventId appEventId, AppEventListener l) {
         if (callNowIfEmitted(appEventId, l)) {
             return this;
         }
-        List<AppEventListener> list = listeners[appEventId.ordinal()];
-        if (!list.contains(l)) list.add(l);
+        listeners.get(appEventId.ordinal()).add(l);
         return this;
     }
 
+    // app event binding and emitting are synchronized so that
+    // `callNowIfEmitted` check is atomic with the emitting
     @SuppressWarnings("unchecked")
     public synchronized EventBus bind(final AppEventId appEventId, final AppEventListener l) {
         return _bind(appEventListeners, appEventId, l);
@@ -126,31 +147,21 @@ public class EventBus extends AppServiceBase<EventBus> {
         return false;
     }
 
-    private synchronized EventBus _bind(final ConcurrentMap<Class<? extends EventObject>, List<ActEventListener>> listeners, final Class<? extends EventObject> c, final ActEventListener l, int ttl) {
-        List<ActEventListener> list = listeners.get(c);
-        if (null == list) {
-            list = C.newList();
-            listeners.putIfAbsent(c, list);
-        }
-        if (!list.contains(l)) {
-            list.add(l);
-            E.illegalArgumentIf(ttl < 0);
-            if (ttl > 0) {
-                app().jobManager().delay(new Runnable() {
-                    @Override
-                    public void run() {
-                        synchronized (EventBus.this) {
-                            _unbind(listeners, c, l);
-                        }
-                    }
-                }, ttl, TimeUnit.SECONDS);
-            }
+    private EventBus _bind(final ConcurrentMap<Class<? extends EventObject>, Listeners<ActEventListener>> listeners, final Class<? extends EventObject> c, final ActEventListener l, int ttl) {
+        E.illegalArgumentIf(ttl < 0);
+        if (listeners(listeners, c).add(l) && ttl > 0) {
+            app().jobManager().delay(new Runnable() {
+                @Override
+                public void run() {
+                    _unbind(listeners, c, l);
+                }
+            }, ttl, TimeUnit.SECONDS);
         }
         return this;
     }
 
-    private synchronized EventBus _unbind(Map<Class<? extends EventObject>, List<ActEventListener>> listeners, Class<? extends EventObject> c, ActEventListener l) {
-        List<ActEventListener> list = listeners.get(c);
+    private EventBus _unbind(Map<Class<? extends EventObject>, Listeners<ActEventListener>> listeners, Class<? extends EventObject> c, ActEventListener l) {
+        Listeners<ActEventListener> list = listeners.get(c);
         if (null != list) {
             list.remove(l);
         }
@@ -159,11 +170,11 @@ public class EventBus extends AppServiceBase<EventBus> {
 
     public EventBus bind(Class<? extends EventObject> c, ActEventListener l) {
         boolean async = isAsync(l.getClass()) || isAsync(c);
-        ConcurrentMap<Class<? extends EventObject>, List<ActEventListener>> listeners = async ? asyncActEventListeners : actEventListeners;
+        ConcurrentMap<Class<? extends EventObject>, Listeners<ActEventListener>> listeners = async ? asyncActEventListeners : actEventListeners;
         return _bind(listeners, c, l, 0);
     }
 
-    public synchronized EventBus once(Class<? extends EventObject> c, OnceEventListenerBase l) {
+    public EventBus once(Class<? extends EventObject> c, OnceEventListenerBase l) {
         if (null != onceBus) {
             onceBus.bind(c, l);
         } else {
@@ -181,7 +192,7 @@ public class EventBus extends AppServiceBase<EventBus> {
      */
     public EventBus bind(Class<? extends EventObject> c, ActEventListener l, int ttl) {
         boolean async = isAsync(l.getClass()) || isAsync(c);
-        ConcurrentMap<Class<? extends EventObject>, List<ActEventListener>> listeners = async ? asyncActEventListeners : actEventListeners;
+        ConcurrentMap<Class<? extends EventObject>, Listeners<ActEventListener>> listeners = async ? asyncActEventListeners : actEventListeners;
         return _bind(listeners, c, l, ttl);
     }
 
@@ -220,51 +231,52 @@ public class EventBus extends AppServiceBase<EventBus> {
         }
     }
 
-    private <T extends ActEvent> void callOn(final T event, List<? extends ActEventListener> listeners, boolean async) {
+    private static void callOn(final ActEvent event, Listeners<? extends ActEventListener> listeners, boolean async, boolean once, final EventBus bus) {
         if (null == listeners) {
             return;
         }
-        AppJobManager jobManager = null;
+        Object[] array = listeners.array();
+        if (0 == array.length) {
+            return;
+        }
+        AsyncEventDispatcher dispatcher = null;
         if (async) {
-            jobManager = app().jobManager();
+            dispatcher = bus.asyncDispatcher();
         }
-        Set<ActEventListener> toBeRemoved = C.newSet();
-        for (final ActEventListener l : listeners) {
+        List<Object> toBeRemoved = null;
+        for (Object o : array) {
+            final ActEventListener l = (ActEventListener) o;
             if (!async) {
-                boolean result = callOn(event, l);
+                boolean result = bus.callOn(event, l);
                 if (result && once) {
+                    if (null == toBeRemoved) {
+                        toBeRemoved = new ArrayList<>();
+                    }
                     toBeRemoved.add(l);
                 }
             } else {
-                jobManager.now(new Runnable() {
+                dispatcher.dispatch(l, JobContext.propagate(new Runnable() {
                     @Override
                     public void run() {
-                        callOn(event, l);
+                        bus.callOn(event, l);
                     }
-                });
+                }));
             }
         }
-        if (once && !toBeRemoved.isEmpty()) {
+        if (null != toBeRemoved) {
             listeners.removeAll(toBeRemoved);
         }
     }
 
-    @SuppressWarnings("unchecked")
-    private void callOn(final AppEvent event, List[] appEventListeners, boolean async) {
-        List<AppEventListener> ll = appEventListeners[event.id()];
-        callOn(event, ll, async);
-    }
-
-    private void callOn(ActEvent event, Map<Class<? extends EventObject>, List<ActEventListener>> listeners, boolean async) {
-        List<ActEventListener> list = listeners.get(event.eventType());
-        callOn(event, list, async);
+    private void callOn(final AppEvent event, List<Listeners<AppEventListener<?>>> appEventListeners, boolean async) {
+        callOn(event, appEventListeners.get(event.id()), async, once, this);
     }
 
-    public synchronized EventBus emit(AppEventId eventId) {
+    public EventBus emit(AppEventId eventId) {
         return emit(appEventLookup.get(eventId));
     }
 
-    public synchronized EventBus trigger(AppEventId eventId) {
+    public EventBus trigger(AppEventId eventId) {
         return emit(eventId);
     }
 
@@ -277,11 +289,11 @@ public class EventBus extends AppServiceBase<EventBus> {
         return this;
     }
 
-    public synchronized EventBus trigger(final AppEvent event) {
+    public EventBus trigger(final AppEvent event) {
         return emit(event);
     }
 
-    public synchronized EventBus emitAsync(AppEventId eventId) {
+    public EventBus emitAsync(AppEventId eventId) {
         return emitAsync(appEventLookup.get(eventId));
     }
 
@@ -294,15 +306,15 @@ public class EventBus extends AppServiceBase<EventBus> {
         return this;
     }
 
-    public synchronized EventBus triggerAsync(final AppEvent event) {
+    public EventBus triggerAsync(final AppEvent event) {
         return emitAsync(event);
     }
 
-    public synchronized EventBus emitSync(AppEventId eventId) {
+    public EventBus emitSync(AppEventId eventId) {
         return emitSync(appEventLookup.get(eventId));
     }
 
-    public synchronized EventBus triggerSync(AppEventId eventId) {
+    public EventBus triggerSync(AppEventId eventId) {
         return emitSync(eventId);
     }
 
@@ -315,58 +327,20 @@ public class EventBus extends AppServiceBase<EventBus> {
         return this;
     }
 
-    public synchronized EventBus triggerSync(AppEvent event) {
+    public EventBus triggerSync(AppEvent event) {
         return emitSync(event);
     }
 
-    public synchronized EventBus emitSync(final ActEvent event) {
-        if (isDestroyed()) {
-            return this;
-        }
-        callOn(event, asyncActEventListeners, false);
-        callOn(event, actEventListeners, false);
-
-        boolean isSystemEvent = event instanceof SystemEvent;
-        if (!isSystemEvent) {
-            Object payload = event.source();
-            if (null != payload) {
-                emitSync(payload.getClass(), payload);
-            }
-            emitSync(event.getClass(), event);
-        }
-
-        if (null != onceBus) {
-            onceBus.triggerSync(event);
-        }
-        return this;
+    public EventBus emitSync(final ActEvent event) {
+        return dispatch(event, false, false);
     }
 
     public EventBus triggerSync(final ActEvent event) {
         return emitSync(event);
     }
 
-    @SuppressWarnings("unchecked")
     public EventBus emit(final ActEvent event) {
-        if (isDestroyed()) {
-            return this;
-        }
-
-        callOn(event, asyncActEventListeners, true);
-        callOn(event, actEventListeners, false);
-
-        boolean isSystemEvent = event instanceof SystemEvent;
-        if (!isSystemEvent) {
-            Object payload = event.source();
-            if (null != payload) {
-                emit(payload.getClass(), payload);
-            }
-            emit(event.getClass(), event);
-        }
-
-        if (null != onceBus) {
-            onceBus.trigger(event);
-        }
-        return this;
+        return dispatch(event, true, false);
     }
 
     public EventBus trigger(final ActEvent event) {
@@ -374,40 +348,97 @@ public class EventBus extends AppServiceBase<EventBus> {
     }
 
     public EventBus emitAsync(final ActEvent event) {
+        return dispatch(event, true, true);
+    }
+
+    public EventBus triggerAsync(final ActEvent event) {
+        return emitAsync(event);
+    }
+
+    /**
+     * Dispatch an `ActEvent` to
+     *
+     * 1. listeners bound to the event type
+     * 2. simple event listeners bound to the payload class (unless it is a system event)
+     * 3. simple event listeners bound to the event class (unless it is a system event)
+     * 4. the once bus
+     *
+     * @param event the event
+     * @param async1 whether to call async listeners asynchronously
+     * @param async2 whether to call sync listeners asynchronously
+     */
+    private EventBus dispatch(ActEvent event, boolean async1, boolean async2) {
         if (isDestroyed()) {
             return this;
         }
-        callOn(event, asyncActEventListeners, true);
-        callOn(event, actEventListeners, true);
-
-        boolean isSystemEvent = event instanceof SystemEvent;
-        if (!isSystemEvent) {
-            Object payload = event.source();
-            if (null != payload) {
-                emitAsync(payload.getClass(), payload);
+        Route route = route(event);
+        if (null == route) {
+            // `eventType()` differs among instances of the same class
+            route = buildRoute(event.getClass(), event.eventType());
+        }
+        for (; null != route; route = route.once) {
+            EventBus bus = route.bus;
+            callOn(event, route.asyncListeners, async1, bus.once, bus);
+            callOn(event, route.listeners, async2, bus.once, bus);
+            if (null != route.adhoc) {
+                Object payload = event.source();
+                if (null != payload) {
+                    bus.callOn(bus.adhocRoute(payload.getClass()), payload, async1, async2);
+                }
+                bus.callOn(route.adhoc, event, async1, async2);
             }
-            emitAsync(event.getClass(), event);
         }
+        return this;
+    }
 
-        if (null != onceBus) {
-            onceBus.triggerAsync(event);
+    private Route route(ActEvent event) {
+        Class<?> c = event.getClass();
+        Route route = routes.get(c);
+        if (null == route) {
+            route = buildRoute(c, event.eventType());
+            Route prev = routes.putIfAbsent(c, route);
+            if (null != prev) {
+                route = prev;
+            }
         }
-        return this;
+        return route.eventType == event.eventType() ? route : null;
     }
 
-    public EventBus triggerAsync(final ActEvent event) {
-        return emitAsync(event);
+    private Route buildRoute(Class<?> eventClass, Class<? extends EventObject> eventType) {
+        boolean isSystemEvent = SystemEvent.class.isAssignableFrom(eventClass);
+        return new Route(this, eventType,
+                listeners(actEventListeners, eventType),
+                listeners(asyncActEventListeners, eventType),
+                isSystemEvent ? null : adhocRoute(eventClass),
+                null == onceBus ? null : onceBus.buildRoute(eventClass, eventType));
     }
 
-    private EventBus _bind(ConcurrentMap<Object, List<SimpleEventListener>> listeners, Object event, SimpleEventListener l) {
-        List<SimpleEventListener> list = listeners.get(event);
-        if (null == list) {
-            list = new ArrayList<>();
-            listeners.putIfAbsent(event, list);
+    private AdhocRoute adhocRoute(Class<?> c) {
+        AdhocRoute route = adhocRoutes.get(c);
+        if (null == route) {
+            route = new AdhocRoute(listeners(adhocEventListeners, c), listeners(asyncAdhocEventListeners, c));
+            AdhocRoute prev = adhocRoutes.putIfAbsent(c, route);
+            if (null != prev) {
+                route = prev;
+            }
         }
-        if (!list.contains(l)) {
-            list.add(l);
+        return route;
+    }
+
+    private static <K, L> Listeners<L> listeners(ConcurrentMap<K, Listeners<L>> map, K key) {
+        Listeners<L> listeners = map.get(key);
+        if (null == listeners) {
+            listeners = new Listeners<>();
+            Listeners<L> prev = map.putIfAbsent(key, listeners);
+            if (null != prev) {
+                listeners = prev;
+            }
         }
+        return listeners;
+    }
+
+    private EventBus _bind(ConcurrentMap<Object, Listeners<SimpleEventListener>> listeners, Object event, SimpleEventListener l) {
+        listeners(listeners, event).add(l);
         return this;
     }
 
@@ -433,35 +464,67 @@ public class EventBus extends AppServiceBase<EventBus> {
         }
     }
 
-    private boolean callOn(Object event, List<? extends SimpleEventListener> listeners, boolean async, final Object ... args) {
+    private boolean callOn(Object event, Listeners<? extends SimpleEventListener> listeners, boolean async, final Object ... args) {
         if (null == listeners) {
             return false;
         }
-        AppJobManager jobManager = null;
-        if (async) {
-            jobManager = app().jobManager();
-        }
-        boolean hasListener = !listeners.isEmpty();
-        if (!hasListener) {
+        // the array is a snapshot, thus no ConcurrentModificationException
+        Object[] array = listeners.array();
+        if (0 == array.length) {
             return false;
         }
-        // copy the list to avoid ConcurrentModificationException
-        listeners = C.list(listeners);
-        for (final SimpleEventListener l : listeners) {
+        AsyncEventDispatcher dispatcher = null;
+        if (async) {
+            dispatcher = asyncDispatcher();
+        }
+        for (Object o : array) {
+            final SimpleEventListener l = (SimpleEventListener) o;
             if (!async) {
                 callOn(event, l, args);
             } else {
-                jobManager.now(new Runnable() {
+                dispatcher.dispatch(l, JobContext.propagate(new Runnable() {
                     @Override
                     public void run() {
                         l.invoke(args);
                     }
-                });
+                }));
             }
         }
         return true;
     }
 
+    // call simple event listeners with single argument, the
+    // argument array is created only if there are listeners
+    private void callOn(AdhocRoute route, Object arg, boolean async1, boolean async2) {
+        if (route.listeners.isEmpty() && route.asyncListeners.isEmpty()) {
+            return;
+        }
+        Object[] args = {arg};
+        callOn(arg, route.listeners, async2, args);
+        callOn(arg, route.asyncListeners, async1, args);
+    }
+
+    private AsyncEventDispatcher asyncDispatcher() {
+        if (null != owner) {
+            return owner.asyncDispatcher();
+        }
+        AsyncEventDispatcher dispatcher = asyncDispatcher;
+        if (null == dispatcher) {
+            synchronized (this) {
+                dispatcher = asyncDispatcher;
+                if (null == dispatcher) {
+                    AppConfig config = app().config();
+                    dispatcher = new AsyncEventDispatcher("events",
+                            config.eventAsyncWorkers(), config.eventAsyncQueueSize(),
+                            config.eventAsyncBatchSize(), config.eventAsyncOverflow(),
+                            Act.metricPlugin().metric(MetricInfo.ASYNC_EVENT));
+                    asyncDispatcher = dispatcher;
+                }
+            }
+        }
+        return dispatcher;
+    }
+
     public void emit(Enum<?> event, Object... args) {
         emit(event.name(), args);
     }
@@ -508,37 +571,31 @@ public class EventBus extends AppServiceBase<EventBus> {
         return map;
     }
 
-    private List[] initAppListenerArray() {
-        AppEventId[] ids = AppEventId.values();
-        int len = ids.length;
-        List[] l = new List[len];
+    private List<Listeners<AppEventListener<?>>> initAppListenerList() {
+        int len = AppEventId.values().length;
+        List<Listeners<AppEventListener<?>>> list = new ArrayList<>(len);
         for (int i = 0; i < len; ++i) {
-            l[i] = C.newList();
+            list.add(new Listeners<AppEventListener<?>>());
         }
-        return l;
+        return list;
     }
 
-    private void releaseAppEventListeners(List[] array) {
-        int len = array.length;
-        for (int i = 0; i < len; ++i) {
-            List<AppEventListener> l = array[i];
-            Destroyable.Util.destroyAll(l, ApplicationScoped.class);
-            l.clear();
+    private void releaseAppEventListeners(List<Listeners<AppEventListener<?>>> list) {
+        for (Listeners<AppEventListener<?>> l : list) {
+            Destroyable.Util.destroyAll(l.clear(), ApplicationScoped.class);
         }
     }
 
-    private void releaseActEventListeners(Map<?, List<ActEventListener>> listeners) {
-        for (List<ActEventListener> l : listeners.values()) {
-            Destroyable.Util.destroyAll(l, ApplicationScoped.class);
-            l.clear();
+    private void releaseActEventListeners(Map<?, Listeners<ActEventListener>> listeners) {
+        for (Listeners<ActEventListener> l : listeners.values()) {
+            Destroyable.Util.destroyAll(l.clear(), ApplicationScoped.class);
         }
         listeners.clear();
     }
 
-    private void releaseAdhocEventListeners(Map<Object, List<SimpleEventListener>> listeners) {
-        for (List<SimpleEventListener> l : listeners.values()) {
-            Destroyable.Util.tryDestroyAll(l, ApplicationScoped.class);
-            l.clear();
+    private void releaseAdhocEventListeners(Map<Object, Listeners<SimpleEventListener>> listeners) {
+        for (Listeners<SimpleEventListener> l : listeners.values()) {
+            Destroyable.Util.tryDestroyAll(l.clear(), ApplicationScoped.class);
         }
         listeners.clear();
     }
@@ -561,5 +618,104 @@ public class EventBus extends AppServiceBase<EventBus> {
         });
     }
 
+    /**
+     * A copy-on-write listener list. Emitting threads read the current
+     * array snapshot without locking; binding and unbinding replace
+     * the array.
+     */
+    private static final class Listeners<L> {
+        private static final Object[] EMPTY = {};
+
+        private volatile Object[] array = EMPTY;
+
+        Object[] array() {
+            return array;
+        }
+
+        boolean isEmpty() {
+            return 0 == array.length;
+        }
+
+        synchronized boolean add(L l) {
+            Object[] a = array;
+            for (Object o : a) {
+                if (o.equals(l)) {
+                    return false;
+                }
+            }
+            Object[] na = Arrays.copyOf(a, a.length + 1);
+            na[a.length] = l;
+            array = na;
+            return true;
+        }
+
+        synchronized void remove(Object l) {
+            removeAll(Collections.singletonList(l));
+        }
+
+        synchronized void removeAll(Collection<?> c) {
+            Object[] a = array;
+            List<Object> list = new ArrayList<>(a.length);
+            for (Object o : a) {
+                if (!c.contains(o)) {
+                    list.add(o);
+                }
+            }
+            if (list.size() < a.length) {
+                array = list.isEmpty() ? EMPTY : list.toArray();
+            }
+        }
+
+        /**
+         * Remove all listeners
+         *
+         * @return the listeners removed
+         */
+        @SuppressWarnings("unchecked")
+        synchronized List<L> clear() {
+            List<L> list = (List<L>) Arrays.asList(array);
+            array = EMPTY;
+            return list;
+        }
+    }
+
+    /**
+     * Simple event listeners bound to a class
+     */
+    private static final class AdhocRoute {
+        final Listeners<SimpleEventListener> listeners;
+        final Listeners<SimpleEventListener> asyncListeners;
+
+        AdhocRoute(Listeners<SimpleEventListener> listeners, Listeners<SimpleEventListener> asyncListeners) {
+            this.listeners = listeners;
+            this.asyncListeners = asyncListeners;
+        }
+    }
+
+    /**
+     * The dispatch plan of an `ActEvent` class. As it refers to the
+     * listener lists instead of copying them, it stays valid when
+     * listeners are bound or unbound.
+     */
+    private static final class Route {
+        final EventBus bus;
+        final Class<?> eventType;
+        final Listeners<ActEventListener> listeners;
+        final Listeners<ActEventListener> asyncListeners;
+        // `null` for system events
+        final AdhocRoute adhoc;
+        // the route in the once bus
+        final Route once;
+
+        Route(EventBus bus, Class<?> eventType, Listeners<ActEventListener> listeners,
+              Listeners<ActEventListener> asyncListeners, AdhocRoute adhoc, Route once) {
+            this.bus = bus;
+            this.eventType = eventType;
+            this.listeners = listeners;
+            this.asyncListeners = asyncListeners;
+            this.adhoc = adhoc;
+            this.once = once;
+        }
+    }
 
 }
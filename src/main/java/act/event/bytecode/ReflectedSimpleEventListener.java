@@ -6,60 +6,61 @@ import act.event.EventBus;
 import act.event.SimpleEventListener;
 import act.inject.DependencyInjector;
 import act.inject.param.ParamValueLoaderService;
+import com.esotericsoftware.reflectasm.MethodAccess;
 import org.osgl.$;
 import org.osgl.inject.BeanSpec;
-import org.osgl.util.C;
 import org.osgl.util.E;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
 import java.util.List;
 
+/**
+ * Call simple event listener method.
+ *
+ * Public method on public class is called through a direct call invoker
+ * generated by https://github.com/EsotericSoftware/reflectasm. Other
+ * methods are called via reflection
+ */
 public class ReflectedSimpleEventListener implements SimpleEventListener {
 
     private transient volatile Object host;
 
     private final String className;
     private final String methodName;
-    private C.List<Class> paramTypes;
-    private C.List<Class> providedParamTypes;
+    private final Class<?> hostClass;
     private final Method method;
-    private final int providedParamSize;
+    private final MethodAccess methodAccess;
+    private final int methodIndex;
+    private final int paramSize;
+    private final Class[] providedParamTypes;
     private final boolean isStatic;
     private final boolean isAsync;
 
     ReflectedSimpleEventListener(String className, String methodName, List<BeanSpec> paramTypes, boolean isStatic) {
-        this.className = $.notNull(className);
+        this($.classForName($.notNull(className), Act.app().classLoader()), methodName,
+                argList(paramTypes), providedParamSize(paramTypes), isStatic);
+    }
+
+    ReflectedSimpleEventListener(Class<?> hostClass, String methodName, Class[] argList, int providedParamSize, boolean isStatic) {
+        this.hostClass = $.notNull(hostClass);
+        this.className = hostClass.getName();
         this.methodName = $.notNull(methodName);
         this.isStatic = isStatic;
-        this.paramTypes = C.newList();
-        this.providedParamTypes = C.newList();
-        DependencyInjector injector = Act.injector();
-        boolean cutOff = false;
-        if (null == paramTypes) {
-            paramTypes = C.list();
-        }
-        for (int i = paramTypes.size() - 1; i >= 0; --i) {
-            BeanSpec spec = paramTypes.get(i);
-            if (ParamValueLoaderService.provided(spec, injector)) {
-                E.unexpectedIf(cutOff, "provided(injected) argument must be put at the end of passed in argument list");
-                providedParamTypes.add(spec.rawType());
-            } else {
-                cutOff = true;
-                this.paramTypes.add(spec.rawType());
-            }
-        }
-        this.paramTypes = this.paramTypes.reverse();
-        this.providedParamSize = this.providedParamTypes.size();
-        if (providedParamSize > 0) {
-            this.providedParamTypes = this.providedParamTypes.reverse();
-        }
-        Class[] argList = new Class[paramTypes.size()];
-        for (int i = 0; i < argList.length; ++i) {
-            argList[i] = paramTypes.get(i).rawType();
+        this.paramSize = argList.length - providedParamSize;
+        this.providedParamTypes = Arrays.copyOfRange(argList, paramSize, argList.length);
+        this.method = $.getMethod(hostClass, methodName, argList);
+        this.isAsync = EventBus.isAsync(method);
+        if (Modifier.isPublic(hostClass.getModifiers()) && Modifier.isPublic(method.getModifiers())) {
+            methodAccess = MethodAccess.get(hostClass);
+            methodIndex = methodAccess.getIndex(methodName, argList);
+        } else {
+            methodAccess = null;
+            methodIndex = -1;
+            method.setAccessible(true);
         }
-        method = $.getMethod($.classForName(className, Act.app().classLoader()), methodName, argList);
-        isAsync = EventBus.isAsync(method);
     }
 
     public boolean isAsync() {
@@ -68,18 +69,27 @@ public class ReflectedSimpleEventListener implements SimpleEventListener {
 
     @Override
     public void invoke(Object... args) {
-        try {
-            int paramNo = paramTypes.size();
-            int argsNo = args.length;
-            Object[] realArgs = args;
-            if (paramNo != argsNo || providedParamSize > 0) {
-                realArgs = new Object[paramNo + providedParamSize];
-                System.arraycopy(args, 0, realArgs, 0, Math.min(paramNo, argsNo));
-                App app = Act.app();
-                for (int i = 0; i < providedParamSize; ++i) {
-                    realArgs[i + paramNo] = app.getInstance(providedParamTypes.get(i));
-                }
+        Object[] realArgs = args;
+        if (paramSize != args.length || providedParamTypes.length > 0) {
+            realArgs = new Object[paramSize + providedParamTypes.length];
+            System.arraycopy(args, 0, realArgs, 0, Math.min(paramSize, args.length));
+            App app = Act.app();
+            for (int i = 0; i < providedParamTypes.length; ++i) {
+                realArgs[i + paramSize] = app.getInstance(providedParamTypes[i]);
+            }
+        }
+        if (null != methodAccess) {
+            try {
+                methodAccess.invoke(host(), methodIndex, realArgs);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Throwable t) {
+                // checked exception or error raised by listener method
+                throw E.unexpected(t, "Error executing event listener method %s.%s", className, methodName);
             }
+            return;
+        }
+        try {
             method.invoke(host(), realArgs);
         } catch (IllegalAccessException e) {
             throw E.unexpected(e);
@@ -99,8 +109,7 @@ public class ReflectedSimpleEventListener implements SimpleEventListener {
             if (null == host) {
                 synchronized (this) {
                     if (null == host) {
-                        App app = App.instance();
-                        host = app.getInstance($.classForName(className, app.classLoader()));
+                        host = App.instance().getInstance(hostClass);
                     }
                 }
             }
@@ -108,4 +117,32 @@ public class ReflectedSimpleEventListener implements SimpleEventListener {
         }
     }
 
+    private static Class[] argList(List<BeanSpec> paramTypes) {
+        int sz = null == paramTypes ? 0 : paramTypes.size();
+        Class[] argList = new Class[sz];
+        for (int i = 0; i < sz; ++i) {
+            argList[i] = paramTypes.get(i).rawType();
+        }
+        return argList;
+    }
+
+    private static int providedParamSize(List<BeanSpec> paramTypes) {
+        if (null == paramTypes) {
+            return 0;
+        }
+        DependencyInjector injector = Act.injector();
+        int providedParamSize = 0;
+        boolean cutOff = false;
+        for (int i = paramTypes.size() - 1; i >= 0; --i) {
+            BeanSpec spec = paramTypes.get(i);
+            if (ParamValueLoaderService.provided(spec, injector)) {
+                E.unexpectedIf(cutOff, "provided(injected) argument must be put at the end of passed in argument list");
+                providedParamSize++;
+            } else {
+                cutOff = true;
+            }
+        }
+        return providedParamSize;
+    }
+
 }
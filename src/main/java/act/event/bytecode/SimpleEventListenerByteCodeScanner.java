@@ -48,12 +48,13 @@ public class SimpleEventListenerByteCodeScanner extends AppByteCodeScannerBase {
                 jobManager.on(AppEventId.PRE_START, new Runnable() {
                     @Override
                     public void run() {
+                        // the invoker is generated once per method and shared by all events
+                        ReflectedSimpleEventListener listener = new ReflectedSimpleEventListener(metaInfo.className(), metaInfo.methodName(), metaInfo.paramTypes(), metaInfo.isStatic());
                         for (final Object event : metaInfo.events()) {
-                            final boolean isStatic = metaInfo.isStatic();
                             if (metaInfo.isAsync()) {
-                                eventBus.bindAsync(event, new ReflectedSimpleEventListener(metaInfo.className(), metaInfo.methodName(), metaInfo.paramTypes(), isStatic));
+                                eventBus.bindAsync(event, listener);
                             } else {
-                                eventBus.bind(event, new ReflectedSimpleEventListener(metaInfo.className(), metaInfo.methodName(), metaInfo.paramTypes(), isStatic));
+                                eventBus.bind(event, listener);
                             }
                         }
                     }
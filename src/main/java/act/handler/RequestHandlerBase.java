@@ -1,6 +1,7 @@
 package act.handler;
 
 import act.app.ActionContext;
+import act.metric.MetricHandle;
 import act.security.CORS;
 import act.security.CSRF;
 import org.osgl.$;
@@ -15,6 +16,7 @@ public abstract class RequestHandlerBase extends $.F1<ActionContext, Void> imple
     private boolean sessionFree;
     private boolean requireContextResolving;
     private boolean express;
+    private MetricHandle metricHandle;
 
     public RequestHandlerBase() {
         this.express = this instanceof ExpressHandler;
@@ -72,6 +74,19 @@ public abstract class RequestHandlerBase extends $.F1<ActionContext, Void> imple
         return sessionFree;
     }
 
+    /**
+     * Returns the {@link MetricHandle} measuring this handler, or `null`
+     * if it has not been resolved yet
+     */
+    public MetricHandle metricHandle() {
+        return metricHandle;
+    }
+
+    public RequestHandlerBase metricHandle(MetricHandle metricHandle) {
+        this.metricHandle = metricHandle;
+        return this;
+    }
+
     @Override
     public CORS.Spec corsSpec() {
         return CORS.Spec.DUMB;
@@ -0,0 +1,421 @@
+package act.handler.builtin;
+
+import act.Act;
+import act.app.App;
+import act.app.AppServiceBase;
+import act.conf.AppConfig;
+import org.osgl.http.H;
+import org.osgl.logging.LogManager;
+import org.osgl.logging.Logger;
+import org.osgl.util.Codec;
+import org.osgl.util.E;
+import org.osgl.util.IO;
+import org.osgl.util.S;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.JarURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache classpath resources served by {@link StaticResourceGetter}.
+ *
+ * <p>Lookups are lock free and safe to be called from the IO thread.
+ * The total bytes held by the cache, including compressed variants,
+ * is bounded by {@link AppConfig#resourceCacheSizeLimit()}. When the
+ * limit is exceeded, least recently used entries are evicted until
+ * the cache is back to 90% of the limit. Paths of missing resources are
+ * remembered separately, bounded by count, so that requests to nonexistent
+ * paths do not evict cached resources.</p>
+ *
+ * <p>ETags are derived from the SHA-1 hash of the resource content.
+ * For text resources a gzip variant is kept if it is smaller than the
+ * original. If a sibling resource with `.br` or `.gz` suffix exists,
+ * it is used as the pre-compressed variant for that encoding.</p>
+ *
+ * <p>Resources in the folders listed in {@link AppConfig#resourceCacheWarmup()}
+ * are loaded into the cache after app started.</p>
+ */
+public class ResourceCache extends AppServiceBase<ResourceCache> {
+
+    private static final Logger LOGGER = LogManager.get(ResourceCache.class);
+
+    public static final String GZIP = "gzip";
+    public static final String BROTLI = "br";
+
+    // do not bother to compress tiny resources
+    private static final int COMPRESS_THRESHOLD = 256;
+
+    // approximate bytes taken by an entry excluding the content
+    private static final int ENTRY_OVERHEAD = 256;
+
+    // max number of missing resource paths remembered
+    private static final int MISSING_LIMIT = 1024;
+
+    private static final Comparator<Map.Entry<String, Entry>> LEAST_RECENTLY_USED = new Comparator<Map.Entry<String, Entry>>() {
+        @Override
+        public int compare(Map.Entry<String, Entry> o1, Map.Entry<String, Entry> o2) {
+            long l1 = o1.getValue().lastAccess, l2 = o2.getValue().lastAccess;
+            return l1 < l2 ? -1 : l1 == l2 ? 0 : 1;
+        }
+    };
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Entry> missingEntries = new ConcurrentHashMap<>();
+    private final AtomicLong size = new AtomicLong();
+    private final long sizeLimit;
+    private final int preloadSizeLimit;
+    private final int missingLimit;
+
+    public ResourceCache(App app) {
+        this(app, app.config().resourceCacheSizeLimit(), app.config().resourcePreloadSizeLimit(), MISSING_LIMIT);
+        final List<String> folders = app.config().resourceCacheWarmup();
+        if (!folders.isEmpty() && Act.isProd()) {
+            app.jobManager().afterAppStart(new Runnable() {
+                @Override
+                public void run() {
+                    for (String folder : folders) {
+                        warmUp(folder);
+                    }
+                }
+            });
+        }
+    }
+
+    ResourceCache(App app, long sizeLimit, int preloadSizeLimit, int missingLimit) {
+        super(app);
+        this.sizeLimit = sizeLimit;
+        this.preloadSizeLimit = preloadSizeLimit;
+        this.missingLimit = missingLimit;
+    }
+
+    @Override
+    protected void releaseResources() {
+        entries.clear();
+        missingEntries.clear();
+        size.set(0);
+    }
+
+    /**
+     * Returns the cached entry of a resource
+     *
+     * @param path the classpath of the resource
+     * @return the entry or `null` if the resource is not cached
+     */
+    public Entry get(String path) {
+        Entry entry = entries.get(path);
+        if (null == entry) {
+            entry = missingEntries.get(path);
+        }
+        if (null != entry) {
+            entry.lastAccess = System.nanoTime();
+        }
+        return entry;
+    }
+
+    /**
+     * Record a resource path that cannot be loaded so that
+     * following requests fail fast
+     *
+     * @param path the classpath of the resource
+     */
+    public void missing(String path) {
+        Entry entry = new Entry();
+        entry.lastAccess = System.nanoTime();
+        missingEntries.put(path, entry);
+        if (missingEntries.size() > missingLimit) {
+            evictMissing();
+        }
+    }
+
+    /**
+     * Load the resource and put it into the cache.
+     *
+     * @param path the classpath of the resource
+     * @param url the url to the resource
+     * @return the entry or `null` if the resource is not cacheable
+     * @throws IOException if failed reading the resource
+     */
+    public Entry load(String path, URL url) throws IOException {
+        H.Format fmt = StaticFileGetter.contentType(url.getPath());
+        boolean text = isText(fmt);
+        URLConnection conn = url.openConnection();
+        long len = conn.getContentLengthLong();
+        if (len < 0 || len > sizeLimit || (!text && len >= preloadSizeLimit)) {
+            IO.close(conn.getInputStream());
+            return null;
+        }
+        byte[] content = IO.readContent(conn.getInputStream());
+        ByteBuffer gzip = loadSibling(path, ".gz");
+        if (null == gzip && text && content.length >= COMPRESS_THRESHOLD) {
+            gzip = gzip(content);
+        }
+        ByteBuffer brotli = loadSibling(path, ".br");
+        Entry entry = new Entry(path, fmt.contentType(), content, gzip, brotli);
+        put(path, entry);
+        return entry;
+    }
+
+    long size() {
+        return size.get();
+    }
+
+    private void put(String path, Entry entry) {
+        if (entry.weight > sizeLimit) {
+            return;
+        }
+        entry.lastAccess = System.nanoTime();
+        missingEntries.remove(path);
+        Entry prev = entries.put(path, entry);
+        long delta = null == prev ? entry.weight : entry.weight - prev.weight;
+        if (size.addAndGet(delta) > sizeLimit) {
+            evict();
+        }
+    }
+
+    private synchronized void evict() {
+        if (size.get() <= sizeLimit) {
+            return;
+        }
+        List<Map.Entry<String, Entry>> list = new ArrayList<>(entries.entrySet());
+        Collections.sort(list, LEAST_RECENTLY_USED);
+        long target = sizeLimit / 10 * 9;
+        for (Map.Entry<String, Entry> me : list) {
+            if (size.get() <= target) {
+                break;
+            }
+            Entry entry = me.getValue();
+            if (entries.remove(me.getKey(), entry)) {
+                size.addAndGet(-entry.weight);
+            }
+        }
+    }
+
+    private synchronized void evictMissing() {
+        if (missingEntries.size() <= missingLimit) {
+            return;
+        }
+        List<Map.Entry<String, Entry>> list = new ArrayList<>(missingEntries.entrySet());
+        Collections.sort(list, LEAST_RECENTLY_USED);
+        int toRemove = list.size() - missingLimit / 10 * 9;
+        for (int i = 0; i < toRemove; ++i) {
+            Map.Entry<String, Entry> me = list.get(i);
+            missingEntries.remove(me.getKey(), me.getValue());
+        }
+    }
+
+    private static ByteBuffer loadSibling(String path, String suffix) throws IOException {
+        URL url = ResourceCache.class.getResource(path + suffix);
+        if (null == url) {
+            return null;
+        }
+        return ByteBuffer.wrap(IO.readContent(url.openStream()));
+    }
+
+    private void warmUp(String folder) {
+        String base = S.ensureEndsWith(S.ensureStartsWith(folder, '/'), '/');
+        try {
+            Enumeration<URL> urls = ResourceCache.class.getClassLoader().getResources(base.substring(1));
+            while (urls.hasMoreElements()) {
+                URL url = urls.nextElement();
+                List<String> paths = new ArrayList<>();
+                if ("file".equals(url.getProtocol())) {
+                    listFiles(new File(url.getFile()), base, paths);
+                } else if ("jar".equals(url.getProtocol())) {
+                    listJarEntries(url, base, paths);
+                }
+                for (String path : paths) {
+                    if (size.get() >= sizeLimit) {
+                        return;
+                    }
+                    if (entries.containsKey(path) || path.endsWith(".gz") || path.endsWith(".br")) {
+                        continue;
+                    }
+                    URL target = ResourceCache.class.getResource(path);
+                    if (null != target) {
+                        load(path, target);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.warn(e, "Error warming up resource cache with folder: %s", folder);
+        }
+    }
+
+    private static void listFiles(File dir, String path, List<String> paths) {
+        File[] files = dir.listFiles();
+        if (null == files) {
+            return;
+        }
+        for (File file : files) {
+            if (file.isDirectory()) {
+                listFiles(file, path + file.getName() + "/", paths);
+            } else {
+                paths.add(path + file.getName());
+            }
+        }
+    }
+
+    private static void listJarEntries(URL url, String base, List<String> paths) throws IOException {
+        JarURLConnection conn = (JarURLConnection) url.openConnection();
+        JarFile jar = conn.getJarFile();
+        String prefix = base.substring(1);
+        Enumeration<JarEntry> jarEntries = jar.entries();
+        while (jarEntries.hasMoreElements()) {
+            JarEntry jarEntry = jarEntries.nextElement();
+            String name = jarEntry.getName();
+            if (!jarEntry.isDirectory() && name.startsWith(prefix)) {
+                paths.add("/" + name);
+            }
+        }
+    }
+
+    // note `H.Format.of("js")` is not the same instance as `H.Format.JAVASCRIPT`,
+    // thus check the content type instead
+    static boolean isText(H.Format fmt) {
+        String type = fmt.contentType();
+        return type.startsWith("text/") || type.contains("javascript")
+                || type.contains("json") || type.contains("xml");
+    }
+
+    private static ByteBuffer gzip(byte[] content) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream(content.length / 2);
+        GZIPOutputStream os = new GZIPOutputStream(baos);
+        os.write(content);
+        os.close();
+        return baos.size() < content.length ? ByteBuffer.wrap(baos.toByteArray()) : null;
+    }
+
+    private static String hash(byte[] content) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-1");
+            return Codec.byteToHexString(md.digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw E.unexpected(e);
+        }
+    }
+
+    /**
+     * A cached resource
+     */
+    public static class Entry {
+        private final String contentType;
+        private final ByteBuffer content;
+        private final ByteBuffer gzip;
+        private final ByteBuffer brotli;
+        private final String etag;
+        private final String gzipEtag;
+        private final String brotliEtag;
+        private final int weight;
+        private volatile long lastAccess;
+
+        // missing resource
+        private Entry() {
+            this.contentType = null;
+            this.content = null;
+            this.gzip = null;
+            this.brotli = null;
+            this.etag = null;
+            this.gzipEtag = null;
+            this.brotliEtag = null;
+            this.weight = 0;
+        }
+
+        private Entry(String path, String contentType, byte[] content, ByteBuffer gzip, ByteBuffer brotli) {
+            this.contentType = contentType;
+            this.content = ByteBuffer.wrap(content);
+            this.gzip = gzip;
+            this.brotli = brotli;
+            String hash = hash(content);
+            this.etag = S.concat("\"", hash, "\"");
+            this.gzipEtag = null == gzip ? null : S.concat("\"", hash, "-", GZIP, "\"");
+            this.brotliEtag = null == brotli ? null : S.concat("\"", hash, "-", BROTLI, "\"");
+            int weight = ENTRY_OVERHEAD + path.length() * 2 + content.length;
+            if (null != gzip) {
+                weight += gzip.remaining();
+            }
+            if (null != brotli) {
+                weight += brotli.remaining();
+            }
+            this.weight = weight;
+        }
+
+        public boolean isMissing() {
+            return null == content;
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+
+        /**
+         * Whether there is any compressed variant of the resource
+         */
+        public boolean hasVariants() {
+            return null != gzip || null != brotli;
+        }
+
+        /**
+         * Choose the content encoding to be served
+         *
+         * @param acceptEncoding the `Accept-Encoding` header value
+         * @return `br`, `gzip` or `null` if the resource shall be sent as it is
+         */
+        public String encoding(String acceptEncoding) {
+            if (null == acceptEncoding || !hasVariants()) {
+                return null;
+            }
+            if (null != brotli && accepts(acceptEncoding, BROTLI)) {
+                return BROTLI;
+            }
+            if (null != gzip && accepts(acceptEncoding, GZIP)) {
+                return GZIP;
+            }
+            return null;
+        }
+
+        public String etag(String encoding) {
+            if (null == encoding) {
+                return etag;
+            }
+            return BROTLI.equals(encoding) ? brotliEtag : gzipEtag;
+        }
+
+        /**
+         * Returns a duplicate of the content buffer of the encoding
+         */
+        public ByteBuffer content(String encoding) {
+            ByteBuffer buffer = null == encoding ? content : BROTLI.equals(encoding) ? brotli : gzip;
+            return buffer.duplicate();
+        }
+
+        static boolean accepts(String acceptEncoding, String encoding) {
+            for (String s : acceptEncoding.split(",")) {
+                s = s.trim();
+                String q = null;
+                int pos = s.indexOf(';');
+                if (pos > -1) {
+                    q = s.substring(pos + 1).trim();
+                    s = s.substring(0, pos).trim();
+                }
+                if (encoding.equalsIgnoreCase(s) || "*".equals(s)) {
+                    return null == q || !q.matches("q\\s*=\\s*0(\\.0*)?");
+                }
+            }
+            return false;
+        }
+    }
+
+}
@@ -1,20 +1,53 @@
 package act.handler.builtin;
 
+import act.ResponseImplBase;
 import act.app.ActionContext;
 import act.app.App;
 import act.controller.ParamNames;
 import act.handler.builtin.controller.FastRequestHandler;
+import org.joda.time.format.DateTimeFormat;
+import org.joda.time.format.DateTimeFormatter;
 import org.osgl.http.H;
 import org.osgl.util.E;
 import org.osgl.util.FastStr;
 import org.osgl.util.IO;
 import org.osgl.util.S;
 
-import java.io.BufferedInputStream;
 import java.io.File;
-import java.io.InputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.UUID;
 
+import static org.osgl.http.H.Header.Names.*;
+
+/**
+ * Serve files from the file system.
+ *
+ * The handler answers conditional GET requests with `304 Not Modified`
+ * based on an ETag derived from the file size and last modified time,
+ * and serves single and multiple byte ranges with `206 Partial Content`.
+ *
+ * When {@link act.conf.AppConfig#resourceSendFile()} is enabled, the
+ * file body is transferred with {@link ResponseImplBase#sendFile(File, long, long)}
+ * from the IO thread, except for multiple range requests which are always
+ * written through the response output stream on a worker thread.
+ */
 public class StaticFileGetter extends FastRequestHandler {
+
+    private static final DateTimeFormatter HTTP_DATE = DateTimeFormat
+            .forPattern("EEE, dd MMM yyyy HH:mm:ss 'GMT'").withZoneUTC().withLocale(Locale.US);
+
+    private static final Charset ISO_8859_1 = Charset.forName("ISO-8859-1");
+
+    private static final String BOUNDARY = UUID.randomUUID().toString().replace("-", "");
+
+    // more ranges than this in one request is treated as no range
+    private static final int MAX_RANGES = 16;
+
     private File base;
 
     public StaticFileGetter(String base, App app) {
@@ -58,11 +91,232 @@ public class StaticFileGetter extends FastRequestHandler {
                 return;
             }
         }
-        H.Response resp = context.resp();
         fmt = contentType(file.getPath());
-        resp.contentType(fmt.contentType());
-        InputStream is = new BufferedInputStream(IO.is(file));
-        IO.copy(is, context.resp().outputStream());
+        sendFile(file, fmt.contentType(), context);
+    }
+
+    @Override
+    public boolean express(ActionContext context) {
+        if (!context.config().resourceSendFile()) {
+            return false;
+        }
+        String range = context.req().header(RANGE);
+        return null == range || range.indexOf(',') < 0;
+    }
+
+    private void sendFile(File file, String contentType, ActionContext context) {
+        H.Request req = context.req();
+        H.Response resp = context.resp();
+        long size = file.length();
+        long lastModified = file.lastModified();
+        String etag = etag(size, lastModified);
+        resp.etag(etag);
+        if (notModified(req, etag, lastModified)) {
+            AlwaysNotModified.INSTANCE.handle(context);
+            return;
+        }
+        resp.header(LAST_MODIFIED, HTTP_DATE.print(lastModified));
+        resp.header(ACCEPT_RANGES, "bytes");
+        long[] ranges = ranges(req.header(RANGE), req.header(IF_RANGE), etag, lastModified, size);
+        if (null == ranges) {
+            resp.contentType(contentType);
+            resp.contentLength(size);
+            transfer(file, 0, size, context);
+        } else if (0 == ranges.length) {
+            resp.status(H.Status.REQUESTED_RANGE_NOT_SATISFIABLE);
+            resp.header(CONTENT_RANGE, "bytes */" + size);
+            resp.contentLength(0);
+        } else if (2 == ranges.length) {
+            long start = ranges[0], end = ranges[1];
+            resp.status(H.Status.PARTIAL_CONTENT);
+            resp.contentType(contentType);
+            resp.header(CONTENT_RANGE, contentRange(start, end, size));
+            resp.contentLength(end - start + 1);
+            transfer(file, start, end - start + 1, context);
+        } else {
+            sendRanges(file, contentType, ranges, size, resp);
+        }
+    }
+
+    private void transfer(File file, long offset, long length, ActionContext context) {
+        H.Response resp = context.resp();
+        if (context.config().resourceSendFile() && resp instanceof ResponseImplBase) {
+            ((ResponseImplBase) resp).sendFile(file, offset, length);
+        } else {
+            copy(file, offset, length, resp.outputStream());
+        }
+    }
+
+    private static void sendRanges(File file, String contentType, long[] ranges, long size, H.Response resp) {
+        int n = ranges.length / 2;
+        byte[][] heads = new byte[n][];
+        long len = 0;
+        for (int i = 0; i < n; ++i) {
+            long start = ranges[2 * i], end = ranges[2 * i + 1];
+            heads[i] = ("\r\n--" + BOUNDARY + "\r\n" + CONTENT_TYPE + ": " + contentType + "\r\n"
+                    + CONTENT_RANGE + ": " + contentRange(start, end, size) + "\r\n\r\n").getBytes(ISO_8859_1);
+            len += heads[i].length + end - start + 1;
+        }
+        byte[] tail = ("\r\n--" + BOUNDARY + "--\r\n").getBytes(ISO_8859_1);
+        len += tail.length;
+        resp.status(H.Status.PARTIAL_CONTENT);
+        resp.contentType("multipart/byteranges; boundary=" + BOUNDARY);
+        resp.contentLength(len);
+        OutputStream os = resp.outputStream();
+        try {
+            for (int i = 0; i < n; ++i) {
+                os.write(heads[i]);
+                long start = ranges[2 * i], end = ranges[2 * i + 1];
+                copy(file, start, end - start + 1, os);
+            }
+            os.write(tail);
+        } catch (IOException e) {
+            throw E.ioException(e);
+        }
+    }
+
+    private static void copy(File file, long offset, long length, OutputStream os) {
+        RandomAccessFile raf = null;
+        try {
+            raf = new RandomAccessFile(file, "r");
+            raf.seek(offset);
+            byte[] buf = new byte[(int) Math.min(length, 8192)];
+            while (length > 0) {
+                int n = raf.read(buf, 0, (int) Math.min(length, buf.length));
+                if (n < 0) {
+                    break;
+                }
+                os.write(buf, 0, n);
+                length -= n;
+            }
+        } catch (IOException e) {
+            throw E.ioException(e);
+        } finally {
+            IO.close(raf);
+        }
+    }
+
+    static String etag(long size, long lastModified) {
+        return S.concat("\"", Long.toHexString(lastModified), "-", Long.toHexString(size), "\"");
+    }
+
+    private static String contentRange(long start, long end, long size) {
+        return "bytes " + start + "-" + end + "/" + size;
+    }
+
+    /*
+     * If-None-Match takes precedence over If-Modified-Since
+     */
+    static boolean notModified(H.Request req, String etag, long lastModified) {
+        String ifNoneMatch = req.header(IF_NONE_MATCH);
+        if (null != ifNoneMatch) {
+            return etagListMatches(ifNoneMatch, etag);
+        }
+        String ifModifiedSince = req.header(IF_MODIFIED_SINCE);
+        if (null != ifModifiedSince) {
+            long since = parseDate(ifModifiedSince);
+            return since >= 0 && lastModified / 1000 <= since / 1000;
+        }
+        return false;
+    }
+
+    private static boolean etagListMatches(String list, String etag) {
+        for (String s : list.split(",")) {
+            s = s.trim();
+            if ("*".equals(s)) {
+                return true;
+            }
+            if (s.startsWith("W/")) {
+                s = s.substring(2);
+            }
+            if (etag.equals(s)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Parse the `Range` header.
+     *
+     * @return the satisfiable ranges as `[start0, end0, start1, end1, ...]` with
+     *         inclusive ends; `null` if the whole file shall be sent because there
+     *         is no valid range or the `If-Range` condition failed; or an empty
+     *         array if none of the ranges is satisfiable
+     */
+    static long[] ranges(String range, String ifRange, String etag, long lastModified, long size) {
+        if (null == range || !range.startsWith("bytes=")) {
+            return null;
+        }
+        if (null != ifRange && !ifRangeMatches(ifRange.trim(), etag, lastModified)) {
+            return null;
+        }
+        String[] specs = range.substring(6).split(",");
+        if (specs.length > MAX_RANGES) {
+            return null;
+        }
+        long[] ranges = new long[specs.length * 2];
+        int n = 0;
+        for (String spec : specs) {
+            spec = spec.trim();
+            int dash = spec.indexOf('-');
+            if (dash < 0) {
+                return null;
+            }
+            long start, end;
+            try {
+                if (0 == dash) {
+                    long suffix = Long.parseLong(spec.substring(1));
+                    if (suffix < 0) {
+                        return null;
+                    }
+                    start = Math.max(0, size - suffix);
+                    end = size - 1;
+                    if (0 == suffix) {
+                        continue;
+                    }
+                } else {
+                    start = Long.parseLong(spec.substring(0, dash));
+                    String last = spec.substring(dash + 1);
+                    if (last.isEmpty()) {
+                        end = size - 1;
+                    } else {
+                        end = Long.parseLong(last);
+                        if (end < start) {
+                            return null;
+                        }
+                        end = Math.min(end, size - 1);
+                    }
+                    if (start < 0) {
+                        return null;
+                    }
+                }
+            } catch (NumberFormatException e) {
+                return null;
+            }
+            if (start < size) {
+                ranges[n++] = start;
+                ranges[n++] = end;
+            }
+        }
+        return n == ranges.length ? ranges : Arrays.copyOf(ranges, n);
+    }
+
+    private static boolean ifRangeMatches(String ifRange, String etag, long lastModified) {
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            // If-Range requires strong comparison
+            return etag.equals(ifRange);
+        }
+        long date = parseDate(ifRange);
+        return date >= 0 && date / 1000 == lastModified / 1000;
+    }
+
+    private static long parseDate(String s) {
+        try {
+            return HTTP_DATE.parseMillis(s.trim());
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
     }
 
     // for unit test
@@ -5,25 +5,26 @@ import act.app.ActionContext;
 import act.app.App;
 import act.controller.ParamNames;
 import act.handler.builtin.controller.FastRequestHandler;
-import org.osgl.$;
 import org.osgl.http.H;
 import org.osgl.mvc.result.NotFound;
 import org.osgl.util.E;
 import org.osgl.util.IO;
 import org.osgl.util.S;
 
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.net.URL;
-import java.nio.ByteBuffer;
-import java.util.*;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
-import static org.osgl.http.H.Format.*;
+import static org.osgl.http.H.Header.Names.*;
 
 /**
  * Unlike a {@link act.handler.builtin.StaticFileGetter}, the
- * `StaticResourceGetter` read resource from jar packages
+ * `StaticResourceGetter` read resource from jar packages.
+ *
+ * In prod mode resources are served from the app's {@link ResourceCache}
  */
 public class StaticResourceGetter extends FastRequestHandler {
 
@@ -31,19 +32,10 @@ public class StaticResourceGetter extends FastRequestHandler {
 
     private String base;
     private URL baseUrl;
-    private int preloadSizeLimit;
     private boolean isFolder;
-    private ByteBuffer buffer;
-    private H.Format contentType;
-    private boolean preloadFailure;
-    private boolean preloaded;
-    private String etag;
-
-    private Set<URL> folders = new HashSet<>();
-    private Map<String, String> etags = new HashMap<>();
-    private Map<String, ByteBuffer> cachedBuffers = new HashMap<>();
-    private Map<String, String> cachedContentType = new HashMap<>();
-    private Map<String, Boolean> cachedFailures = new HashMap<>();
+    private ResourceCache cache;
+
+    private Set<URL> folders = Collections.newSetFromMap(new ConcurrentHashMap<URL, Boolean>());
 
     public StaticResourceGetter(String base) {
         String path = S.ensureStartsWith(base, SEP);
@@ -51,6 +43,7 @@ public class StaticResourceGetter extends FastRequestHandler {
         this.baseUrl = StaticFileGetter.class.getResource(path);
         E.illegalArgumentIf(null == this.baseUrl, "Cannot find base URL: %s", base);
         this.isFolder = isFolder(this.baseUrl, path);
+        this.cache = Act.app().service(ResourceCache.class);
         if (!this.isFolder && "file".equals(baseUrl.getProtocol())) {
             Act.jobManager().beforeAppStart(new Runnable() {
                 @Override
@@ -59,7 +52,6 @@ public class StaticResourceGetter extends FastRequestHandler {
                 }
             });
         }
-        this.preloadSizeLimit = Act.appConfig().resourcePreloadSizeLimit();
     }
 
     @Override
@@ -68,14 +60,7 @@ public class StaticResourceGetter extends FastRequestHandler {
 
     @Override
     public boolean express(ActionContext context) {
-        if (preloaded) {
-            return true;
-        }
-        String path = context.paramVal(ParamNames.PATH);
-        return Act.isProd() &&
-                (cachedBuffers.containsKey(path)
-                        || cachedFailures.containsKey(path)
-                        || (null != context.req().etag() && context.req().etagMatches(etags.get(path))));
+        return Act.isProd() && null != cache.get(loadPath(context.paramVal(ParamNames.PATH)));
     }
 
     @Override
@@ -86,76 +71,38 @@ public class StaticResourceGetter extends FastRequestHandler {
     }
 
     protected void handle(String path, ActionContext context) {
-        H.Request req = context.req();
-        if (Act.isProd()) {
-            if (preloaded) {
-                // this is a reloaded file resource
-                if (preloadFailure) {
-                    AlwaysNotFound.INSTANCE.handle(context);
-                } else {
-                    if (req.etagMatches(etag)) {
-                        AlwaysNotModified.INSTANCE.handle(context);
-                    } else {
-                        H.Response resp = context.resp();
-                        resp.contentType(contentType.contentType())
-                                .etag(this.etag)
-                                .writeContent(buffer.duplicate());
-                    }
-                }
-                return;
-            }
-            if (cachedFailures.containsKey(path)) {
-                AlwaysNotFound.INSTANCE.handle(context);
+        String loadPath = loadPath(path);
+        boolean prod = Act.isProd();
+        if (prod) {
+            ResourceCache.Entry entry = cache.get(loadPath);
+            if (null != entry) {
+                send(entry, context);
                 return;
             }
-
-            if (null != req.etag() && req.etagMatches(etags.get(path))) {
-                AlwaysNotModified.INSTANCE.handle(context);
-                return;
-            }
-        }
-        ByteBuffer buffer = cachedBuffers.get(path);
-        if (null != buffer) {
-            context.resp().contentType(cachedContentType.get(path))
-                    .etag(etags.get(path))
-                    .writeContent(buffer.duplicate());
-            return;
         }
         try {
-            URL target;
-            H.Format fmt;
-            String loadPath = path;
-            if (S.blank(path)) {
-                target = baseUrl;
-                loadPath = base;
-            } else {
-                loadPath = S.pathConcat(base, SEP, path);
-                target = StaticFileGetter.class.getResource(loadPath);
-                if (null == target) {
-                    throw NotFound.get();
+            URL target = S.blank(path) ? baseUrl : StaticFileGetter.class.getResource(loadPath);
+            if (null == target) {
+                if (prod) {
+                    cache.missing(loadPath);
                 }
+                throw NotFound.get();
             }
             if (preventFolderAccess(target, loadPath, context)) {
                 return;
             }
-            fmt = StaticFileGetter.contentType(target.getPath());
-            H.Response resp = context.resp();
-            resp.contentType(fmt.contentType());
             try {
-                int n = IO.copy(target.openStream(), resp.outputStream());
-                if (Act.isProd()) {
-                    etags.put(path, String.valueOf(n));
-                    if (n < context.config().resourcePreloadSizeLimit()) {
-                        $.Var<String> etagBag = $.var();
-                        buffer = doPreload(target, etagBag);
-                        if (null == buffer) {
-                            cachedFailures.put(path, true);
-                        } else {
-                            cachedBuffers.put(path, buffer);
-                            cachedContentType.put(path, fmt.contentType());
-                        }
+                if (prod) {
+                    ResourceCache.Entry entry = cache.load(loadPath, target);
+                    if (null != entry) {
+                        send(entry, context);
+                        return;
                     }
                 }
+                H.Format fmt = StaticFileGetter.contentType(target.getPath());
+                H.Response resp = context.resp();
+                resp.contentType(fmt.contentType());
+                IO.copy(target.openStream(), resp.outputStream());
             } catch (NullPointerException e) {
                 // this is caused by accessing folder inside jar URL
                 folders.add(target);
@@ -167,6 +114,36 @@ public class StaticResourceGetter extends FastRequestHandler {
         }
     }
 
+    private void send(ResourceCache.Entry entry, ActionContext context) {
+        if (entry.isMissing()) {
+            AlwaysNotFound.INSTANCE.handle(context);
+            return;
+        }
+        H.Request req = context.req();
+        H.Response resp = context.resp();
+        String encoding = null;
+        if (entry.hasVariants()) {
+            resp.header(VARY, ACCEPT_ENCODING);
+            encoding = entry.encoding(req.header(ACCEPT_ENCODING));
+        }
+        String etag = entry.etag(encoding);
+        if (req.etagMatches(etag)) {
+            resp.etag(etag);
+            AlwaysNotModified.INSTANCE.handle(context);
+            return;
+        }
+        if (null != encoding) {
+            resp.header(CONTENT_ENCODING, encoding);
+        }
+        resp.contentType(entry.contentType())
+                .etag(etag)
+                .writeContent(entry.content(encoding));
+    }
+
+    private String loadPath(String path) {
+        return S.blank(path) ? base : S.pathConcat(base, SEP, path);
+    }
+
     private boolean preventFolderAccess(URL target, String path, ActionContext context) {
         if (folders.contains(target)) {
             AlwaysForbidden.INSTANCE.handle(context);
@@ -199,45 +176,12 @@ public class StaticResourceGetter extends FastRequestHandler {
         if (Act.isDev()) {
             return;
         }
-        contentType = StaticFileGetter.contentType(baseUrl.getPath());
-        if (HTML == contentType || CSS == contentType || JAVASCRIPT == contentType
-                || TXT == contentType || CSV == contentType
-                || JSON == contentType || XML == contentType
-                || resourceSizeIsOkay()) {
-            $.Var<String> etagBag = $.var();
-            buffer = doPreload(baseUrl, etagBag);
-            if (null == buffer) {
-                preloadFailure = true;
-            } else {
-                this.etag = etagBag.get();
-            }
-            preloaded = true;
-        }
-    }
-
-    private ByteBuffer doPreload(URL target, $.Var<String> etagBag) {
         try {
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            IO.copy(target.openStream(), baos);
-            byte[] ba = baos.toByteArray();
-            buffer = ByteBuffer.wrap(ba);
-            etagBag.set(String.valueOf(Arrays.hashCode(ba)));
-            return buffer;
+            cache.load(base, baseUrl);
         } catch (IOException e) {
             Act.LOGGER.warn(e, "Error loading resource: %s", baseUrl.getPath());
+            cache.missing(base);
         }
-        return null;
-    }
-
-    private boolean resourceSizeIsOkay() {
-        if (preloadSizeLimit <= 0) {
-            return false;
-        }
-        if ("file".equals(baseUrl.getProtocol())) {
-            File file = new File(baseUrl.getFile());
-            return file.length() < preloadSizeLimit;
-        }
-        return false;
     }
 
     @Override
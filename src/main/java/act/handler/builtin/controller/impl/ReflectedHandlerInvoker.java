@@ -9,6 +9,7 @@ import act.controller.meta.*;
 import act.handler.NonBlock;
 import act.handler.PreventDoubleSubmission;
 import act.handler.builtin.controller.*;
+import act.inject.param.JsonBodyReader;
 import act.inject.param.JsonDTO;
 import act.inject.param.JsonDTOClassManager;
 import act.inject.param.ParamValueLoaderManager;
@@ -21,6 +22,7 @@ import act.util.DestroyableBase;
 import act.view.*;
 import com.alibaba.fastjson.JSON;
 import com.alibaba.fastjson.JSONException;
+import com.alibaba.fastjson.JSONReader;
 import com.esotericsoftware.reflectasm.MethodAccess;
 import org.osgl.$;
 import org.osgl.http.H;
@@ -33,8 +35,13 @@ import org.osgl.mvc.result.Conflict;
 import org.osgl.mvc.result.Result;
 import org.osgl.util.C;
 import org.osgl.util.E;
+import org.osgl.util.IO;
 import org.osgl.util.S;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
@@ -56,7 +63,7 @@ public class ReflectedHandlerInvoker<M extends HandlerMethodMetaInfo> extends De
     private MethodAccess methodAccess;
     private M handler;
     private int handlerIndex;
-    private Map<H.Format, Boolean> templateCache = C.newMap();
+    private TemplateAvailabilityCache templateCache = new TemplateAvailabilityCache();
     protected Method method; //
     private ParamValueLoaderService paramLoaderService;
     private JsonDTOClassManager jsonDTOClassManager;
@@ -70,12 +77,15 @@ public class ReflectedHandlerInvoker<M extends HandlerMethodMetaInfo> extends De
     private CORS.Spec corsSpec;
     private CSRF.Spec csrfSpec;
     private String jsonDTOKey;
+    // resolved on first JSON request
+    private volatile Class<? extends JsonDTO> jsonDTOClass;
     private boolean isStatic;
     private Object singleton;
     private H.Format forceResponseContentType;
     private H.Status forceResponseStatus;
     private boolean disabled;
     private String dspToken;
+    private boolean jsonBodyStreaming;
 
     private ReflectedHandlerInvoker(M handlerMetaInfo, App app) {
         this.cl = app.classLoader();
@@ -118,6 +128,7 @@ public class ReflectedHandlerInvoker<M extends HandlerMethodMetaInfo> extends De
         CSRF.Spec csrfSpec = CSRF.spec(method).chain(CSRF.spec(controllerClass));
         this.csrfSpec = csrfSpec;
         this.jsonDTOKey = app.cuid();
+        this.jsonBodyStreaming = app.config().jsonBodyStreaming();
         this.singleton = singleton(app);
 
         ResponseContentType contentType = method.getAnnotation(ResponseContentType.class);
@@ -151,6 +162,7 @@ public class ReflectedHandlerInvoker<M extends HandlerMethodMetaInfo> extends De
         controllerClass = null;
         method = null;
         methodAccess = null;
+        jsonDTOClass = null;
         handler.destroy();
         handler = null;
         super.releaseResources();
@@ -237,13 +249,14 @@ public class ReflectedHandlerInvoker<M extends HandlerMethodMetaInfo> extends De
         if (0 == fieldsAndParamsCount || !context.jsonEncoded() || null != context.attribute(jsonDTOKey)) {
             return;
         }
-        Class<? extends JsonDTO> dtoClass = jsonDTOClassManager.get(controllerClass, method);
+        Class<? extends JsonDTO> dtoClass = jsonDTOClass();
         if (null == dtoClass) {
             // there are neither fields nor params
             return;
         }
         try {
-            JsonDTO dto = JSON.parseObject(patchedJsonBody(context), dtoClass);
+            InputStream is = jsonBodyStreaming ? context.takeBodyStream() : null;
+            JsonDTO dto = null == is ? JSON.parseObject(patchedJsonBody(context), dtoClass) : readJsonBody(is, dtoClass, context);
             context.attribute(jsonDTOKey, dto);
         } catch (JSONException e) {
             if (e.getCause() != null) {
@@ -255,6 +268,31 @@ public class ReflectedHandlerInvoker<M extends HandlerMethodMetaInfo> extends De
         }
     }
 
+    private Class<? extends JsonDTO> jsonDTOClass() {
+        Class<? extends JsonDTO> dtoClass = jsonDTOClass;
+        if (null == dtoClass) {
+            dtoClass = jsonDTOClassManager.get(paramSpecs);
+            jsonDTOClass = dtoClass;
+        }
+        return dtoClass;
+    }
+
+    private JsonDTO readJsonBody(InputStream is, Class<? extends JsonDTO> dtoClass, ActionContext context) {
+        String theName = 1 < fieldsAndParamsCount(context) ? null : singleJsonFieldName(context);
+        Reader reader = null;
+        try {
+            reader = JsonBodyReader.of(new InputStreamReader(is, context.req().characterEncoding()), theName);
+            if (null == reader) {
+                return null;
+            }
+            return new JSONReader(reader).readObject(dtoClass);
+        } catch (IOException e) {
+            throw E.ioException(e);
+        } finally {
+            IO.close(reader);
+        }
+    }
+
     private int fieldsAndParamsCount(ActionContext context) {
         if (fieldsAndParamsCount < 2) {
             return fieldsAndParamsCount;
@@ -273,7 +311,7 @@ public class ReflectedHandlerInvoker<M extends HandlerMethodMetaInfo> extends De
         if (null != singleJsonFieldName) {
             return singleJsonFieldName;
         }
-        Set<String> set = context.paramKeys();
+        Set<String> set = context.nonBodyParamKeys();
         for (BeanSpec spec: paramSpecs) {
             String name = spec.name();
             if (!set.contains(name)) {
@@ -415,7 +453,7 @@ public class ReflectedHandlerInvoker<M extends HandlerMethodMetaInfo> extends De
         return Controller.Util.inferResult(handlerMetaInfo, result, context, hasTemplate);
     }
 
-    private synchronized boolean checkTemplate(ActionContext context) {
+    private boolean checkTemplate(ActionContext context) {
         if (!context.state().isHandling()) {
             // we don't check template on interceptors
             return false;
@@ -424,19 +462,9 @@ public class ReflectedHandlerInvoker<M extends HandlerMethodMetaInfo> extends De
         if (null != hasTemplate) {
             return hasTemplate;
         }
-        H.Format fmt = context.accept();
-        hasTemplate = templateCache.get(fmt);
-        if (null == hasTemplate || Act.isDev()) {
-            if (!TemplatePathResolver.isAcceptFormatSupported(fmt)) {
-                hasTemplate = false;
-            } else {
-                Template t = Act.viewManager().load(context);
-                hasTemplate = t != null;
-            }
-            templateCache.put(fmt, hasTemplate);
-        }
-        context.hasTemplate(hasTemplate);
-        return hasTemplate;
+        boolean b = templateCache.hasTemplate(context.accept(), context);
+        context.hasTemplate(b);
+        return b;
     }
 
     private Object[] params(Object controller, ActionContext context) {
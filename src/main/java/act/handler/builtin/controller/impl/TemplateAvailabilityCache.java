@@ -0,0 +1,60 @@
+package act.handler.builtin.controller.impl;
+
+import act.Act;
+import act.app.ActionContext;
+import act.view.Template;
+import act.view.TemplatePathResolver;
+import org.osgl.http.H;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Keep track of whether an action handler has a template for
+ * a given response format.
+ *
+ * <p>Lookups do not take any lock. The availability of a format
+ * is resolved on first use and published with {@code putIfAbsent},
+ * so concurrent requests racing on the first lookup might probe the
+ * view manager more than once but always end up with the same answer.</p>
+ *
+ * <p>In dev mode the cache is bypassed so that template files added
+ * or removed while the app is running are picked up.</p>
+ */
+class TemplateAvailabilityCache {
+
+    private final ConcurrentMap<H.Format, Boolean> cache = new ConcurrentHashMap<>();
+    private final boolean dev;
+
+    TemplateAvailabilityCache() {
+        this(Act.isDev());
+    }
+
+    TemplateAvailabilityCache(boolean dev) {
+        this.dev = dev;
+    }
+
+    boolean hasTemplate(H.Format fmt, ActionContext context) {
+        if (dev) {
+            return probe(fmt, context);
+        }
+        Boolean hasTemplate = cache.get(fmt);
+        if (null == hasTemplate) {
+            hasTemplate = probe(fmt, context);
+            Boolean existing = cache.putIfAbsent(fmt, hasTemplate);
+            if (null != existing) {
+                hasTemplate = existing;
+            }
+        }
+        return hasTemplate;
+    }
+
+    boolean probe(H.Format fmt, ActionContext context) {
+        if (!TemplatePathResolver.isAcceptFormatSupported(fmt)) {
+            return false;
+        }
+        Template t = Act.viewManager().load(context);
+        return null != t;
+    }
+
+}
@@ -0,0 +1,67 @@
+package act.inject.param;
+
+import act.app.AppClassLoader;
+import org.osgl.inject.InjectException;
+import org.osgl.logging.LogManager;
+import org.osgl.logging.Logger;
+
+import java.lang.reflect.Field;
+
+/**
+ * Set and get the bindable fields of a bean class by field index.
+ *
+ * This class accesses fields through reflection. Subclasses generated by
+ * {@link BeanBinderGenerator} access non private, non final fields directly
+ * and fall back to this class for other fields
+ */
+public class BeanBinder {
+
+    private static final Logger LOGGER = LogManager.get(BeanBinder.class);
+
+    private final Field[] fields;
+
+    protected BeanBinder(Field[] fields) {
+        this.fields = fields;
+    }
+
+    public void set(Object bean, int index, Object value) {
+        try {
+            fields[index].set(bean, value);
+        } catch (IllegalAccessException e) {
+            throw new InjectException(e);
+        }
+    }
+
+    public Object get(Object bean, int index) {
+        try {
+            return fields[index].get(bean);
+        } catch (IllegalAccessException e) {
+            throw new InjectException(e);
+        }
+    }
+
+    /**
+     * Returns a bean binder for the fields of a bean class
+     *
+     * @param beanClass the bean class
+     * @param fields the fields to be bound, must be accessible
+     * @param appClassLoader the app class loader, could be `null`
+     * @return a generated bean binder or a reflective binder if
+     *         no field can be accessed directly
+     */
+    static BeanBinder of(Class<?> beanClass, Field[] fields, AppClassLoader appClassLoader) {
+        if (0 == fields.length) {
+            return new BeanBinder(fields);
+        }
+        try {
+            BeanBinder binder = new BeanBinderGenerator(beanClass, fields, appClassLoader).generate();
+            if (null != binder) {
+                return binder;
+            }
+        } catch (RuntimeException | LinkageError e) {
+            LOGGER.warn(e, "error generating bean binder for %s, fall back to reflection", beanClass);
+        }
+        return new BeanBinder(fields);
+    }
+
+}
@@ -0,0 +1,245 @@
+package act.inject.param;
+
+import act.app.AppClassLoader;
+import act.asm.*;
+import org.osgl.$;
+import org.osgl.util.E;
+import org.osgl.util.S;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generate a {@link BeanBinder} subclass that sets and gets fields with
+ * `putfield` and `getfield` instructions.
+ *
+ * The binder class is put into the package of the bean class. When the
+ * bean class is loaded by the app class loader the binder is defined by the
+ * same loader and could access package private and protected fields declared
+ * in the same package. Otherwise only public fields of public classes are
+ * accessed directly. Private and final fields are always left to reflection.
+ */
+class BeanBinderGenerator implements Opcodes {
+
+    private static final String BEAN_BINDER_CLASS = "act/inject/param/BeanBinder";
+    private static final String SET_DESC = "(Ljava/lang/Object;ILjava/lang/Object;)V";
+    private static final String GET_DESC = "(Ljava/lang/Object;I)Ljava/lang/Object;";
+
+    private static final AtomicInteger SEQ = new AtomicInteger();
+
+    private static class BinderClassLoader extends ClassLoader {
+        BinderClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        Class<?> defineClass(String name, byte[] b) {
+            return defineClass(name, b, 0, b.length);
+        }
+    }
+
+    private Class<?> beanClass;
+    private Field[] fields;
+    private AppClassLoader appClassLoader;
+    private boolean[] direct;
+    private String className;
+    private ClassWriter cw;
+    private MethodVisitor mv;
+
+    BeanBinderGenerator(Class<?> beanClass, Field[] fields, AppClassLoader appClassLoader) {
+        this.beanClass = $.notNull(beanClass);
+        this.fields = fields;
+        this.appClassLoader = beanClass.getClassLoader() == appClassLoader ? appClassLoader : null;
+        this.className = S.concat(beanClass.getName(), "$$BeanBinder", S.string(SEQ.incrementAndGet()));
+        this.cw = new ClassWriter(ClassWriter.COMPUTE_FRAMES) {
+            @Override
+            protected String getCommonSuperClass(String type1, String type2) {
+                // the generated code never merges different types on the stack or in local variables
+                return "java/lang/Object";
+            }
+        };
+    }
+
+    /**
+     * Returns the generated binder or `null` if no field could be accessed directly
+     */
+    BeanBinder generate() {
+        ClassLoader parent = beanClass.getClassLoader();
+        if (null == parent) {
+            return null;
+        }
+        direct = new boolean[fields.length];
+        boolean found = false;
+        for (int i = 0; i < fields.length; ++i) {
+            direct[i] = directAccessible(fields[i]);
+            found = found || direct[i];
+        }
+        if (!found) {
+            return null;
+        }
+        byte[] bytecode = generateByteCode();
+        Class<?> c;
+        if (null != appClassLoader) {
+            c = appClassLoader.defineClass(className, bytecode, 0, bytecode.length, true);
+        } else {
+            c = new BinderClassLoader(parent).defineClass(className, bytecode);
+        }
+        try {
+            return (BeanBinder) c.getConstructor(Field[].class).newInstance((Object) fields);
+        } catch (Exception e) {
+            throw E.unexpected(e, "error creating bean binder for %s", beanClass);
+        }
+    }
+
+    byte[] generateByteCode() {
+        cw.visit(V1_6, ACC_PUBLIC + ACC_SUPER, internalName(), null, BEAN_BINDER_CLASS, null);
+        generateConstructor();
+        generateSetter();
+        generateGetter();
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    private void generateConstructor() {
+        mv = cw.visitMethod(ACC_PUBLIC, "<init>", "([Ljava/lang/reflect/Field;)V", null, null);
+        mv.visitCode();
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitVarInsn(ALOAD, 1);
+        mv.visitMethodInsn(INVOKESPECIAL, BEAN_BINDER_CLASS, "<init>", "([Ljava/lang/reflect/Field;)V", false);
+        mv.visitInsn(RETURN);
+        mv.visitMaxs(2, 2);
+        mv.visitEnd();
+    }
+
+    private void generateSetter() {
+        mv = cw.visitMethod(ACC_PUBLIC, "set", SET_DESC, null, null);
+        mv.visitCode();
+        Label fallback = new Label();
+        Label[] labels = switchLabels(fallback);
+        mv.visitVarInsn(ILOAD, 2);
+        mv.visitTableSwitchInsn(0, fields.length - 1, fallback, labels);
+        for (int i = 0; i < fields.length; ++i) {
+            if (!direct[i]) {
+                continue;
+            }
+            Field field = fields[i];
+            Class<?> type = field.getType();
+            mv.visitLabel(labels[i]);
+            mv.visitVarInsn(ALOAD, 1);
+            mv.visitTypeInsn(CHECKCAST, Type.getInternalName(field.getDeclaringClass()));
+            mv.visitVarInsn(ALOAD, 3);
+            unbox(type);
+            mv.visitFieldInsn(PUTFIELD, Type.getInternalName(field.getDeclaringClass()), field.getName(), Type.getDescriptor(type));
+            mv.visitInsn(RETURN);
+        }
+        mv.visitLabel(fallback);
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitVarInsn(ALOAD, 1);
+        mv.visitVarInsn(ILOAD, 2);
+        mv.visitVarInsn(ALOAD, 3);
+        mv.visitMethodInsn(INVOKESPECIAL, BEAN_BINDER_CLASS, "set", SET_DESC, false);
+        mv.visitInsn(RETURN);
+        mv.visitMaxs(4, 4);
+        mv.visitEnd();
+    }
+
+    private void generateGetter() {
+        mv = cw.visitMethod(ACC_PUBLIC, "get", GET_DESC, null, null);
+        mv.visitCode();
+        Label fallback = new Label();
+        Label[] labels = switchLabels(fallback);
+        mv.visitVarInsn(ILOAD, 2);
+        mv.visitTableSwitchInsn(0, fields.length - 1, fallback, labels);
+        for (int i = 0; i < fields.length; ++i) {
+            if (!direct[i]) {
+                continue;
+            }
+            Field field = fields[i];
+            Class<?> type = field.getType();
+            mv.visitLabel(labels[i]);
+            mv.visitVarInsn(ALOAD, 1);
+            mv.visitTypeInsn(CHECKCAST, Type.getInternalName(field.getDeclaringClass()));
+            mv.visitFieldInsn(GETFIELD, Type.getInternalName(field.getDeclaringClass()), field.getName(), Type.getDescriptor(type));
+            box(type);
+            mv.visitInsn(ARETURN);
+        }
+        mv.visitLabel(fallback);
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitVarInsn(ALOAD, 1);
+        mv.visitVarInsn(ILOAD, 2);
+        mv.visitMethodInsn(INVOKESPECIAL, BEAN_BINDER_CLASS, "get", GET_DESC, false);
+        mv.visitInsn(ARETURN);
+        mv.visitMaxs(3, 3);
+        mv.visitEnd();
+    }
+
+    private Label[] switchLabels(Label fallback) {
+        Label[] labels = new Label[fields.length];
+        for (int i = 0; i < fields.length; ++i) {
+            labels[i] = direct[i] ? new Label() : fallback;
+        }
+        return labels;
+    }
+
+    // convert the `Object` on top of the stack to the field type
+    private void unbox(Class<?> type) {
+        if (!type.isPrimitive()) {
+            mv.visitTypeInsn(CHECKCAST, Type.getInternalName(type));
+        } else if (boolean.class == type) {
+            mv.visitTypeInsn(CHECKCAST, "java/lang/Boolean");
+            mv.visitMethodInsn(INVOKEVIRTUAL, "java/lang/Boolean", "booleanValue", "()Z", false);
+        } else if (char.class == type) {
+            mv.visitTypeInsn(CHECKCAST, "java/lang/Character");
+            mv.visitMethodInsn(INVOKEVIRTUAL, "java/lang/Character", "charValue", "()C", false);
+        } else {
+            // allow widening and narrowing between number types
+            mv.visitTypeInsn(CHECKCAST, "java/lang/Number");
+            mv.visitMethodInsn(INVOKEVIRTUAL, "java/lang/Number", S.concat(type.getName(), "Value"), S.concat("()", Type.getDescriptor(type)), false);
+        }
+    }
+
+    // convert the field value on top of the stack to `Object`
+    private void box(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return;
+        }
+        String wrapper = Type.getInternalName($.wrapperClassOf(type));
+        mv.visitMethodInsn(INVOKESTATIC, wrapper, "valueOf", S.fmt("(%s)L%s;", Type.getDescriptor(type), wrapper), false);
+    }
+
+    private boolean directAccessible(Field field) {
+        int modifiers = field.getModifiers();
+        if (Modifier.isPrivate(modifiers) || Modifier.isFinal(modifiers)) {
+            return false;
+        }
+        Class<?> owner = field.getDeclaringClass();
+        if (!accessible(owner) || !accessible(field.getType())) {
+            return false;
+        }
+        return Modifier.isPublic(modifiers) || samePackage(owner);
+    }
+
+    private boolean accessible(Class<?> type) {
+        while (type.isArray()) {
+            type = type.getComponentType();
+        }
+        return type.isPrimitive() || Modifier.isPublic(type.getModifiers()) || samePackage(type);
+    }
+
+    private boolean samePackage(Class<?> type) {
+        return null != appClassLoader
+                && type.getClassLoader() == appClassLoader
+                && S.eq(packageOf(type), packageOf(beanClass));
+    }
+
+    private String internalName() {
+        return className.replace('.', '/');
+    }
+
+    private static String packageOf(Class<?> type) {
+        String name = type.getName();
+        int pos = name.lastIndexOf('.');
+        return pos < 0 ? "" : name.substring(0, pos);
+    }
+
+}
@@ -0,0 +1,118 @@
+package act.inject.param;
+
+import java.io.IOException;
+import java.io.PushbackReader;
+import java.io.Reader;
+import java.io.StringReader;
+
+/**
+ * Read JSON request body for {@link JsonDTO} binding directly from a stream.
+ *
+ * Suppose method signature is: `public void foo(Foo foo)`, and a JSON content is
+ * not `{"foo": {foo-content}}`, then the reader wraps it as `{"foo": body}` on the
+ * fly. Only the leading characters needed to make the decision are peeked, the
+ * body is never copied into a String.
+ */
+public class JsonBodyReader extends Reader {
+
+    private Reader[] parts;
+    private int cur;
+
+    private JsonBodyReader(Reader... parts) {
+        this.parts = parts;
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) throws IOException {
+        if (0 == len) {
+            return 0;
+        }
+        while (cur < parts.length) {
+            int n = parts[cur].read(cbuf, off, len);
+            if (n > 0) {
+                return n;
+            }
+            cur++;
+        }
+        return -1;
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (Reader part : parts) {
+            part.close();
+        }
+    }
+
+    /**
+     * Prepare a JSON body reader.
+     *
+     * @param body the reader of the raw body
+     * @param singleParamName the name of the only param/field to be bound, or
+     *                        `null` if there are more than one
+     * @return a reader of the (possibly wrapped) JSON body, or `null` if the body is blank
+     * @throws IOException if failed reading from the body
+     * @throws IllegalArgumentException if the body is neither a JSON object nor a JSON array
+     */
+    public static Reader of(Reader body, String singleParamName) throws IOException {
+        int bufSize = null == singleParamName ? 1 : singleParamName.length() + 3;
+        PushbackReader reader = new PushbackReader(body, bufSize);
+        int c = skipBlank(reader);
+        if (c < 0) {
+            return null;
+        }
+        if (null == singleParamName) {
+            reader.unread(c);
+            return reader;
+        }
+        boolean needPatch;
+        StringBuilder peeked = new StringBuilder(bufSize);
+        peeked.append((char) c);
+        if ('[' == c) {
+            needPatch = true;
+        } else if ('{' == c) {
+            needPatch = firstKeyMismatch(reader, singleParamName, peeked);
+        } else {
+            throw new IllegalArgumentException("Cannot parse JSON string starts with: " + (char) c);
+        }
+        reader.unread(peeked.toString().toCharArray());
+        if (!needPatch) {
+            return reader;
+        }
+        return new JsonBodyReader(new StringReader("{\"" + singleParamName + "\":"), reader, new StringReader("}"));
+    }
+
+    private static boolean firstKeyMismatch(Reader reader, String name, StringBuilder peeked) throws IOException {
+        int c = skipBlank(reader);
+        if (c < 0) {
+            return false;
+        }
+        peeked.append((char) c);
+        if ('"' != c) {
+            return false;
+        }
+        int len = name.length();
+        for (int i = 0; i <= len; ++i) {
+            c = reader.read();
+            if (c < 0) {
+                return false;
+            }
+            peeked.append((char) c);
+            if (i == len) {
+                return '"' != c;
+            }
+            if (name.charAt(i) != c) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int skipBlank(Reader reader) throws IOException {
+        int c = reader.read();
+        while (c >= 0 && Character.isWhitespace(c)) {
+            c = reader.read();
+        }
+        return c;
+    }
+}
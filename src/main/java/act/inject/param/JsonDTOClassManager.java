@@ -45,11 +45,20 @@ public class JsonDTOClassManager extends AppServiceBase<JsonDTOClassManager> {
 
     @Override
     protected void releaseResources() {
-
+        dtoClasses.clear();
     }
 
     public Class<? extends JsonDTO> get(Class<?> host, Method method) {
-        List<BeanSpec> beanSpecs = beanSpecs(host, method);
+        return get(beanSpecs(host, method));
+    }
+
+    /**
+     * Returns the DTO class for bean specs returned by {@link #beanSpecs(Class, Method)}
+     *
+     * @param beanSpecs the bean specs of the fields and params of an action method
+     * @return the DTO class or `null` if there are no bean specs
+     */
+    public Class<? extends JsonDTO> get(List<BeanSpec> beanSpecs) {
         String key = key(beanSpecs);
         if (S.blank(key)) {
             return null;
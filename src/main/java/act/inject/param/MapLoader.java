@@ -55,7 +55,7 @@ class MapLoader implements ParamValueLoader {
 
     @Override
     public Object load(Object bean, ActContext<?> context, boolean noDefaultValue) {
-        ParamTree tree = ParamValueLoaderService.ensureParamTree(context);
+        ParamTree tree = manager.ensureParamTree(context);
         ParamTreeNode node = tree.node(key);
         if (null == node) {
             return noDefaultValue ? null : injector.get(mapClass);
@@ -1,28 +1,51 @@
 package act.inject.param;
 
 import act.util.ActContext;
+import act.util.BoundedCache;
 import org.osgl.logging.LogManager;
 import org.osgl.logging.Logger;
 import org.osgl.util.S;
 
 import java.util.*;
 
+/**
+ * Organize request params into a tree.
+ *
+ * The tree is built lazily: only keys under the root of a requested
+ * {@link ParamKey} are looked up from the context and parsed into nodes.
+ * Thus binding a few params from a request with many params does not pay
+ * for all of them.
+ *
+ * Parsed keys are shared across requests through a bounded cache
+ * owned by the {@link ParamValueLoaderService} of the app.
+ */
 class ParamTree {
 
     private static final Logger LOGGER = LogManager.get(ParamTree.class);
 
+    private ActContext context;
+    private BoundedCache<String, ParamKey> keyCache;
+    private Set<String> builtRoots = new HashSet<>();
     private Map<ParamKey, ParamTreeNode> allNodes = new HashMap<>();
 
-    void build(ActContext context) {
-        Set<String> paramKeys = context.paramKeys();
-        for (String key : paramKeys) {
-            String[] vals = context.paramVals(key);
-            buildNode(key, vals);
+    ParamTree(ActContext context, BoundedCache<String, ParamKey> keyCache) {
+        this.context = context;
+        this.keyCache = keyCache;
+    }
+
+    private void build(String root) {
+        if (!builtRoots.add(root)) {
+            return;
+        }
+        Set<String> rawKeys = context.paramKeys(root);
+        for (String rawKey : rawKeys) {
+            String[] vals = context.paramVals(rawKey);
+            buildNode(rawKey, vals);
         }
     }
 
     private void buildNode(String rawKey, String[] vals) {
-        ParamKey key = ParamKey.of(parseRawParamKey(rawKey));
+        ParamKey key = paramKeyOf(rawKey);
         ParamTreeNode node;
         int len = vals.length;
         if (len == 0) {
@@ -46,6 +69,7 @@ class ParamTree {
     }
 
     ParamTreeNode node(ParamKey key) {
+        build(key.seq()[0]);
         return allNodes.get(key);
     }
 
@@ -66,6 +90,15 @@ class ParamTree {
         }
     }
 
+    private ParamKey paramKeyOf(String rawKey) {
+        ParamKey key = keyCache.get(rawKey);
+        if (null == key) {
+            key = ParamKey.of(parseRawParamKey(rawKey));
+            keyCache.put(rawKey, key);
+        }
+        return key;
+    }
+
     /*
      * Parse string like `foo[bar][0][id]` into String array
      * `foo, bar, 0, id`.
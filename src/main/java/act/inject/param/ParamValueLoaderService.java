@@ -3,6 +3,7 @@ package act.inject.param;
 import act.Act;
 import act.app.ActionContext;
 import act.app.App;
+import act.app.AppClassLoader;
 import act.app.data.BinderManager;
 import act.app.data.StringValueResolverManager;
 import act.controller.ActionMethodParamAnnotationHandler;
@@ -12,6 +13,7 @@ import act.inject.genie.GenieInjector;
 import act.inject.genie.RequestScope;
 import act.inject.genie.SessionScope;
 import act.util.ActContext;
+import act.util.BoundedCache;
 import act.util.DestroyableBase;
 import org.osgl.$;
 import org.osgl.exception.UnexpectedException;
@@ -54,6 +56,8 @@ public abstract class ParamValueLoaderService extends DestroyableBase {
 
     private static final ParamValueLoader[] DUMB = new ParamValueLoader[0];
     private static final ThreadLocal<ParamTree> PARAM_TREE = new ThreadLocal<ParamTree>();
+    // max number of parsed raw param keys cached per app
+    private static final int PARAM_KEY_CACHE_SIZE = 4096;
     private static final ParamValueLoader RESULT_LOADER = new ParamValueLoader() {
         @Override
         public Object load(Object bean, ActContext<?> context, boolean noDefaultValue) {
@@ -82,9 +86,11 @@ public abstract class ParamValueLoaderService extends DestroyableBase {
     StringValueResolverManager resolverManager;
     BinderManager binderManager;
     DependencyInjector<?> injector;
+    AppClassLoader appClassLoader;
     ConcurrentMap<Method, ParamValueLoader[]> methodRegistry = new ConcurrentHashMap<>();
     Map<Method, Boolean> methodValidationConstraintLookup = new HashMap();
-    ConcurrentMap<Class, Map<Field, ParamValueLoader>> fieldRegistry = new ConcurrentHashMap<Class, Map<Field, ParamValueLoader>>();
+    ConcurrentMap<Class, FieldBindings> fieldRegistry = new ConcurrentHashMap<>();
+    private final BoundedCache<String, ParamKey> paramKeyCache = new BoundedCache<>(PARAM_KEY_CACHE_SIZE);
     ConcurrentMap<Class, ParamValueLoader> classRegistry = new ConcurrentHashMap<Class, ParamValueLoader>();
     private ConcurrentMap<$.T2<Type, Annotation[]>, ParamValueLoader> paramRegistry = new ConcurrentHashMap<$.T2<Type, Annotation[]>, ParamValueLoader>();
     private ConcurrentMap<BeanSpec, Map<Class<? extends Annotation>, ActionMethodParamAnnotationHandler>> annoHandlers = new ConcurrentHashMap<BeanSpec, Map<Class<? extends Annotation>, ActionMethodParamAnnotationHandler>>();
@@ -96,6 +102,7 @@ public abstract class ParamValueLoaderService extends DestroyableBase {
         resolverManager = app.resolverManager();
         binderManager = app.binderManager();
         injector = app.injector();
+        appClassLoader = app.classLoader();
         allAnnotationHandlers = new HashMap<>();
         List<ActionMethodParamAnnotationHandler> list = Act.pluginManager().pluginList(ActionMethodParamAnnotationHandler.class);
         for (ActionMethodParamAnnotationHandler h : list) {
@@ -110,6 +117,7 @@ public abstract class ParamValueLoaderService extends DestroyableBase {
     protected void releaseResources() {
         DestroyableBase.Util.tryDestroyAll(classRegistry.values(), ApplicationScoped.class);
         DestroyableBase.Util.tryDestroyAll(paramRegistry.values(), ApplicationScoped.class);
+        paramKeyCache.clear();
     }
 
     public Object loadHostBean(Class beanClass, ActContext<?> ctx) {
@@ -173,39 +181,14 @@ public abstract class ParamValueLoaderService extends DestroyableBase {
 
     protected <T> ParamValueLoader findBeanLoader(Class<T> beanClass) {
         final Provider<T> provider = injector.getProvider(beanClass);
-        final Map<Field, ParamValueLoader> loaders = fieldLoaders(beanClass);
-        final boolean hasField = !loaders.isEmpty();
-        final $.Var<Boolean> hasValidateConstraint = $.var();
+        final FieldBindings bindings = fieldBindings(beanClass);
         ParamValueLoader loader = new ParamValueLoader() {
             @Override
             public Object load(Object bean, ActContext<?> context, boolean noDefaultValue) {
                 if (null == bean) {
                     bean = provider.get();
                 }
-                if (!hasField) {
-                    return bean;
-                }
-                try {
-                    for (Map.Entry<Field, ParamValueLoader> entry : loaders.entrySet()) {
-                        Field field = entry.getKey();
-                        ParamValueLoader loader = entry.getValue();
-                        Object fieldValue = loader.load(null, context, noDefaultValue);
-                        if (null != fieldValue) {
-                            field.set(bean, fieldValue);
-                        } else {
-                            fieldValue = field.get(bean);
-                        }
-                        // preset the render args for fields
-                        if (null != fieldValue) {
-                            context.renderArg(field.getName(), fieldValue);
-                        }
-                        if (hasValidationConstraint(BeanSpec.of(field, injector))) {
-                            hasValidateConstraint.set(true);
-                        }
-                    }
-                } catch (IllegalAccessException e) {
-                    throw new InjectException(e);
-                }
+                bindings.bind(bean, context, noDefaultValue);
                 return bean;
             }
 
@@ -226,10 +209,11 @@ public abstract class ParamValueLoaderService extends DestroyableBase {
                 || Object.class.equals(field.getDeclaringClass());
     }
 
-    private <T> Map<Field, ParamValueLoader> fieldLoaders(Class<T> beanClass) {
-        Map<Field, ParamValueLoader> fieldLoaders = fieldRegistry.get(beanClass);
-        if (null == fieldLoaders) {
-            fieldLoaders = new HashMap<>();
+    private <T> FieldBindings fieldBindings(Class<T> beanClass) {
+        FieldBindings bindings = fieldRegistry.get(beanClass);
+        if (null == bindings) {
+            List<Field> fields = new ArrayList<>();
+            List<ParamValueLoader> loaders = new ArrayList<>();
             for (Field field : $.fieldsOf(beanClass, true)) {
                 if (shouldWaive(field)) {
                     continue;
@@ -240,12 +224,53 @@ public abstract class ParamValueLoaderService extends DestroyableBase {
                 ParamValueLoader loader = paramValueLoaderOf(spec);
                 boolean provided = (loader instanceof ProvidedValueLoader);
                 if (null != loader && !provided) {
-                    fieldLoaders.put(field, loader);
+                    fields.add(field);
+                    loaders.add(loader);
+                }
+            }
+            Field[] fieldArray = fields.toArray(new Field[fields.size()]);
+            bindings = new FieldBindings(BeanBinder.of(beanClass, fieldArray, appClassLoader), fieldArray, loaders);
+            FieldBindings existing = fieldRegistry.putIfAbsent(beanClass, bindings);
+            if (null != existing) {
+                bindings = existing;
+            }
+        }
+        return bindings;
+    }
+
+    /**
+     * The bindable fields of a bean class, their value loaders and the
+     * binder to set and get them, in field declaration order
+     */
+    static class FieldBindings {
+        final BeanBinder binder;
+        final ParamValueLoader[] loaders;
+        final String[] names;
+
+        FieldBindings(BeanBinder binder, Field[] fields, List<ParamValueLoader> loaders) {
+            int sz = fields.length;
+            this.binder = binder;
+            this.loaders = loaders.toArray(new ParamValueLoader[sz]);
+            this.names = new String[sz];
+            for (int i = 0; i < sz; ++i) {
+                names[i] = fields[i].getName();
+            }
+        }
+
+        void bind(Object bean, ActContext<?> context, boolean noDefaultValue) {
+            for (int i = 0, sz = loaders.length; i < sz; ++i) {
+                Object fieldValue = loaders[i].load(null, context, noDefaultValue);
+                if (null != fieldValue) {
+                    binder.set(bean, i, fieldValue);
+                } else {
+                    fieldValue = binder.get(bean, i);
+                }
+                // preset the render args for fields
+                if (null != fieldValue) {
+                    context.renderArg(names[i], fieldValue);
                 }
             }
-            fieldRegistry.putIfAbsent(beanClass, fieldLoaders);
         }
-        return fieldLoaders;
     }
 
     protected ParamValueLoader[] findMethodParamLoaders(Method method, Class host, $.Var<Boolean> hasValidationConstraint) {
@@ -493,11 +518,10 @@ public abstract class ParamValueLoaderService extends DestroyableBase {
         return PARAM_TREE.get();
     }
 
-    static ParamTree ensureParamTree(ActContext context) {
+    ParamTree ensureParamTree(ActContext context) {
         ParamTree tree = PARAM_TREE.get();
         if (null == tree) {
-            tree = new ParamTree();
-            tree.build(context);
+            tree = new ParamTree(context, paramKeyCache);
             PARAM_TREE.set(tree);
         }
         return tree;
@@ -6,9 +6,8 @@ import act.app.App;
 import act.app.AppServiceBase;
 import act.app.AppThreadFactory;
 import act.app.event.AppEventId;
+import act.conf.AppConfig;
 import act.event.AppEventListenerBase;
-import act.event.OnceEventListenerBase;
-import act.mail.MailerContext;
 import org.joda.time.DateTime;
 import org.joda.time.Seconds;
 import org.osgl.$;
@@ -18,13 +17,33 @@ import org.osgl.util.E;
 import org.osgl.util.S;
 import org.rythmengine.utils.Time;
 
+import java.io.File;
+import java.lang.reflect.Method;
 import java.util.EventObject;
 import java.util.Map;
 import java.util.concurrent.*;
 
 public class AppJobManager extends AppServiceBase<AppJobManager> {
 
+    /**
+     * The type of executor that runs jobs submitted to run immediately
+     *
+     * @see act.conf.AppConfigKey#JOB_EXECUTOR
+     */
+    public enum ExecutorType {
+        SCHEDULED, FORK_JOIN, VIRTUAL;
+
+        public static ExecutorType valueOfIgnoreCase(String s) {
+            return valueOf(s.trim().toUpperCase());
+        }
+    }
+
     private ScheduledThreadPoolExecutor executor;
+    // runs jobs submitted to run now, might be the scheduled executor
+    private ExecutorService immediateExecutor;
+    // schedules delayed and periodic jobs, might be the scheduled executor
+    private ScheduledExecutorService scheduler;
+    private JobJournal journal;
     private ConcurrentMap<String, _Job> jobs = new ConcurrentHashMap<String, _Job>();
     private ConcurrentMap<String, ScheduledFuture> scheduled = new ConcurrentHashMap<>();
 
@@ -35,6 +54,7 @@ public class AppJobManager extends AppServiceBase<AppJobManager> {
     public AppJobManager(App app) {
         super(app);
         initExecutor(app);
+        initJournal(app);
         for (AppEventId appEventId : AppEventId.values()) {
             createAppEventListener(appEventId);
         }
@@ -46,16 +66,27 @@ public class AppJobManager extends AppServiceBase<AppJobManager> {
             job.destroy();
         }
         jobs.clear();
+        if (null != journal) {
+            journal.close();
+        }
+        if (scheduler != executor) {
+            scheduler.shutdownNow();
+        }
+        if (immediateExecutor != executor) {
+            immediateExecutor.shutdown();
+        }
         executor.shutdown();
         executor.getQueue().clear();
     }
 
     public <T> Future<T> now(Callable<T> callable) {
-        return executor().submit(callable);
+        return immediateExecutor.submit(callable);
     }
 
     public void now(Runnable runnable) {
-        executor().submit(wrap(runnable));
+        _Job job = wrap(runnable);
+        job.queued();
+        immediateExecutor.submit(job);
     }
 
     public <T> Future<T> delay(Callable<T> callable, long delay, TimeUnit timeUnit) {
@@ -198,6 +229,9 @@ public class AppJobManager extends AppServiceBase<AppJobManager> {
      * @param jobId the job Id
      */
     public void cancel(String jobId) {
+        if (null != journal) {
+            journal.remove(jobId);
+        }
         _Job job = jobById(jobId);
         if (null != job) {
             removeJob(job);
@@ -264,14 +298,73 @@ public class AppJobManager extends AppServiceBase<AppJobManager> {
         }
     }
 
-    ScheduledThreadPoolExecutor executor() {
-        return executor;
+    /**
+     * Returns the executor that schedules delayed and periodic jobs
+     */
+    ScheduledExecutorService executor() {
+        return scheduler;
+    }
+
+    ExecutorService immediateExecutor() {
+        return immediateExecutor;
+    }
+
+    /**
+     * Returns the job journal or `null` if the job journal is not enabled
+     */
+    JobJournal journal() {
+        return journal;
     }
 
     private void initExecutor(App app) {
-        int poolSize = app.config().jobPoolSize();
-        executor = new ScheduledThreadPoolExecutor(poolSize, new AppThreadFactory("jobs"), new ThreadPoolExecutor.AbortPolicy());
+        AppConfig config = app.config();
+        int poolSize = config.jobPoolSize();
+        executor = new JobExecutor(poolSize, new AppThreadFactory("jobs"));
         //JDK1.7 API: executor.setRemoveOnCancelPolicy(true);
+        immediateExecutor = createImmediateExecutor(config.jobExecutor(), poolSize);
+        if (config.jobTimerWheel()) {
+            scheduler = new TimingWheel(immediateExecutor, config.jobTimerWheelTick(), TimeUnit.MILLISECONDS);
+        } else {
+            scheduler = executor;
+        }
+    }
+
+    private void initJournal(App app) {
+        AppConfig config = app.config();
+        if (config.jobJournal()) {
+            String path = config.jobJournalDir();
+            File dir;
+            if (null == path) {
+                // not the app tmp dir as it is a new dir each time the app starts in prod mode
+                dir = new File(app.home(), "tmp/jobs");
+            } else {
+                dir = new File(path);
+                if (!dir.isAbsolute()) {
+                    dir = new File(app.base(), path);
+                }
+            }
+            journal = new JobJournal(dir, config.jobMisfirePolicy());
+        }
+    }
+
+    private ExecutorService createImmediateExecutor(ExecutorType type, int poolSize) {
+        if (ExecutorType.VIRTUAL == type) {
+            try {
+                // available since JDK 21
+                Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+                return (ExecutorService) method.invoke(null);
+            } catch (NoSuchMethodException e) {
+                Act.LOGGER.warn("virtual thread not supported by the JDK, fall back to fork join pool");
+                type = ExecutorType.FORK_JOIN;
+            } catch (Exception e) {
+                throw E.unexpected(e, "error creating virtual thread executor");
+            }
+        }
+        if (ExecutorType.FORK_JOIN == type) {
+            // async mode makes the pool process jobs in FIFO order
+            return new ForkJoinPool(poolSize, new AppThreadFactory("jobs-fj", true), null, true);
+        }
+        return executor;
     }
 
     private void createAppEventListener(AppEventId appEventId) {
@@ -301,7 +394,7 @@ public class AppJobManager extends AppServiceBase<AppJobManager> {
         }
     }
 
-    private Runnable wrap(Runnable runnable) {
+    private _Job wrap(Runnable runnable) {
         return new ContextualJob(app().cuid(), runnable);
     }
 
@@ -321,6 +414,86 @@ public class AppJobManager extends AppServiceBase<AppJobManager> {
         };
     }
 
+    /**
+     * Runs the scheduled jobs on the pool threads. A job due is not
+     * handed over to another executor, thus the time it waits for a
+     * pool thread is measured from the time it is due
+     */
+    private static class JobExecutor extends ScheduledThreadPoolExecutor {
+
+        JobExecutor(int poolSize, ThreadFactory threadFactory) {
+            super(poolSize, threadFactory, new ThreadPoolExecutor.AbortPolicy());
+        }
+
+        @Override
+        protected <V> RunnableScheduledFuture<V> decorateTask(Runnable runnable, RunnableScheduledFuture<V> task) {
+            return runnable instanceof _Job ? new QueuedJob<>((_Job) runnable, task) : task;
+        }
+    }
+
+    private static class QueuedJob<V> implements RunnableScheduledFuture<V> {
+
+        private final _Job job;
+        private final RunnableScheduledFuture<V> task;
+
+        QueuedJob(_Job job, RunnableScheduledFuture<V> task) {
+            this.job = job;
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            // the delay is zero or negative once the task is due
+            job.queued($.ns() + task.getDelay(TimeUnit.NANOSECONDS));
+            task.run();
+        }
+
+        @Override
+        public boolean isPeriodic() {
+            return task.isPeriodic();
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return task.getDelay(unit);
+        }
+
+        @Override
+        public int compareTo(Delayed o) {
+            return task.compareTo(o instanceof QueuedJob ? ((QueuedJob) o).task : o);
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            return task.cancel(mayInterruptIfRunning);
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return task.isCancelled();
+        }
+
+        @Override
+        public boolean isDone() {
+            return task.isDone();
+        }
+
+        @Override
+        public V get() throws InterruptedException, ExecutionException {
+            return task.get();
+        }
+
+        @Override
+        public V get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+            return task.get(timeout, unit);
+        }
+    }
+
+    /**
+     * Carries the {@link JobContext} of the submitting thread into the job.
+     * A {@link act.mail.MailerContext} created in the job picks up the job context
+     * by itself, see {@link JobContext#applyToCurrentContext()}
+     */
     private class ContextualJob extends _Job {
 
         private JobContext origin_ = JobContext.copy();
@@ -333,17 +506,6 @@ public class AppJobManager extends AppServiceBase<AppJobManager> {
                     return null;
                 }
             }, true);
-            app().eventBus().once(MailerContext.InitEvent.class, new OnceEventListenerBase<MailerContext.InitEvent>() {
-                @Override
-                public boolean tryHandle(MailerContext.InitEvent event) throws Exception {
-                    MailerContext mailerContext = MailerContext.current();
-                    if (null != mailerContext) {
-                        _before();
-                        return true;
-                    }
-                    return true;
-                }
-            });
         }
 
         @Override
@@ -8,7 +8,7 @@ import org.osgl.util.C;
 import org.osgl.util.S;
 
 import java.util.List;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.*;
 
 /**
  * Provide admin service to act {@link AppJobManager}
@@ -48,18 +48,62 @@ public class JobAdmin {
         jobManager.cancel(id);
     }
 
+    @Command(name = "act.job.journal.list", help = "List jobs in the job journal")
+    @PropertySpec("id,trigger,nextFireTime,recordedAt")
+    @TableView
+    public List<JobJournal.Entry> listJournal(@Optional(lead = "-q") final String q, AppJobManager jobManager) {
+        JobJournal journal = jobManager.journal();
+        if (null == journal) {
+            return C.list();
+        }
+        C.List<JobJournal.Entry> entries = C.list(journal.entries());
+        if (S.notBlank(q)) {
+            entries = entries.filter(new $.Predicate<JobJournal.Entry>() {
+                @Override
+                public boolean test(JobJournal.Entry entry) {
+                    return entry.getId().contains(q);
+                }
+            });
+        }
+        return entries;
+    }
+
+    @Command(name = "act.job.journal.compact", help = "Compact the job journal")
+    public String compactJournal(AppJobManager jobManager) {
+        JobJournal journal = jobManager.journal();
+        if (null == journal) {
+            return "job journal not enabled";
+        }
+        journal.compact();
+        return S.fmt("job journal compacted: %s", journal.file());
+    }
+
     @Command(value = "act.job.scheduler", help = "Show Job manager scheduler status")
     public String getSchedulerStatus(AppJobManager jobManager) {
-        ScheduledThreadPoolExecutor executor = jobManager.executor();
+        ScheduledExecutorService scheduler = jobManager.executor();
         JSONObject json = new JSONObject();
-        json.put("is terminating", executor.isTerminating());
-        json.put("is terminated", executor.isTerminated());
-        json.put("is shutdown", executor.isShutdown());
-        json.put("# of runnable in the queue", executor.getQueue().size());
-        json.put("active count", executor.getActiveCount());
-        json.put("# of completed tasks", executor.getActiveCount());
-        json.put("core pool size", executor.getCorePoolSize());
-        json.put("pool size", executor.getPoolSize());
+        json.put("is terminating", scheduler.isShutdown() && !scheduler.isTerminated());
+        json.put("is terminated", scheduler.isTerminated());
+        json.put("is shutdown", scheduler.isShutdown());
+        if (scheduler instanceof ScheduledThreadPoolExecutor) {
+            ScheduledThreadPoolExecutor executor = (ScheduledThreadPoolExecutor) scheduler;
+            json.put("# of runnable in the queue", executor.getQueue().size());
+            json.put("active count", executor.getActiveCount());
+            json.put("# of completed tasks", executor.getActiveCount());
+            json.put("core pool size", executor.getCorePoolSize());
+            json.put("pool size", executor.getPoolSize());
+        } else if (scheduler instanceof TimingWheel) {
+            TimingWheel wheel = (TimingWheel) scheduler;
+            json.put("timing wheel tick (ms)", TimeUnit.NANOSECONDS.toMillis(wheel.tickNs()));
+            json.put("# of runnable to be placed on the wheel", wheel.pendingCount());
+        }
+        ExecutorService immediate = jobManager.immediateExecutor();
+        if (immediate instanceof ForkJoinPool) {
+            ForkJoinPool pool = (ForkJoinPool) immediate;
+            json.put("fork join parallelism", pool.getParallelism());
+            json.put("fork join active count", pool.getActiveThreadCount());
+            json.put("fork join queued submissions", pool.getQueuedSubmissionCount());
+        }
         return json.toJSONString();
     }
 }
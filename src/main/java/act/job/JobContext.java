@@ -170,6 +170,38 @@ public class JobContext extends ActContext.Base<JobContext> {
         }
     }
 
+    /**
+     * Apply the current thread's job context to the {@link ActContext}
+     * set up after the job started, e.g. a mailer context created in the job
+     */
+    public static void applyToCurrentContext() {
+        JobContext ctxt = current_.get();
+        if (null != ctxt) {
+            init(ctxt);
+        }
+    }
+
+    /**
+     * Returns a runnable that runs the specified runnable with a copy
+     * of the current thread's job context
+     * @param runnable the runnable
+     * @return the runnable carries the job context
+     */
+    public static Runnable propagate(final Runnable runnable) {
+        final JobContext origin = copy();
+        return new Runnable() {
+            @Override
+            public void run() {
+                init(origin);
+                try {
+                    runnable.run();
+                } finally {
+                    clear();
+                }
+            }
+        };
+    }
+
     private Map<String, Object> bag_ = new HashMap<>();
 
 }
@@ -0,0 +1,306 @@
+package act.job;
+
+import org.joda.time.DateTime;
+import org.osgl.$;
+import org.osgl.logging.LogManager;
+import org.osgl.logging.Logger;
+import org.osgl.util.E;
+import org.osgl.util.IO;
+import org.osgl.util.S;
+
+import java.io.*;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * An append only journal that keeps the next fire time of scheduled jobs
+ * across app restarts.
+ *
+ * Only jobs with a stable ID and a time based trigger, i.e. cron, every and
+ * fixed delay, are journaled. When such a job is scheduled after a restart
+ * and the journal shows it missed fire times while the app was down, the
+ * {@link MisfirePolicy} decides how many times to run it immediately.
+ *
+ * The journal is compacted when it is opened and when the number of records
+ * appended exceeds twice the number of jobs. The compacted journal is written
+ * to a temporary file and moved over the journal file, thus a crash during
+ * compaction does not lose the journal. A partially written record found
+ * when loading the journal is ignored.
+ */
+public class JobJournal {
+
+    private static final Logger LOGGER = LogManager.get(JobJournal.class);
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    static final String FILE_NAME = "job.journal";
+
+    /**
+     * The max number of times a job is fired under {@link MisfirePolicy#FIRE_ALL}
+     */
+    static final int MAX_MISFIRES = 1000;
+
+    private static final int MIN_COMPACT_THRESHOLD = 1000;
+
+    /**
+     * Specifies what to do when a job missed fire times while the app was down
+     */
+    public enum MisfirePolicy {
+        /**
+         * Run the job once
+         */
+        FIRE_ONCE,
+
+        /**
+         * Do not run the job until the next fire time
+         */
+        SKIP,
+
+        /**
+         * Run the job as many times as it missed, up to {@link #MAX_MISFIRES} times
+         */
+        FIRE_ALL;
+
+        public static MisfirePolicy valueOfIgnoreCase(String s) {
+            return valueOf(s.trim().toUpperCase());
+        }
+    }
+
+    /**
+     * A journaled job
+     */
+    public static class Entry {
+        private final String id;
+        private final long nextFireTime;
+        private final long recordedAt;
+        private final String trigger;
+
+        Entry(String id, long nextFireTime, long recordedAt, String trigger) {
+            this.id = id;
+            this.nextFireTime = nextFireTime;
+            this.recordedAt = recordedAt;
+            this.trigger = trigger;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getTrigger() {
+            return trigger;
+        }
+
+        public DateTime getNextFireTime() {
+            return new DateTime(nextFireTime);
+        }
+
+        public DateTime getRecordedAt() {
+            return new DateTime(recordedAt);
+        }
+
+        long nextFireTime() {
+            return nextFireTime;
+        }
+
+        String toLine() {
+            return S.concat(id, "\t", S.string(nextFireTime), "\t", S.string(recordedAt), "\t", trigger, "\n");
+        }
+
+        static Entry parse(String line) {
+            String[] sa = line.split("\t", 4);
+            if (sa.length < 4) {
+                return null;
+            }
+            try {
+                return new Entry(sa[0], Long.parseLong(sa[1]), Long.parseLong(sa[2]), sa[3]);
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+
+    private final File file;
+    private final MisfirePolicy misfirePolicy;
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    // entries loaded from the journal and not yet checked for misfire
+    private final ConcurrentMap<String, Entry> toBeRecovered = new ConcurrentHashMap<>();
+    private Writer writer;
+    private int appended;
+
+    JobJournal(File dir, MisfirePolicy misfirePolicy) {
+        E.unexpectedIf(!dir.exists() && !dir.mkdirs(), "Cannot create job journal dir: %s", dir);
+        this.file = new File(dir, FILE_NAME);
+        this.misfirePolicy = $.notNull(misfirePolicy);
+        load();
+        toBeRecovered.putAll(entries);
+        compact();
+    }
+
+    /**
+     * Record the next fire time of a job
+     *
+     * @param id the job ID
+     * @param nextFireTime the next fire time in milliseconds
+     * @param trigger the trigger description
+     */
+    synchronized void record(String id, long nextFireTime, String trigger) {
+        if (!journalable(id)) {
+            return;
+        }
+        Entry entry = new Entry(id, nextFireTime, $.ms(), S.string(trigger).replace('\t', ' ').replace('\n', ' '));
+        entries.put(id, entry);
+        append(entry);
+    }
+
+    /**
+     * Remove a job from the journal
+     *
+     * @param id the job ID
+     */
+    synchronized void remove(String id) {
+        toBeRecovered.remove(id);
+        if (null != entries.remove(id)) {
+            append(new Entry(id, -1, $.ms(), ""));
+        }
+    }
+
+    /**
+     * Returns the number of times the job shall be fired to make up the
+     * fire times missed while the app was down. The journal is checked once
+     * per job per app run.
+     *
+     * @param id the job ID
+     * @param trigger the job trigger
+     * @param now the current time in milliseconds
+     * @return the number of times to fire the job
+     */
+    int misfires(String id, JobTrigger trigger, long now) {
+        Entry entry = toBeRecovered.remove(id);
+        if (null == entry || entry.nextFireTime > now || MisfirePolicy.SKIP == misfirePolicy) {
+            return 0;
+        }
+        if (MisfirePolicy.FIRE_ONCE == misfirePolicy) {
+            return 1;
+        }
+        int count = 0;
+        for (long t = entry.nextFireTime; t > 0 && t <= now && count < MAX_MISFIRES; t = trigger.nextFireTime(t)) {
+            count++;
+        }
+        if (MAX_MISFIRES == count) {
+            LOGGER.warn("job %s missed more than %s fire times, fire it %s times only", id, MAX_MISFIRES, MAX_MISFIRES);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the journaled jobs sorted by next fire time
+     */
+    List<Entry> entries() {
+        List<Entry> list = new ArrayList<>(entries.values());
+        Collections.sort(list, new Comparator<Entry>() {
+            @Override
+            public int compare(Entry o1, Entry o2) {
+                long diff = o1.nextFireTime - o2.nextFireTime;
+                return diff < 0 ? -1 : diff > 0 ? 1 : 0;
+            }
+        });
+        return list;
+    }
+
+    File file() {
+        return file;
+    }
+
+    /**
+     * Rewrite the journal with one record per job
+     */
+    synchronized void compact() {
+        closeWriter();
+        File tmp = new File(file.getParentFile(), FILE_NAME + ".tmp");
+        FileOutputStream os = null;
+        try {
+            os = new FileOutputStream(tmp);
+            Writer w = new BufferedWriter(new OutputStreamWriter(os, UTF_8));
+            for (Entry entry : entries.values()) {
+                w.write(entry.toLine());
+            }
+            w.flush();
+            os.getFD().sync();
+            IO.close(os);
+            os = null;
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            appended = 0;
+        } catch (IOException e) {
+            LOGGER.warn(e, "error compacting job journal: %s", file);
+        } finally {
+            IO.close(os);
+        }
+    }
+
+    synchronized void close() {
+        closeWriter();
+    }
+
+    private void load() {
+        if (!file.exists()) {
+            return;
+        }
+        BufferedReader reader = null;
+        try {
+            reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), UTF_8));
+            String line;
+            while (null != (line = reader.readLine())) {
+                Entry entry = Entry.parse(line);
+                if (null == entry) {
+                    LOGGER.warn("ignore invalid job journal record: %s", line);
+                    continue;
+                }
+                if (entry.nextFireTime < 0) {
+                    entries.remove(entry.id);
+                } else {
+                    entries.put(entry.id, entry);
+                }
+            }
+        } catch (IOException e) {
+            LOGGER.warn(e, "error loading job journal: %s", file);
+        } finally {
+            IO.close(reader);
+        }
+    }
+
+    private void append(Entry entry) {
+        try {
+            if (null == writer) {
+                writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file, true), UTF_8));
+            }
+            writer.write(entry.toLine());
+            writer.flush();
+        } catch (IOException e) {
+            LOGGER.warn(e, "error writing job journal: %s", file);
+            closeWriter();
+            return;
+        }
+        if (++appended > Math.max(MIN_COMPACT_THRESHOLD, entries.size() * 2)) {
+            compact();
+        }
+    }
+
+    private void closeWriter() {
+        if (null != writer) {
+            IO.close(writer);
+            writer = null;
+        }
+    }
+
+    private static boolean journalable(String id) {
+        return null != id && id.indexOf('\t') < 0 && id.indexOf('\n') < 0 && id.indexOf('\r') < 0;
+    }
+
+}
@@ -17,7 +17,7 @@ import org.rythmengine.utils.Time;
 
 import java.util.EventObject;
 import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 import static act.app.event.AppEventId.START;
@@ -43,6 +43,40 @@ abstract class JobTrigger {
 
     void schedule(AppJobManager manager, _Job job) {}
 
+    /**
+     * Returns the next fire time in milliseconds after the specified time
+     * or `-1` if the trigger is not time based
+     */
+    long nextFireTime(long after) {
+        return -1;
+    }
+
+    /**
+     * Fire the job if the {@link JobJournal job journal} shows it missed
+     * fire times while the app was down
+     */
+    final void recover(AppJobManager manager, _Job job) {
+        JobJournal journal = manager.journal();
+        if (null == journal || job.anonymous()) {
+            return;
+        }
+        int misfires = journal.misfires(job.id(), this, $.ms());
+        if (misfires > 0) {
+            logger.info("job %s missed fire time while app was down, fire it %s times", job.id(), misfires);
+            manager.now(job.misfire(misfires));
+        }
+    }
+
+    /**
+     * Record the next fire time of the job into the {@link JobJournal job journal}
+     */
+    final void journal(AppJobManager manager, _Job job, long nextFireTime) {
+        JobJournal journal = manager.journal();
+        if (null != journal && !job.anonymous()) {
+            journal.record(job.id(), nextFireTime, toString());
+        }
+    }
+
     static JobTrigger of(AppConfig config, Cron anno) {
         String v = anno.value();
         if (v.startsWith("cron.")) {
@@ -214,12 +248,19 @@ abstract class JobTrigger {
         }
 
         private void delayedSchedule(AppJobManager manager, _Job job) {
+            recover(manager, job);
             DateTime now = DateTime.now();
             // add one seconds to prevent the next time be the current time (now)
             DateTime next = cronExpr.nextTimeAfter(now.plusSeconds(1));
             Seconds seconds = Seconds.secondsBetween(now, next);
             ScheduledFuture future = manager.executor().schedule(job, seconds.getSeconds(), TimeUnit.SECONDS);
             manager.futureScheduled(job.id(), future);
+            journal(manager, job, next.getMillis());
+        }
+
+        @Override
+        long nextFireTime(long after) {
+            return cronExpr.nextTimeAfter(new DateTime(after).plusSeconds(1)).getMillis();
         }
 
         @Override
@@ -239,6 +280,16 @@ abstract class JobTrigger {
             E.illegalArgumentIf(seconds < 1, "delay duration cannot be zero or negative");
             this.seconds = seconds;
         }
+
+        @Override
+        long nextFireTime(long after) {
+            return after + seconds * 1000;
+        }
+
+        @Override
+        void scheduleFollowingCalls(AppJobManager manager, _Job job) {
+            journal(manager, job, nextFireTime($.ms()));
+        }
     }
 
     private static class _FixedDelay extends _Periodical {
@@ -270,9 +321,11 @@ abstract class JobTrigger {
         }
 
         private void delayedSchedule(AppJobManager manager, _Job job) {
-            ScheduledThreadPoolExecutor executor = manager.executor();
+            recover(manager, job);
+            ScheduledExecutorService executor = manager.executor();
             ScheduledFuture future = executor.scheduleWithFixedDelay(job, seconds, seconds, TimeUnit.SECONDS);
             manager.futureScheduled(job.id(), future);
+            journal(manager, job, nextFireTime($.ms()));
         }
     }
 
@@ -306,9 +359,11 @@ abstract class JobTrigger {
         }
 
         private void delayedSchedule(AppJobManager manager, _Job job) {
-            ScheduledThreadPoolExecutor executor = manager.executor();
+            recover(manager, job);
+            ScheduledExecutorService executor = manager.executor();
             ScheduledFuture future = executor.scheduleAtFixedRate(job, seconds, seconds, TimeUnit.SECONDS);
             manager.futureScheduled(job.id(), future);
+            journal(manager, job, nextFireTime($.ms()));
         }
     }
 
@@ -0,0 +1,267 @@
+package act.job;
+
+import act.app.AppThreadFactory;
+import org.osgl.$;
+import org.osgl.logging.LogManager;
+import org.osgl.logging.Logger;
+import org.osgl.util.E;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A hashed timing wheel that schedules delayed and periodic tasks.
+ *
+ * Scheduling a task takes a lock free enqueue instead of sifting a shared
+ * delay queue. A single timer thread advances the wheel every tick and hands
+ * the due tasks to an executor to run, thus a task might be late by up to one
+ * tick.
+ */
+class TimingWheel extends AbstractExecutorService implements ScheduledExecutorService {
+
+    private static final Logger LOGGER = LogManager.get(TimingWheel.class);
+
+    private static final int WHEEL_SIZE = 512;
+    private static final int MASK = WHEEL_SIZE - 1;
+
+    private final Executor executor;
+    private final long tickNs;
+    private final long startTime;
+    private final List<Task<?>>[] wheel;
+    private final Queue<Task<?>> pending = new ConcurrentLinkedQueue<>();
+    private final Thread worker;
+    private final CountDownLatch terminated = new CountDownLatch(1);
+    private volatile boolean shutdown;
+
+    // accessed by timer thread only
+    private long tick;
+
+    /**
+     * Construct a timing wheel
+     *
+     * @param executor the executor to run the due tasks
+     * @param tick the tick duration
+     * @param unit the time unit of `tick`
+     */
+    @SuppressWarnings("unchecked")
+    TimingWheel(Executor executor, long tick, TimeUnit unit) {
+        E.illegalArgumentIf(tick < 1, "tick shall be positive number: %s", tick);
+        this.executor = $.notNull(executor);
+        this.tickNs = unit.toNanos(tick);
+        this.wheel = new List[WHEEL_SIZE];
+        for (int i = 0; i < WHEEL_SIZE; ++i) {
+            wheel[i] = new ArrayList<>();
+        }
+        this.startTime = System.nanoTime();
+        this.worker = new AppThreadFactory("job-timer", true).newThread(new Runnable() {
+            @Override
+            public void run() {
+                work();
+            }
+        });
+        this.worker.start();
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+        return schedule(new Task<Void>(command, null, deadline(delay, unit), 0));
+    }
+
+    @Override
+    public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+        return schedule(new Task<>(callable, deadline(delay, unit)));
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+        E.illegalArgumentIf(period < 1, "period shall be positive number: %s", period);
+        return schedule(new Task<Void>(command, null, deadline(initialDelay, unit), unit.toNanos(period)));
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+        E.illegalArgumentIf(delay < 1, "delay shall be positive number: %s", delay);
+        return schedule(new Task<Void>(command, null, deadline(initialDelay, unit), -unit.toNanos(delay)));
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        E.NPE(command);
+        if (shutdown) {
+            throw new RejectedExecutionException("timing wheel shutdown");
+        }
+        executor.execute(command);
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+        worker.interrupt();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown();
+        List<Runnable> list = new ArrayList<>();
+        for (Task<?> task = pending.poll(); null != task; task = pending.poll()) {
+            list.add(task);
+        }
+        return list;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return 0 == terminated.getCount();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return terminated.await(timeout, unit);
+    }
+
+    /**
+     * Returns the number of tasks scheduled but not yet placed on the wheel
+     */
+    int pendingCount() {
+        return pending.size();
+    }
+
+    long tickNs() {
+        return tickNs;
+    }
+
+    private long deadline(long delay, TimeUnit unit) {
+        return System.nanoTime() + unit.toNanos(Math.max(0, delay));
+    }
+
+    private <V> Task<V> schedule(Task<V> task) {
+        if (shutdown) {
+            throw new RejectedExecutionException("timing wheel shutdown");
+        }
+        pending.add(task);
+        return task;
+    }
+
+    private void work() {
+        try {
+            while (!shutdown) {
+                long deadline = startTime + (tick + 1) * tickNs;
+                long sleep = deadline - System.nanoTime();
+                while (sleep > 0 && !shutdown) {
+                    LockSupport.parkNanos(this, sleep);
+                    sleep = deadline - System.nanoTime();
+                }
+                if (shutdown) {
+                    break;
+                }
+                transferPending();
+                expire(wheel[(int) (tick & MASK)]);
+                tick++;
+            }
+        } finally {
+            for (List<Task<?>> bucket : wheel) {
+                for (Task<?> task : bucket) {
+                    task.cancel(false);
+                }
+                bucket.clear();
+            }
+            terminated.countDown();
+        }
+    }
+
+    private void transferPending() {
+        for (Task<?> task = pending.poll(); null != task; task = pending.poll()) {
+            if (task.isCancelled()) {
+                continue;
+            }
+            long ticks = Math.max((task.deadline - startTime) / tickNs, tick);
+            task.remainingRounds = (ticks - tick) / WHEEL_SIZE;
+            wheel[(int) (ticks & MASK)].add(task);
+        }
+    }
+
+    private void expire(List<Task<?>> bucket) {
+        if (bucket.isEmpty()) {
+            return;
+        }
+        Iterator<Task<?>> itr = bucket.iterator();
+        while (itr.hasNext()) {
+            Task<?> task = itr.next();
+            if (task.isCancelled()) {
+                itr.remove();
+            } else if (task.remainingRounds <= 0) {
+                itr.remove();
+                if (task.command instanceof _Job) {
+                    ((_Job) task.command).queued();
+                }
+                try {
+                    executor.execute(task);
+                } catch (RejectedExecutionException e) {
+                    LOGGER.warn("task rejected by executor: %s", task);
+                    task.cancel(false);
+                }
+            } else {
+                task.remainingRounds--;
+            }
+        }
+    }
+
+    private class Task<V> extends FutureTask<V> implements ScheduledFuture<V> {
+
+        private volatile long deadline;
+
+        // positive for fixed rate, negative for fixed delay and zero for one shot task
+        private final long period;
+
+        // accessed by timer thread only
+        private long remainingRounds;
+
+        // the runnable scheduled, or `null` if a callable is scheduled
+        private final Runnable command;
+
+        Task(Runnable runnable, V result, long deadline, long period) {
+            super(runnable, result);
+            this.command = runnable;
+            this.deadline = deadline;
+            this.period = period;
+        }
+
+        Task(Callable<V> callable, long deadline) {
+            super(callable);
+            this.command = null;
+            this.deadline = deadline;
+            this.period = 0;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed o) {
+            if (o == this) {
+                return 0;
+            }
+            long diff = getDelay(TimeUnit.NANOSECONDS) - o.getDelay(TimeUnit.NANOSECONDS);
+            return diff < 0 ? -1 : diff > 0 ? 1 : 0;
+        }
+
+        @Override
+        public void run() {
+            if (0 == period) {
+                super.run();
+            } else if (runAndReset() && !shutdown) {
+                deadline = period > 0 ? deadline + period : System.nanoTime() - period;
+                pending.add(this);
+            }
+        }
+    }
+
+}
@@ -4,6 +4,9 @@ import act.Act;
 import act.app.App;
 import act.app.event.AppEventId;
 import act.event.AppEventListenerBase;
+import act.metric.Metric;
+import act.metric.MetricHandle;
+import act.metric.MetricInfo;
 import act.route.DuplicateRouteMappingException;
 import act.util.DestroyableBase;
 import org.osgl.$;
@@ -79,6 +82,11 @@ class _Job extends DestroyableBase implements Runnable {
     private LockableJobList parallelJobs = new LockableJobList(this);
     private LockableJobList followingJobs = new LockableJobList(this);
     private LockableJobList precedenceJobs = new LockableJobList(this);
+    // the job ID is generated, thus not stable across app runs
+    private boolean anonymous;
+    private volatile long queuedAt;
+    private MetricHandle metric;
+    private MetricHandle queueMetric;
 
     _Job(String id, AppJobManager manager) {
         this(id, manager, null);
@@ -145,6 +153,10 @@ class _Job extends DestroyableBase implements Runnable {
         return id;
     }
 
+    final boolean anonymous() {
+        return anonymous;
+    }
+
     final void trigger(JobTrigger trigger) {
         E.NPE(trigger);
         this.trigger = trigger;
@@ -162,8 +174,32 @@ class _Job extends DestroyableBase implements Runnable {
         return precedenceJobs.add(thatJob);
     }
 
+    /**
+     * Mark the job as submitted to the executor, the time it waits in the
+     * queue will be recorded once it starts running
+     */
+    final void queued() {
+        queued($.ns());
+    }
+
+    /**
+     * Mark the time since when the job has been waiting for the executor
+     *
+     * @param since the time in nanoseconds, e.g. the time the job was due
+     */
+    final void queued(long since) {
+        queuedAt = since;
+    }
+
     @Override
     public void run() {
+        long queuedAt = this.queuedAt;
+        if (0 != queuedAt) {
+            this.queuedAt = 0;
+            MetricHandle queueMetric = queueMetric();
+            queueMetric.countOnce();
+            queueMetric.stop(queuedAt);
+        }
         invokeParallelJobs();
         runPrecedenceJobs();
         try {
@@ -227,19 +263,67 @@ class _Job extends DestroyableBase implements Runnable {
     protected void _before() {}
 
     protected void doJob() {
+        invokeWorker(true);
+    }
+
+    private void invokeWorker(boolean scheduleNext) {
+        MetricHandle metric = metric();
+        long start = metric.start();
         try {
             _before();
             if (null != worker) {
                 worker.apply();
             }
         } finally {
-            scheduleNextInvocation();
+            if (scheduleNext) {
+                scheduleNextInvocation();
+            }
             _finally();
+            metric.stop(start);
+        }
+    }
+
+    // scheduled jobs are measured individually while ad hoc jobs are measured together
+    private String metricName(String root) {
+        return S.concat(root, Metric.PATH_SEPARATOR, null == trigger ? "adhoc" : id);
+    }
+
+    private MetricHandle metric() {
+        if (null == metric) {
+            metric = Act.metricPlugin().metric(MetricInfo.JOB_HANDLER).handle(metricName(MetricInfo.JOB_HANDLER));
+        }
+        return metric;
+    }
+
+    private MetricHandle queueMetric() {
+        if (null == queueMetric) {
+            queueMetric = Act.metricPlugin().metric(MetricInfo.JOB_QUEUE).handle(metricName(MetricInfo.JOB_QUEUE));
         }
+        return queueMetric;
     }
 
     protected void _finally() {}
 
+    /**
+     * Returns a runnable that calls the worker of this job the specified
+     * number of times, without scheduling following invocations. Each call
+     * goes through the job context and metric of this job
+     */
+    final Runnable misfire(final int times) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < times; ++i) {
+                    try {
+                        invokeWorker(false);
+                    } catch (RuntimeException e) {
+                        logger.warn(e, "error executing misfired job %s", id());
+                    }
+                }
+            }
+        };
+    }
+
     protected void cancel() {
         manager.cancel(id());
     }
@@ -275,7 +359,9 @@ class _Job extends DestroyableBase implements Runnable {
     }
 
     private static _Job of(final Runnable runnable, AppJobManager manager, boolean oneTime) {
-        return of(Act.cuid(), runnable, manager, oneTime);
+        _Job job = of(Act.cuid(), runnable, manager, oneTime);
+        job.anonymous = true;
+        return job;
     }
 
     static _Job once(final Runnable runnable, AppJobManager manager) {
@@ -5,6 +5,7 @@ import act.app.ActionContext;
 import act.app.App;
 import act.event.ActEvent;
 import act.event.SystemEvent;
+import act.job.JobContext;
 import act.util.ActContext;
 import act.view.Template;
 import act.view.ViewManager;
@@ -54,6 +55,7 @@ public class MailerContext extends ActContext.Base<MailerContext> {
         if (null != actionContext) {
             locale(actionContext.locale());
         }
+        JobContext.applyToCurrentContext();
         app.eventBus().triggerSync(new InitEvent(this));
     }
 
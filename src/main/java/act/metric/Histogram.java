@@ -0,0 +1,276 @@
+package act.metric;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A latency histogram that supports percentile queries on all recorded
+ * values and on sliding time windows of the last a few minutes.
+ *
+ * <p>Values are recorded in log-linear buckets in the spirit of HDR
+ * histogram: each power of two range is split into {@link #SUB_BUCKETS}
+ * linear sub buckets, so a value reported by {@link Snapshot#percentile(double)}
+ * is at most 1/{@link #SUB_BUCKETS} larger than the real one. Values
+ * are measured in units of 1024 nanoseconds (about one microsecond).</p>
+ *
+ * <p>Recording is lock free and does not allocate. Current minute counts
+ * are striped by thread id to keep concurrent recorders off the same
+ * cache lines. When a new minute starts the current counts are drained
+ * into a slice of a ring holding the last {@link #MAX_WINDOW} minutes.
+ * The drain is done by the first thread noticing the minute change.</p>
+ */
+public class Histogram {
+
+    /**
+     * The maximum time window in minutes supported
+     */
+    public static final int MAX_WINDOW = 15;
+
+    static final int SUB_BUCKET_BITS = 3;
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // ns to unit shift
+    static final int UNIT_SHIFT = 10;
+    // the max value is about 9.5 hours
+    static final int MAX_EXPONENT = 35;
+    static final int BUCKETS = SUB_BUCKETS + (MAX_EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    // slot layout: buckets followed by sum (ns) and max (ns)
+    private static final int SUM = BUCKETS;
+    private static final int MAX = BUCKETS + 1;
+    static final int WIDTH = BUCKETS + 2;
+
+    private static final int STRIPES = stripes();
+
+    private final AtomicLongArray current = new AtomicLongArray(STRIPES * WIDTH);
+    private volatile long minute;
+
+    // the drained slices
+    private final long[][] slices = new long[MAX_WINDOW][];
+    private final long[] sliceMinutes = new long[MAX_WINDOW];
+    private final long[] total = new long[WIDTH];
+
+    public Histogram() {
+        minute = now();
+    }
+
+    /**
+     * Record a duration
+     *
+     * @param ns the duration in nanoseconds
+     */
+    public void record(long ns) {
+        if (ns < 0) {
+            return;
+        }
+        long now = now();
+        if (now > minute) {
+            rotate(now);
+        }
+        int base = ((int) Thread.currentThread().getId() & (STRIPES - 1)) * WIDTH;
+        current.incrementAndGet(base + index(ns));
+        current.addAndGet(base + SUM, ns);
+        int maxSlot = base + MAX;
+        long max = current.get(maxSlot);
+        while (ns > max && !current.compareAndSet(maxSlot, max, ns)) {
+            max = current.get(maxSlot);
+        }
+    }
+
+    /**
+     * Returns a snapshot of all values recorded
+     */
+    public Snapshot snapshot() {
+        return snapshot(0);
+    }
+
+    /**
+     * Returns a snapshot of values recorded in the last `minutes` minutes,
+     * including the current minute.
+     *
+     * @param minutes the size of the window, from `1` to {@link #MAX_WINDOW};
+     *                or `0` for all values recorded
+     * @return the snapshot
+     */
+    public Snapshot snapshot(int minutes) {
+        return snapshot(minutes, new long[WIDTH]);
+    }
+
+    /**
+     * Returns a snapshot backed by the `data` array passed in. This allows
+     * a caller iterating a large number of histograms to reuse the same
+     * array. The snapshot is valid until the array is reused.
+     *
+     * @param minutes the size of the window, see {@link #snapshot(int)}
+     * @param data an array with length of {@link #WIDTH}
+     * @return the snapshot
+     */
+    synchronized Snapshot snapshot(int minutes, long[] data) {
+        if (minutes < 0 || minutes > MAX_WINDOW) {
+            throw new IllegalArgumentException("time window out of range: " + minutes);
+        }
+        long now = now();
+        if (now > minute) {
+            rotate(now);
+        }
+        Arrays.fill(data, 0);
+        addCurrent(data);
+        if (0 == minutes) {
+            add(data, total);
+        } else {
+            for (int i = 1; i < minutes; ++i) {
+                long m = now - i;
+                int slot = slot(m);
+                if (null != slices[slot] && sliceMinutes[slot] == m) {
+                    add(data, slices[slot]);
+                }
+            }
+        }
+        return new Snapshot(data);
+    }
+
+    /**
+     * Returns the current minute. Overwrite this method in test to
+     * simulate time passing
+     */
+    protected long now() {
+        return System.currentTimeMillis() / 60000L;
+    }
+
+    private synchronized void rotate(long now) {
+        long prev = minute;
+        if (now <= prev) {
+            return;
+        }
+        int slot = slot(prev);
+        long[] slice = slices[slot];
+        if (null == slice) {
+            slice = new long[WIDTH];
+            slices[slot] = slice;
+        } else {
+            Arrays.fill(slice, 0);
+        }
+        sliceMinutes[slot] = prev;
+        for (int s = 0; s < STRIPES; ++s) {
+            int base = s * WIDTH;
+            for (int i = 0; i < MAX; ++i) {
+                long v = current.getAndSet(base + i, 0);
+                slice[i] += v;
+            }
+            slice[MAX] = Math.max(slice[MAX], current.getAndSet(base + MAX, 0));
+        }
+        add(total, slice);
+        minute = now;
+    }
+
+    private void addCurrent(long[] data) {
+        for (int s = 0; s < STRIPES; ++s) {
+            int base = s * WIDTH;
+            for (int i = 0; i < MAX; ++i) {
+                data[i] += current.get(base + i);
+            }
+            data[MAX] = Math.max(data[MAX], current.get(base + MAX));
+        }
+    }
+
+    private static void add(long[] to, long[] from) {
+        for (int i = 0; i < MAX; ++i) {
+            to[i] += from[i];
+        }
+        to[MAX] = Math.max(to[MAX], from[MAX]);
+    }
+
+    private static int slot(long minute) {
+        return (int) (minute % MAX_WINDOW);
+    }
+
+    static int index(long ns) {
+        long v = ns >>> UNIT_SHIFT;
+        if (v < SUB_BUCKETS) {
+            return (int) v;
+        }
+        int exp = 63 - Long.numberOfLeadingZeros(v);
+        if (exp > MAX_EXPONENT) {
+            return BUCKETS - 1;
+        }
+        int shift = exp - SUB_BUCKET_BITS;
+        return SUB_BUCKETS + shift * SUB_BUCKETS + (int) (v >>> shift) - SUB_BUCKETS;
+    }
+
+    /**
+     * Returns the highest value in nanoseconds of the bucket
+     */
+    static long highestValue(int index) {
+        long v;
+        if (index < SUB_BUCKETS) {
+            v = index;
+        } else {
+            int shift = (index - SUB_BUCKETS) / SUB_BUCKETS;
+            int sub = (index - SUB_BUCKETS) % SUB_BUCKETS;
+            v = ((long) (SUB_BUCKETS + sub) << shift) + (1L << shift) - 1;
+        }
+        return ((v + 1) << UNIT_SHIFT) - 1;
+    }
+
+    private static int stripes() {
+        int n = Math.min(Runtime.getRuntime().availableProcessors(), 4);
+        return Integer.highestOneBit(Math.max(n, 1));
+    }
+
+    /**
+     * Aggregated histogram data
+     */
+    public static class Snapshot {
+        private final long[] data;
+        private final long count;
+
+        Snapshot(long[] data) {
+            this.data = data;
+            long count = 0;
+            for (int i = 0; i < BUCKETS; ++i) {
+                count += data[i];
+            }
+            this.count = count;
+        }
+
+        public long count() {
+            return count;
+        }
+
+        /**
+         * Returns the sum of recorded values in nanoseconds
+         */
+        public long sum() {
+            return data[SUM];
+        }
+
+        /**
+         * Returns the max value recorded in nanoseconds
+         */
+        public long max() {
+            return data[MAX];
+        }
+
+        /**
+         * Returns the value in nanoseconds at the given percentile
+         *
+         * @param percentile the percentile between `0` and `100`, e.g. `99.9`
+         * @return the value or `0` if nothing recorded
+         */
+        public long percentile(double percentile) {
+            if (0 == count) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(percentile / 100.0d * count);
+            rank = Math.max(1, Math.min(rank, count));
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; ++i) {
+                seen += data[i];
+                if (seen >= rank) {
+                    return Math.min(highestValue(i), max());
+                }
+            }
+            return max();
+        }
+    }
+
+}
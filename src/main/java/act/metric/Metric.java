@@ -77,4 +77,14 @@ public interface Metric {
      */
     Timer startTimer(String name);
 
+    /**
+     * Returns a {@link MetricHandle} of the name specified. The handle shall be
+     * kept by caller to measure the same metric repeatedly without resolving
+     * the name again
+     *
+     * @param name A string specifies the counter/timer
+     * @return a MetricHandle instance
+     */
+    MetricHandle handle(String name);
+
 }
@@ -7,6 +7,8 @@ import act.cli.Optional;
 import act.util.PropertySpec;
 import org.osgl.$;
 import org.osgl.util.C;
+import org.osgl.util.E;
+import org.osgl.util.S;
 
 import java.util.Comparator;
 import java.util.List;
@@ -43,21 +45,38 @@ public class MetricAdmin {
     }
 
     @Command(name = "act.metric.timer.list", help = "list all timers")
-    @PropertySpec("name,accumulated,count,avg")
+    @PropertySpec("name,accumulated,count,avg,p50,p99,p999,max")
     public Object getTimers(
             @Optional("specify maximum items returned") Integer limit,
             @Optional("display in tree view") boolean tree,
             @Optional("specify depth of levels") Integer depth,
             @Optional("specify search string") String q,
-            @Optional("including classloading metric") boolean classLoading
+            @Optional("including classloading metric") boolean classLoading,
+            @Optional("specify time window, e.g. 1m, 5m, 15m. Only http and routing timers are kept in windows") String window
     ) {
-        List<MetricInfo> list = Act.metricPlugin().metricStore().timers();
+        List<MetricInfo> list = MetricStore.Base.of(Act.metricPlugin().metricStore()).timers(minutes(window));
         if (!classLoading) {
             list = withoutClassLoading(list);
         }
         return process(list, limit, q, tree, depth, MetricInfo.Comparator.TIMER, MetricInfoTree.TIMER);
     }
 
+    private static int minutes(String window) {
+        if (S.blank(window)) {
+            return 0;
+        }
+        String s = window.trim();
+        if (s.endsWith("min")) {
+            s = s.substring(0, s.length() - 3);
+        } else if (s.endsWith("m")) {
+            s = s.substring(0, s.length() - 1);
+        }
+        E.illegalArgumentIf(!s.matches("\\d{1,2}"), "Invalid time window: %s", window);
+        int minutes = Integer.parseInt(s);
+        E.illegalArgumentIf(minutes < 1 || minutes > Histogram.MAX_WINDOW, "Time window shall be between 1m and %sm", Histogram.MAX_WINDOW);
+        return minutes;
+    }
+
     private List<MetricInfo> withoutClassLoading(List<MetricInfo> list) {
         return C.list(list).remove(new $.Predicate<MetricInfo>() {
             @Override
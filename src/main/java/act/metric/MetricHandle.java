@@ -0,0 +1,69 @@
+package act.metric;
+
+/**
+ * A `MetricHandle` is a pre-resolved reference to a metric name.
+ *
+ * Compared to calling {@link Metric#countOnce(String)} or {@link Metric#startTimer(String)}
+ * with the name string, a handle has the metric cells of the name and all its ancestor
+ * names resolved, thus it does not need to split the name or lookup the store on every call.
+ * It is suggested to obtain the handle once via {@link Metric#handle(String)} and keep it for
+ * metrics measured on hot path, e.g.
+ *
+ * ```
+ *     private MetricHandle handle = metric.handle("direct_req_handling:xyz");
+ *
+ *     {@literal @}PostAction("/xyz")
+ *     public void handleXyzRequest(String param) {
+ *         long start = handle.start();
+ *         try {
+ *             // your logic to handle xyz request
+ *         } finally {
+ *             handle.stop(start);
+ *         }
+ *     }
+ * ```
+ */
+public interface MetricHandle {
+
+    /**
+     * Returns the metric name of this handle
+     *
+     * @return the name
+     */
+    String name();
+
+    /**
+     * Increase one time for the counter of this handle
+     */
+    void countOnce();
+
+    /**
+     * Start measuring a process. This will call {@link #countOnce()} automatically.
+     *
+     * @return the start time in nanoseconds that shall be passed to {@link #stop(long)}
+     */
+    long start();
+
+    /**
+     * Stop measuring a process started with {@link #start()}
+     *
+     * @param start the value returned by {@link #start()}
+     */
+    void stop(long start);
+
+    /**
+     * Count one time and record a duration measured without {@link #start()},
+     * e.g. the time a task waited in a queue
+     *
+     * @param ns the duration in nanoseconds
+     */
+    void record(long ns);
+
+    /**
+     * Start a {@link Timer} on this handle
+     *
+     * @return the timer
+     */
+    Timer startTimer();
+
+}
@@ -7,15 +7,22 @@ public class MetricInfo {
     public static final String HTTP_HANDLER = "act:http";
     public static final String CLASS_LOADING = "act:classload";
     public static final String JOB_HANDLER = "act:job";
+    public static final String JOB_QUEUE = "act:job_queue";
     public static final String CLI_HANDLER = "act:cli";
     public static final String MAILER = "act:mail";
     public static final String EVENT_HANDLER = "act:event";
+    public static final String ASYNC_EVENT = "act:event:async";
     public static final String ROUTING = "act:routing";
+    public static final String VIEW_FRAGMENT = "act:view:fragment";
     public static final String PATH_SEPARATOR = Metric.PATH_SEPARATOR;
 
     private String name;
     private long count;
     private Long ns;
+    private Long p50;
+    private Long p99;
+    private Long p999;
+    private Long max;
 
     MetricInfo(String name, long count) {
         this.name = name;
@@ -28,6 +35,16 @@ public class MetricInfo {
         this.count = count;
     }
 
+    MetricInfo(String name, long ns, long count, Histogram.Snapshot histogram) {
+        this(name, ns, count);
+        if (null != histogram && histogram.count() > 0) {
+            this.p50 = histogram.percentile(50);
+            this.p99 = histogram.percentile(99);
+            this.p999 = histogram.percentile(99.9);
+            this.max = histogram.max();
+        }
+    }
+
     public String getName() {
         return name;
     }
@@ -64,6 +81,26 @@ public class MetricInfo {
         return DurationScale.format(ns / count);
     }
 
+    public String getP50() {
+        return format(p50);
+    }
+
+    public String getP99() {
+        return format(p99);
+    }
+
+    public String getP999() {
+        return format(p999);
+    }
+
+    public String getMax() {
+        return format(max);
+    }
+
+    private static String format(Long ns) {
+        return null == ns ? "" : DurationScale.format(ns);
+    }
+
     @Override
     public int hashCode() {
         return $.hc(name);
@@ -150,6 +150,10 @@ public class MetricInfoTree {
     static final NodeDecorator TIMER = new NodeDecorator(new $.Transformer<MetricInfo, String>() {
         @Override
         public String transform(MetricInfo metricInfo) {
+            String p99 = metricInfo.getP99();
+            if (S.notBlank(p99)) {
+                return S.fmt("%s: %s / %s = %s, p99: %s", metricInfo.getName(), metricInfo.getAccumulated(), metricInfo.getCountAsStr(), metricInfo.getAvg(), p99);
+            }
             return S.fmt("%s: %s / %s = %s", metricInfo.getName(), metricInfo.getAccumulated(), metricInfo.getCountAsStr(), metricInfo.getAvg());
         }
     });
@@ -1,5 +1,7 @@
 package act.metric;
 
+import org.osgl.$;
+
 import java.util.List;
 
 /**
@@ -50,4 +52,215 @@ public interface MetricStore {
      * Clear metric data
      */
     void clear();
+
+    /**
+     * Visits metric data in a {@link MetricStore}
+     */
+    interface Visitor {
+
+        /**
+         * Visit a counter
+         *
+         * @param name the counter name
+         * @param count the counts
+         */
+        void visitCounter(String name, long count);
+
+        /**
+         * Visit a timer.
+         *
+         * @param name the timer name
+         * @param count the number of times measured
+         * @param ns the aggregated time in nanoseconds
+         * @param histogram the latency histogram of the last {@link #window()} minutes,
+         *                  `null` if no latency is recorded since the store started.
+         *                  The snapshot might be reused once this method returns
+         */
+        void visitTimer(String name, long count, long ns, Histogram.Snapshot histogram);
+
+        /**
+         * Returns the time window in minutes of the histogram passed to
+         * {@link #visitTimer(String, long, long, Histogram.Snapshot)}
+         */
+        int window();
+    }
+
+    /**
+     * Implements the methods added to metric stores after {@link MetricStore}
+     * was published on top of the methods of the interface, so that existing
+     * implementations keep working.
+     *
+     * A store shall extend this class and override these methods with an
+     * efficient version. Callers use {@link #of(MetricStore)} to call them
+     * on any store.
+     */
+    abstract class Base implements MetricStore {
+
+        /**
+         * Returns a {@link MetricHandle} that has the counter and timer of the
+         * name and its ancestor names resolved.
+         *
+         * Note the store shall always return the same handle for the same name.
+         * This implementation returns a handle that calls the counter and timer
+         * methods of the store with the name
+         *
+         * @param name A string specifies the counter/timer
+         * @return the handle
+         */
+        public MetricHandle handle(String name) {
+            return new StoreHandle(name, this);
+        }
+
+        /**
+         * Returns timers measured in the last `minutes` minutes. The
+         * {@link MetricInfo} returned carries latency percentiles.
+         *
+         * This implementation returns {@link #timers()}
+         *
+         * @param minutes the time window from `1` to {@link Histogram#MAX_WINDOW},
+         *                or `0` for all data measured
+         * @return timers in a list
+         */
+        public List<MetricInfo> timers(int minutes) {
+            return timers();
+        }
+
+        /**
+         * Visit all counters and timers in the store without building and sorting
+         * {@link MetricInfo} lists. The order of visiting is not defined.
+         *
+         * This implementation visits {@link #counters()} and {@link #timers()}
+         * without histograms
+         *
+         * @param visitor the visitor
+         */
+        public void accept(Visitor visitor) {
+            for (MetricInfo info : counters()) {
+                visitor.visitCounter(info.getName(), info.getCount());
+            }
+            for (MetricInfo info : timers()) {
+                visitor.visitTimer(info.getName(), info.getCount(), info.getNs(), null);
+            }
+        }
+
+        /**
+         * Returns the store itself if it extends {@link Base}, or an adapter
+         * of the store otherwise
+         *
+         * @param store the metric store
+         * @return the store as a `Base`
+         */
+        public static Base of(MetricStore store) {
+            return store instanceof Base ? (Base) store : new Adapter(store);
+        }
+
+        private static class Adapter extends Base {
+            private final MetricStore store;
+
+            Adapter(MetricStore store) {
+                this.store = $.notNull(store);
+            }
+
+            @Override
+            public void countOnce(String name) {
+                store.countOnce(name);
+            }
+
+            @Override
+            public void onTimerStart(String name) {
+                store.onTimerStart(name);
+            }
+
+            @Override
+            public void onTimerStop(Timer timer) {
+                store.onTimerStop(timer);
+            }
+
+            @Override
+            public Long count(String name) {
+                return store.count(name);
+            }
+
+            @Override
+            public Long ns(String name) {
+                return store.ns(name);
+            }
+
+            @Override
+            public List<MetricInfo> counters() {
+                return store.counters();
+            }
+
+            @Override
+            public List<MetricInfo> timers() {
+                return store.timers();
+            }
+
+            @Override
+            public void clear() {
+                store.clear();
+            }
+        }
+
+        private static class StoreHandle implements MetricHandle {
+            private final String name;
+            private final MetricStore store;
+
+            StoreHandle(String name, MetricStore store) {
+                this.name = $.notNull(name);
+                this.store = store;
+            }
+
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public void countOnce() {
+                store.countOnce(name);
+            }
+
+            @Override
+            public long start() {
+                store.countOnce(name);
+                store.onTimerStart(name);
+                return $.ns();
+            }
+
+            @Override
+            public void stop(long start) {
+                onTimerStop($.ns() - start);
+            }
+
+            @Override
+            public void record(long ns) {
+                store.countOnce(name);
+                onTimerStop(ns);
+            }
+
+            @Override
+            public Timer startTimer() {
+                return new SimpleTimer(name, store);
+            }
+
+            private void onTimerStop(final long ns) {
+                store.onTimerStop(new Timer() {
+                    @Override
+                    public String name() {
+                        return name;
+                    }
+
+                    @Override
+                    public void stop() {
+                    }
+
+                    @Override
+                    public long ns() {
+                        return ns;
+                    }
+                });
+            }
+        }
+    }
 }
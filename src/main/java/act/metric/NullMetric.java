@@ -23,6 +23,35 @@ enum NullMetric implements Metric {
         }
     };
 
+    private static final MetricHandle NULL_HANDLE = new MetricHandle() {
+        @Override
+        public String name() {
+            return null;
+        }
+
+        @Override
+        public void countOnce() {
+        }
+
+        @Override
+        public long start() {
+            return 0;
+        }
+
+        @Override
+        public void stop(long start) {
+        }
+
+        @Override
+        public void record(long ns) {
+        }
+
+        @Override
+        public Timer startTimer() {
+            return NULL_TIMER;
+        }
+    };
+
     @Override
     public void countOnce(String name) {
     }
@@ -32,4 +61,9 @@ enum NullMetric implements Metric {
         return NULL_TIMER;
     }
 
+    @Override
+    public MetricHandle handle(String name) {
+        return NULL_HANDLE;
+    }
+
 }
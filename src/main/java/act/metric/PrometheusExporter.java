@@ -0,0 +1,220 @@
+package act.metric;
+
+import act.app.ActionContext;
+import act.handler.builtin.controller.FastRequestHandler;
+import org.osgl.$;
+import org.osgl.http.H;
+import org.osgl.util.E;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Expose the data in {@link MetricStore} in
+ * <a href="https://prometheus.io/docs/instrumenting/exposition_formats/">Prometheus text format</a>.
+ *
+ * The hierarchical metric name is mapped to a metric family named after
+ * the root of the hierarchy, and the rest of the name is turned into
+ * labels `l1`, `l2` ... Label `depth` is the number of the labels, so
+ * that query can pick up one level of the hierarchy and avoid counting
+ * the aggregated parents. For example counter `act:http:foo.Bar.baz`
+ * is exposed as:
+ *
+ * ```
+ * act_count_total{depth="2",l1="http",l2="foo.Bar.baz"} 13
+ * ```
+ *
+ * Timers are exposed as summaries with quantiles calculated on the
+ * last {@link #WINDOW} minutes.
+ */
+public class PrometheusExporter extends FastRequestHandler {
+
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    /**
+     * The time window in minutes to calculate quantiles
+     */
+    public static final int WINDOW = 5;
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+    private static final String[] QUANTILE_LABELS = {"0.5", "0.9", "0.99", "0.999"};
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final MetricStore.Base store;
+
+    public PrometheusExporter(MetricStore store) {
+        this.store = MetricStore.Base.of($.notNull(store));
+    }
+
+    @Override
+    public void handle(ActionContext context) {
+        H.Response resp = context.resp();
+        resp.contentType(CONTENT_TYPE);
+        resp.characterEncoding("utf-8");
+        Writer writer = new BufferedWriter(resp.writer(), BUFFER_SIZE);
+        try {
+            render(writer);
+            writer.flush();
+        } catch (IOException e) {
+            throw E.ioException(e);
+        }
+    }
+
+    /**
+     * Write the metric data to the writer. Samples are collected first as the
+     * store visits them in no particular order while the lines of a metric family
+     * must be grouped together.
+     */
+    void render(Writer writer) throws IOException {
+        Collector collector = new Collector();
+        store.accept(collector);
+        for (Map.Entry<String, List<Sample>> entry : collector.counters.entrySet()) {
+            String family = entry.getKey() + "_count_total";
+            writer.append("# TYPE ").append(family).append(" counter\n");
+            for (Sample sample : entry.getValue()) {
+                writer.append(family);
+                labels(writer, sample.path, null).append(' ').append(String.valueOf(sample.count)).append('\n');
+            }
+        }
+        for (Map.Entry<String, List<Sample>> entry : collector.timers.entrySet()) {
+            String family = entry.getKey() + "_duration_seconds";
+            writer.append("# TYPE ").append(family).append(" summary\n");
+            for (Sample sample : entry.getValue()) {
+                for (int i = 0; i < QUANTILES.length; ++i) {
+                    writer.append(family);
+                    labels(writer, sample.path, QUANTILE_LABELS[i]).append(' ');
+                    writer.append(null == sample.quantiles ? "NaN" : String.valueOf(sample.quantiles[i])).append('\n');
+                }
+                writer.append(family).append("_sum");
+                labels(writer, sample.path, null).append(' ').append(String.valueOf(seconds(sample.ns))).append('\n');
+                writer.append(family).append("_count");
+                labels(writer, sample.path, null).append(' ').append(String.valueOf(sample.count)).append('\n');
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "prometheus metric exporter";
+    }
+
+    private static Writer labels(Writer writer, String[] path, String quantile) throws IOException {
+        writer.append("{depth=\"").append(String.valueOf(path.length - 1)).append('"');
+        for (int i = 1; i < path.length; ++i) {
+            writer.append(",l").append(String.valueOf(i)).append("=\"");
+            escape(writer, path[i]);
+            writer.append('"');
+        }
+        if (null != quantile) {
+            writer.append(",quantile=\"").append(quantile).append('"');
+        }
+        return writer.append('}');
+    }
+
+    private static double seconds(long ns) {
+        return ns / 1e9d;
+    }
+
+    private static class Sample {
+        final String[] path;
+        final long count;
+        final long ns;
+        // quantiles in seconds, null if no latency recorded
+        final double[] quantiles;
+
+        Sample(String[] path, long count, long ns, double[] quantiles) {
+            this.path = path;
+            this.count = count;
+            this.ns = ns;
+            this.quantiles = quantiles;
+        }
+    }
+
+    private static class Collector implements MetricStore.Visitor {
+        // family lines must be grouped together
+        private final Map<String, List<Sample>> counters = new TreeMap<>();
+        private final Map<String, List<Sample>> timers = new TreeMap<>();
+
+        @Override
+        public void visitCounter(String name, long count) {
+            String[] path = name.split(Metric.PATH_SEPARATOR);
+            family(counters, path[0]).add(new Sample(path, count, 0, null));
+        }
+
+        @Override
+        public void visitTimer(String name, long count, long ns, Histogram.Snapshot histogram) {
+            String[] path = name.split(Metric.PATH_SEPARATOR);
+            double[] quantiles = null;
+            // the snapshot might be reused once this method returns
+            if (null != histogram && histogram.count() > 0) {
+                quantiles = new double[QUANTILES.length];
+                for (int i = 0; i < QUANTILES.length; ++i) {
+                    quantiles[i] = seconds(histogram.percentile(QUANTILES[i] * 100));
+                }
+            }
+            family(timers, path[0]).add(new Sample(path, count, ns, quantiles));
+        }
+
+        @Override
+        public int window() {
+            return WINDOW;
+        }
+
+        private static List<Sample> family(Map<String, List<Sample>> families, String root) {
+            String key = sanitize(root);
+            List<Sample> list = families.get(key);
+            if (null == list) {
+                list = new ArrayList<>();
+                families.put(key, list);
+            }
+            return list;
+        }
+    }
+
+    static String sanitize(String name) {
+        int len = name.length();
+        if (0 == len) {
+            return "_";
+        }
+        char c0 = name.charAt(0);
+        StringBuilder sb = c0 >= '0' && c0 <= '9' ? new StringBuilder("_") : null;
+        for (int i = 0; i < len; ++i) {
+            char c = name.charAt(i);
+            boolean valid = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_'
+                    || (c >= '0' && c <= '9');
+            if (!valid && null == sb) {
+                sb = new StringBuilder(name.substring(0, i));
+            }
+            if (null != sb) {
+                sb.append(valid ? c : '_');
+            }
+        }
+        return null == sb ? name : sb.toString();
+    }
+
+    private static void escape(Writer writer, String value) throws IOException {
+        for (int i = 0, len = value.length(); i < len; ++i) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\':
+                    writer.append("\\\\");
+                    break;
+                case '"':
+                    writer.append("\\\"");
+                    break;
+                case '\n':
+                    writer.append("\\n");
+                    break;
+                default:
+                    writer.append(c);
+            }
+        }
+    }
+
+}
@@ -6,10 +6,10 @@ import org.osgl.$;
  * A simple implementation of {@link Metric}
  */
 public class SimpleMetric implements Metric {
-    private MetricStore metricStore;
+    private MetricStore.Base metricStore;
 
     public SimpleMetric(MetricStore metricStore) {
-        this.metricStore = $.notNull(metricStore);
+        this.metricStore = MetricStore.Base.of($.notNull(metricStore));
     }
 
     @Override
@@ -22,4 +22,9 @@ public class SimpleMetric implements Metric {
         metricStore.countOnce(name);
     }
 
+    @Override
+    public MetricHandle handle(String name) {
+        return metricStore.handle(name);
+    }
+
 }
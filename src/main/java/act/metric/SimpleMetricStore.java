@@ -13,15 +13,15 @@ import java.io.*;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * A simple implementation of {@link MetricStore}
  */
-public class SimpleMetricStore implements MetricStore, Serializable {
+public class SimpleMetricStore extends MetricStore.Base implements Serializable {
 
 
     private transient static final Logger defLogger = LogManager.get("metric.default");
@@ -30,6 +30,12 @@ public class SimpleMetricStore implements MetricStore, Serializable {
 
     private ConcurrentMap<String, AtomicLong> counters = new ConcurrentHashMap<String, AtomicLong>();
     private ConcurrentMap<String, AtomicLong> timers = new ConcurrentHashMap<String, AtomicLong>();
+    // latency histograms are not persisted
+    private transient ConcurrentMap<String, Histogram> histograms = new ConcurrentHashMap<String, Histogram>();
+    private transient ConcurrentMap<String, Handle> handles = new ConcurrentHashMap<String, Handle>();
+    // timer families with latency histograms. Other families could have
+    // unbounded names, e.g. class loading timers are named after the class
+    private transient Set<String> histogramFamilies = new CopyOnWriteArraySet<>(C.list(MetricInfo.HTTP_HANDLER, MetricInfo.ROUTING));
 
     private transient SimpleMetricPlugin plugin;
     private transient FileSynchronizer synchronizer;
@@ -48,26 +54,32 @@ public class SimpleMetricStore implements MetricStore, Serializable {
     @Override
     public void countOnce(String name) {
         E.illegalArgumentIf(S.blank(name), "");
-        countOnce_(name);
-    }
-
-    private void countOnce_(String name) {
-        AtomicLong al = counters.get(name);
-        if (null == al) {
-            counters.putIfAbsent(name, new AtomicLong());
-            al = counters.get(name);
-        }
-        al.incrementAndGet();
-        name = getParent(name);
-        if (S.notBlank(name)) {
-            countOnce_(name);
-        }
+        resolve(name).countOnce();
     }
 
     public void enableDataSync(boolean enabled) {
         dataSync = enabled;
     }
 
+    /**
+     * Record latency histograms for timers of the family specified, i.e.
+     * timers named by the family or under it.
+     *
+     * Only {@link MetricInfo#HTTP_HANDLER} and {@link MetricInfo#ROUTING}
+     * timers have histograms by default. A histogram takes 10 to 40KB, thus
+     * do not enable it for a family with unbounded names, e.g.
+     * {@link MetricInfo#CLASS_LOADING}
+     *
+     * @param family the metric name of the family, e.g. `act:job`
+     */
+    public void enableHistogram(String family) {
+        E.illegalArgumentIf(S.blank(family), "");
+        histogramFamilies.add(family);
+        for (Handle handle : handles.values()) {
+            handle.withHistogram = hasHistogram(handle.name);
+        }
+    }
+
     @Override
     public void onTimerStart(String name) {
         logger(name).trace("Timer[%s] started", name);
@@ -75,23 +87,26 @@ public class SimpleMetricStore implements MetricStore, Serializable {
 
     @Override
     public void onTimerStop(Timer timer) {
-        String name = timer.name();
-        long ns = timer.ns();
-        logger(name).trace("Timer[%s] stopped. Time elapsed: %sns", name, ns);
-        onTimerStop_(name, ns);
+        resolve(timer.name()).addTime(timer.ns());
     }
 
-    private void onTimerStop_(String name, long ns) {
-        AtomicLong al = timers.get(name);
-        if (null == al) {
-            timers.putIfAbsent(name, new AtomicLong());
-            al = timers.get(name);
-        }
-        al.addAndGet(ns);
-        name = getParent(name);
-        if (S.notBlank(name)) {
-            onTimerStop_(name, ns);
+    @Override
+    public MetricHandle handle(String name) {
+        E.illegalArgumentIf(S.blank(name), "");
+        return resolve(name);
+    }
+
+    private Handle resolve(String name) {
+        Handle handle = handles.get(name);
+        if (null == handle) {
+            String parent = getParent(name);
+            handle = new Handle(name, S.notBlank(parent) ? resolve(parent) : null);
+            Handle prev = handles.putIfAbsent(name, handle);
+            if (null != prev) {
+                handle = prev;
+            }
         }
+        return handle;
     }
 
     @Override
@@ -108,7 +123,7 @@ public class SimpleMetricStore implements MetricStore, Serializable {
 
     @Override
     public List<MetricInfo> counters() {
-        Set<MetricInfo> set = new TreeSet<MetricInfo>();
+        Set<MetricInfo> set = C.newSet();
         for (Map.Entry<String, AtomicLong> entry : counters.entrySet()) {
             set.add(new MetricInfo(entry.getKey(), entry.getValue().get()));
         }
@@ -119,15 +134,57 @@ public class SimpleMetricStore implements MetricStore, Serializable {
     public List<MetricInfo> timers() {
         Set<MetricInfo> set = C.newSet();
         for (Map.Entry<String, AtomicLong> entry : timers.entrySet()) {
-            set.add(new MetricInfo(entry.getKey(), entry.getValue().get(), counters.get(entry.getKey()).get()));
+            String name = entry.getKey();
+            Histogram histogram = histograms.get(name);
+            Histogram.Snapshot snapshot = null == histogram ? null : histogram.snapshot();
+            AtomicLong counter = counters.get(name);
+            long count = null != counter ? counter.get() : null != snapshot ? snapshot.count() : 0L;
+            set.add(new MetricInfo(name, entry.getValue().get(), count, snapshot));
         }
         return C.list(set);
     }
 
+    @Override
+    public List<MetricInfo> timers(int minutes) {
+        if (0 == minutes) {
+            return timers();
+        }
+        Set<MetricInfo> set = C.newSet();
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            Histogram.Snapshot snapshot = entry.getValue().snapshot(minutes);
+            if (snapshot.count() > 0) {
+                set.add(new MetricInfo(entry.getKey(), snapshot.sum(), snapshot.count(), snapshot));
+            }
+        }
+        return C.list(set);
+    }
+
+    @Override
+    public void accept(Visitor visitor) {
+        for (Map.Entry<String, AtomicLong> entry : counters.entrySet()) {
+            visitor.visitCounter(entry.getKey(), entry.getValue().get());
+        }
+        int window = visitor.window();
+        long[] buffer = new long[Histogram.WIDTH];
+        for (Map.Entry<String, AtomicLong> entry : timers.entrySet()) {
+            String name = entry.getKey();
+            Histogram histogram = histograms.get(name);
+            Histogram.Snapshot snapshot = null == histogram ? null : histogram.snapshot(window, buffer);
+            AtomicLong counter = counters.get(name);
+            long count = null != counter ? counter.get() : null != snapshot ? snapshot.count() : 0L;
+            visitor.visitTimer(name, count, entry.getValue().get(), snapshot);
+        }
+    }
+
     @Override
     public void clear() {
+        histograms.clear();
         timers.clear();
         counters.clear();
+        // handles might be kept by callers, thus reset instead of removing them
+        for (Handle handle : handles.values()) {
+            handle.reset();
+        }
     }
 
     public void takeSnapshot() {
@@ -141,10 +198,156 @@ public class SimpleMetricStore implements MetricStore, Serializable {
         return null == logger ? defLogger : logger;
     }
 
+    private boolean hasHistogram(String name) {
+        for (String family : histogramFamilies) {
+            if (name.startsWith(family) && (name.length() == family.length() || ':' == name.charAt(family.length()))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private String getParent(String name) {
         return S.beforeLast(name, ":");
     }
 
+    private static AtomicLong cell(ConcurrentMap<String, AtomicLong> map, String name) {
+        AtomicLong al = map.get(name);
+        if (null == al) {
+            map.putIfAbsent(name, new AtomicLong());
+            al = map.get(name);
+        }
+        return al;
+    }
+
+    /**
+     * The {@link MetricHandle} implementation that keeps references to
+     * the counter, timer and histogram of the name, and the handle of
+     * the parent name. The histogram is allocated only if the name is in
+     * a {@link #enableHistogram(String) histogram family}
+     */
+    private class Handle implements MetricHandle {
+        private final String name;
+        private final Handle parent;
+        private final Logger logger;
+        private volatile AtomicLong counter;
+        private volatile AtomicLong timer;
+        private volatile Histogram histogram;
+        private volatile boolean withHistogram;
+
+        Handle(String name, Handle parent) {
+            this.name = name;
+            this.parent = parent;
+            this.logger = logger(name);
+            this.withHistogram = hasHistogram(name);
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public void countOnce() {
+            for (Handle h = this; null != h; h = h.parent) {
+                h.counter().incrementAndGet();
+            }
+        }
+
+        @Override
+        public long start() {
+            countOnce();
+            if (logger.isTraceEnabled()) {
+                logger.trace("Timer[%s] started", name);
+            }
+            return $.ns();
+        }
+
+        @Override
+        public void stop(long start) {
+            addTime($.ns() - start);
+        }
+
+        @Override
+        public void record(long ns) {
+            countOnce();
+            addTime(ns);
+        }
+
+        @Override
+        public Timer startTimer() {
+            final long start = start();
+            return new Timer() {
+                private long duration;
+
+                @Override
+                public String name() {
+                    return name;
+                }
+
+                @Override
+                public void stop() {
+                    duration = $.ns() - start;
+                    addTime(duration);
+                }
+
+                @Override
+                public long ns() {
+                    return duration;
+                }
+            };
+        }
+
+        void addTime(long ns) {
+            if (logger.isTraceEnabled()) {
+                logger.trace("Timer[%s] stopped. Time elapsed: %sns", name, ns);
+            }
+            for (Handle h = this; null != h; h = h.parent) {
+                h.timer().addAndGet(ns);
+                if (h.withHistogram) {
+                    h.histogram().record(ns);
+                }
+            }
+        }
+
+        void reset() {
+            counter = null;
+            timer = null;
+            histogram = null;
+        }
+
+        private AtomicLong counter() {
+            AtomicLong al = counter;
+            if (null == al) {
+                al = cell(counters, name);
+                counter = al;
+            }
+            return al;
+        }
+
+        private AtomicLong timer() {
+            AtomicLong al = timer;
+            if (null == al) {
+                al = cell(timers, name);
+                timer = al;
+            }
+            return al;
+        }
+
+        private Histogram histogram() {
+            Histogram h = histogram;
+            if (null == h) {
+                h = histograms.get(name);
+                if (null == h) {
+                    histograms.putIfAbsent(name, new Histogram());
+                    h = histograms.get(name);
+                }
+                histogram = h;
+            }
+            return h;
+        }
+    }
+
     private static class FileSynchronizer {
         private static final String FILE_NAME = ".act.metric";
         private boolean ioError = false;
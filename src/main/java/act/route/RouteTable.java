@@ -0,0 +1,269 @@
+package act.route;
+
+import act.app.ActionContext;
+import act.controller.ParamNames;
+import act.handler.RequestHandler;
+import org.osgl.http.H;
+import org.osgl.util.E;
+
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * A read only routing table compiled from the {@link Router.Node} tree.
+ *
+ * <p>
+ *     Static children of each level are kept in a sorted array and looked up with
+ *     a binary search over the raw request path, so no segment string is created
+ *     during routing. Dynamic children are kept in an array ordered by priority:
+ *     regex constrained parts are tried before unconstrained ones and in the order
+ *     they were added. If a branch fails to match the rest of the path the next
+ *     candidate is tried.
+ * </p>
+ * <p>
+ *     Path variables are recorded as offsets into the slot array provided by
+ *     {@link ActionContext#pathVarSlots(int)}, and their names are resolved
+ *     per route at compile time.
+ * </p>
+ */
+final class RouteTable {
+
+    // indicate a regex constrained path part rejected the request
+    private static final Entry BAD_REQUEST = new Entry();
+
+    private final Entry _GET;
+    private final Entry _POST;
+    private final Entry _PUT;
+    private final Entry _DEL;
+    private final Entry _PATCH;
+
+    private final int slotCapacity;
+
+    RouteTable(Router.Node get, Router.Node post, Router.Node put, Router.Node delete, Router.Node patch) {
+        int[] maxVars = new int[1];
+        _GET = compile(get, -1, maxVars);
+        _POST = compile(post, -1, maxVars);
+        _PUT = compile(put, -1, maxVars);
+        _DEL = compile(delete, -1, maxVars);
+        _PATCH = compile(patch, -1, maxVars);
+        slotCapacity = 1 + 2 * maxVars[0];
+    }
+
+    RequestHandler route(H.Method method, String path, ActionContext context) {
+        int[] slots = context.pathVarSlots(slotCapacity);
+        int len = path.indexOf('?');
+        if (len < 0) {
+            len = path.length();
+        }
+        Entry entry = match(root(method), path, 0, len, slots);
+        if (null == entry) {
+            return Router.notFound();
+        } else if (BAD_REQUEST == entry) {
+            return Router.badRequest();
+        }
+        if (entry.varNames.length > 0) {
+            context.pathVars(path, entry.varNames, slots);
+        }
+        if (entry.partial) {
+            context.param(ParamNames.PATH, remaining(path, slots[0], len));
+        }
+        return entry.handler;
+    }
+
+    private Entry root(H.Method method) {
+        switch (method) {
+            case GET:
+                return _GET;
+            case POST:
+                return _POST;
+            case PUT:
+                return _PUT;
+            case DELETE:
+                return _DEL;
+            case PATCH:
+                return _PATCH;
+            default:
+                throw E.unexpected("HTTP Method not supported: %s", method);
+        }
+    }
+
+    private static Entry match(Entry entry, String path, int pos, int len, int[] slots) {
+        if (entry.partial) {
+            slots[0] = pos;
+            return entry;
+        }
+        while (pos < len && path.charAt(pos) == '/') {
+            pos++;
+        }
+        if (pos == len) {
+            return terminal(entry, slots);
+        }
+        int end = pos;
+        while (end < len && path.charAt(end) != '/') {
+            end++;
+        }
+        boolean rejected = false;
+        int idx = find(entry.names, path, pos, end);
+        if (idx >= 0) {
+            Entry found = match(entry.statics[idx], path, end, len, slots);
+            if (BAD_REQUEST == found) {
+                rejected = true;
+            } else if (null != found) {
+                return found;
+            }
+        }
+        for (Entry child : entry.dynamics) {
+            if (null == child.pattern || child.pattern.matcher(path).region(pos, end).matches()) {
+                int slot = 1 + 2 * child.slot;
+                slots[slot] = pos;
+                slots[slot + 1] = end;
+                Entry found = match(child, path, end, len, slots);
+                if (BAD_REQUEST == found) {
+                    rejected = true;
+                } else if (null != found) {
+                    return found;
+                }
+            } else {
+                rejected = true;
+            }
+        }
+        return rejected ? BAD_REQUEST : null;
+    }
+
+    private static Entry terminal(Entry entry, int[] slots) {
+        if (null != entry.handler) {
+            return entry;
+        }
+        boolean rejected = false;
+        for (Entry child : entry.dynamics) {
+            if (null == child.pattern || child.pattern.matcher("").matches()) {
+                if (null != child.handler) {
+                    slots[1 + 2 * child.slot] = -1;
+                    return child;
+                }
+            } else {
+                rejected = true;
+            }
+        }
+        return rejected ? BAD_REQUEST : null;
+    }
+
+    /*
+     * Binary search the sorted static names with the path segment
+     * between start and end
+     */
+    private static int find(char[][] names, String path, int start, int end) {
+        int lo = 0, hi = names.length - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int cmp = compare(names[mid], path, start, end);
+            if (cmp < 0) {
+                lo = mid + 1;
+            } else if (cmp > 0) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private static int compare(char[] name, String path, int start, int end) {
+        int len1 = name.length, len2 = end - start;
+        int lim = Math.min(len1, len2);
+        for (int i = 0; i < lim; ++i) {
+            char c1 = name[i], c2 = path.charAt(start + i);
+            if (c1 != c2) {
+                return c1 - c2;
+            }
+        }
+        return len1 - len2;
+    }
+
+    /*
+     * Returns the rest of the path after a partial path handler
+     * in the form of `/seg1/seg2`, or empty string if nothing left
+     */
+    private static String remaining(String path, int pos, int len) {
+        StringBuilder sb = null;
+        int i = pos;
+        while (i < len) {
+            while (i < len && path.charAt(i) == '/') {
+                i++;
+            }
+            int end = i;
+            while (end < len && path.charAt(end) != '/') {
+                end++;
+            }
+            if (end > i) {
+                if (null == sb) {
+                    sb = new StringBuilder();
+                }
+                sb.append('/').append(path, i, end);
+            }
+            i = end;
+        }
+        return null == sb ? "" : sb.toString();
+    }
+
+    private static Entry compile(Router.Node node, int slot, int[] maxVars) {
+        Entry entry = new Entry();
+        entry.slot = slot;
+        entry.pattern = node.pattern;
+        entry.handler = node.handler;
+        entry.partial = node.terminateRouteSearch();
+        if (null != node.handler) {
+            entry.varNames = varNames(node);
+        }
+        maxVars[0] = Math.max(maxVars[0], slot + 1);
+        SortedMap<String, Router.Node> statics = new TreeMap<>();
+        for (Map.Entry<CharSequence, Router.Node> child : node.staticChildren.entrySet()) {
+            statics.put(child.getKey().toString(), child.getValue());
+        }
+        int sz = statics.size();
+        entry.names = new char[sz][];
+        entry.statics = new Entry[sz];
+        int i = 0;
+        for (Map.Entry<String, Router.Node> child : statics.entrySet()) {
+            entry.names[i] = child.getKey().toCharArray();
+            entry.statics[i++] = compile(child.getValue(), slot, maxVars);
+        }
+        sz = node.dynamicChildren.size();
+        entry.dynamics = new Entry[sz];
+        for (i = 0; i < sz; ++i) {
+            entry.dynamics[i] = compile(node.dynamicChildren.get(i), slot + 1, maxVars);
+        }
+        return entry;
+    }
+
+    /*
+     * Resolve the path variable names of the route terminated at the node
+     * in slot order
+     */
+    private static String[] varNames(Router.Node node) {
+        UrlPath path = new UrlPath(node.path());
+        List<String> names = new ArrayList<>();
+        while (null != node) {
+            if (node.isDynamic()) {
+                names.add(node.varName(path).toString());
+            }
+            node = node.parent;
+        }
+        Collections.reverse(names);
+        return names.toArray(new String[names.size()]);
+    }
+
+    private static class Entry {
+        private char[][] names = new char[0][];
+        private Entry[] statics = new Entry[0];
+        private Entry[] dynamics = new Entry[0];
+        private Pattern pattern;
+        private RequestHandler handler;
+        private boolean partial;
+        // the index of this dynamic part in the route
+        private int slot;
+        // path variable names of the route terminated here
+        private String[] varNames = new String[0];
+    }
+
+}
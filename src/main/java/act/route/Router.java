@@ -51,6 +51,9 @@ public class Router extends AppServiceBase<Router> {
     private String portId;
     private int port;
     private OptionsInfoBase optionHandlerFactory;
+    // compiled routing table, available once the router is frozen
+    private volatile RouteTable routeTable;
+    private volatile boolean frozen;
 
     private void initControllerLookup(RequestHandlerResolver lookup) {
         if (null == lookup) {
@@ -123,10 +126,45 @@ public class Router extends AppServiceBase<Router> {
         if (Arrays.binarySearch(targetMethods, method) < 0) {
             return UnknownHttpMethodHandler.INSTANCE;
         }
+        RouteTable table = routeTable();
+        if (null != table) {
+            return table.route(method, path.toString(), context);
+        }
         Node node = search(method, Path.tokenizer(Unsafe.bufOf(path)), context);
         return getInvokerFrom(node);
     }
 
+    /**
+     * Compile the route mapping tree into a read only {@link RouteTable}.
+     * Once frozen all routing goes through the compiled table. Any mapping
+     * added afterwards invalidates the table and it will be recompiled on
+     * the next routing call.
+     */
+    public void freeze() {
+        frozen = true;
+        routeTable = compile();
+    }
+
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    private RouteTable routeTable() {
+        if (!frozen) {
+            return null;
+        }
+        RouteTable table = routeTable;
+        if (null == table) {
+            table = compile();
+            routeTable = table;
+        }
+        return table;
+    }
+
+    private RouteTable compile() {
+        return new RouteTable(_GET, _POST, _PUT, _DEL, _PATCH);
+    }
+
     public RequestHandler findStaticGetHandler(String url) {
         Iterator<CharSequence> path = Path.tokenizer(Unsafe.bufOf(url));
         Node node = root(H.Method.GET);
@@ -146,25 +184,17 @@ public class Router extends AppServiceBase<Router> {
         }
         RequestHandler handler = node.handler;
         if (null == handler) {
-            if (null != node.dynamicChild) {
-                node = node.dynamicChild;
-                if (null != node.pattern) {
-                    if (node.pattern.matcher("").matches()) {
-                        if (null == node.handler) {
-                            return notFound();
-                        }
-                        handler = node.handler;
-                    } else {
-                        return badRequest();
+            boolean rejected = false;
+            for (Node child : node.dynamicChildren) {
+                if (null == child.pattern || child.pattern.matcher("").matches()) {
+                    if (null != child.handler) {
+                        return child.handler;
                     }
-                } else if (null == node.handler) {
-                    return notFound();
                 } else {
-                    return node.handler;
+                    rejected = true;
                 }
-            } else {
-                return notFound();
             }
+            return rejected ? badRequest() : notFound();
         }
         return handler;
     }
@@ -222,6 +252,7 @@ public class Router extends AppServiceBase<Router> {
     }
 
     public void addMapping(H.Method method, CharSequence path, RequestHandler handler, RouteSource source) {
+        routeTable = null;
         Node node = _locate(method, path);
         if (null == node.handler) {
             handler = prepareReverseRoutes(handler, node);
@@ -441,6 +472,17 @@ public class Router extends AppServiceBase<Router> {
     }
 
     // -- action method sensor
+
+    /**
+     * Returns the names of the action methods routed by this router,
+     * e.g. `com.mycorp.myapp.controller.AbcController.foo`
+     *
+     * @return a read only view of the action names
+     */
+    public Set<String> actionNames() {
+        return Collections.unmodifiableSet(actionNames);
+    }
+
     public boolean isActionMethod(String className, String methodName) {
         return actionNames.contains(S.concat(className, ".", methodName));
     }
@@ -564,11 +606,11 @@ public class Router extends AppServiceBase<Router> {
         }
     }
 
-    private static AlwaysNotFound notFound() {
+    static AlwaysNotFound notFound() {
         return AlwaysNotFound.INSTANCE;
     }
 
-    private static AlwaysBadRequest badRequest() {
+    static AlwaysBadRequest badRequest() {
         return AlwaysBadRequest.INSTANCE;
     }
 
@@ -592,7 +634,7 @@ public class Router extends AppServiceBase<Router> {
      * The data structure support decision tree for
      * fast URL routing
      */
-    private static class Node extends DestroyableBase implements Serializable, TreeNode {
+    static class Node extends DestroyableBase implements Serializable, TreeNode {
 
         // used to pass a baq request result when dynamic regex matching failed
         private static final Node BADREQUEST = new Node(Integer.MIN_VALUE) {
@@ -613,15 +655,18 @@ public class Router extends AppServiceBase<Router> {
         }
 
         private int id;
-        private StrBase name;
-        private Pattern pattern;
-        private CharSequence varName;
+        StrBase name;
+        Pattern pattern;
+        CharSequence varName;
         private Node root;
-        private Node parent;
-        private Node dynamicChild;
-        private C.Map<CharSequence, Node> staticChildren = C.newMap();
-        private C.Map<UrlPath, Node> dynamicAliases = C.newMap();
-        private RequestHandler handler;
+        Node parent;
+        // dynamic siblings ordered by matching priority: regex constrained
+        // children first, then the unconstrained one, each group in the
+        // order they are added
+        List<Node> dynamicChildren = C.newList();
+        C.Map<CharSequence, Node> staticChildren = C.newMap();
+        C.Map<UrlPath, Node> dynamicAliases = C.newMap();
+        RequestHandler handler;
         private RouteSource routeSource;
         private Map<String, Node> reverseRoutes = new HashMap<>();
 
@@ -661,12 +706,14 @@ public class Router extends AppServiceBase<Router> {
 
         boolean metaInfoMatches(StrBase string) {
             $.T2<StrBase, Pattern> result = _parseDynaName(string);
-            if (pattern != null && result._2 != null) {
-                return pattern.pattern().equals(result._2.pattern());
-            } else {
-                // just allow route table to use different var names
-                return true;
+            if (null == result) {
+                return matches(string);
+            }
+            // just allow route table to use different var names
+            if (null == pattern) {
+                return null == result._2;
             }
+            return null != result._2 && pattern.pattern().equals(result._2.pattern());
         }
 
         public boolean matches(CharSequence chars) {
@@ -675,33 +722,41 @@ public class Router extends AppServiceBase<Router> {
         }
 
         @Override
-        @SuppressWarnings("unchecked")
         public List<TreeNode> children() {
-            C.List<TreeNode> list = (C.List) C.list(staticChildren.values());
-            return null == dynamicChild ? list : list.append(dynamicChild);
+            List<TreeNode> list = new ArrayList<TreeNode>(staticChildren.values());
+            list.addAll(dynamicChildren);
+            return list;
         }
 
         public Node child(CharSequence name, ActionContext context) {
             Node node = staticChildren.get(name);
-            if (null == node && null != dynamicChild) {
-                if (dynamicChild.matches(name)) {
-                    UrlPath path = new UrlPath(context.req().path());
-                    CharSequence varName = dynamicChild.varName;
-                    for (Map.Entry<UrlPath, Node> entry : dynamicChild.dynamicAliases.entrySet()) {
-                        if (entry.getKey().equals(path)) {
-                            varName = entry.getValue().varName;
-                            break;
-                        }
+            if (null == node && !dynamicChildren.isEmpty()) {
+                for (Node dynamicChild : dynamicChildren) {
+                    if (dynamicChild.matches(name)) {
+                        CharSequence varName = dynamicChild.varName(new UrlPath(context.req().path()));
+                        context.param(varName.toString(), S.urlDecode(S.string(name)));
+                        return dynamicChild;
                     }
-                    context.param(varName.toString(), S.urlDecode(S.string(name)));
-                    return dynamicChild;
-                } else {
-                    return Node.BADREQUEST;
                 }
+                return Node.BADREQUEST;
             }
             return node;
         }
 
+        /**
+         * Returns the variable name of this dynamic node used by the route
+         * with the given path. Different routes are allowed to name the same
+         * dynamic part differently
+         */
+        CharSequence varName(UrlPath path) {
+            for (Map.Entry<UrlPath, Node> entry : dynamicAliases.entrySet()) {
+                if (entry.getKey().equals(path)) {
+                    return entry.getValue().varName;
+                }
+            }
+            return varName;
+        }
+
         @Override
         public String id() {
             return name.toString();
@@ -721,19 +776,19 @@ public class Router extends AppServiceBase<Router> {
             if (null != handler) {
                 handler.destroy();
             }
-            if (null != dynamicChild) {
-                dynamicChild.destroy();
-                dynamicChild = null;
-            }
+            Destroyable.Util.destroyAll(dynamicChildren, ApplicationScoped.class);
+            dynamicChildren.clear();
             Destroyable.Util.destroyAll(staticChildren.values(), ApplicationScoped.class);
             staticChildren.clear();
         }
 
         Node childByMetaInfo(StrBase s) {
             Node node = staticChildren.get(s);
-            if (null == node && null != dynamicChild) {
-                if (dynamicChild.metaInfoMatches(s)) {
-                    return dynamicChild;
+            if (null == node) {
+                for (Node dynamicChild : dynamicChildren) {
+                    if (dynamicChild.metaInfoMatches(s)) {
+                        return dynamicChild;
+                    }
                 }
             }
             return node;
@@ -752,19 +807,33 @@ public class Router extends AppServiceBase<Router> {
             }
             Node child = new Node(name, this);
             if (child.isDynamic()) {
-                if (null == dynamicChild) {
-                    dynamicChild = child;
-                    child.dynamicAliases.put(new UrlPath(path), child);
-                } else {
-                    dynamicChild.dynamicAliases.put(new UrlPath(path), child);
+                if (null == node) {
+                    node = child;
+                    addDynamicChild(child);
                 }
-                return dynamicChild;
+                node.dynamicAliases.put(new UrlPath(path), child);
+                return node;
             } else {
                 staticChildren.put(name, child);
             }
             return child;
         }
 
+        private void addDynamicChild(Node child) {
+            if (null != child.pattern) {
+                int pos = 0;
+                for (Node node : dynamicChildren) {
+                    if (null == node.pattern) {
+                        break;
+                    }
+                    pos++;
+                }
+                dynamicChildren.add(pos, child);
+            } else {
+                dynamicChildren.add(child);
+            }
+        }
+
         Node handler(RequestHandler handler, RouteSource source) {
             this.routeSource = $.notNull(source);
             this.handler = handler.requireResolveContext() ? new ContextualHandler((RequestHandlerBase)handler, this) : handler;
@@ -796,8 +865,8 @@ public class Router extends AppServiceBase<Router> {
             for (Node node : staticChildren.values()) {
                 node.debug(method, ps);
             }
-            if (null != dynamicChild) {
-                dynamicChild.debug(method, ps);
+            for (Node node : dynamicChildren) {
+                node.debug(method, ps);
             }
         }
 
@@ -808,8 +877,8 @@ public class Router extends AppServiceBase<Router> {
             for (Node node : staticChildren.values()) {
                 node.debug(method, routes);
             }
-            if (null != dynamicChild) {
-                dynamicChild.debug(method, routes);
+            for (Node node : dynamicChildren) {
+                node.debug(method, routes);
             }
         }
 
@@ -83,6 +83,18 @@ public interface ActContext<CTX_TYPE extends ActContext> extends ParamValueProvi
 
     String methodPath();
 
+    /**
+     * Returns param keys under the root name specified, i.e. `root`,
+     * `root.xx`, `root[xx]` or `[root]xx`.
+     *
+     * Implementations shall not collect all param keys of the context
+     * when only a few of them are under the root
+     *
+     * @param root the first token of the param keys
+     * @return the param keys under the root
+     */
+    Set<String> paramKeys(String root);
+
     /**
      * Returns a reusable {@link S.Buffer} instance
      * @return an S.Buffer instance that can be reused
@@ -298,6 +310,41 @@ public interface ActContext<CTX_TYPE extends ActContext> extends ParamValueProvi
             return strBuf.consumed() ? strBuf.reset() : S.newBuffer();
         }
 
+        @Override
+        public Set<String> paramKeys(String root) {
+            Set<String> set = new HashSet<>();
+            addParamKeys(set, paramKeys(), root);
+            return set;
+        }
+
+        /**
+         * Add keys under the root name to the set specified
+         *
+         * @param set the set to add keys to
+         * @param rawKeys the param keys to check
+         * @param root the root name
+         */
+        protected static void addParamKeys(Set<String> set, Iterable<String> rawKeys, String root) {
+            for (String rawKey : rawKeys) {
+                if (isParamKeyOf(rawKey, root)) {
+                    set.add(rawKey);
+                }
+            }
+        }
+
+        private static boolean isParamKeyOf(String rawKey, String root) {
+            int len = root.length();
+            if (rawKey.startsWith(root)) {
+                if (rawKey.length() == len) {
+                    return true;
+                }
+                char c = rawKey.charAt(len);
+                return '.' == c || '[' == c;
+            }
+            return rawKey.length() > len + 1 && '[' == rawKey.charAt(0)
+                    && ']' == rawKey.charAt(len + 1) && rawKey.startsWith(root, 1);
+        }
+
         @Override
         public CTX addViolations(Map<String, ConstraintViolation> violations) {
             this.violations.putAll(violations);
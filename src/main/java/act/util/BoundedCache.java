@@ -0,0 +1,82 @@
+package act.util;
+
+import org.osgl.util.E;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A thread safe map that is reset once the number of entries exceeds
+ * the max size.
+ *
+ * Suitable for caching values derived from client supplied input, where
+ * the number of distinct keys is not under control of the app. Lookups
+ * do not lock nor write, thus the cache can be shared by request threads
+ * on hot path. The size is approximate under contention.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class BoundedCache<K, V> {
+
+    private final int maxSize;
+    private final ConcurrentMap<K, V> entries = new ConcurrentHashMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * Construct a cache
+     *
+     * @param maxSize the max number of entries kept in the cache
+     */
+    public BoundedCache(int maxSize) {
+        E.illegalArgumentIf(maxSize < 1, "max size must be positive");
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Returns the value cached for the key
+     *
+     * @param key the key
+     * @return the value or `null` if not cached
+     */
+    public V get(K key) {
+        return entries.get(key);
+    }
+
+    /**
+     * Cache a value. All other entries are dropped if the new
+     * entry exceeds the max size
+     *
+     * @param key the key
+     * @param value the value
+     */
+    public void put(K key, V value) {
+        if (null != entries.put(key, value)) {
+            return;
+        }
+        if (size.incrementAndGet() > maxSize) {
+            clear();
+            entries.put(key, value);
+            size.incrementAndGet();
+        }
+    }
+
+    public V remove(K key) {
+        V value = entries.remove(key);
+        if (null != value) {
+            size.decrementAndGet();
+        }
+        return value;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public void clear() {
+        size.set(0);
+        entries.clear();
+    }
+
+}
@@ -1,5 +1,6 @@
 package act.util;
 
+import act.data.DataPropertyRepository;
 import act.data.util.StringOrPattern;
 import com.alibaba.fastjson.serializer.JSONSerializer;
 import com.alibaba.fastjson.serializer.PropertyPreFilter;
@@ -30,6 +31,36 @@ public class FastJsonPropertyPreFilter implements PropertyPreFilter {
         addIncludes(properties);
     }
 
+    /**
+     * Returns a filter for the output fields or excluded fields of a property spec
+     *
+     * @param spec the property spec
+     * @param type the type of the object to be serialized, used to resolve field patterns
+     * @param context the current context
+     * @return the filter or `null` if the spec does not define any output or excluded field
+     */
+    public static FastJsonPropertyPreFilter of(PropertySpec.MetaInfo spec, Class<?> type, ActContext context) {
+        FastJsonPropertyPreFilter propertyFilter = new FastJsonPropertyPreFilter();
+        List<String> outputs = spec.outputFields(context);
+        Set<String> excluded = spec.excludedFields(context);
+        if (excluded.isEmpty()) {
+            if (outputs.isEmpty()) {
+                return null; // no filter defined actually
+            }
+            // output fields only applied when excluded fields not presented
+            propertyFilter.addIncludes(outputs);
+            if (hasPattern(outputs)) {
+                propertyFilter.setFullPaths(context.app().service(DataPropertyRepository.class).propertyListOf(type));
+            }
+        } else {
+            propertyFilter.addExcludes(excluded);
+            if (hasPattern(excluded)) {
+                propertyFilter.setFullPaths(context.app().service(DataPropertyRepository.class).propertyListOf(type));
+            }
+        }
+        return propertyFilter;
+    }
+
     public void setFullPaths(List<String> ls) {
         fullPaths.clear();
         fullPaths.addAll(ls);
@@ -0,0 +1,163 @@
+package act.util;
+
+import org.osgl.util.Charsets;
+import org.osgl.util.E;
+import org.osgl.util.IO;
+import org.osgl.util.S;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Builds a SHA-1 fingerprint of strings, bytes and file content, e.g. to
+ * tell whether data cached from a previous run of the app is still valid.
+ *
+ * Files are identified by the path relative to the root added, so that the
+ * same content deployed to another location or with fresh timestamps yields
+ * the same fingerprint. Jar files are summarized by the name and CRC of their
+ * entries, other files by the content.
+ */
+public class Fingerprint {
+
+    private final MessageDigest md = messageDigest();
+    // jars added through code sources
+    private final Set<File> codeSourceJars = new HashSet<>();
+
+    /**
+     * Add a string
+     *
+     * @param s the string
+     * @return this fingerprint
+     */
+    public Fingerprint add(String s) {
+        md.update(s.getBytes(Charsets.UTF_8));
+        md.update((byte) 0);
+        return this;
+    }
+
+    /**
+     * Add bytes
+     *
+     * @param bytes the bytes
+     * @return this fingerprint
+     */
+    public Fingerprint add(byte[] bytes) {
+        md.update(bytes);
+        return this;
+    }
+
+    /**
+     * Add the content of a dir or file. Nothing but a separator is added
+     * if the file does not exist
+     *
+     * @param root the dir or file
+     * @return this fingerprint
+     */
+    public Fingerprint addContent(File root) {
+        add("");
+        add(root, "");
+        return this;
+    }
+
+    /**
+     * Add the name of a class and the code the class is loaded from, i.e.
+     * the jar file the class is loaded from, or the class file if it is
+     * loaded from a dir. A jar shared by classes is added once.
+     *
+     * Only the class name is added if the class is not loaded from a file,
+     * e.g. the JDK classes
+     *
+     * @param type the class
+     * @return this fingerprint
+     */
+    public Fingerprint addCodeSource(Class<?> type) {
+        add(type.getName());
+        CodeSource source = type.getProtectionDomain().getCodeSource();
+        URL location = null == source ? null : source.getLocation();
+        if (null == location || !"file".equals(location.getProtocol())) {
+            return this;
+        }
+        File file;
+        try {
+            file = new File(location.toURI());
+        } catch (URISyntaxException e) {
+            throw E.unexpected(e);
+        }
+        if (file.isDirectory()) {
+            addContent(new File(file, type.getName().replace('.', '/') + ".class"));
+        } else if (codeSourceJars.add(file)) {
+            addContent(file);
+        }
+        return this;
+    }
+
+    /**
+     * Returns the fingerprint in hex string
+     *
+     * @return the fingerprint
+     */
+    public String digest() {
+        return hex(md.digest());
+    }
+
+    private void add(File file, String path) {
+        if (!file.exists()) {
+            return;
+        }
+        add(path);
+        if (file.isDirectory()) {
+            File[] children = file.listFiles();
+            if (null != children) {
+                Arrays.sort(children);
+                for (File child : children) {
+                    add(child, S.concat(path, "/", child.getName()));
+                }
+            }
+        } else if (file.getName().endsWith(".jar")) {
+            addJar(file);
+        } else {
+            md.update(IO.readContent(file));
+        }
+    }
+
+    private void addJar(File file) {
+        try (ZipFile zip = new ZipFile(file)) {
+            Enumeration<? extends ZipEntry> entries = zip.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                add(entry.getName());
+                add(String.valueOf(entry.getCrc()));
+            }
+        } catch (IOException e) {
+            throw E.ioException(e);
+        }
+    }
+
+    private static MessageDigest messageDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw E.unexpected(e);
+        }
+    }
+
+    private static String hex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return sb.toString();
+    }
+
+}
@@ -4,6 +4,7 @@ import act.app.ActionContext;
 import act.cli.CliContext;
 import act.cli.CliSession;
 import act.controller.meta.HandlerMethodMetaInfo;
+import act.data.FilteredJsonSerializer;
 import org.osgl.$;
 import org.osgl.util.C;
 import org.osgl.util.S;
@@ -123,6 +124,10 @@ public @interface PropertySpec {
 
         static class Spec extends $.T3<List<String>, Set<String>, Map<String, String>> {
 
+            // the JSON serializer compiled from this spec, the value is
+            // `null` if the spec cannot be compiled
+            volatile $.Var<FilteredJsonSerializer> jsonSerializer;
+
             Spec() {
                 super(C.<String>newList(), C.<String>newSet(), C.<String, String>newMap());
             }
@@ -223,6 +228,30 @@ public @interface PropertySpec {
             return C.set(spec(context).excluded());
         }
 
+        /**
+         * Returns the JSON serializer kept with the spec applied to the context
+         *
+         * @param context the context
+         * @return the serializer holder, or `null` if no serializer has been
+         *         kept with the spec
+         * @see #jsonSerializer(ActContext, FilteredJsonSerializer)
+         */
+        public $.Var<FilteredJsonSerializer> jsonSerializer(ActContext context) {
+            return spec(context).jsonSerializer;
+        }
+
+        /**
+         * Keep the JSON serializer compiled from the spec applied to the
+         * context, so that it does not need to be looked up again while
+         * this meta info is in use
+         *
+         * @param context the context
+         * @param serializer the serializer, or `null` if the spec cannot be compiled
+         */
+        public void jsonSerializer(ActContext context, FilteredJsonSerializer serializer) {
+            spec(context).jsonSerializer = $.var(serializer);
+        }
+
         public String label(String field, ActContext context) {
             String lbl = spec(context).labels().get(field);
             return null == lbl ? field : lbl;
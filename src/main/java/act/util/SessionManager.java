@@ -13,14 +13,14 @@ import org.osgl.logging.Logger;
 import org.osgl.util.*;
 
 import javax.enterprise.context.ApplicationScoped;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import static act.Destroyable.Util.tryDestroyAll;
 import static org.osgl.http.H.Session.KEY_EXPIRATION;
 import static org.osgl.http.H.Session.KEY_EXPIRE_INDICATOR;
+import static org.osgl.http.H.Session.KEY_ID;
 
 /**
  * Resolve/Persist session/flash
@@ -99,18 +99,34 @@ public class SessionManager extends DestroyableBase {
         if (Act.multiTenant()) {
             CookieResolver resolver = resolvers.get(app);
             if (null == resolver) {
-                resolver = new CookieResolver(app);
+                resolver = newResolver(app);
                 resolvers.put(app, resolver);
             }
             return resolver;
         } else {
             if (theResolver == null) {
-                theResolver = new CookieResolver(app);
+                theResolver = newResolver(app);
             }
             return theResolver;
         }
     }
 
+    private static CookieResolver newResolver(App app) {
+        AppConfig conf = app.config();
+        if (!conf.sessionServerSide()) {
+            return new CookieResolver(app);
+        }
+        SessionStore store = conf.sessionStore();
+        if (null == store) {
+            store = new SessionStore.CacheServiceStore(app.cache(conf.cacheNameSession()));
+        }
+        int localCacheSize = conf.sessionLocalCacheSize();
+        if (localCacheSize > 0) {
+            store = new SessionStore.LocalCache(store, localCacheSize, conf.sessionTtl());
+        }
+        return new ServerSideResolver(app, store);
+    }
+
     public static abstract class Listener extends DestroyableBase implements Plugin {
         @Override
         public void register() {
@@ -139,16 +155,23 @@ public class SessionManager extends DestroyableBase {
 
     static class CookieResolver {
 
-        private App app;
-        private AppConfig conf;
-        private boolean encryptSession;
-        private boolean persistentSession;
-        private boolean sessionSecure;
-        private long ttl;
-        private boolean sessionWillExpire;
-        private SessionMapper sessionMapper;
-        private String sessionCookieName;
-        private String flashCookieName;
+        // the number of entries of the session when it is resolved
+        static final String ATTR_RESOLVED_SIZE = "__act_session_size__";
+
+        App app;
+        AppConfig conf;
+        boolean encryptSession;
+        boolean persistentSession;
+        boolean sessionSecure;
+        long ttl;
+        boolean sessionWillExpire;
+        SessionMapper sessionMapper;
+        String sessionCookieName;
+        String flashCookieName;
+        long refreshThreshold;
+        int verifiedCookieCacheSize;
+        // verified session cookie content mapped to the decoded key/value pairs
+        ConcurrentMap<String, String[]> verifiedCookies;
 
         CookieResolver(App app) {
             E.NPE(app);
@@ -164,6 +187,11 @@ public class SessionManager extends DestroyableBase {
             sessionMapper = conf.sessionMapper();
             sessionCookieName = conf.sessionCookieName();
             flashCookieName = conf.flashCookieName();
+            refreshThreshold = (long) (this.ttl * conf.sessionTtlRefreshFraction());
+            verifiedCookieCacheSize = conf.sessionCookieCacheSize();
+            if (verifiedCookieCacheSize > 0) {
+                verifiedCookies = new ConcurrentHashMap<>();
+            }
         }
 
         Session resolveSession(ActionContext context) {
@@ -179,6 +207,7 @@ public class SessionManager extends DestroyableBase {
                 resolveFromCookieContent(session, val, true);
                 session = processExpiration(session, now, false, req);
             }
+            context.attribute(ATTR_RESOLVED_SIZE, session.size());
             context.checkCsrf(session);
             return session;
         }
@@ -199,9 +228,10 @@ public class SessionManager extends DestroyableBase {
             if (null == session) {
                 return null;
             }
-            boolean sessionChanged = session.changed();
-            if (!sessionChanged && (session.empty() || !sessionWillExpire)) {
-                // Nothing changed and no cookie-expire or empty, consequently send nothing back.
+            boolean sessionChanged = changed(session, context);
+            if (!sessionChanged && (session.empty() || !sessionWillExpire || session.contains(KEY_ID))) {
+                // Nothing changed and no cookie-expire or empty or expiration not extended,
+                // consequently send nothing back.
                 return null;
             }
             H.Cookie cookie;
@@ -232,7 +262,26 @@ public class SessionManager extends DestroyableBase {
             return cookie;
         }
 
+        // `H.KV.remove` and `H.KV.clear` does not set the dirty flag,
+        // thus we need to check the size as well
+        boolean changed(Session session, ActionContext context) {
+            if (session.changed()) {
+                return true;
+            }
+            Integer size = context.attribute(ATTR_RESOLVED_SIZE);
+            return null != size && size != session.size();
+        }
+
         void resolveFromCookieContent(H.KV<?> kv, String content, boolean isSession) {
+            if (isSession && null != verifiedCookies) {
+                String[] pairs = verifiedCookies.get(content);
+                if (null != pairs) {
+                    for (int i = 0; i < pairs.length; i += 2) {
+                        kv.load(pairs[i], pairs[i + 1]);
+                    }
+                    return;
+                }
+            }
             String data = Codec.decodeUrl(content, Charsets.UTF_8);
             if (isSession) {
                 if (encryptSession) {
@@ -265,10 +314,40 @@ public class SessionManager extends DestroyableBase {
                         sb.append(Arrays.toString(kAndV.get(i)));
                     }
                     logger.warn("unexpected KV string: %S", sb.toString());
+                } else if (isSession) {
+                    // note we use `load` API instead of `put` because we don't want to set the dirty flag
+                    kv.load(new String(kAndV.get(0)), new String(kAndV.get(1)));
                 } else {
                     kv.put(new String(kAndV.get(0)), new String(kAndV.get(1)));
                 }
             }
+            if (isSession) {
+                rememberVerified(content, kv);
+            }
+        }
+
+        private void rememberVerified(String content, H.KV<?> kv) {
+            if (null == verifiedCookies) {
+                return;
+            }
+            List<String> list = new ArrayList<>(kv.size() * 2);
+            for (String k : kv.keySet()) {
+                String v = kv.get(k);
+                // empty key or value does not survive the cookie content
+                if (S.notEmpty(k) && S.notEmpty(v)) {
+                    list.add(k);
+                    list.add(v);
+                }
+            }
+            verifiedCookies.put(content, list.toArray(new String[list.size()]));
+            if (verifiedCookies.size() > verifiedCookieCacheSize) {
+                int target = verifiedCookieCacheSize / 10 * 9;
+                Iterator<String> itr = verifiedCookies.keySet().iterator();
+                while (verifiedCookies.size() > target && itr.hasNext()) {
+                    itr.next();
+                    itr.remove();
+                }
+            }
         }
 
         private List<char[]> split(char[] content, char separator) {
@@ -322,6 +401,9 @@ public class SessionManager extends DestroyableBase {
                 }
             }
             data = Codec.encodeUrl(data, Charsets.UTF_8);
+            if (isSession) {
+                rememberVerified(data, kv);
+            }
             return data;
         }
 
@@ -347,10 +429,16 @@ public class SessionManager extends DestroyableBase {
                         session = new Session();
                         session.put(KEY_EXPIRE_INDICATOR, true);
                     } else {
-                        session.remove(KEY_EXPIRE_INDICATOR);
-                        boolean skipUpdateExpiration = S.eq(conf.pingPath(), request.url());
+                        if (session.contains(KEY_EXPIRE_INDICATOR)) {
+                            session.remove(KEY_EXPIRE_INDICATOR);
+                            session.put(KEY_EXPIRATION, newTimestamp);
+                            return session;
+                        }
+                        boolean skipUpdateExpiration = S.eq(conf.pingPath(), request.url())
+                                || newTimestamp - oldTimestamp < refreshThreshold;
                         if (skipUpdateExpiration) {
-                            newTimestamp = oldTimestamp;
+                            // keep the timestamp and the session clean
+                            return session;
                         }
                     }
                 }
@@ -359,7 +447,7 @@ public class SessionManager extends DestroyableBase {
             return session;
         }
 
-        private H.Cookie createCookie(String name, String value) {
+        H.Cookie createCookie(String name, String value) {
             H.Cookie cookie = new H.Cookie(name, value);
             cookie.path("/");
             cookie.domain(conf.cookieDomain());
@@ -371,4 +459,120 @@ public class SessionManager extends DestroyableBase {
             return cookie;
         }
     }
+
+    /**
+     * Keep session data in a {@link SessionStore} and only the signed
+     * session ID in the session cookie.
+     *
+     * Session data is written back to the store only when it is changed,
+     * or when half of the session TTL has passed since the last save so
+     * that the session expiration is extended.
+     */
+    static class ServerSideResolver extends CookieResolver {
+
+        // the ID of the session loaded from store
+        static final String ATTR_SESSION_ID = "__act_session_id__";
+
+        // the timestamp when the session data get saved, kept out of the session
+        static final String ATTR_SAVED = "__act_session_saved__";
+
+        private SessionStore store;
+        private int ttlInSeconds;
+
+        ServerSideResolver(App app, SessionStore store) {
+            super(app);
+            this.store = $.notNull(store);
+            this.ttlInSeconds = (int) (ttl / 1000);
+        }
+
+        @Override
+        Session resolveSession(ActionContext context) {
+            context.preCheckCsrf();
+            Session session = new Session();
+            String id = sessionId(sessionMapper.deserializeSession(context));
+            if (null != id) {
+                Map<String, String> data = store.load(id);
+                if (null == data) {
+                    // note we use `load` API instead of `put` because we don't want to set the dirty flag
+                    session.load(KEY_EXPIRE_INDICATOR, "true");
+                } else {
+                    for (Map.Entry<String, String> entry : data.entrySet()) {
+                        String key = entry.getKey();
+                        if (SessionStore.KEY_SAVED.equals(key)) {
+                            context.attribute(ATTR_SAVED, entry.getValue());
+                        } else {
+                            session.load(key, entry.getValue());
+                        }
+                    }
+                    context.attribute(ATTR_SESSION_ID, id);
+                    context.attribute(ATTR_RESOLVED_SIZE, session.size());
+                }
+            }
+            context.checkCsrf(session);
+            return session;
+        }
+
+        @Override
+        H.Cookie dissolveSession(ActionContext context) {
+            context.setCsrfCookieAndRenderArgs();
+            Session session = context.session();
+            if (null == session) {
+                return null;
+            }
+            String loadedId = context.attribute(ATTR_SESSION_ID);
+            if (session.empty()) {
+                if (null == loadedId) {
+                    return null;
+                }
+                store.remove(loadedId);
+                return createCookie(sessionCookieName, "");
+            }
+            long now = $.ms();
+            boolean changed = changed(session, context);
+            if (!changed) {
+                if (null == loadedId || !sessionWillExpire) {
+                    return null;
+                }
+                String s = context.attribute(ATTR_SAVED);
+                long saved = null == s ? 0 : Long.parseLong(s);
+                if (now - saved < ttl / 2) {
+                    return null;
+                }
+            }
+            String id = session.id();
+            Map<String, String> data = new HashMap<>();
+            for (String key : session.keySet()) {
+                if (!KEY_EXPIRE_INDICATOR.equals(key)) {
+                    data.put(key, session.get(key));
+                }
+            }
+            data.put(SessionStore.KEY_SAVED, String.valueOf(now));
+            store.save(id, data, ttlInSeconds);
+            boolean newSession = !S.eq(id, loadedId);
+            if (newSession && null != loadedId) {
+                store.remove(loadedId);
+            }
+            if (newSession || (sessionWillExpire && persistentSession)) {
+                return createCookie(sessionCookieName, cookieContent(id));
+            }
+            return null;
+        }
+
+        String cookieContent(String id) {
+            return S.concat(app.sign(id), "-", id);
+        }
+
+        String sessionId(String cookieContent) {
+            if (S.blank(cookieContent)) {
+                return null;
+            }
+            int pos = cookieContent.indexOf('-');
+            if (pos < 0) {
+                return null;
+            }
+            String sign = cookieContent.substring(0, pos);
+            String id = cookieContent.substring(pos + 1);
+            return S.eq(sign, app.sign(id)) ? id : null;
+        }
+    }
 }
@@ -0,0 +1,242 @@
+package act.util;
+
+import org.osgl.$;
+import org.osgl.cache.CacheService;
+import org.osgl.util.E;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keep session data on server side when
+ * {@link act.conf.AppConfigKey#SESSION_SERVER_SIDE server side session}
+ * is enabled.
+ *
+ * Note an implementation configured through {@link act.conf.AppConfigKey#SESSION_STORE}
+ * must have a public default constructor
+ */
+public interface SessionStore {
+
+    /**
+     * The key of the timestamp, in milliseconds, when the session data
+     * was saved. Session data saved by Act always carries it, so that a
+     * cache in front of a store can tell when the data expires in the store
+     */
+    String KEY_SAVED = "___SAVED";
+
+    /**
+     * Load session data by ID
+     *
+     * @param id the session ID
+     * @return the session data or `null` if not found or expired. The map
+     *         returned shall not be modified by caller
+     */
+    Map<String, String> load(String id);
+
+    /**
+     * Save session data
+     *
+     * @param id the session ID
+     * @param data the session data. The store shall not modify the map
+     * @param ttl the time to live in seconds, `0` or negative number means
+     *            the session never expire
+     */
+    void save(String id, Map<String, String> data, int ttl);
+
+    /**
+     * Remove session data by ID
+     *
+     * @param id the session ID
+     */
+    void remove(String id);
+
+    /**
+     * A {@link SessionStore} backed by a {@link CacheService}
+     */
+    class CacheServiceStore implements SessionStore {
+
+        private static final String KEY_PREFIX = "__act_session_";
+
+        private final CacheService cache;
+
+        public CacheServiceStore(CacheService cache) {
+            this.cache = $.notNull(cache);
+        }
+
+        @Override
+        public Map<String, String> load(String id) {
+            return cache.get(KEY_PREFIX + id);
+        }
+
+        @Override
+        public void save(String id, Map<String, String> data, int ttl) {
+            if (ttl > 0) {
+                cache.put(KEY_PREFIX + id, data, ttl);
+            } else {
+                cache.put(KEY_PREFIX + id, data);
+            }
+        }
+
+        @Override
+        public void remove(String id) {
+            cache.evict(KEY_PREFIX + id);
+        }
+    }
+
+    /**
+     * Keep recently used sessions in process in front of another
+     * {@link SessionStore}.
+     *
+     * Entries expire after the time to live of the last save. Entries
+     * loaded from the backing store expire when they expire in the
+     * backing store, as told by the {@link #KEY_SAVED saved timestamp}.
+     * When the number of entries exceeds the max size, expired entries and
+     * then the least recently used entries are removed until the size drops
+     * to 90% of the max size. Removing an entry is safe as it is still
+     * available in the backing store.
+     *
+     * Lookups do not lock. Eviction runs on one thread at a time while
+     * other threads keep going, thus the size could exceed the max size
+     * for a short while.
+     */
+    class LocalCache implements SessionStore {
+
+        private static class Entry {
+            final Map<String, String> data;
+            final long expireAt;
+            volatile long lastUsed;
+
+            Entry(Map<String, String> data, long expireAt) {
+                this.data = data;
+                this.expireAt = expireAt;
+                this.lastUsed = $.ns();
+            }
+        }
+
+        private final SessionStore store;
+        private final long ttl;
+        private final int maxSize;
+        private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicBoolean evicting = new AtomicBoolean();
+
+        /**
+         * Construct a local cache
+         *
+         * @param store the backing store
+         * @param maxSize the max number of sessions kept in the cache
+         * @param ttl the time to live in seconds of the sessions in the
+         *            backing store
+         */
+        public LocalCache(SessionStore store, int maxSize, int ttl) {
+            E.illegalArgumentIf(maxSize < 1, "max size must be positive");
+            this.store = $.notNull(store);
+            this.ttl = ttl > 0 ? ttl * 1000L : Long.MAX_VALUE / 2;
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        public Map<String, String> load(String id) {
+            long now = $.ms();
+            Entry entry = entries.get(id);
+            if (null != entry) {
+                if (entry.expireAt > now) {
+                    entry.lastUsed = $.ns();
+                    return entry.data;
+                }
+                evict(id, entry);
+            }
+            Map<String, String> data = store.load(id);
+            if (null != data) {
+                put(id, new Entry(data, expireAt(data, now)));
+            }
+            return data;
+        }
+
+        @Override
+        public void save(String id, Map<String, String> data, int ttl) {
+            store.save(id, data, ttl);
+            put(id, new Entry(data, $.ms() + (ttl > 0 ? ttl * 1000L : this.ttl)));
+        }
+
+        @Override
+        public void remove(String id) {
+            if (null != entries.remove(id)) {
+                size.decrementAndGet();
+            }
+            store.remove(id);
+        }
+
+        int size() {
+            return entries.size();
+        }
+
+        private void put(String id, Entry entry) {
+            if (null == entries.put(id, entry) && size.incrementAndGet() > maxSize) {
+                shrink();
+            }
+        }
+
+        private void evict(String id, Entry entry) {
+            if (entries.remove(id, entry)) {
+                size.decrementAndGet();
+            }
+        }
+
+        private void shrink() {
+            if (!evicting.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                long now = $.ms();
+                List<Map.Entry<String, Entry>> alive = new ArrayList<>(entries.size());
+                for (Map.Entry<String, Entry> mapEntry : entries.entrySet()) {
+                    Entry entry = mapEntry.getValue();
+                    if (entry.expireAt > now) {
+                        alive.add(mapEntry);
+                    } else {
+                        evict(mapEntry.getKey(), entry);
+                    }
+                }
+                int excess = alive.size() - (maxSize - maxSize / 10);
+                if (excess <= 0) {
+                    return;
+                }
+                // entries used since the snapshot might still be evicted
+                int len = alive.size();
+                long[] lastUsed = new long[len];
+                for (int i = 0; i < len; ++i) {
+                    lastUsed[i] = alive.get(i).getValue().lastUsed;
+                }
+                long[] sorted = lastUsed.clone();
+                Arrays.sort(sorted);
+                long cutoff = sorted[excess - 1];
+                for (int i = 0; i < len; ++i) {
+                    if (lastUsed[i] <= cutoff) {
+                        Map.Entry<String, Entry> mapEntry = alive.get(i);
+                        evict(mapEntry.getKey(), mapEntry.getValue());
+                    }
+                }
+            } finally {
+                evicting.set(false);
+            }
+        }
+
+        // the backing store keeps the data for ttl since it was saved
+        private long expireAt(Map<String, String> data, long now) {
+            String saved = data.get(KEY_SAVED);
+            if (null != saved) {
+                try {
+                    return Math.min(now, Long.parseLong(saved)) + ttl;
+                } catch (NumberFormatException e) {
+                    // ignore, use the max time to live
+                }
+            }
+            return now + ttl;
+        }
+    }
+
+}
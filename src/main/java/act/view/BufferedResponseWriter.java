@@ -0,0 +1,238 @@
+package act.view;
+
+import act.ResponseImplBase;
+import org.osgl.http.H;
+import org.osgl.util.Charsets;
+import org.osgl.util.E;
+import org.osgl.util.S;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.Arrays;
+
+/**
+ * A {@link Writer} that encodes chars straight to the response.
+ *
+ * Chars are collected in a buffer and encoded to the output stream each time
+ * the buffer reaches the flush threshold. If the content fits in the buffer,
+ * it is sent once on {@link #close()} with content length set, through
+ * {@link H.Response#writeContent(ByteBuffer)} which does not block.
+ *
+ * The output stream could not be used on a non-blocking IO thread, e.g. when
+ * rendering an express action. In that case the content exceeding the threshold
+ * is collected in memory and sent on {@link #close()} as well.
+ *
+ * The buffers are pooled per thread, so rendering a page does not allocate
+ * the page, nor the encoded bytes of the page. {@link #close()} returns the
+ * buffers to the pool and leaves the output stream open, the response closes
+ * it when the exchange completes.
+ */
+final class BufferedResponseWriter extends Writer {
+
+    private static final ThreadLocal<Buffers> pool = new ThreadLocal<>();
+
+    private final H.Response response;
+    private final boolean blocking;
+    private Buffers buffers;
+    private char[] buf;
+    private int pos;
+    private OutputStream out;
+
+    private BufferedResponseWriter(H.Response response, boolean blocking, Buffers buffers) {
+        this.response = response;
+        this.blocking = blocking;
+        this.buffers = buffers;
+        this.buf = buffers.chars;
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        ensureOpen();
+        if (pos == buf.length) {
+            drain(false);
+        }
+        buf[pos++] = (char) c;
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        ensureOpen();
+        while (len > 0) {
+            if (pos == buf.length) {
+                drain(false);
+            }
+            int n = Math.min(len, buf.length - pos);
+            System.arraycopy(cbuf, off, buf, pos, n);
+            pos += n;
+            off += n;
+            len -= n;
+        }
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        ensureOpen();
+        while (len > 0) {
+            if (pos == buf.length) {
+                drain(false);
+            }
+            int n = Math.min(len, buf.length - pos);
+            str.getChars(off, off + n, buf, pos);
+            pos += n;
+            off += n;
+            len -= n;
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        drain(false);
+        out().flush();
+    }
+
+    /**
+     * Write the buffered chars to the response and return the buffers to the pool
+     */
+    @Override
+    public void close() throws IOException {
+        if (null == buffers) {
+            return;
+        }
+        try {
+            drain(true);
+            if (null == out) {
+                return;
+            }
+            if (blocking) {
+                out.flush();
+            } else {
+                send(((ByteArrayOutputStream) out).toByteArray());
+            }
+        } finally {
+            release();
+        }
+    }
+
+    // encode the buffered chars to the output stream. A high surrogate at
+    // the end of the buffer is kept until the next char arrives
+    private void drain(boolean endOfInput) throws IOException {
+        ensureOpen();
+        CharsetEncoder encoder = buffers.encoder;
+        ByteBuffer bytes = buffers.bytes;
+        CharBuffer chars = CharBuffer.wrap(buf, 0, pos);
+        for (;;) {
+            CoderResult result = encoder.encode(chars, bytes, endOfInput);
+            if (result.isOverflow()) {
+                writeBytes(bytes);
+            } else if (result.isUnderflow()) {
+                break;
+            } else {
+                result.throwException();
+            }
+        }
+        if (endOfInput) {
+            while (encoder.flush(bytes).isOverflow()) {
+                writeBytes(bytes);
+            }
+            if (null == out) {
+                // nothing written yet, the whole content is in the buffer. The
+                // bytes are copied as the response might be sent after the
+                // buffers are returned to the pool
+                send(Arrays.copyOf(bytes.array(), bytes.position()));
+                bytes.clear();
+            }
+        }
+        writeBytes(bytes);
+        int remaining = chars.remaining();
+        if (remaining > 0) {
+            System.arraycopy(buf, chars.position(), buf, 0, remaining);
+        }
+        pos = remaining;
+    }
+
+    private void writeBytes(ByteBuffer bytes) throws IOException {
+        if (bytes.position() > 0) {
+            out().write(bytes.array(), 0, bytes.position());
+            bytes.clear();
+        }
+    }
+
+    private OutputStream out() {
+        if (null == out) {
+            out = blocking ? response.outputStream() : new ByteArrayOutputStream();
+        }
+        return out;
+    }
+
+    private void send(byte[] content) {
+        response.contentLength(content.length);
+        response.writeContent(ByteBuffer.wrap(content));
+    }
+
+    private void ensureOpen() throws IOException {
+        if (null == buffers) {
+            throw new IOException("Writer closed");
+        }
+    }
+
+    private void release() {
+        buffers.encoder.reset();
+        buffers.bytes.clear();
+        pool.set(buffers);
+        buffers = null;
+        buf = null;
+    }
+
+    /**
+     * Returns a writer to the response. The writer must be closed after using
+     *
+     * @param response the response
+     * @param flushThreshold the number of chars buffered before they are written to the response
+     * @return the writer
+     */
+    static BufferedResponseWriter of(H.Response response, int flushThreshold) {
+        String encoding = response.characterEncoding();
+        Charset charset = S.blank(encoding) ? Charsets.UTF_8 : Charset.forName(encoding);
+        // the buffers are taken out of the pool while in use, thus
+        // a nested writer on the same thread gets its own buffers
+        Buffers buffers = pool.get();
+        if (null == buffers || !buffers.fits(charset, flushThreshold)) {
+            buffers = new Buffers(charset, flushThreshold);
+        } else {
+            pool.remove();
+        }
+        boolean blocking = !(response instanceof ResponseImplBase) || ((ResponseImplBase) response).blockingAllowed();
+        return new BufferedResponseWriter(response, blocking, buffers);
+    }
+
+    private static class Buffers {
+        final char[] chars;
+        final ByteBuffer bytes;
+        final CharsetEncoder encoder;
+
+        Buffers(Charset charset, int flushThreshold) {
+            // a surrogate pair kept in the buffer must leave room for one more char
+            E.illegalArgumentIf(flushThreshold < 2, "flush threshold must be at least 2: %s", flushThreshold);
+            encoder = charset.newEncoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            chars = new char[flushThreshold];
+            // big enough to encode a full char buffer in one go
+            bytes = ByteBuffer.allocate((int) Math.ceil(flushThreshold * (double) encoder.maxBytesPerChar()));
+        }
+
+        boolean fits(Charset charset, int flushThreshold) {
+            return chars.length == flushThreshold && encoder.charset().equals(charset);
+        }
+    }
+
+}
@@ -0,0 +1,211 @@
+package act.view;
+
+import act.Act;
+import act.app.App;
+import act.app.AppServiceBase;
+import act.event.ActEvent;
+import act.event.ActEventListenerBase;
+import act.metric.Metric;
+import act.metric.MetricHandle;
+import act.metric.MetricInfo;
+import act.util.ActContext;
+import org.osgl.$;
+import org.osgl.cache.CacheService;
+import org.osgl.util.E;
+import org.osgl.util.S;
+
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Cache rendered fragments of templates in the app {@link CacheService}.
+ *
+ * A fragment is identified by a name, e.g. `sidebar`, and the keys supplied
+ * by the caller, e.g. the user id. As the rendered content depends on the
+ * locale, the locale is part of the cache key as well.
+ *
+ * Fragments can be evicted by calling {@link #evict(String, Object...)} or
+ * by emitting an {@link EvictEvent} to the app event bus. Evicting a fragment
+ * name without keys evicts all fragments of the name.
+ *
+ * Fragment keys contain a generation of the fragment name, which is kept in
+ * the cache service as well. Evicting a name puts a new random generation,
+ * so that the eviction applies to all nodes sharing the cache service and
+ * holds after restart.
+ *
+ * Rendering is not cached in dev mode, so that template changes take effect
+ * immediately.
+ *
+ * The number of hits and misses are counted on `act:view:fragment:hit` and
+ * `act:view:fragment:miss` metrics.
+ */
+public class FragmentCache extends AppServiceBase<FragmentCache> {
+
+    /**
+     * Emit this event to evict fragments from cache
+     */
+    public static class EvictEvent extends ActEvent<String> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Object[] keys;
+
+        /**
+         * Construct an event to evict fragments
+         *
+         * @param name the fragment name
+         * @param keys the keys of the fragment to be evicted. If no key
+         *             provided then all fragments of the name are evicted
+         */
+        public EvictEvent(String name, Object... keys) {
+            super(name);
+            this.keys = keys;
+        }
+
+        public String name() {
+            return (String) getSource();
+        }
+
+        public Object[] keys() {
+            return keys;
+        }
+    }
+
+    private static final String PREFIX = "act:fragment:";
+    private static final String GEN_PREFIX = "act:fragment:gen:";
+
+    // the number of seconds a generation is kept in cache, a new generation
+    // is used once it expired, which evicts all fragments of the name
+    private static final int GEN_TTL = 60 * 60 * 24 * 7;
+
+    private final CacheService cache;
+    private final boolean enabled;
+    private final MetricHandle hit;
+    private final MetricHandle miss;
+
+    // locales of the fragments cached, used to evict fragments by keys
+    private final Set<Locale> locales = Collections.newSetFromMap(new ConcurrentHashMap<Locale, Boolean>());
+
+    public FragmentCache(App app) {
+        this(app, app.cache());
+    }
+
+    FragmentCache(App app, CacheService cache) {
+        super(app, true);
+        this.cache = $.notNull(cache);
+        this.enabled = !Act.isDev();
+        Metric metric = Act.metricPlugin().metric(MetricInfo.VIEW_FRAGMENT);
+        this.hit = metric.handle(S.concat(MetricInfo.VIEW_FRAGMENT, MetricInfo.PATH_SEPARATOR, "hit"));
+        this.miss = metric.handle(S.concat(MetricInfo.VIEW_FRAGMENT, MetricInfo.PATH_SEPARATOR, "miss"));
+        app.eventBus().bind(EvictEvent.class, new ActEventListenerBase<EvictEvent>() {
+            @Override
+            public void on(EvictEvent event) {
+                evict(event.name(), event.keys());
+            }
+        });
+    }
+
+    @Override
+    protected void releaseResources() {
+        locales.clear();
+    }
+
+    /**
+     * Returns the cached fragment of the current locale, or render and cache it
+     *
+     * @param name the fragment name
+     * @param ttl the number of seconds the fragment shall be cached. If not
+     *            positive then the default TTL of the cache service applies
+     * @param renderer renders the fragment on cache miss
+     * @param keys the keys of the fragment
+     * @return the rendered fragment
+     * @see #get(String, Locale, int, $.Func0, Object...)
+     */
+    public String get(String name, int ttl, $.Func0<String> renderer, Object... keys) {
+        return get(name, currentLocale(), ttl, renderer, keys);
+    }
+
+    /**
+     * Returns the cached fragment, or render and cache it
+     *
+     * @param name the fragment name
+     * @param locale the locale
+     * @param ttl the number of seconds the fragment shall be cached. If not
+     *            positive then the default TTL of the cache service applies
+     * @param renderer renders the fragment on cache miss
+     * @param keys the keys of the fragment
+     * @return the rendered fragment
+     */
+    public String get(String name, Locale locale, int ttl, $.Func0<String> renderer, Object... keys) {
+        E.illegalArgumentIf(S.blank(name), "fragment name expected");
+        if (!enabled) {
+            return renderer.apply();
+        }
+        String key = key(name, locale, keys);
+        String content = cache.get(key);
+        if (null != content) {
+            hit.countOnce();
+            return content;
+        }
+        miss.countOnce();
+        content = renderer.apply();
+        if (null != content) {
+            if (ttl > 0) {
+                cache.put(key, content, ttl);
+            } else {
+                cache.put(key, content);
+            }
+            if (null != locale) {
+                locales.add(locale);
+            }
+        }
+        return content;
+    }
+
+    /**
+     * Evict fragments of all locales
+     *
+     * @param name the fragment name
+     * @param keys the fragment keys. If not provided then all fragments of the name are evicted
+     */
+    public void evict(String name, Object... keys) {
+        if (null == keys || 0 == keys.length) {
+            newGeneration(name);
+            return;
+        }
+        cache.evict(key(name, null, keys));
+        for (Locale locale : locales) {
+            cache.evict(key(name, locale, keys));
+        }
+    }
+
+    private String key(String name, Locale locale, Object[] keys) {
+        StringBuilder sb = S.newBuilder().append(PREFIX).append(name).append(':').append(generation(name)).append(':').append(locale);
+        if (null != keys) {
+            for (Object k : keys) {
+                sb.append(':').append(k);
+            }
+        }
+        return sb.toString();
+    }
+
+    private String generation(String name) {
+        String generation = cache.get(GEN_PREFIX + name);
+        return null == generation ? newGeneration(name) : generation;
+    }
+
+    private String newGeneration(String name) {
+        String generation = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, Character.MAX_RADIX);
+        cache.put(GEN_PREFIX + name, generation, GEN_TTL);
+        return generation;
+    }
+
+    private static Locale currentLocale() {
+        ActContext context = ActContext.Base.currentContext();
+        return null == context ? null : context.locale();
+    }
+
+}
@@ -0,0 +1,80 @@
+package act.view;
+
+import org.osgl.$;
+import org.osgl.http.H;
+import org.osgl.logging.LogManager;
+import org.osgl.logging.Logger;
+import org.osgl.mvc.result.Result;
+import org.osgl.util.IO;
+import org.osgl.util.S;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Iterator;
+
+/**
+ * Base class of results that write the elements of an {@link Iterable}
+ * straight to the response one by one.
+ *
+ * No content length is set, thus the response is sent with chunked
+ * transfer encoding, and the memory used does not grow with the number
+ * of elements rendered. This is suitable for rendering large query results,
+ * e.g. the `Iterable` returned by `Dao.Query.fetch()`.
+ *
+ * The `Iterable` is closed after rendering if it implements {@link Closeable}
+ */
+public abstract class StreamRender extends Result {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final Logger LOGGER = LogManager.get(StreamRender.class);
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final H.Format format;
+    private final Iterable<?> data;
+
+    protected StreamRender(H.Status status, H.Format format, Iterable<?> data) {
+        super(status);
+        this.format = $.notNull(format);
+        this.data = $.notNull(data);
+    }
+
+    public H.Format format() {
+        return format;
+    }
+
+    @Override
+    protected void applyMessage(H.Request request, H.Response response) {
+        String contentType = format.contentType();
+        String encoding = response.characterEncoding();
+        if (S.notBlank(encoding)) {
+            contentType = S.concat(contentType, "; charset=", encoding.toLowerCase());
+        }
+        response.initContentType(contentType);
+        Writer writer = new BufferedWriter(response.writer(), BUFFER_SIZE);
+        try {
+            render(data.iterator(), writer);
+            writer.flush();
+        } catch (IOException | RuntimeException e) {
+            // the response has been committed, we can't report the error to the client
+            LOGGER.error(e, "error streaming %s response", format.name());
+        } finally {
+            if (data instanceof Closeable) {
+                IO.close((Closeable) data);
+            }
+        }
+    }
+
+    /**
+     * Write elements to the response
+     *
+     * @param itr the elements iterator
+     * @param writer the buffered response writer
+     * @throws IOException if error writing to the response
+     */
+    protected abstract void render(Iterator<?> itr, Writer writer) throws IOException;
+
+}
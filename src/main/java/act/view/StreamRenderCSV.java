@@ -0,0 +1,70 @@
+package act.view;
+
+import act.cli.view.CsvWriter;
+import act.data.DataPropertyRepository;
+import act.util.ActContext;
+import act.util.PropertySpec;
+import org.osgl.http.H;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Render an {@link Iterable} as CSV line by line.
+ *
+ * The output is the same as {@link RenderCSV}. The output fields are
+ * decided by the class of the first non-null element, `null` elements
+ * are written as lines of empty fields.
+ */
+public class StreamRenderCSV extends StreamRender {
+
+    private static final long serialVersionUID = 1L;
+
+    private final PropertySpec.MetaInfo spec;
+    private final ActContext context;
+
+    public StreamRenderCSV(Iterable<?> data, PropertySpec.MetaInfo spec, ActContext context) {
+        this(H.Status.OK, data, spec, context);
+    }
+
+    public StreamRenderCSV(H.Status status, Iterable<?> data, PropertySpec.MetaInfo spec, ActContext context) {
+        super(status, H.Format.CSV, data);
+        PropertySpec.MetaInfo current = PropertySpec.MetaInfo.withCurrent(spec, context);
+        if (null == current) {
+            current = new PropertySpec.MetaInfo();
+            current.onValue("-not_exists");
+        }
+        this.spec = current;
+        this.context = context;
+    }
+
+    @Override
+    protected void render(Iterator<?> itr, Writer writer) throws IOException {
+        // the output fields are decided by the first non-null element
+        int leadingNulls = 0;
+        Object first = null;
+        while (null == first && itr.hasNext()) {
+            first = itr.next();
+            if (null == first) {
+                leadingNulls++;
+            }
+        }
+        if (null == first) {
+            writer.write("no data");
+            return;
+        }
+        DataPropertyRepository repo = context.app().service(DataPropertyRepository.class);
+        List<String> outputFields = repo.outputFields(spec, first.getClass(), context);
+        CsvWriter csv = new CsvWriter(writer, outputFields, spec.labelMapping(), repo).writeHeader();
+        for (int i = 0; i < leadingNulls; ++i) {
+            csv.writeLine(null);
+        }
+        csv.writeLine(first);
+        while (itr.hasNext()) {
+            csv.writeLine(itr.next());
+        }
+    }
+
+}
@@ -0,0 +1,131 @@
+package act.view;
+
+import act.cli.util.MappedFastJsonNameFilter;
+import act.data.DataPropertyRepository;
+import act.data.FilteredJsonSerializer;
+import act.util.ActContext;
+import act.util.DisableFastJsonCircularReferenceDetect;
+import act.util.FastJsonPropertyPreFilter;
+import act.util.PropertySpec;
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.serializer.JSONSerializer;
+import com.alibaba.fastjson.serializer.SerializeFilter;
+import com.alibaba.fastjson.serializer.SerializeWriter;
+import com.alibaba.fastjson.serializer.SerializerFeature;
+import org.osgl.http.H;
+import org.osgl.util.C;
+
+import java.io.Writer;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Render an {@link Iterable} as JSON array element by element.
+ *
+ * {@link PropertySpec} is applied to each element in the same way
+ * as {@link FilteredRenderJSON} does.
+ */
+public class StreamRenderJSON extends StreamRender {
+
+    private static final long serialVersionUID = 1L;
+
+    private final PropertySpec.MetaInfo spec;
+    private final ActContext context;
+    private final boolean disableCircularReferenceDetect;
+
+    public StreamRenderJSON(Iterable<?> data, PropertySpec.MetaInfo spec, ActContext context) {
+        this(H.Status.OK, data, spec, context);
+    }
+
+    public StreamRenderJSON(H.Status status, Iterable<?> data, PropertySpec.MetaInfo spec, ActContext context) {
+        super(status, H.Format.JSON, data);
+        this.spec = PropertySpec.MetaInfo.withCurrent(spec, context);
+        this.context = context;
+        // the option is a thread local cleared once the result is inferred
+        Boolean b = DisableFastJsonCircularReferenceDetect.option.get();
+        this.disableCircularReferenceDetect = null != b && b;
+    }
+
+    @Override
+    protected void render(Iterator<?> itr, Writer writer) {
+        FilteredJsonSerializer compiled = null == spec ? null : jsonSerializer();
+        if (null != compiled) {
+            render(itr, writer, compiled);
+            return;
+        }
+        SerializeWriter out = null;
+        SerializeFilter[] filters = null;
+        try {
+            while (itr.hasNext()) {
+                Object o = itr.next();
+                if (null == out) {
+                    filters = filters(o);
+                    out = new SerializeWriter(writer, JSON.DEFAULT_GENERATE_FEATURE, features(filters));
+                    out.write('[');
+                } else {
+                    out.write(',');
+                }
+                // one serializer per element so that references
+                // are not tracked across elements
+                JSONSerializer serializer = new JSONSerializer(out);
+                for (SerializeFilter filter : filters) {
+                    serializer.addFilter(filter);
+                }
+                serializer.write(o);
+            }
+            if (null == out) {
+                out = new SerializeWriter(writer);
+                out.write('[');
+            }
+            out.write(']');
+        } finally {
+            if (null != out) {
+                out.close();
+            }
+        }
+    }
+
+    private void render(Iterator<?> itr, Writer writer, FilteredJsonSerializer serializer) {
+        SerializeWriter out = new SerializeWriter(writer);
+        try {
+            out.write('[');
+            for (int i = 0; itr.hasNext(); ++i) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                serializer.write(out, itr.next());
+            }
+            out.write(']');
+        } finally {
+            out.close();
+        }
+    }
+
+    private FilteredJsonSerializer jsonSerializer() {
+        DataPropertyRepository repo = context.app().service(DataPropertyRepository.class);
+        return null == repo ? null : repo.jsonSerializer(spec, context);
+    }
+
+    private SerializeFilter[] filters(Object first) {
+        if (null == spec || null == first) {
+            return new SerializeFilter[0];
+        }
+        FastJsonPropertyPreFilter propertyFilter = FastJsonPropertyPreFilter.of(spec, first.getClass(), context);
+        if (null == propertyFilter) {
+            return new SerializeFilter[0];
+        }
+        MappedFastJsonNameFilter nameFilter = new MappedFastJsonNameFilter(spec.labelMapping(context));
+        return nameFilter.isEmpty() ? new SerializeFilter[]{propertyFilter} : new SerializeFilter[]{nameFilter, propertyFilter};
+    }
+
+    private SerializerFeature[] features(SerializeFilter[] filters) {
+        List<SerializerFeature> featureList = C.newList();
+        // the property filter relies on the serializer context which is
+        // not maintained when circular reference detect is disabled
+        if (disableCircularReferenceDetect && 0 == filters.length) {
+            featureList.add(SerializerFeature.DisableCircularReferenceDetect);
+        }
+        return featureList.toArray(new SerializerFeature[featureList.size()]);
+    }
+
+}
@@ -3,10 +3,12 @@ package act.view;
 import act.Act;
 import act.app.ActionContext;
 import act.mail.MailerContext;
+import org.osgl.$;
 import org.osgl.http.H;
-import org.osgl.util.Charsets;
+import org.osgl.util.E;
 
-import java.nio.charset.Charset;
+import java.io.IOException;
+import java.io.Writer;
 import java.util.Map;
 
 /**
@@ -14,8 +16,6 @@ import java.util.Map;
  */
 public abstract class TemplateBase implements Template {
 
-    private static final Charset UTF8 = Charsets.UTF_8;
-
     @Override
     public void merge(ActionContext context) {
         Map<String, Object> renderArgs = context.renderArgs();
@@ -56,13 +56,52 @@ public abstract class TemplateBase implements Template {
      */
     protected void beforeRender(MailerContext context) {}
 
+    /**
+     * Compile the template ahead of the first rendering. Called by
+     * {@link TemplatePrecompiler} at app start.
+     *
+     * Sub class shall override this method if the template engine compiles
+     * templates lazily. The default implementation does nothing
+     */
+    protected void precompile() {}
+
     protected void merge(Map<String, Object> renderArgs, H.Response response) {
-        String result = render(renderArgs);
-        response.writeContent(result);
+        Writer writer = BufferedResponseWriter.of(response, Act.appConfig().templateFlushThreshold());
+        try {
+            render(renderArgs, writer);
+            writer.close();
+        } catch (IOException e) {
+            throw E.ioException(e);
+        }
     }
 
     protected abstract String render(Map<String, Object> renderArgs);
 
+    /**
+     * Render the template to a writer. Sub class shall override this method
+     * if the template engine is able to write the content incrementally
+     *
+     * @param renderArgs the render arguments
+     * @param writer the writer to the response
+     * @throws IOException if error writing to the response
+     */
+    protected void render(Map<String, Object> renderArgs, Writer writer) throws IOException {
+        writer.write(render(renderArgs));
+    }
+
+    /**
+     * Returns the cached fragment, or render and cache it with {@link FragmentCache}
+     *
+     * @param name the fragment name
+     * @param ttl the number of seconds the fragment shall be cached
+     * @param renderer renders the fragment on cache miss
+     * @param keys the keys of the fragment, in addition to the current locale
+     * @return the rendered fragment
+     */
+    protected String fragment(String name, int ttl, $.Func0<String> renderer, Object... keys) {
+        return Act.app().service(FragmentCache.class).get(name, ttl, renderer, keys);
+    }
+
     private void exposeImplicitVariables(Map<String, Object> renderArgs, ActionContext context) {
         for (ActionViewVarDef var : Act.viewManager().implicitActionViewVariables()) {
             Object val = var.eval(context);
@@ -0,0 +1,190 @@
+package act.view;
+
+import act.Act;
+import act.app.App;
+import act.app.AppThreadFactory;
+import act.app.util.NamedPort;
+import act.route.Router;
+import act.util.ActContext;
+import org.osgl.$;
+import org.osgl.http.H;
+import org.osgl.logging.LogManager;
+import org.osgl.logging.Logger;
+import org.osgl.util.C;
+import org.osgl.util.E;
+import org.osgl.util.S;
+
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.osgl.http.H.Format.*;
+
+/**
+ * Compile the templates of all actions before the app starts listening, so
+ * that the first requests after a deploy do not pay the compilation cost.
+ *
+ * Templates are discovered through the {@link TemplatePathResolver} the same
+ * way as when rendering the action result, for each text format supported
+ * by the resolver. The templates found are compiled in parallel on a pool
+ * bounded by the number of processors. Templates failed to compile are logged
+ * and do not stop the app from starting.
+ *
+ * See {@link act.conf.AppConfigKey#TEMPLATE_PRECOMPILE}
+ */
+public class TemplatePrecompiler {
+
+    private static final Logger LOGGER = LogManager.get(TemplatePrecompiler.class);
+
+    private static final List<H.Format> FORMATS = C.list(HTML, JSON, XML, TXT, CSV);
+
+    private final App app;
+    private final ViewManager viewManager;
+
+    public TemplatePrecompiler(App app) {
+        this(app, Act.viewManager());
+    }
+
+    TemplatePrecompiler(App app, ViewManager viewManager) {
+        this.app = $.notNull(app);
+        this.viewManager = $.notNull(viewManager);
+    }
+
+    /**
+     * Compile the templates of all actions routed by the app
+     *
+     * @return the errors of the templates failed to compile, indexed by
+     *         the action and format, e.g. `com.x.Foo.bar[html]`
+     */
+    public Map<String, Throwable> precompile() {
+        long ms = $.ms();
+        Map<String, Throwable> failures = new LinkedHashMap<>();
+        Map<TemplateBase, String> templates = discover(actionNames(), failures);
+        failures.putAll(compile(templates));
+        for (Map.Entry<String, Throwable> entry : failures.entrySet()) {
+            LOGGER.error(entry.getValue(), "error precompiling template of %s", entry.getKey());
+        }
+        LOGGER.info("%s templates precompiled in %sms, %s failed", templates.size(), $.ms() - ms, failures.size());
+        return failures;
+    }
+
+    Set<String> actionNames() {
+        Set<String> actionNames = new TreeSet<>(app.router().actionNames());
+        for (NamedPort port : app.config().namedPorts()) {
+            Router router = app.router(port);
+            if (null != router) {
+                actionNames.addAll(router.actionNames());
+            }
+        }
+        return actionNames;
+    }
+
+    // a template shared by actions or formats is compiled once
+    Map<TemplateBase, String> discover(Collection<String> actionNames, Map<String, Throwable> failures) {
+        Map<TemplateBase, String> templates = new LinkedHashMap<>();
+        for (String actionName : actionNames) {
+            for (H.Format format : FORMATS) {
+                String key = S.concat(actionName, "[", format.name(), "]");
+                try {
+                    Template template = viewManager.load(new Context(app, actionName, format));
+                    if (template instanceof TemplateBase && !templates.containsKey(template)) {
+                        templates.put((TemplateBase) template, key);
+                    }
+                } catch (RuntimeException e) {
+                    failures.put(key, e);
+                }
+            }
+        }
+        return templates;
+    }
+
+    Map<String, Throwable> compile(Map<TemplateBase, String> templates) {
+        Map<String, Throwable> failures = new LinkedHashMap<>();
+        if (templates.isEmpty()) {
+            return failures;
+        }
+        int poolSize = Math.min(templates.size(), Runtime.getRuntime().availableProcessors());
+        ExecutorService pool = Executors.newFixedThreadPool(poolSize, new AppThreadFactory("template-precompiler", true));
+        try {
+            Map<String, Future<?>> futures = new LinkedHashMap<>();
+            for (Map.Entry<TemplateBase, String> entry : templates.entrySet()) {
+                final TemplateBase template = entry.getKey();
+                futures.put(entry.getValue(), pool.submit(new Runnable() {
+                    @Override
+                    public void run() {
+                        template.precompile();
+                    }
+                }));
+            }
+            for (Map.Entry<String, Future<?>> entry : futures.entrySet()) {
+                try {
+                    entry.getValue().get();
+                } catch (ExecutionException e) {
+                    failures.put(entry.getKey(), e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw E.unexpected(e);
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return failures;
+    }
+
+    /**
+     * Resolves the template path of an action the same way as
+     * {@link act.app.ActionContext} does without a request
+     */
+    static class Context extends ActContext.Base<Context> {
+
+        private final String actionPath;
+        private H.Format format;
+
+        Context(App app, String actionPath, H.Format format) {
+            super(app);
+            this.actionPath = actionPath;
+            this.format = format;
+        }
+
+        @Override
+        public String templatePath() {
+            String path = super.templatePath();
+            return S.notBlank(path) ? path : actionPath.replace('.', '/');
+        }
+
+        @Override
+        public Context accept(H.Format fmt) {
+            this.format = fmt;
+            return this;
+        }
+
+        @Override
+        public H.Format accept() {
+            return format;
+        }
+
+        @Override
+        public String methodPath() {
+            return actionPath;
+        }
+
+        @Override
+        public Set<String> paramKeys() {
+            throw E.unsupport();
+        }
+
+        @Override
+        public String paramVal(String s) {
+            throw E.unsupport();
+        }
+
+        @Override
+        public String[] paramVals(String s) {
+            throw E.unsupport();
+        }
+    }
+
+}
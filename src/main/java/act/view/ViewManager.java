@@ -11,6 +11,7 @@ import org.osgl.util.E;
 import org.osgl.util.S;
 
 import javax.enterprise.context.ApplicationScoped;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -25,6 +26,10 @@ public class ViewManager extends DestroyableBase {
     private C.List<View> viewList = C.newList();
     private C.List<ActionViewVarDef> implicitActionViewVariables = C.newList();
     private C.List<MailerViewVarDef> implicitMailerViewVariables = C.newList();
+    // read only views exposed to templates, so that they don't need to copy
+    // the lists on each rendering
+    private List<ActionViewVarDef> implicitActionViewVariablesView = Collections.unmodifiableList(implicitActionViewVariables);
+    private List<MailerViewVarDef> implicitMailerViewVariablesView = Collections.unmodifiableList(implicitMailerViewVariables);
     private Map<String, View> preferredViews = new HashMap<String, View>();
     private boolean multiViews = false;
 
@@ -134,11 +139,11 @@ public class ViewManager extends DestroyableBase {
 
 
     public List<ActionViewVarDef> implicitActionViewVariables() {
-        return C.list(implicitActionViewVariables);
+        return implicitActionViewVariablesView;
     }
 
     public List<MailerViewVarDef> implicitMailerViewVariables() {
-        return C.list(implicitMailerViewVariables);
+        return implicitMailerViewVariablesView;
     }
 
     public void reset() {
@@ -153,9 +158,11 @@ public class ViewManager extends DestroyableBase {
 
         implicitActionViewVariables.clear();
         implicitActionViewVariables = null;
+        implicitActionViewVariablesView = null;
 
         implicitMailerViewVariables.clear();
         implicitMailerViewVariables = null;
+        implicitMailerViewVariablesView = null;
 
         preferredViews.clear();
         preferredViews = null;
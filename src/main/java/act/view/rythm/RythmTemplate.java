@@ -41,6 +41,12 @@ public class RythmTemplate extends TemplateBase {
         return t.render();
     }
 
+    @Override
+    protected void precompile() {
+        // rythm compiles the template class on the first lookup
+        engine.getTemplate(path);
+    }
+
     private org.rythmengine.template.ITemplate template(Map<String, Object> renderArgs) {
         return engine.getTemplate(path, renderArgs);
     }
@@ -2,12 +2,18 @@ package act.view.rythm;
 
 import act.Act;
 import act.app.App;
+import act.app.RuntimeDirs;
 import act.conf.AppConfig;
 import act.util.ActContext;
+import act.util.Fingerprint;
 import act.view.Template;
 import act.view.VarDef;
 import act.view.View;
+import org.osgl.logging.LogManager;
+import org.osgl.logging.Logger;
 import org.osgl.util.C;
+import org.osgl.util.IO;
+import org.osgl.util.S;
 import org.rythmengine.Rythm;
 import org.rythmengine.RythmEngine;
 import org.rythmengine.extension.IFormatter;
@@ -29,8 +35,12 @@ import static org.rythmengine.conf.RythmConfigurationKey.*;
  */
 public class RythmView extends View {
 
+    private static final Logger LOGGER = LogManager.get(RythmView.class);
+
     public static final String ID = "rythm";
 
+    private static final String PRECOMPILED_PREFIX = "rythm-";
+
     ConcurrentMap<App, RythmEngine> engines = new ConcurrentHashMap<App, RythmEngine>();
     ConcurrentMap<String, Template> templates = new ConcurrentHashMap<String, Template>();
     ConcurrentMap<String, String> missings = new ConcurrentHashMap<String, String>();
@@ -93,6 +103,13 @@ public class RythmView extends View {
         p.put(ENGINE_CLASS_LOADER_PARENT_IMPL.getKey(), app.classLoader());
         p.put(HOME_TMP.getKey(), createTempHome(app));
 
+        File precompiledHome = precompiledHome(app);
+        if (null != precompiledHome) {
+            p.put(ENGINE_PRECOMPILE_MODE.getKey(), true);
+            p.put(ENGINE_LOAD_PRECOMPILED_ENABLED.getKey(), true);
+            p.put(HOME_PRECOMPILED.getKey(), precompiledHome);
+        }
+
         Map map = config.rawConfiguration();
         for (Object k : map.keySet()) {
             String key = k.toString();
@@ -161,6 +178,55 @@ public class RythmView extends View {
         super.reload(app);
     }
 
+    /*
+     * Returns the dir to store the precompiled template classes, or `null`
+     * if not configured.
+     *
+     * Rythm loads the precompiled classes without checking the template
+     * source, thus the classes are stored in a `rythm-<fingerprint>` sub dir
+     * of the configured dir. Only the other `rythm-` sub dirs, which are
+     * stale, are removed, the rest of the configured dir is left untouched
+     */
+    private File precompiledHome(App app) {
+        AppConfig config = app.config();
+        String path = config.templatePrecompileDir();
+        if (isDev || !config.templatePrecompile() || S.blank(path)) {
+            return null;
+        }
+        File dir = new File(path);
+        if (!dir.isAbsolute()) {
+            dir = new File(app.base(), path);
+        }
+        String name = PRECOMPILED_PREFIX + fingerprint(Act.VERSION, templateRootDir(), RuntimeDirs.classes(app), RuntimeDirs.lib(app));
+        File[] children = dir.listFiles();
+        if (null != children) {
+            for (File child : children) {
+                String childName = child.getName();
+                if (child.isDirectory() && childName.startsWith(PRECOMPILED_PREFIX) && !name.equals(childName)) {
+                    IO.delete(child, true);
+                }
+            }
+        }
+        File home = new File(dir, name);
+        if (!home.exists() && !home.mkdirs()) {
+            LOGGER.warn("cannot create precompiled template dir: %s", home);
+            return null;
+        }
+        return home;
+    }
+
+    /*
+     * Returns the fingerprint of the Act version and the content of the dirs
+     * or files specified, see {@link Fingerprint}
+     */
+    static String fingerprint(String actVersion, File... roots) {
+        Fingerprint fingerprint = new Fingerprint().add(actVersion);
+        for (File root : roots) {
+            fingerprint.addContent(root);
+        }
+        return fingerprint.digest();
+    }
+
     private File createTempHome(App app) {
         String tmp = System.getProperty("java.io.tmpdir");
         File f =  new File(tmp, "__rythm_" + app.name());
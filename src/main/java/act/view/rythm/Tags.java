@@ -5,13 +5,17 @@ import act.app.ActionContext;
 import act.i18n.I18n;
 import act.route.Router;
 import act.util.ActContext;
+import act.view.FragmentCache;
+import org.osgl.$;
 import org.osgl.util.E;
 import org.rythmengine.RythmEngine;
 import org.rythmengine.template.JavaTagBase;
 import org.rythmengine.utils.S;
+import org.rythmengine.utils.Time;
 
 import javax.inject.Inject;
 import javax.validation.ConstraintViolation;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -146,6 +150,51 @@ public class Tags {
         }
     }
 
+    /**
+     * Cache the rendered body with {@link FragmentCache}
+     *
+     * Usage: `@fragment("sidebar", user.id, ttl: "10mn") {...}` where `sidebar` is
+     * the fragment name, followed by the fragment keys. `ttl` could be number of
+     * seconds or a duration string. The current locale is part of the key implicitly
+     */
+    public static class Fragment extends JavaTagBase {
+        @Override
+        public String __getName() {
+            return "fragment";
+        }
+
+        @Override
+        protected void call(__ParameterList params, final __Body body) {
+            int paramSize = params.size();
+            E.illegalArgumentIf(paramSize < 1, "fragment name expected");
+            E.illegalArgumentIf(null == body, "fragment body expected");
+            String name = params.get(0).value.toString();
+            List<Object> keys = new ArrayList<>();
+            for (int i = 1; i < paramSize; ++i) {
+                __Parameter param = params.get(i);
+                if (!"ttl".equals(param.name)) {
+                    keys.add(param.value);
+                }
+            }
+            p(Act.app().service(FragmentCache.class).get(name, ttl(params.getByName("ttl")), new $.Func0<String>() {
+                @Override
+                public String apply() {
+                    return body.render();
+                }
+            }, keys.toArray()));
+        }
+
+        private static int ttl(Object ttl) {
+            if (null == ttl) {
+                return 0;
+            }
+            if (ttl instanceof Number) {
+                return ((Number) ttl).intValue();
+            }
+            return Time.parseDuration(ttl.toString());
+        }
+    }
+
     public static class FullUrl extends ReverseRouting {
         @Override
         public String __getName() {
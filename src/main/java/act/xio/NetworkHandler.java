@@ -5,11 +5,12 @@ import act.app.ActionContext;
 import act.app.App;
 import act.app.util.NamedPort;
 import act.handler.RequestHandler;
+import act.handler.RequestHandlerBase;
 import act.handler.builtin.controller.FastRequestHandler;
 import act.handler.builtin.controller.RequestHandlerProxy;
 import act.metric.Metric;
+import act.metric.MetricHandle;
 import act.metric.MetricInfo;
-import act.metric.Timer;
 import act.route.Router;
 import act.util.DestroyableBase;
 import act.view.ActErrorResult;
@@ -35,12 +36,14 @@ public class NetworkHandler extends DestroyableBase {
     final private App app;
     private NamedPort port;
     private Metric metric;
+    private MetricHandle routingMetric;
     private $.Func2<H.Request, String, String> contentSuffixProcessor;
 
     public NetworkHandler(App app) {
         E.NPE(app);
         this.app = app;
         this.metric = Act.metricPlugin().metric("act.http");
+        this.routingMetric = metric.handle(MetricInfo.ROUTING);
         this.contentSuffixProcessor = app.config().contentSuffixAware() ? new ContentSuffixSensor() : DUMB_CONTENT_SUFFIX_SENSOR;
     }
 
@@ -64,15 +67,15 @@ public class NetworkHandler extends DestroyableBase {
             app.checkUpdates(false);
         }
         url = contentSuffixProcessor.apply(req, url);
-        Timer timer = metric.startTimer(MetricInfo.ROUTING);
+        long routingStart = routingMetric.start();
         final RequestHandler requestHandler = router().getInvoker(method, url, ctx);
         ctx.handler(requestHandler);
-        timer.stop();
+        routingMetric.stop(routingStart);
+        final MetricHandle handlerMetric = metricHandle(requestHandler);
         NetworkJob job = new NetworkJob() {
             @Override
             public void run() {
-                String key = S.concat(MetricInfo.HTTP_HANDLER, ":", requestHandler.toString());
-                Timer timer = metric.startTimer(key);
+                long start = handlerMetric.start();
                 ctx.saveLocal();
                 try {
                     requestHandler.handle(ctx);
@@ -116,9 +119,7 @@ public class NetworkHandler extends DestroyableBase {
                     // we don't destroy ctx here in case it's been passed to
                     // another thread
                     ActionContext.clearCurrent();
-                    if (null != timer) {
-                        timer.stop();
-                    }
+                    handlerMetric.stop(start);
                 }
             }
         };
@@ -138,6 +139,20 @@ public class NetworkHandler extends DestroyableBase {
         return app.router(port);
     }
 
+    // resolve the metric handle once per request handler
+    private MetricHandle metricHandle(RequestHandler handler) {
+        if (!(handler instanceof RequestHandlerBase)) {
+            return metric.handle(S.concat(MetricInfo.HTTP_HANDLER, ":", handler.toString()));
+        }
+        RequestHandlerBase base = (RequestHandlerBase) handler;
+        MetricHandle handle = base.metricHandle();
+        if (null == handle) {
+            handle = metric.handle(S.concat(MetricInfo.HTTP_HANDLER, ":", handler.toString()));
+            base.metricHandle(handle);
+        }
+        return handle;
+    }
+
     private static $.Func2<H.Request, String, String> DUMB_CONTENT_SUFFIX_SENSOR = new $.Func2<H.Request, String, String>() {
         @Override
         public String apply(H.Request request, String s) throws NotAppliedException, Osgl.Break {
@@ -9,14 +9,27 @@ import io.undertow.util.Headers;
 import io.undertow.util.HttpString;
 import org.osgl.exception.UnexpectedIOException;
 import org.osgl.http.H;
+import org.osgl.logging.L;
+import org.osgl.logging.Logger;
 import org.osgl.util.E;
 import org.osgl.util.IO;
+import org.xnio.ChannelListener;
+import org.xnio.IoUtils;
+import org.xnio.channels.StreamSinkChannel;
 
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
 import java.io.OutputStream;
+import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.Locale;
 
 public class UndertowResponse extends ResponseImplBase<UndertowResponse> {
+
+    private static final Logger logger = L.get(UndertowResponse.class);
+
     @Override
     protected Class<UndertowResponse> _impl() {
         return UndertowResponse.class;
@@ -66,6 +79,32 @@ public class UndertowResponse extends ResponseImplBase<UndertowResponse> {
         return this;
     }
 
+    /**
+     * Transfer the file region to the response channel without
+     * copying it into user space. If the exchange is already in
+     * blocking mode, e.g. output stream has been created, then fall
+     * back to the blocking implementation
+     */
+    @Override
+    public void sendFile(File file, long offset, long length) {
+        if (hse.isBlocking()) {
+            super.sendFile(file, offset, length);
+            return;
+        }
+        FileChannel channel;
+        try {
+            channel = new RandomAccessFile(file, "r").getChannel();
+        } catch (IOException e) {
+            throw E.ioException(e);
+        }
+        new FileTransfer(hse, channel, offset, length).handleEvent(hse.getResponseChannel());
+    }
+
+    @Override
+    public boolean blockingAllowed() {
+        return !hse.isInIoThread();
+    }
+
     @Override
     protected OutputStream createOutputStream() {
         ensureBlocking();
@@ -162,4 +201,52 @@ public class UndertowResponse extends ResponseImplBase<UndertowResponse> {
         return hse.isResponseStarted();
     }
 
+    /**
+     * Keep transferring the file region to the response channel and
+     * register itself as write listener whenever the channel is not
+     * able to take more bytes
+     */
+    private static class FileTransfer implements ChannelListener<StreamSinkChannel> {
+        private final HttpServerExchange hse;
+        private final FileChannel file;
+        private long position;
+        private long remaining;
+
+        FileTransfer(HttpServerExchange hse, FileChannel file, long offset, long length) {
+            this.hse = hse;
+            this.file = file;
+            this.position = offset;
+            this.remaining = length;
+        }
+
+        @Override
+        public void handleEvent(StreamSinkChannel channel) {
+            try {
+                while (remaining > 0) {
+                    long n = channel.transferFrom(file, position, remaining);
+                    if (n > 0) {
+                        position += n;
+                        remaining -= n;
+                    } else if (position >= file.size()) {
+                        throw new EOFException("File truncated during transfer");
+                    } else {
+                        channel.getWriteSetter().set(this);
+                        channel.resumeWrites();
+                        return;
+                    }
+                }
+            } catch (IOException e) {
+                logger.debug(e, "Error transferring file");
+                IO.close(file);
+                IoUtils.safeClose(channel);
+                hse.endExchange();
+                return;
+            }
+            channel.suspendWrites();
+            channel.getWriteSetter().set(null);
+            IO.close(file);
+            hse.endExchange();
+        }
+    }
+
 }
@@ -7,6 +7,8 @@ import org.junit.Test;
 import org.osgl.http.H;
 import org.osgl.util.C;
 
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 import java.util.Arrays;
 import java.util.Map;
 
@@ -16,11 +18,12 @@ import static org.mockito.Mockito.when;
 public class ActionContextTest extends TestBase {
 
     protected ActionContext ctx;
+    protected H.Request req;
 
     @Before
     public void prepare() throws Exception {
         setup();
-        H.Request req = mock(H.Request.class);
+        req = mock(H.Request.class);
         when(req.method()).thenReturn(H.Method.GET);
         when(req.paramNames()).thenReturn(C.list("foo", "bar"));
         when(req.paramVal("foo")).thenReturn("FOO");
@@ -80,4 +83,19 @@ public class ActionContextTest extends TestBase {
         eq("BAR", ctx.paramVal("foo"));
         eq(1, ctx.paramVals("foo").length);
     }
+
+    @Test
+    public void bodyShallBeAvailableAfterBodyStreamTaken() throws Exception {
+        when(req.method()).thenReturn(H.Method.POST);
+        when(req.characterEncoding()).thenReturn("UTF-8");
+        when(req.inputStream()).thenReturn(new ByteArrayInputStream("{\"foo\": 1} ".getBytes("UTF-8")));
+        InputStream is = ctx.takeBodyStream();
+        byte[] buf = new byte[4];
+        eq(4, is.read(buf));
+        eq("{\"fo", new String(buf, "UTF-8"));
+        eq("{\"foo\": 1} ", ctx.body());
+        eq("{\"foo\": 1} ", ctx.body());
+        eq(-1, is.read());
+        assertNull(ctx.takeBodyStream());
+    }
 }
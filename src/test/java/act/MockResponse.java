@@ -8,7 +8,9 @@ import java.io.ByteArrayOutputStream;
 import java.io.OutputStream;
 import java.io.Writer;
 import java.nio.ByteBuffer;
+import java.util.HashMap;
 import java.util.Locale;
+import java.util.Map;
 
 public class MockResponse extends H.Response<MockResponse> {
 
@@ -17,6 +19,7 @@ public class MockResponse extends H.Response<MockResponse> {
     private Locale locale = Locale.getDefault();
     private Writer writer;
     public int status = -1;
+    public Map<String, String> headers = new HashMap<>();
     private OutputStream os;
 
     private long len;
@@ -104,7 +107,8 @@ public class MockResponse extends H.Response<MockResponse> {
 
     @Override
     public MockResponse header(String name, String value) {
-        return null;
+        headers.put(name, value);
+        return this;
     }
 
     @Override
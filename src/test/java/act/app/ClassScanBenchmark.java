@@ -0,0 +1,85 @@
+package act.app;
+
+import act.BenchmarkBase;
+import act.asm.ClassReader;
+import act.asm.ClassVisitor;
+import act.asm.MethodVisitor;
+import act.asm.Opcodes;
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import org.junit.Before;
+import org.junit.Test;
+import org.osgl.util.IO;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compare scanning the Act classes by streaming the bytecode to the visitor
+ * with and without stack map frames
+ */
+public class ClassScanBenchmark extends BenchmarkBase {
+
+    private List<byte[]> classes;
+
+    @Before
+    public void prepare() throws Exception {
+        classes = new ArrayList<>();
+        File root = new File(AppClassLoader.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        collect(root);
+    }
+
+    @Test
+    @BenchmarkOptions(warmupRounds = 3, benchmarkRounds = 10, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void streaming() {
+        for (byte[] bytecode : classes) {
+            new ClassReader(bytecode).accept(new CountingVisitor(), 0);
+        }
+    }
+
+    @Test
+    @BenchmarkOptions(warmupRounds = 3, benchmarkRounds = 10, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void streamingSkipFrames() {
+        for (byte[] bytecode : classes) {
+            new ClassReader(bytecode).accept(new CountingVisitor(), AppClassLoader.SCAN_FLAGS);
+        }
+    }
+
+    private void collect(File file) {
+        if (file.isDirectory()) {
+            File[] children = file.listFiles();
+            if (null != children) {
+                for (File child : children) {
+                    collect(child);
+                }
+            }
+        } else if (file.getName().endsWith(".class")) {
+            classes.add(IO.readContent(file));
+        }
+    }
+
+    // visits the method instructions as the bean and commander scanners do
+    private static class CountingVisitor extends ClassVisitor {
+        int count;
+
+        CountingVisitor() {
+            super(Opcodes.ASM5);
+        }
+
+        @Override
+        public MethodVisitor visitMethod(int access, String name, String desc, String signature, String[] exceptions) {
+            return new MethodVisitor(Opcodes.ASM5) {
+                @Override
+                public void visitInsn(int opcode) {
+                    count++;
+                }
+
+                @Override
+                public void visitMethodInsn(int opcode, String owner, String name, String desc, boolean itf) {
+                    count++;
+                }
+            };
+        }
+    }
+
+}
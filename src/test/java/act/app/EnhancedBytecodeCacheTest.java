@@ -0,0 +1,109 @@
+package act.app;
+
+import act.TestBase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.osgl.util.C;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.*;
+
+public class EnhancedBytecodeCacheTest extends TestBase {
+
+    private static final List<Class<?>> ENHANCERS = C.<Class<?>>list(String.class, EnhancedBytecodeCache.class);
+
+    private File root;
+
+    @Before
+    public void prepare() throws Exception {
+        root = Files.createTempDirectory("act-bytecode-cache-").toFile();
+    }
+
+    @After
+    public void cleanup() {
+        delete(root);
+    }
+
+    @Test
+    public void entryShallSurviveRestart() {
+        byte[] original = {1, 2, 3};
+        byte[] enhanced = {4, 5, 6, 7};
+        new EnhancedBytecodeCache(root, "abc").put(original, enhanced, 1000L);
+        EnhancedBytecodeCache.Entry entry = new EnhancedBytecodeCache(root, "abc").get(original);
+        yes(Arrays.equals(enhanced, entry.bytecode));
+        eq(1000L, entry.enhanceNs);
+        eq(null, new EnhancedBytecodeCache(root, "abc").get(new byte[]{1, 2}));
+    }
+
+    @Test
+    public void staleFingerprintDirShallBeRemoved() {
+        EnhancedBytecodeCache cache = new EnhancedBytecodeCache(root, "abc");
+        cache.put(new byte[]{1}, new byte[]{2}, 0L);
+        File stale = cache.dir();
+        cache = new EnhancedBytecodeCache(root, "xyz");
+        no(stale.exists());
+        yes(cache.dir().exists());
+    }
+
+    @Test
+    public void fingerprintShallChangeWithAppClasses() {
+        Map<String, byte[]> classes = classes(1, 2);
+        String fingerprint = EnhancedBytecodeCache.fingerprint("1.0", ENHANCERS, classes);
+        eq(fingerprint, EnhancedBytecodeCache.fingerprint("1.0", ENHANCERS, reversed(classes)));
+        ne(fingerprint, EnhancedBytecodeCache.fingerprint("1.1", ENHANCERS, classes));
+        ne(fingerprint, EnhancedBytecodeCache.fingerprint("1.0", C.<Class<?>>list(String.class), classes));
+        ne(fingerprint, EnhancedBytecodeCache.fingerprint("1.0", ENHANCERS, classes(1, 3)));
+    }
+
+    @Test
+    public void fingerprintShallChangeWithConfFiles() throws Exception {
+        Map<String, byte[]> classes = classes(1, 2);
+        String fingerprint = EnhancedBytecodeCache.fingerprint("1.0", ENHANCERS, classes, root);
+        Files.write(new File(root, "app.properties").toPath(), "foo=bar".getBytes("UTF-8"));
+        ne(fingerprint, EnhancedBytecodeCache.fingerprint("1.0", ENHANCERS, classes, root));
+    }
+
+    @Test
+    public void fingerprintShallNotDependOnConfLocationAndTimestamp() throws Exception {
+        Map<String, byte[]> classes = classes(1, 2);
+        File conf1 = new File(root, "conf1");
+        File conf2 = new File(root, "conf2");
+        yes(conf1.mkdirs());
+        yes(conf2.mkdirs());
+        Files.write(new File(conf1, "app.properties").toPath(), "foo=bar".getBytes("UTF-8"));
+        Files.write(new File(conf2, "app.properties").toPath(), "foo=bar".getBytes("UTF-8"));
+        new File(conf2, "app.properties").setLastModified(1000L);
+        eq(EnhancedBytecodeCache.fingerprint("1.0", ENHANCERS, classes, conf1),
+                EnhancedBytecodeCache.fingerprint("1.0", ENHANCERS, classes, conf2));
+    }
+
+    private static Map<String, byte[]> classes(int a, int b) {
+        Map<String, byte[]> classes = new LinkedHashMap<>();
+        classes.put("a.A", new byte[]{(byte) a});
+        classes.put("a.B", new byte[]{(byte) b});
+        return classes;
+    }
+
+    private static Map<String, byte[]> reversed(Map<String, byte[]> classes) {
+        List<String> keys = new ArrayList<>(classes.keySet());
+        Collections.reverse(keys);
+        Map<String, byte[]> reversed = new LinkedHashMap<>();
+        for (String key : keys) {
+            reversed.put(key, classes.get(key));
+        }
+        return reversed;
+    }
+
+    private static void delete(File file) {
+        File[] files = file.listFiles();
+        if (null != files) {
+            for (File child : files) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+
+}
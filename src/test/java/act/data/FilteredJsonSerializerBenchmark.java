@@ -0,0 +1,83 @@
+package act.data;
+
+import act.BenchmarkBase;
+import act.cli.util.MappedFastJsonNameFilter;
+import act.util.FastJsonPropertyPreFilter;
+import act.util.PropertySpec;
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.serializer.SerializeFilter;
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import org.junit.Before;
+import org.junit.Test;
+import testapp.model.Address;
+import testapp.model.Person;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compare serializing 100K beans with a {@link PropertySpec} applied through
+ * the fastjson property pre filter and through the compiled serializer
+ */
+public class FilteredJsonSerializerBenchmark extends BenchmarkBase {
+
+    private static final int ROWS = 100 * 1000;
+
+    private static final String INCLUDE = "firstName,lastName as last,address.city";
+    private static final String EXCLUDE = "-age,address.streetNo";
+
+    private DataPropertyRepository repo;
+    private List<Person> rows;
+
+    @Before
+    public void prepare() throws Exception {
+        super.setup();
+        repo = new DataPropertyRepository(mockApp);
+        rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; ++i) {
+            rows.add(new Person("first" + i, "last" + i, new Address(String.valueOf(i), "King St", "Sydney"), i % 100));
+        }
+    }
+
+    @Test
+    @BenchmarkOptions(warmupRounds = 2, benchmarkRounds = 5, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void preFilterInclude() {
+        preFilter(INCLUDE);
+    }
+
+    @Test
+    @BenchmarkOptions(warmupRounds = 2, benchmarkRounds = 5, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void compiledInclude() {
+        compiled(INCLUDE);
+    }
+
+    @Test
+    @BenchmarkOptions(warmupRounds = 2, benchmarkRounds = 5, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void preFilterExclude() {
+        preFilter(EXCLUDE);
+    }
+
+    @Test
+    @BenchmarkOptions(warmupRounds = 2, benchmarkRounds = 5, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void compiledExclude() {
+        compiled(EXCLUDE);
+    }
+
+    private void preFilter(String fields) {
+        PropertySpec.MetaInfo spec = spec(fields);
+        FastJsonPropertyPreFilter propertyFilter = FastJsonPropertyPreFilter.of(spec, rows.getClass(), mockActionContext);
+        MappedFastJsonNameFilter nameFilter = new MappedFastJsonNameFilter(spec.labelMapping(mockActionContext));
+        JSON.toJSONString(rows, new SerializeFilter[]{nameFilter, propertyFilter});
+    }
+
+    private void compiled(String fields) {
+        repo.jsonSerializer(spec(fields), mockActionContext).toJSONString(rows);
+    }
+
+    private static PropertySpec.MetaInfo spec(String fields) {
+        PropertySpec.MetaInfo spec = new PropertySpec.MetaInfo();
+        spec.onValue(fields);
+        return spec;
+    }
+
+}
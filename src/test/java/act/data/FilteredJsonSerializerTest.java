@@ -0,0 +1,110 @@
+package act.data;
+
+import act.TestBase;
+import act.cli.util.MappedFastJsonNameFilter;
+import act.util.FastJsonPropertyPreFilter;
+import act.util.PropertySpec;
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.serializer.SerializeFilter;
+import org.junit.Before;
+import org.junit.Test;
+import org.osgl.util.C;
+import testapp.model.Address;
+import testapp.model.Person;
+
+import static org.mockito.Mockito.when;
+
+public class FilteredJsonSerializerTest extends TestBase {
+
+    private DataPropertyRepository repo;
+    private Address address;
+    private Person john;
+    private Person kate;
+
+    @Before
+    public void prepare() throws Exception {
+        super.setup();
+        repo = new DataPropertyRepository(mockApp);
+        when(mockApp.service(DataPropertyRepository.class)).thenReturn(repo);
+        address = new Address("1", "King St", "Sydney");
+        john = new Person("John", "Smith", address, 30);
+        kate = new Person("Kate", "Smith", address, 28);
+    }
+
+    @Test
+    public void fastJsonInternalsShallBeAvailable() {
+        // otherwise specs fall back to the property filter
+        yes(FilteredJsonSerializer.supported());
+    }
+
+    @Test
+    public void outputFields() {
+        verify("firstName,address");
+        verify("firstName,address.city");
+    }
+
+    @Test
+    public void excludedFields() {
+        verify("-address.city");
+        verify("-address,age");
+    }
+
+    @Test
+    public void labels() {
+        verify("firstName as fn,address.city");
+        verify("-age,city as C");
+    }
+
+    @Test
+    public void nullValues() {
+        john.setAddress(null);
+        verify("firstName,address.city");
+        verify("-address.city");
+    }
+
+    @Test
+    public void noFilterShallReturnNull() {
+        same(null, repo.jsonSerializer(spec("firstName,*"), mockActionContext));
+        same(null, repo.jsonSerializer(new PropertySpec.MetaInfo(), mockActionContext));
+    }
+
+    @Test
+    public void serializerShallBeCached() {
+        same(repo.jsonSerializer(spec("firstName"), mockActionContext), repo.jsonSerializer(spec("firstName"), mockActionContext));
+        ne(repo.jsonSerializer(spec("firstName"), mockActionContext), repo.jsonSerializer(spec("lastName"), mockActionContext));
+    }
+
+    @Test
+    public void serializerShallBeKeptWithSpec() {
+        PropertySpec.MetaInfo spec = spec("firstName");
+        same(null, spec.jsonSerializer(mockActionContext));
+        FilteredJsonSerializer serializer = repo.jsonSerializer(spec, mockActionContext);
+        same(serializer, spec.jsonSerializer(mockActionContext).get());
+        same(serializer, repo.jsonSerializer(spec, mockActionContext));
+    }
+
+    private void verify(String fields) {
+        PropertySpec.MetaInfo spec = spec(fields);
+        verify(spec, john);
+        verify(spec, C.list(john, kate));
+        verify(spec, C.newMap("firstName", john, "address", address));
+    }
+
+    private void verify(PropertySpec.MetaInfo spec, Object data) {
+        FilteredJsonSerializer serializer = repo.jsonSerializer(spec, mockActionContext);
+        eq(expected(spec, data), serializer.toJSONString(data));
+    }
+
+    private String expected(PropertySpec.MetaInfo spec, Object data) {
+        FastJsonPropertyPreFilter propertyFilter = FastJsonPropertyPreFilter.of(spec, data.getClass(), mockActionContext);
+        MappedFastJsonNameFilter nameFilter = new MappedFastJsonNameFilter(spec.labelMapping(mockActionContext));
+        return JSON.toJSONString(data, new SerializeFilter[]{nameFilter, propertyFilter});
+    }
+
+    private static PropertySpec.MetaInfo spec(String fields) {
+        PropertySpec.MetaInfo spec = new PropertySpec.MetaInfo();
+        spec.onValue(fields);
+        return spec;
+    }
+
+}
@@ -0,0 +1,58 @@
+package act.data;
+
+import act.TestBase;
+import org.junit.Before;
+import org.junit.Test;
+import org.osgl.util.C;
+import testapp.model.Address;
+import testapp.model.Person;
+
+import java.util.Map;
+
+public class PropertyAccessorTest extends TestBase {
+
+    private DataPropertyRepository repo;
+    private Person person;
+
+    @Before
+    public void prepare() throws Exception {
+        super.setup();
+        repo = new DataPropertyRepository(mockApp);
+        person = new Person("John", "Smith", new Address("1", "King St", "Sydney"), 30);
+    }
+
+    @Test
+    public void getter() {
+        eq("John", repo.accessor(Person.class, "firstName").get(person));
+        eq(30, repo.accessor(Person.class, "age").get(person));
+    }
+
+    @Test
+    public void path() {
+        PropertyAccessor accessor = repo.accessor(Person.class, "address.city");
+        eq("Sydney", accessor.get(person));
+        person.setAddress(null);
+        eq(null, accessor.get(person));
+    }
+
+    @Test
+    public void field() {
+        eq("value", repo.accessor(Bean.class, "name").get(new Bean()));
+    }
+
+    @Test
+    public void mapShallFallbackToDynamicLookup() {
+        Map<String, Object> map = C.newMap("name", (Object) "foo");
+        eq("foo", repo.accessor(map.getClass(), "name").get(map));
+    }
+
+    @Test
+    public void accessorShallBeCached() {
+        same(repo.accessor(Person.class, "firstName"), repo.accessor(Person.class, "firstName"));
+    }
+
+    public static class Bean {
+        private String name = "value";
+    }
+
+}
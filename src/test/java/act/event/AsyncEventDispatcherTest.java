@@ -0,0 +1,220 @@
+package act.event;
+
+import act.TestBase;
+import act.metric.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static act.event.AsyncEventDispatcher.OverflowPolicy.*;
+
+public class AsyncEventDispatcherTest extends TestBase {
+
+    private MetricStore store;
+    private AsyncEventDispatcher dispatcher;
+    private CountDownLatch started;
+    private CountDownLatch release;
+
+    @Before
+    public void prepare() {
+        store = new SimpleMetricStore(new SimpleMetricPlugin());
+        started = new CountDownLatch(1);
+        release = new CountDownLatch(1);
+    }
+
+    @After
+    public void shutdown() {
+        release.countDown();
+        if (null != dispatcher) {
+            dispatcher.shutdown();
+        }
+    }
+
+    @Test
+    public void callsToSameListenerShallBeInOrder() throws Exception {
+        dispatcher = dispatcher(4, 16, BLOCK);
+        final List<Integer> list = Collections.synchronizedList(new ArrayList<Integer>());
+        final CountDownLatch done = new CountDownLatch(1000);
+        Object listener = new Object();
+        for (int i = 0; i < 1000; ++i) {
+            final int n = i;
+            dispatcher.dispatch(listener, new Runnable() {
+                @Override
+                public void run() {
+                    list.add(n);
+                    done.countDown();
+                }
+            });
+        }
+        yes(done.await(10, TimeUnit.SECONDS));
+        for (int i = 0; i < 1000; ++i) {
+            eq(i, list.get(i));
+        }
+        eq(1000L, store.count("act:event:async:enqueued"));
+    }
+
+    @Test
+    public void oldestCallShallBeDroppedOnOverflow() throws Exception {
+        dispatcher = dispatcher(1, 1, DROP_OLDEST);
+        block();
+        final List<String> list = Collections.synchronizedList(new ArrayList<String>());
+        dispatcher.dispatch(this, add(list, "a"));
+        dispatcher.dispatch(this, add(list, "b"));
+        final CountDownLatch done = new CountDownLatch(1);
+        dispatcher.dispatch(this, new Runnable() {
+            @Override
+            public void run() {
+                done.countDown();
+            }
+        });
+        release.countDown();
+        yes(done.await(10, TimeUnit.SECONDS));
+        eq(0, list.size());
+        eq(2L, store.count("act:event:async:dropped"));
+    }
+
+    @Test
+    public void callerShallRunOnOverflow() throws Exception {
+        dispatcher = dispatcher(1, 1, CALLER_RUNS);
+        block();
+        final List<String> list = Collections.synchronizedList(new ArrayList<String>());
+        dispatcher.dispatch(this, add(list, "a"));
+        final Thread[] thread = new Thread[1];
+        dispatcher.dispatch(this, new Runnable() {
+            @Override
+            public void run() {
+                thread[0] = Thread.currentThread();
+            }
+        });
+        same(Thread.currentThread(), thread[0]);
+        eq(1L, store.count("act:event:async:caller_runs"));
+        eq(0, list.size());
+    }
+
+    @Test
+    public void exceptionShallNotStopWorker() throws Exception {
+        dispatcher = dispatcher(1, 4, BLOCK);
+        dispatcher.dispatch(this, new Runnable() {
+            @Override
+            public void run() {
+                throw new IllegalStateException("test");
+            }
+        });
+        final CountDownLatch done = new CountDownLatch(1);
+        dispatcher.dispatch(this, new Runnable() {
+            @Override
+            public void run() {
+                done.countDown();
+            }
+        });
+        yes(done.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void errorShallNotStopWorker() throws Exception {
+        dispatcher = dispatcher(1, 4, BLOCK);
+        dispatcher.dispatch(this, new Runnable() {
+            @Override
+            public void run() {
+                throw new Error("test");
+            }
+        });
+        final CountDownLatch done = new CountDownLatch(1);
+        dispatcher.dispatch(this, new Runnable() {
+            @Override
+            public void run() {
+                done.countDown();
+            }
+        });
+        yes(done.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void workerShallNotBlockOnFullLane() throws Exception {
+        dispatcher = dispatcher(2, 1, BLOCK);
+        final Object listenerA = new Listener(0);
+        final Object listenerB = new Listener(1);
+        // keep the worker of lane B busy and fill its queue
+        dispatcher.dispatch(listenerB, new Runnable() {
+            @Override
+            public void run() {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        yes(started.await(10, TimeUnit.SECONDS));
+        final List<String> list = Collections.synchronizedList(new ArrayList<String>());
+        dispatcher.dispatch(listenerB, add(list, "queued"));
+        final CountDownLatch done = new CountDownLatch(1);
+        final Thread[] threads = new Thread[2];
+        dispatcher.dispatch(listenerA, new Runnable() {
+            @Override
+            public void run() {
+                threads[0] = Thread.currentThread();
+                dispatcher.dispatch(listenerB, new Runnable() {
+                    @Override
+                    public void run() {
+                        threads[1] = Thread.currentThread();
+                    }
+                });
+                done.countDown();
+            }
+        });
+        yes(done.await(10, TimeUnit.SECONDS));
+        same(threads[0], threads[1]);
+        eq(1L, store.count("act:event:async:caller_runs"));
+    }
+
+    private AsyncEventDispatcher dispatcher(int workers, int queueSize, AsyncEventDispatcher.OverflowPolicy policy) {
+        return new AsyncEventDispatcher("test-events", workers, queueSize, 8, policy, new SimpleMetric(store));
+    }
+
+    // keep the worker busy until `release` counts down
+    private void block() throws Exception {
+        dispatcher.dispatch(this, new Runnable() {
+            @Override
+            public void run() {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        yes(started.await(10, TimeUnit.SECONDS));
+    }
+
+    private static class Listener {
+        private final int hash;
+
+        Listener(int hash) {
+            this.hash = hash;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    private static Runnable add(final List<String> list, final String s) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                list.add(s);
+            }
+        };
+    }
+
+}
@@ -54,6 +54,50 @@ public class EventBusTest extends TestBase {
     }
 
 
+    @Test
+    public void simpleListenerShallBeCalledOnPayloadAndEventClass() throws Exception {
+        SimpleEventListener onPayload = mock(SimpleEventListener.class);
+        SimpleEventListener onEvent = mock(SimpleEventListener.class);
+        eventBus.bind(EventBusTest.class, onPayload);
+        eventBus.bind(MyEmbeddedEvent.class, onEvent);
+        MyEmbeddedEvent e = new MyEmbeddedEvent(this);
+        eventBus.emit(e);
+        eventBus.emit(e);
+        verify(onPayload, times(2)).invoke(this);
+        verify(onEvent, times(2)).invoke(e);
+    }
+
+    @Test
+    public void onceListenerShallBeCalledOnlyOnce() throws Exception {
+        final int[] counter = {0};
+        eventBus.once(MyEmbeddedEvent.class, new OnceEventListenerBase<MyEmbeddedEvent>() {
+            @Override
+            public boolean tryHandle(MyEmbeddedEvent event) {
+                counter[0]++;
+                return true;
+            }
+        });
+        eventBus.emit(new MyEmbeddedEvent(this));
+        eventBus.emit(new MyEmbeddedEvent(this));
+        eq(1, counter[0]);
+    }
+
+    @Test
+    public void listenerBoundDuringEmittingShallBeCalledOnNextEmit() throws Exception {
+        final ActEventListener<MyEmbeddedEvent> l2 = mock(ActEventListener.class);
+        eventBus.bind(MyEmbeddedEvent.class, new ActEventListenerBase<MyEmbeddedEvent>("l1") {
+            @Override
+            public void on(MyEmbeddedEvent event) throws Exception {
+                eventBus.bind(MyEmbeddedEvent.class, l2);
+            }
+        });
+        MyEmbeddedEvent e = new MyEmbeddedEvent(this);
+        eventBus.emit(e);
+        verify(l2, never()).on(e);
+        eventBus.emit(e);
+        verify(l2).on(e);
+    }
+
     public static class MyEmbeddedEvent extends ActEvent<EventBusTest> {
         public MyEmbeddedEvent(EventBusTest source) {
             super(source);
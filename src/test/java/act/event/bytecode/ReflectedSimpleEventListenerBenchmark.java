@@ -0,0 +1,57 @@
+package act.event.bytecode;
+
+import act.BenchmarkBase;
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+
+/**
+ * Compare calling a simple event listener method through the generated
+ * invoker used by {@link ReflectedSimpleEventListener} with calling it
+ * through {@link Method#invoke(Object, Object...)}
+ */
+public class ReflectedSimpleEventListenerBenchmark extends BenchmarkBase {
+
+    private static final int CALLS = 1000 * 1000;
+
+    private ReflectedSimpleEventListener listener;
+    private Method method;
+    private Host host;
+
+    @Before
+    public void prepare() throws Exception {
+        super.setup();
+        listener = new ReflectedSimpleEventListener(Host.class, "on", new Class[]{String.class}, 0, false);
+        method = Host.class.getMethod("on", String.class);
+        host = new Host();
+    }
+
+    @Test
+    @BenchmarkOptions(warmupRounds = 10, benchmarkRounds = 50, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void generatedInvoker() {
+        Object[] args = {"foo"};
+        for (int i = 0; i < CALLS; ++i) {
+            listener.invoke(args);
+        }
+    }
+
+    @Test
+    @BenchmarkOptions(warmupRounds = 10, benchmarkRounds = 50, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void reflection() throws Exception {
+        Object[] args = {"foo"};
+        for (int i = 0; i < CALLS; ++i) {
+            method.invoke(host, args);
+        }
+    }
+
+    public static class Host {
+        private int count;
+
+        public void on(String s) {
+            count += s.length();
+        }
+    }
+
+}
@@ -0,0 +1,99 @@
+package act.event.bytecode;
+
+import act.TestBase;
+import org.junit.Before;
+import org.junit.Test;
+import org.osgl.exception.UnexpectedException;
+
+import java.io.IOException;
+
+public class ReflectedSimpleEventListenerTest extends TestBase {
+
+    @Before
+    public void prepare() throws Exception {
+        super.setup();
+        PublicHost.received = null;
+        HiddenHost.received = null;
+    }
+
+    @Test
+    public void publicMethodShallBeCalled() {
+        listener(PublicHost.class, "on").invoke("foo");
+        eq("foo", PublicHost.received);
+    }
+
+    @Test
+    public void nonPublicMethodShallBeCalled() {
+        listener(HiddenHost.class, "on").invoke("foo");
+        eq("foo", HiddenHost.received);
+    }
+
+    @Test
+    public void staticMethodShallBeCalled() {
+        new ReflectedSimpleEventListener(PublicHost.class, "onStatic", new Class[]{String.class}, 0, true).invoke("bar");
+        eq("bar", PublicHost.received);
+    }
+
+    @Test
+    public void missingArgumentShallBeNull() {
+        PublicHost.received = "foo";
+        listener(PublicHost.class, "on").invoke();
+        eq(null, PublicHost.received);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void runtimeExceptionShallBeRethrown() {
+        listener(PublicHost.class, "fail").invoke("runtime");
+    }
+
+    @Test
+    public void checkedExceptionShallBeWrapped() {
+        verifyCheckedExceptionWrapped(listener(PublicHost.class, "fail"));
+        verifyCheckedExceptionWrapped(listener(HiddenHost.class, "fail"));
+    }
+
+    private void verifyCheckedExceptionWrapped(ReflectedSimpleEventListener listener) {
+        try {
+            listener.invoke("checked");
+            fail("UnexpectedException expected");
+        } catch (UnexpectedException e) {
+            yes(e.getCause() instanceof IOException);
+        }
+    }
+
+    private static ReflectedSimpleEventListener listener(Class<?> host, String method) {
+        return new ReflectedSimpleEventListener(host, method, new Class[]{String.class}, 0, false);
+    }
+
+    public static class PublicHost {
+        static String received;
+
+        public void on(String s) {
+            received = s;
+        }
+
+        public static void onStatic(String s) {
+            received = s;
+        }
+
+        public void fail(String s) throws IOException {
+            if ("runtime".equals(s)) {
+                throw new IllegalStateException();
+            }
+            throw new IOException();
+        }
+    }
+
+    static class HiddenHost {
+        static String received;
+
+        public void on(String s) {
+            received = s;
+        }
+
+        public void fail(String s) throws IOException {
+            throw new IOException();
+        }
+    }
+
+}
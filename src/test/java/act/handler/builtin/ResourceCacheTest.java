@@ -0,0 +1,126 @@
+package act.handler.builtin;
+
+import act.TestBase;
+import org.junit.Before;
+import org.junit.Test;
+import org.osgl.util.IO;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.zip.GZIPInputStream;
+
+public class ResourceCacheTest extends TestBase {
+
+    private ResourceCache cache;
+
+    @Before
+    public void prepare() throws Exception {
+        super.setup();
+        cache = new ResourceCache(mockApp, 4000, 2048, 10);
+    }
+
+    @Test
+    public void etagShallBeDerivedFromContent() throws Exception {
+        ResourceCache.Entry e1 = cache.load("/a.txt", file(".txt", "hello"));
+        ResourceCache.Entry e2 = cache.load("/b.txt", file(".txt", "hello"));
+        ResourceCache.Entry e3 = cache.load("/c.txt", file(".txt", "world"));
+        eq(e1.etag(null), e2.etag(null));
+        ne(e1.etag(null), e3.etag(null));
+    }
+
+    @Test
+    public void textResourceShallHaveGzipVariant() throws Exception {
+        String content = text(2000);
+        ResourceCache.Entry entry = cache.load("/a.js", file(".js", content));
+        yes(entry.hasVariants());
+        eq(ResourceCache.GZIP, entry.encoding("deflate, gzip"));
+        ne(entry.etag(null), entry.etag(ResourceCache.GZIP));
+        ByteBuffer buffer = entry.content(ResourceCache.GZIP);
+        byte[] ba = new byte[buffer.remaining()];
+        buffer.get(ba);
+        eq(content, new String(IO.readContent(new GZIPInputStream(new ByteArrayInputStream(ba)))));
+    }
+
+    @Test
+    public void gzipVariantShallNotBeUsedIfNotAccepted() throws Exception {
+        ResourceCache.Entry entry = cache.load("/a.css", file(".css", text(2000)));
+        isNull(entry.encoding(null));
+        isNull(entry.encoding("deflate"));
+        isNull(entry.encoding("gzip;q=0"));
+        isNull(entry.encoding("br"));
+    }
+
+    @Test
+    public void tinyResourceShallNotBeCompressed() throws Exception {
+        ResourceCache.Entry entry = cache.load("/a.txt", file(".txt", "hello"));
+        no(entry.hasVariants());
+        isNull(entry.encoding("gzip"));
+    }
+
+    @Test
+    public void largeBinaryResourceShallNotBeCached() throws Exception {
+        URL url = file(".png", text(3000));
+        isNull(cache.load("/a.png", url));
+        isNull(cache.get("/a.png"));
+    }
+
+    @Test
+    public void leastRecentlyUsedShallBeEvicted() throws Exception {
+        cache.load("/a.png", file(".png", text(1200)));
+        Thread.sleep(2);
+        cache.load("/b.png", file(".png", text(1200)));
+        Thread.sleep(2);
+        notNull(cache.get("/a.png"));
+        Thread.sleep(2);
+        cache.load("/c.png", file(".png", text(1200)));
+        notNull(cache.get("/a.png"));
+        isNull(cache.get("/b.png"));
+        notNull(cache.get("/c.png"));
+        yes(cache.size() <= 4000);
+    }
+
+    @Test
+    public void missingResourceShallBeRemembered() {
+        cache.missing("/x.js");
+        yes(cache.get("/x.js").isMissing());
+    }
+
+    @Test
+    public void missingResourcesShallNotEvictCachedResources() throws Exception {
+        cache.load("/a.txt", file(".txt", text(1200)));
+        for (int i = 0; i < 100; ++i) {
+            cache.missing("/x" + i + ".js");
+        }
+        notNull(cache.get("/a.txt"));
+        isNull(cache.get("/x0.js"));
+        yes(cache.get("/x99.js").isMissing());
+    }
+
+    private static URL file(String suffix, String content) throws IOException {
+        File file = File.createTempFile("act-resource-cache-", suffix);
+        file.deleteOnExit();
+        Files.write(file.toPath(), content.getBytes());
+        return file.toURI().toURL();
+    }
+
+    private static String text(int len) {
+        StringBuilder sb = new StringBuilder(len);
+        for (int i = 0; i < len; ++i) {
+            sb.append((char) ('a' + i % 7));
+        }
+        return sb.toString();
+    }
+
+    private static void isNull(Object o) {
+        assertNull(o);
+    }
+
+    private static void notNull(Object o) {
+        assertNotNull(o);
+    }
+
+}
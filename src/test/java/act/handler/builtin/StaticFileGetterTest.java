@@ -13,7 +13,12 @@ import org.osgl.http.H;
 
 import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
 
+import static org.osgl.http.H.Header.Names.*;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
@@ -21,6 +26,7 @@ import static org.mockito.Mockito.when;
 
 public class StaticFileGetterTest extends TestBase {
     ActionContext ctx;
+    RequestImplBase req;
     MockResponse resp;
     StaticFileGetter pathHandler;
     StaticFileGetter fileHandler;
@@ -38,8 +44,9 @@ public class StaticFileGetterTest extends TestBase {
             }
         });
         when(mockAppConfig.errorTemplatePathResolver()).thenCallRealMethod();
-        RequestImplBase req = mock(RequestImplBase.class);
+        req = mock(RequestImplBase.class);
         when(req.method()).thenReturn(H.Method.GET);
+        when(req.accept()).thenReturn(H.Format.TXT);
         ctx = ActionContext.create(mockApp, req, resp);
         when(req.context()).thenReturn(ctx);
         pathHandler = new StaticFileGetter("/public", mockApp);
@@ -100,4 +107,120 @@ public class StaticFileGetterTest extends TestBase {
         ceq("foo/bar.txt", s);
     }
 
+    @Test
+    public void responseShallCarryEtagAndLastModified() {
+        fileHandler.handle(ctx);
+        eq(etag(), resp.headers.get(ETAG));
+        eq(httpDate(file().lastModified()), resp.headers.get(LAST_MODIFIED));
+        eq("bytes", resp.headers.get(ACCEPT_RANGES));
+    }
+
+    @Test
+    public void matchingEtagShallResultInNotModified() {
+        when(req.header(IF_NONE_MATCH)).thenReturn(etag());
+        fileHandler.handle(ctx);
+        eq(304, resp.status);
+    }
+
+    @Test
+    public void staleEtagShallResultInFullContent() {
+        when(req.header(IF_NONE_MATCH)).thenReturn("\"abc\"");
+        fileHandler.handle(ctx);
+        eq("foo/bar.txt", body());
+    }
+
+    @Test
+    public void unmodifiedSinceShallResultInNotModified() {
+        when(req.header(IF_MODIFIED_SINCE)).thenReturn(httpDate(file().lastModified()));
+        fileHandler.handle(ctx);
+        eq(304, resp.status);
+    }
+
+    @Test
+    public void modifiedSinceShallResultInFullContent() {
+        when(req.header(IF_MODIFIED_SINCE)).thenReturn(httpDate(file().lastModified() - 60 * 1000));
+        fileHandler.handle(ctx);
+        eq("foo/bar.txt", body());
+    }
+
+    @Test
+    public void singleRange() {
+        when(req.header(RANGE)).thenReturn("bytes=4-6");
+        fileHandler.handle(ctx);
+        eq(206, resp.status);
+        eq("bytes 4-6/11", resp.headers.get(CONTENT_RANGE));
+        eq("bar", body());
+    }
+
+    @Test
+    public void suffixRange() {
+        when(req.header(RANGE)).thenReturn("bytes=-3");
+        fileHandler.handle(ctx);
+        eq(206, resp.status);
+        eq("bytes 8-10/11", resp.headers.get(CONTENT_RANGE));
+        eq("txt", body());
+    }
+
+    @Test
+    public void multipleRanges() {
+        when(req.header(RANGE)).thenReturn("bytes=0-2, 8-");
+        fileHandler.handle(ctx);
+        eq(206, resp.status);
+        String body = body();
+        yes(body.contains("Content-Range: bytes 0-2/11\r\n\r\nfoo\r\n--"));
+        yes(body.contains("Content-Range: bytes 8-10/11\r\n\r\ntxt\r\n--"));
+    }
+
+    @Test
+    public void unsatisfiableRange() {
+        when(req.header(RANGE)).thenReturn("bytes=20-");
+        fileHandler.handle(ctx);
+        eq(416, resp.status);
+        eq("bytes */11", resp.headers.get(CONTENT_RANGE));
+    }
+
+    @Test
+    public void rangeShallBeIgnoredIfRangeConditionFailed() {
+        when(req.header(RANGE)).thenReturn("bytes=4-6");
+        when(req.header(IF_RANGE)).thenReturn("\"abc\"");
+        fileHandler.handle(ctx);
+        eq(-1, resp.status);
+        eq("foo/bar.txt", body());
+    }
+
+    @Test
+    public void invalidRangeShallBeIgnored() {
+        assertNull(StaticFileGetter.ranges("bytes=6-4", null, "\"x\"", 0, 11));
+        assertNull(StaticFileGetter.ranges("bytes=a-", null, "\"x\"", 0, 11));
+        assertNull(StaticFileGetter.ranges("items=0-1", null, "\"x\"", 0, 11));
+    }
+
+    @Test
+    public void rangeEndShallBeCappedByFileSize() {
+        long[] ranges = StaticFileGetter.ranges("bytes=5-100", null, "\"x\"", 0, 11);
+        eq(2, ranges.length);
+        eq(5L, ranges[0]);
+        eq(10L, ranges[1]);
+    }
+
+    private File file() {
+        return fileHandler.base();
+    }
+
+    private String etag() {
+        File file = file();
+        return StaticFileGetter.etag(file.length(), file.lastModified());
+    }
+
+    private String body() {
+        ByteArrayOutputStream baos = (ByteArrayOutputStream) resp.outputStream();
+        return new String(baos.toByteArray());
+    }
+
+    private static String httpDate(long millis) {
+        SimpleDateFormat format = new SimpleDateFormat("EEE, dd MMM yyyy HH:mm:ss 'GMT'", Locale.US);
+        format.setTimeZone(TimeZone.getTimeZone("GMT"));
+        return format.format(new Date(millis));
+    }
+
 }
@@ -0,0 +1,97 @@
+package act.handler.builtin.controller.impl;
+
+import act.BenchmarkBase;
+import act.app.ActionContext;
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import org.junit.Test;
+import org.osgl.http.H;
+
+/**
+ * Compare template availability lookup on one hot endpoint with the
+ * lock free cache and with the cache guarded by the invoker monitor.
+ *
+ * Each test runs the same number of rounds. With the lock free cache
+ * the total time shall drop as worker threads are added, while the
+ * synchronized version stays flat or gets worse.
+ */
+public class TemplateAvailabilityCacheBenchmark extends BenchmarkBase {
+
+    private static final int LOOKUPS = 100 * 1000;
+    private static final H.Format[] FORMATS = {H.Format.HTML, H.Format.JSON, H.Format.XML, H.Format.CSV};
+
+    private static final TemplateAvailabilityCache lockFree = new StubCache();
+    private static final TemplateAvailabilityCache synced = new SynchronizedStubCache();
+
+    @Test
+    @BenchmarkOptions(warmupRounds = 20, benchmarkRounds = 200, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void lockFreeWithOneThread() {
+        lookup(lockFree);
+    }
+
+    @Test
+    @BenchmarkOptions(warmupRounds = 20, benchmarkRounds = 200, concurrency = 2)
+    public void lockFreeWithTwoThreads() {
+        lookup(lockFree);
+    }
+
+    @Test
+    @BenchmarkOptions(warmupRounds = 20, benchmarkRounds = 200, concurrency = 4)
+    public void lockFreeWithFourThreads() {
+        lookup(lockFree);
+    }
+
+    @Test
+    @BenchmarkOptions(warmupRounds = 20, benchmarkRounds = 200, concurrency = BenchmarkOptions.CONCURRENCY_AVAILABLE_CORES)
+    public void lockFreeWithAllCores() {
+        lookup(lockFree);
+    }
+
+    @Test
+    @BenchmarkOptions(warmupRounds = 20, benchmarkRounds = 200, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void synchronizedWithOneThread() {
+        lookup(synced);
+    }
+
+    @Test
+    @BenchmarkOptions(warmupRounds = 20, benchmarkRounds = 200, concurrency = 4)
+    public void synchronizedWithFourThreads() {
+        lookup(synced);
+    }
+
+    @Test
+    @BenchmarkOptions(warmupRounds = 20, benchmarkRounds = 200, concurrency = BenchmarkOptions.CONCURRENCY_AVAILABLE_CORES)
+    public void synchronizedWithAllCores() {
+        lookup(synced);
+    }
+
+    private static void lookup(TemplateAvailabilityCache cache) {
+        int n = 0;
+        for (int i = 0; i < LOOKUPS; ++i) {
+            if (cache.hasTemplate(FORMATS[i & 3], null)) {
+                n++;
+            }
+        }
+        if (n != LOOKUPS / 2) {
+            throw new IllegalStateException();
+        }
+    }
+
+    private static class StubCache extends TemplateAvailabilityCache {
+        StubCache() {
+            super(false);
+        }
+
+        @Override
+        boolean probe(H.Format fmt, ActionContext context) {
+            return fmt == H.Format.HTML || fmt == H.Format.XML;
+        }
+    }
+
+    private static class SynchronizedStubCache extends StubCache {
+        @Override
+        synchronized boolean hasTemplate(H.Format fmt, ActionContext context) {
+            return super.hasTemplate(fmt, context);
+        }
+    }
+
+}
@@ -0,0 +1,130 @@
+package act.inject.param;
+
+import act.BenchmarkBase;
+import act.app.App;
+import act.util.ActContext;
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import org.junit.Before;
+import org.junit.Test;
+import org.osgl.http.H;
+import org.osgl.util.E;
+import org.osgl.util.StringValueResolver;
+
+import java.lang.reflect.Field;
+import java.util.*;
+
+/**
+ * Compare binding a 20 field form bean from the request params through the
+ * generated {@link BeanBinder} with binding it through
+ * {@link Field#set(Object, Object)}. Each bind loads and resolves the field
+ * values from the params and presets the render args the same way as the
+ * bean loader does.
+ */
+public class BeanBinderBenchmark extends BenchmarkBase {
+
+    private static final int BINDS = 100 * 1000;
+
+    private ParamValueLoaderService.FieldBindings generated;
+    private ParamValueLoaderService.FieldBindings reflective;
+    private Context context;
+
+    @Before
+    public void prepare() throws Exception {
+        super.setup();
+        Field[] fields = Form.class.getDeclaredFields();
+        Map<String, String> params = new HashMap<>();
+        List<ParamValueLoader> loaders = new ArrayList<>();
+        for (int i = 0; i < fields.length; ++i) {
+            Field field = fields[i];
+            field.setAccessible(true);
+            Class<?> type = field.getType();
+            params.put(field.getName(), String.valueOf(i));
+            loaders.add(new StringValueResolverValueLoader(ParamKey.of(field.getName()), StringValueResolver.predefined(type), null, null, type));
+        }
+        generated = new ParamValueLoaderService.FieldBindings(BeanBinder.of(Form.class, fields, null), fields, loaders);
+        reflective = new ParamValueLoaderService.FieldBindings(new BeanBinder(fields), fields, loaders);
+        context = new Context(mockApp, params);
+    }
+
+    @Test
+    @BenchmarkOptions(warmupRounds = 10, benchmarkRounds = 50, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void generatedBinder() {
+        bind(generated);
+    }
+
+    @Test
+    @BenchmarkOptions(warmupRounds = 10, benchmarkRounds = 50, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void reflection() {
+        bind(reflective);
+    }
+
+    private void bind(ParamValueLoaderService.FieldBindings bindings) {
+        for (int n = 0; n < BINDS; ++n) {
+            bindings.bind(new Form(), context, false);
+        }
+    }
+
+    public static class Form {
+        public String firstName;
+        public String lastName;
+        public String email;
+        public String phone;
+        public String street;
+        public String city;
+        public String state;
+        public String zip;
+        public String country;
+        public String company;
+        public String title;
+        public String website;
+        public String note;
+        public String referrer;
+        public String locale;
+        public String timezone;
+        public int age;
+        public int score;
+        public long createdAt;
+        public long updatedAt;
+    }
+
+    private static class Context extends ActContext.Base<Context> {
+
+        private final Map<String, String> params;
+
+        Context(App app, Map<String, String> params) {
+            super(app);
+            this.params = params;
+        }
+
+        @Override
+        public Context accept(H.Format fmt) {
+            throw E.unsupport();
+        }
+
+        @Override
+        public H.Format accept() {
+            return H.Format.HTML;
+        }
+
+        @Override
+        public String methodPath() {
+            return null;
+        }
+
+        @Override
+        public Set<String> paramKeys() {
+            return params.keySet();
+        }
+
+        @Override
+        public String paramVal(String name) {
+            return params.get(name);
+        }
+
+        @Override
+        public String[] paramVals(String name) {
+            return new String[]{params.get(name)};
+        }
+    }
+
+}
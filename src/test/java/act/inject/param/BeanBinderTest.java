@@ -0,0 +1,112 @@
+package act.inject.param;
+
+import act.TestBase;
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+
+public class BeanBinderTest extends TestBase {
+
+    private static final String[] FIELDS = {"name", "count", "total", "active", "flag", "ratio", "hidden", "fixed"};
+
+    @Test
+    public void binderShallBeGeneratedForPublicFields() throws Exception {
+        BeanBinder binder = binder(Bean.class, FIELDS);
+        ne(BeanBinder.class, binder.getClass());
+    }
+
+    @Test
+    public void binderShallSetAndGetFields() throws Exception {
+        BeanBinder binder = binder(Bean.class, FIELDS);
+        Bean bean = new Bean();
+        binder.set(bean, 0, "foo");
+        binder.set(bean, 1, 10);
+        binder.set(bean, 2, 100L);
+        binder.set(bean, 3, true);
+        binder.set(bean, 4, 'x');
+        binder.set(bean, 5, 0.5d);
+        binder.set(bean, 6, "secret");
+        eq("foo", bean.name);
+        eq(10, bean.count);
+        eq(100L, bean.total);
+        yes(bean.active);
+        eq('x', bean.flag);
+        eq(0.5d, bean.ratio);
+        eq("secret", bean.hidden);
+        eq("foo", binder.get(bean, 0));
+        eq(10, binder.get(bean, 1));
+        eq(100L, binder.get(bean, 2));
+        eq(true, binder.get(bean, 3));
+        eq('x', binder.get(bean, 4));
+        eq(0.5d, binder.get(bean, 5));
+        eq("secret", binder.get(bean, 6));
+        eq("fixed", binder.get(bean, 7));
+    }
+
+    @Test
+    public void numberShallBeConvertedToPrimitiveFieldType() throws Exception {
+        BeanBinder binder = binder(Bean.class, FIELDS);
+        Bean bean = new Bean();
+        binder.set(bean, 2, 5);
+        eq(5L, bean.total);
+    }
+
+    @Test
+    public void fieldsOfNonPublicClassShallBeBoundByReflection() throws Exception {
+        BeanBinder binder = binder(HiddenBean.class, "name");
+        eq(BeanBinder.class, binder.getClass());
+        HiddenBean bean = new HiddenBean();
+        binder.set(bean, 0, "foo");
+        eq("foo", bean.name);
+    }
+
+    @Test
+    public void inheritedFieldShallBeBound() throws Exception {
+        BeanBinder binder = binder(SubBean.class, "name", "extra");
+        SubBean bean = new SubBean();
+        binder.set(bean, 0, "foo");
+        binder.set(bean, 1, "bar");
+        eq("foo", bean.name);
+        eq("bar", bean.extra);
+    }
+
+    private static BeanBinder binder(Class<?> beanClass, String... names) throws Exception {
+        Field[] fields = new Field[names.length];
+        for (int i = 0; i < names.length; ++i) {
+            fields[i] = field(beanClass, names[i]);
+            fields[i].setAccessible(true);
+        }
+        return BeanBinder.of(beanClass, fields, null);
+    }
+
+    private static Field field(Class<?> c, String name) throws Exception {
+        while (null != c) {
+            try {
+                return c.getDeclaredField(name);
+            } catch (NoSuchFieldException e) {
+                c = c.getSuperclass();
+            }
+        }
+        throw new NoSuchFieldException(name);
+    }
+
+    public static class Bean {
+        public String name;
+        public int count;
+        public long total;
+        public boolean active;
+        public char flag;
+        public double ratio;
+        private String hidden;
+        public final String fixed = "fixed";
+    }
+
+    public static class SubBean extends Bean {
+        public String extra;
+    }
+
+    static class HiddenBean {
+        String name;
+    }
+
+}
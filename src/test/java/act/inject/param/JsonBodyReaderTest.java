@@ -0,0 +1,56 @@
+package act.inject.param;
+
+import act.TestBase;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+
+public class JsonBodyReaderTest extends TestBase {
+
+    @Test
+    public void blankBodyShallReturnNull() throws IOException {
+        assertNull(JsonBodyReader.of(new StringReader("  \n "), "foo"));
+        assertNull(JsonBodyReader.of(new StringReader(""), null));
+    }
+
+    @Test
+    public void itShallNotPatchWhenThereAreMultipleParams() throws IOException {
+        eq("{\"a\": 1, \"b\": 2}", read(" {\"a\": 1, \"b\": 2}", null));
+    }
+
+    @Test
+    public void itShallNotPatchWhenFirstKeyMatchesParamName() throws IOException {
+        eq("{\"foo\": {\"x\": 1}}", read("{ \"foo\": {\"x\": 1}}", "foo"));
+    }
+
+    @Test
+    public void itShallPatchWhenFirstKeyDoesNotMatchParamName() throws IOException {
+        eq("{\"foo\":{\"x\": 1}}", read("{\"x\": 1}", "foo"));
+        eq("{\"foo\":{\"fooBar\": 1}}", read("{\"fooBar\": 1}", "foo"));
+        eq("{\"foo\":{\"fo\": 1}}", read("{\"fo\": 1}", "foo"));
+    }
+
+    @Test
+    public void itShallPatchArray() throws IOException {
+        eq("{\"foo\":[1, 2]}", read("\n[1, 2]", "foo"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void itShallRejectNonJsonContent() throws IOException {
+        read("foo=bar", "foo");
+    }
+
+    private String read(String body, String name) throws IOException {
+        Reader reader = JsonBodyReader.of(new StringReader(body), name);
+        StringBuilder sb = new StringBuilder();
+        char[] buf = new char[3];
+        int n;
+        while ((n = reader.read(buf, 0, buf.length)) > 0) {
+            sb.append(buf, 0, n);
+        }
+        return sb.toString();
+    }
+
+}
@@ -0,0 +1,84 @@
+package act.inject.param;
+
+import act.TestBase;
+import act.util.ActContext;
+import act.util.BoundedCache;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.osgl.util.C;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class ParamTreeTest extends TestBase {
+
+    private ActContext context;
+    private ParamTree tree;
+
+    @Before
+    public void prepare() {
+        Map<String, String[]> params = C.newMap(
+                "user.name", new String[]{"tom"},
+                "user[address][city]", new String[]{"sydney"},
+                "user.tags", new String[]{"a", "b"},
+                "order.id", new String[]{"1"},
+                "q", new String[]{"foo"}
+        );
+        final Set<String> keys = params.keySet();
+        context = mock(ActContext.class);
+        when(context.paramKeys(anyString())).thenAnswer(new Answer<Set<String>>() {
+            @Override
+            public Set<String> answer(InvocationOnMock invocation) throws Throwable {
+                String root = (String) invocation.getArguments()[0];
+                Set<String> set = new HashSet<>();
+                for (String key : keys) {
+                    if (key.equals(root) || key.startsWith(root + ".") || key.startsWith(root + "[")) {
+                        set.add(key);
+                    }
+                }
+                return set;
+            }
+        });
+        for (Map.Entry<String, String[]> entry : params.entrySet()) {
+            when(context.paramVals(entry.getKey())).thenReturn(entry.getValue());
+        }
+        tree = new ParamTree(context, new BoundedCache<String, ParamKey>(16));
+    }
+
+    @Test
+    public void nodesShallBeBuiltFromDotAndSquareNotation() {
+        eq("tom", tree.node(key("user", "name")).value());
+        eq("sydney", tree.node(key("user", "address", "city")).value());
+        ParamTreeNode user = tree.node(key("user"));
+        yes(user.isMap());
+        yes(user.child("tags").isList());
+        eq(2, user.child("tags").list().size());
+    }
+
+    @Test
+    public void onlyKeysUnderRequestedRootShallBeRead() {
+        tree.node(key("user", "name"));
+        tree.node(key("user", "tags"));
+        verify(context, never()).paramKeys();
+        verify(context, times(1)).paramKeys("user");
+        verify(context, times(3)).paramVals(anyString());
+        verify(context, never()).paramVals("order.id");
+        verify(context, never()).paramVals("q");
+    }
+
+    @Test
+    public void missingRootShallReturnNull() {
+        eq(null, tree.node(key("foo", "bar")));
+    }
+
+    private static ParamKey key(String... seq) {
+        return ParamKey.of(seq);
+    }
+
+}
@@ -0,0 +1,129 @@
+package act.job;
+
+import act.TestBase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.osgl.util.IO;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.List;
+
+import static act.job.JobJournal.MisfirePolicy.*;
+
+public class JobJournalTest extends TestBase {
+
+    private static final long MINUTE = 60 * 1000;
+
+    private File dir;
+    private JobJournal journal;
+
+    @Before
+    public void prepare() throws Exception {
+        dir = Files.createTempDirectory("act-job-journal-").toFile();
+    }
+
+    @After
+    public void cleanup() {
+        if (null != journal) {
+            journal.close();
+        }
+        File[] files = dir.listFiles();
+        if (null != files) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        dir.delete();
+    }
+
+    @Test
+    public void recordShallSurviveRestart() {
+        journal = new JobJournal(dir, FIRE_ONCE);
+        journal.record("foo", 1000, "every 60s");
+        journal.record("bar", 2000, "every 60s");
+        journal.record("foo", 3000, "every 60s");
+        journal.close();
+        journal = new JobJournal(dir, FIRE_ONCE);
+        List<JobJournal.Entry> entries = journal.entries();
+        eq(2, entries.size());
+        eq("bar", entries.get(0).getId());
+        eq("foo", entries.get(1).getId());
+        eq(3000L, entries.get(1).nextFireTime());
+    }
+
+    @Test
+    public void removedJobShallNotSurviveRestart() {
+        journal = new JobJournal(dir, FIRE_ONCE);
+        journal.record("foo", 1000, "every 60s");
+        journal.remove("foo");
+        journal.close();
+        journal = new JobJournal(dir, FIRE_ONCE);
+        yes(journal.entries().isEmpty());
+    }
+
+    @Test
+    public void fireOncePolicy() {
+        long now = restart(FIRE_ONCE, 10);
+        eq(1, journal.misfires("foo", JobTrigger.every(60), now));
+        // checked once per app run
+        eq(0, journal.misfires("foo", JobTrigger.every(60), now));
+    }
+
+    @Test
+    public void skipPolicy() {
+        long now = restart(SKIP, 10);
+        eq(0, journal.misfires("foo", JobTrigger.every(60), now));
+    }
+
+    @Test
+    public void fireAllPolicy() {
+        long now = restart(FIRE_ALL, 10);
+        eq(10, journal.misfires("foo", JobTrigger.every(60), now));
+    }
+
+    @Test
+    public void jobNotDueShallNotMisfire() {
+        long now = restart(FIRE_ALL, 0);
+        eq(0, journal.misfires("foo", JobTrigger.every(60), now));
+    }
+
+    @Test
+    public void tornRecordShallBeIgnored() throws Exception {
+        journal = new JobJournal(dir, FIRE_ONCE);
+        journal.record("foo", 1000, "every 60s");
+        journal.close();
+        FileWriter writer = new FileWriter(journal.file(), true);
+        writer.write("bar\t20");
+        IO.close(writer);
+        journal = new JobJournal(dir, FIRE_ONCE);
+        List<JobJournal.Entry> entries = journal.entries();
+        eq(1, entries.size());
+        eq("foo", entries.get(0).getId());
+    }
+
+    @Test
+    public void compactShallKeepOneRecordPerJob() throws Exception {
+        journal = new JobJournal(dir, FIRE_ONCE);
+        for (int i = 0; i < 100; ++i) {
+            journal.record("foo", i, "every 60s");
+            journal.record("bar", i, "every 60s");
+        }
+        journal.compact();
+        eq(2, Files.readAllLines(journal.file().toPath(), Charset.forName("UTF-8")).size());
+    }
+
+    // record job `foo` missed `missed` fire times and reopen the journal
+    private long restart(JobJournal.MisfirePolicy policy, int missed) {
+        long now = System.currentTimeMillis();
+        journal = new JobJournal(dir, policy);
+        journal.record("foo", now - (missed - 1) * MINUTE - MINUTE / 2, "every 60s");
+        journal.close();
+        journal = new JobJournal(dir, policy);
+        return now;
+    }
+
+}
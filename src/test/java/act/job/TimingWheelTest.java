@@ -0,0 +1,100 @@
+package act.job;
+
+import act.TestBase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TimingWheelTest extends TestBase {
+
+    private static final Executor INLINE = new Executor() {
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+    };
+
+    private TimingWheel wheel;
+
+    @Before
+    public void prepare() {
+        wheel = new TimingWheel(INLINE, 1, TimeUnit.MILLISECONDS);
+    }
+
+    @After
+    public void shutdown() {
+        wheel.shutdownNow();
+    }
+
+    @Test
+    public void taskShallNotFireBeforeDeadline() throws Exception {
+        final long start = System.nanoTime();
+        final long[] fired = new long[1];
+        final CountDownLatch done = new CountDownLatch(1);
+        // longer than one round of the wheel
+        wheel.schedule(new Runnable() {
+            @Override
+            public void run() {
+                fired[0] = System.nanoTime();
+                done.countDown();
+            }
+        }, 600, TimeUnit.MILLISECONDS);
+        yes(done.await(5, TimeUnit.SECONDS));
+        yes(fired[0] - start >= TimeUnit.MILLISECONDS.toNanos(600));
+    }
+
+    @Test
+    public void callableResultShallBeReturned() throws Exception {
+        ScheduledFuture<String> future = wheel.schedule(new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                return "foo";
+            }
+        }, 10, TimeUnit.MILLISECONDS);
+        eq("foo", future.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void cancelledTaskShallNotFire() throws Exception {
+        final AtomicInteger counter = new AtomicInteger();
+        ScheduledFuture<?> future = wheel.schedule(counter(counter), 50, TimeUnit.MILLISECONDS);
+        yes(future.cancel(false));
+        Thread.sleep(150);
+        eq(0, counter.get());
+    }
+
+    @Test
+    public void periodicTaskShallRepeatUntilCancelled() throws Exception {
+        final AtomicInteger counter = new AtomicInteger();
+        ScheduledFuture<?> future = wheel.scheduleAtFixedRate(counter(counter), 0, 10, TimeUnit.MILLISECONDS);
+        long deadline = System.currentTimeMillis() + 5000;
+        while (counter.get() < 3 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        yes(counter.get() >= 3);
+        future.cancel(false);
+        Thread.sleep(50);
+        int n = counter.get();
+        Thread.sleep(100);
+        eq(n, counter.get());
+    }
+
+    @Test(expected = RejectedExecutionException.class)
+    public void itShallRejectTaskAfterShutdown() {
+        wheel.shutdown();
+        wheel.schedule(counter(new AtomicInteger()), 1, TimeUnit.MILLISECONDS);
+    }
+
+    private static Runnable counter(final AtomicInteger counter) {
+        return new Runnable() {
+            @Override
+            public void run() {
+                counter.incrementAndGet();
+            }
+        };
+    }
+
+}
@@ -0,0 +1,82 @@
+package act.metric;
+
+import act.TestBase;
+import org.junit.Test;
+
+public class HistogramTest extends TestBase {
+
+    private static final long MS = 1000L * 1000L;
+
+    private static class ManualClockHistogram extends Histogram {
+        long minute = 100;
+
+        @Override
+        protected long now() {
+            return minute;
+        }
+    }
+
+    @Test
+    public void bucketShallCoverValue() {
+        long[] values = {0, 1, 1023, 1024, 8191, 8192, 100 * 1000, MS, 123 * MS, 1000 * MS, 3600 * 1000 * MS};
+        for (long v : values) {
+            int idx = Histogram.index(v);
+            yes(Histogram.highestValue(idx) >= v);
+            if (idx > 0) {
+                yes(Histogram.highestValue(idx - 1) < v);
+            }
+        }
+    }
+
+    @Test
+    public void percentileShallBeWithinPrecision() {
+        Histogram histogram = new Histogram();
+        for (int i = 1; i <= 1000; ++i) {
+            histogram.record(i * MS);
+        }
+        Histogram.Snapshot snapshot = histogram.snapshot();
+        eq(1000L, snapshot.count());
+        eq(1000 * MS, snapshot.max());
+        assertWithinPrecision(500 * MS, snapshot.percentile(50));
+        assertWithinPrecision(990 * MS, snapshot.percentile(99));
+        assertWithinPrecision(999 * MS, snapshot.percentile(99.9));
+        eq(1000 * MS, snapshot.percentile(100));
+    }
+
+    @Test
+    public void emptyHistogram() {
+        Histogram.Snapshot snapshot = new Histogram().snapshot(5);
+        eq(0L, snapshot.count());
+        eq(0L, snapshot.percentile(99));
+    }
+
+    @Test
+    public void slidingWindow() {
+        ManualClockHistogram histogram = new ManualClockHistogram();
+        histogram.record(10 * MS);
+        histogram.minute++;
+        histogram.record(20 * MS);
+        histogram.record(20 * MS);
+        histogram.minute += 3;
+        histogram.record(30 * MS);
+
+        eq(1L, histogram.snapshot(1).count());
+        eq(1L, histogram.snapshot(3).count());
+        eq(3L, histogram.snapshot(4).count());
+        eq(4L, histogram.snapshot(5).count());
+        eq(4L, histogram.snapshot(15).count());
+        eq(4L, histogram.snapshot().count());
+        eq(80 * MS, histogram.snapshot().sum());
+
+        histogram.minute += 15;
+        eq(0L, histogram.snapshot(15).count());
+        eq(4L, histogram.snapshot().count());
+        eq(30 * MS, histogram.snapshot().max());
+    }
+
+    private void assertWithinPrecision(long expected, long actual) {
+        yes(actual >= expected, "%s is less than %s", actual, expected);
+        yes(actual <= expected + expected / Histogram.SUB_BUCKETS, "%s is too far from %s", actual, expected);
+    }
+
+}
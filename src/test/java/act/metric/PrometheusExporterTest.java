@@ -0,0 +1,131 @@
+package act.metric;
+
+import act.TestBase;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+
+public class PrometheusExporterTest extends TestBase {
+
+    private SimpleMetricStore store;
+    private PrometheusExporter exporter;
+
+    @Before
+    public void prepare() {
+        store = new SimpleMetricStore(new SimpleMetricPlugin());
+        exporter = new PrometheusExporter(store);
+    }
+
+    @Test
+    public void counterNameShallBeTurnedIntoLabels() {
+        store.countOnce("act:http:foo.Bar.baz");
+        String text = render(exporter);
+        yes(text.contains("# TYPE act_count_total counter\n"));
+        yes(text.contains("act_count_total{depth=\"2\",l1=\"http\",l2=\"foo.Bar.baz\"} 1\n"));
+        yes(text.contains("act_count_total{depth=\"1\",l1=\"http\"} 1\n"));
+        yes(text.contains("act_count_total{depth=\"0\"} 1\n"));
+    }
+
+    @Test
+    public void timerShallBeExposedAsSummary() {
+        store.enableHistogram("job");
+        MetricHandle handle = store.handle("job:scan");
+        handle.stop(handle.start());
+        String text = render(exporter);
+        yes(text.contains("# TYPE job_duration_seconds summary\n"));
+        yes(text.contains("job_duration_seconds{depth=\"1\",l1=\"scan\",quantile=\"0.99\"} "));
+        yes(text.contains("job_duration_seconds_count{depth=\"1\",l1=\"scan\"} 1\n"));
+        yes(text.contains("job_duration_seconds_sum{depth=\"1\",l1=\"scan\"} "));
+    }
+
+    @Test
+    public void familyLinesShallBeGrouped() {
+        store.countOnce("a:x");
+        store.countOnce("b:x");
+        store.countOnce("a:y");
+        String text = render(exporter);
+        int a = text.indexOf("# TYPE a_count_total");
+        int b = text.indexOf("# TYPE b_count_total");
+        yes(a < b);
+        yes(text.indexOf("l1=\"y\"") < b);
+    }
+
+    @Test
+    public void labelValueShallBeEscaped() {
+        store.countOnce("a:say \"hi\"");
+        yes(render(exporter).contains("l1=\"say \\\"hi\\\"\""));
+    }
+
+    @Test
+    public void familyNameShallBeSanitized() {
+        eq("act", PrometheusExporter.sanitize("act"));
+        eq("my_app", PrometheusExporter.sanitize("my.app"));
+        eq("_1st", PrometheusExporter.sanitize("1st"));
+    }
+
+    @Test
+    public void storeWithoutVisitorSupportShallBeAdapted() {
+        final MetricStore.Base delegate = store;
+        MetricStore plain = new MetricStore() {
+            @Override
+            public void countOnce(String name) {
+                delegate.countOnce(name);
+            }
+
+            @Override
+            public void onTimerStart(String name) {
+                delegate.onTimerStart(name);
+            }
+
+            @Override
+            public void onTimerStop(Timer timer) {
+                delegate.onTimerStop(timer);
+            }
+
+            @Override
+            public Long count(String name) {
+                return delegate.count(name);
+            }
+
+            @Override
+            public Long ns(String name) {
+                return delegate.ns(name);
+            }
+
+            @Override
+            public List<MetricInfo> counters() {
+                return delegate.counters();
+            }
+
+            @Override
+            public List<MetricInfo> timers() {
+                return delegate.timers();
+            }
+
+            @Override
+            public void clear() {
+                delegate.clear();
+            }
+        };
+        MetricHandle handle = MetricStore.Base.of(plain).handle("job:scan");
+        handle.stop(handle.start());
+        String text = render(new PrometheusExporter(plain));
+        yes(text.contains("job_count_total{depth=\"1\",l1=\"scan\"} 1\n"));
+        yes(text.contains("job_duration_seconds{depth=\"1\",l1=\"scan\",quantile=\"0.5\"} NaN\n"));
+        yes(text.contains("job_duration_seconds_count{depth=\"1\",l1=\"scan\"} 1\n"));
+    }
+
+    private static String render(PrometheusExporter exporter) {
+        StringWriter writer = new StringWriter();
+        try {
+            exporter.render(writer);
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+        return writer.toString();
+    }
+
+}
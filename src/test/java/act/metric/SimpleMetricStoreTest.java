@@ -3,6 +3,9 @@ package act.metric;
 import act.TestBase;
 import org.junit.Before;
 import org.junit.Test;
+import org.osgl.util.S;
+
+import java.util.List;
 
 public class SimpleMetricStoreTest extends TestBase {
     private SimpleMetricStore store;
@@ -33,4 +36,91 @@ public class SimpleMetricStoreTest extends TestBase {
         eq(2L, store.count("a:x"));
         eq(4L, store.count("a"));
     }
+
+    @Test
+    public void handleShallAggregateToParent() {
+        MetricHandle h1 = store.handle("a:b:c");
+        MetricHandle h2 = store.handle("a:b:d");
+        same(h1, store.handle("a:b:c"));
+        h1.countOnce();
+        h2.stop(h2.start());
+        eq(1L, store.count("a:b:c"));
+        eq(1L, store.count("a:b:d"));
+        eq(2L, store.count("a:b"));
+        eq(2L, store.count("a"));
+        eq(3, store.timers().size());
+    }
+
+    @Test
+    public void handleShallKeepWorkingAfterClear() {
+        MetricHandle handle = store.handle("a:b");
+        handle.countOnce();
+        store.clear();
+        assertNull(store.count("a:b"));
+        handle.countOnce();
+        eq(1L, store.count("a:b"));
+        eq(1L, store.count("a"));
+    }
+
+    @Test
+    public void timerShallRecordLatencyPercentilesToParent() {
+        store.enableHistogram("a");
+        store.onTimerStop(timer("a:b", 10 * 1000 * 1000));
+        store.onTimerStop(timer("a:c", 20 * 1000 * 1000));
+        List<MetricInfo> list = store.timers(1);
+        eq(3, list.size());
+        for (MetricInfo info : list) {
+            if ("a".equals(info.getName())) {
+                eq(2L, info.getCount());
+                yes(S.notBlank(info.getP99()));
+                return;
+            }
+        }
+        fail("timer a not found");
+    }
+
+    @Test
+    public void recordShallCountWithTime() {
+        store.handle("a:b").record(10 * 1000 * 1000);
+        eq(1L, store.count("a:b"));
+        eq(1L, store.count("a"));
+        List<MetricInfo> list = store.timers();
+        eq(2, list.size());
+        for (MetricInfo info : list) {
+            eq(1L, info.getCount());
+        }
+    }
+
+    @Test
+    public void histogramShallBeRecordedForEnabledFamiliesOnly() {
+        store.onTimerStop(timer("a:b", 10 * 1000 * 1000));
+        store.onTimerStop(timer("ab:c", 10 * 1000 * 1000));
+        store.onTimerStop(timer(MetricInfo.ROUTING, 10 * 1000 * 1000));
+        store.enableHistogram("a");
+        store.onTimerStop(timer("a:b", 10 * 1000 * 1000));
+        List<MetricInfo> list = store.timers(1);
+        eq(3, list.size());
+        for (MetricInfo info : list) {
+            yes(info.getName().equals("a") || info.getName().equals("a:b") || info.getName().equals(MetricInfo.ROUTING), info.getName());
+            eq(1L, info.getCount());
+        }
+    }
+
+    private static Timer timer(final String name, final long ns) {
+        return new Timer() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public void stop() {
+            }
+
+            @Override
+            public long ns() {
+                return ns;
+            }
+        };
+    }
 }
@@ -4,6 +4,7 @@ import act.app.App;
 import act.conf.AppConfig;
 import act.controller.ParamNames;
 import act.handler.RequestHandler;
+import act.handler.builtin.AlwaysBadRequest;
 import act.handler.builtin.AlwaysNotFound;
 import act.handler.builtin.StaticFileGetter;
 import org.junit.Before;
@@ -18,6 +19,7 @@ import java.util.Map;
 import java.util.Properties;
 
 import static act.route.RouteSource.*;
+import static org.mockito.Matchers.anyInt;
 import static org.osgl.http.H.Method.GET;
 
 public class RouterTest extends RouterTestBase {
@@ -160,4 +162,60 @@ public class RouterTest extends RouterTestBase {
         eq(router.reverseRoute("Foo.bar", C.<String, Object>map("fooId", 1, "barId", 3)), "/foo/1/bar/3");
     }
 
+    @Test
+    public void searchDynamicUrlWithCompiledTable() {
+        router.addMapping(GET, "/svc/{<[0-9]{4}>id}", controller);
+        int[] slots = compiled();
+        router.getInvoker(GET, "/svc/1234/", ctx).handle(ctx);
+        controllerInvoked();
+        Mockito.verify(ctx).pathVars("/svc/1234/", new String[]{"id"}, slots);
+        eq(5, slots[1]);
+        eq(9, slots[2]);
+    }
+
+    @Test
+    public void compiledTableShallRejectBadDynamicPart() {
+        router.addMapping(GET, "/svc/{<[0-9]{4}>id}", controller);
+        compiled();
+        same(AlwaysBadRequest.INSTANCE, router.getInvoker(GET, "/svc/abc", ctx));
+    }
+
+    @Test
+    public void regexDynamicPartShallBeMatchedBeforeUnconstrainedOne() {
+        RequestHandler byName = Mockito.mock(NamedMockHandler.class);
+        router.addMapping(GET, "/foo/{name}", byName);
+        router.addMapping(GET, "/foo/{<[0-9]+>id}", controller);
+        int[] slots = compiled();
+        same(controller, router.getInvoker(GET, "/foo/123", ctx));
+        Mockito.verify(ctx).pathVars("/foo/123", new String[]{"id"}, slots);
+        same(byName, router.getInvoker(GET, "/foo/abc", ctx));
+        Mockito.verify(ctx).pathVars("/foo/abc", new String[]{"name"}, slots);
+    }
+
+    @Test
+    public void compiledTableShallTryNextBranchWhenStaticBranchFailed() {
+        RequestHandler other = Mockito.mock(NamedMockHandler.class);
+        router.addMapping(GET, "/foo/bar/y", other);
+        router.addMapping(GET, "/foo/{id}/x", controller);
+        compiled();
+        same(controller, router.getInvoker(GET, "/foo/bar/x", ctx));
+        same(other, router.getInvoker(GET, "/foo/bar/y", ctx));
+    }
+
+    @Test
+    public void searchPartialUrlWithCompiledTable() {
+        router.addMapping(GET, "/public", staticDirHandler);
+        compiled();
+        router.getInvoker(GET, "/public/foo//bar.txt?x=1", ctx).handle(ctx);
+        Mockito.verify(staticDirHandler).handle(ctx);
+        Mockito.verify(ctx).param(ParamNames.PATH, "/foo/bar.txt");
+    }
+
+    private int[] compiled() {
+        router.freeze();
+        int[] slots = new int[16];
+        Mockito.when(ctx.pathVarSlots(anyInt())).thenReturn(slots);
+        return slots;
+    }
+
 }
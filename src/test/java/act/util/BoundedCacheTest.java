@@ -0,0 +1,27 @@
+package act.util;
+
+import act.TestBase;
+import org.junit.Test;
+
+public class BoundedCacheTest extends TestBase {
+
+    @Test
+    public void cacheShallBeResetOnceFull() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(2);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.put("a", 3);
+        eq(2, cache.size());
+        eq(3, cache.get("a"));
+        cache.put("c", 4);
+        eq(1, cache.size());
+        eq(null, cache.get("a"));
+        eq(4, cache.get("c"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void maxSizeShallBePositive() {
+        new BoundedCache<String, Integer>(0);
+    }
+
+}
@@ -1,6 +1,7 @@
 package act.util;
 
 import act.TestBase;
+import act.app.ActionContext;
 import act.app.App;
 import act.app.util.AppCrypto;
 import act.conf.AppConfig;
@@ -8,6 +9,9 @@ import org.junit.Before;
 import org.junit.Test;
 import org.osgl.http.H;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import static org.mockito.Mockito.*;
 
 /**
@@ -25,6 +29,7 @@ public class SessionManagerTest extends TestBase {
     public void prepare() {
         config = mock(AppConfig.class);
         when(config.secret()).thenReturn("secret");
+        when(config.sessionCookieName()).thenReturn("act_session");
         crypto = new AppCrypto(config);
         app = mock(App.class);
         when(app.config()).thenReturn(config);
@@ -67,4 +72,169 @@ public class SessionManagerTest extends TestBase {
         eq("bar", session1.get("foo"));
     }
 
+    @Test
+    public void serverSideSessionIdShallBeSigned() {
+        SessionManager.ServerSideResolver resolver = new SessionManager.ServerSideResolver(app, new MapStore());
+        String content = resolver.cookieContent("abc-123");
+        eq("abc-123", resolver.sessionId(content));
+        isNull(resolver.sessionId(content.replace("abc", "abd")));
+        isNull(resolver.sessionId("abc"));
+    }
+
+    @Test
+    public void newServerSideSessionShallBeSaved() {
+        MapStore store = new MapStore();
+        SessionManager.ServerSideResolver resolver = new SessionManager.ServerSideResolver(app, store);
+        ActionContext ctx = mock(ActionContext.class);
+        when(ctx.session()).thenReturn(session);
+        H.Cookie cookie = resolver.dissolveSession(ctx);
+        String id = session.id();
+        eq(resolver.cookieContent(id), cookie.value());
+        eq("bar", store.data.get(id).get("foo"));
+        eq(1, store.saves);
+    }
+
+    @Test
+    public void unchangedServerSideSessionShallNotBeSaved() {
+        when(config.sessionTtl()).thenReturn(1800);
+        MapStore store = new MapStore();
+        SessionManager.ServerSideResolver resolver = new SessionManager.ServerSideResolver(app, store);
+        H.Session session = new H.Session();
+        session.load(H.Session.KEY_ID, "abc");
+        session.load("foo", "bar");
+        ActionContext ctx = mock(ActionContext.class);
+        when(ctx.session()).thenReturn(session);
+        when(ctx.<String>attribute(SessionManager.ServerSideResolver.ATTR_SAVED)).thenReturn(String.valueOf(System.currentTimeMillis()));
+        when(ctx.<String>attribute(SessionManager.ServerSideResolver.ATTR_SESSION_ID)).thenReturn("abc");
+        isNull(resolver.dissolveSession(ctx));
+        eq(0, store.saves);
+    }
+
+    @Test
+    public void serverSideSessionShallBeSavedToExtendExpiration() {
+        when(config.sessionTtl()).thenReturn(1800);
+        MapStore store = new MapStore();
+        SessionManager.ServerSideResolver resolver = new SessionManager.ServerSideResolver(app, store);
+        H.Session session = new H.Session();
+        session.load(H.Session.KEY_ID, "abc");
+        ActionContext ctx = mock(ActionContext.class);
+        when(ctx.session()).thenReturn(session);
+        when(ctx.<String>attribute(SessionManager.ServerSideResolver.ATTR_SAVED)).thenReturn(String.valueOf(System.currentTimeMillis() - 1000 * 1000));
+        when(ctx.<String>attribute(SessionManager.ServerSideResolver.ATTR_SESSION_ID)).thenReturn("abc");
+        isNull(resolver.dissolveSession(ctx));
+        eq(1, store.saves);
+    }
+
+    @Test
+    public void savedTimestampShallBeKeptOutOfSession() {
+        MapStore store = new MapStore();
+        Map<String, String> data = new HashMap<>();
+        data.put("foo", "bar");
+        data.put(SessionStore.KEY_SAVED, "1000");
+        store.data.put("abc", data);
+        SessionMapper mapper = mock(SessionMapper.class);
+        when(config.sessionMapper()).thenReturn(mapper);
+        SessionManager.ServerSideResolver resolver = new SessionManager.ServerSideResolver(app, store);
+        String content = resolver.cookieContent("abc");
+        ActionContext ctx = mock(ActionContext.class);
+        when(mapper.deserializeSession(ctx)).thenReturn(content);
+        H.Session session = resolver.resolveSession(ctx);
+        eq("bar", session.get("foo"));
+        no(session.keySet().contains(SessionStore.KEY_SAVED));
+        verify(ctx).attribute(SessionManager.ServerSideResolver.ATTR_SAVED, "1000");
+    }
+
+    @Test
+    public void clearedServerSideSessionShallBeRemoved() {
+        MapStore store = new MapStore();
+        store.data.put("abc", new HashMap<String, String>());
+        SessionManager.ServerSideResolver resolver = new SessionManager.ServerSideResolver(app, store);
+        ActionContext ctx = mock(ActionContext.class);
+        when(ctx.session()).thenReturn(new H.Session());
+        when(ctx.<String>attribute(SessionManager.ServerSideResolver.ATTR_SESSION_ID)).thenReturn("abc");
+        eq("", resolver.dissolveSession(ctx).value());
+        no(store.data.containsKey("abc"));
+    }
+
+    @Test
+    public void verifiedCookieShallBeRemembered() {
+        when(config.sessionCookieCacheSize()).thenReturn(10);
+        resolver = new SessionManager.CookieResolver(app);
+        String content = resolver.dissolveIntoCookieContent(session, true);
+        // signing no longer works, but the cookie is known to be valid
+        doReturn("x").when(app).sign(anyString());
+        H.Session session1 = new H.Session();
+        resolver.resolveFromCookieContent(session1, content, true);
+        eq("bar", session1.get("foo"));
+        no(session1.changed());
+        H.Session session2 = new H.Session();
+        resolver.resolveFromCookieContent(session2, content.replace("bar", "baz"), true);
+        isNull(session2.get("foo"));
+    }
+
+    @Test
+    public void removingSessionKeyShallBeTreatedAsChange() {
+        H.Session session = new H.Session();
+        session.load("foo", "bar");
+        ActionContext ctx = mock(ActionContext.class);
+        when(ctx.<Integer>attribute(SessionManager.CookieResolver.ATTR_RESOLVED_SIZE)).thenReturn(1);
+        no(resolver.changed(session, ctx));
+        session.remove("foo");
+        yes(resolver.changed(session, ctx));
+    }
+
+    @Test
+    public void expirationShallNotBeRefreshedBeforeThreshold() {
+        long now = System.currentTimeMillis();
+        H.Session recent = resolveWithExpiration(now + 1790 * 1000L);
+        no(recent.changed());
+        H.Session old = resolveWithExpiration(now + 100 * 1000L);
+        yes(old.changed());
+        yes(Long.parseLong(old.get(H.Session.KEY_EXPIRATION)) > now + 1700 * 1000L);
+    }
+
+    private H.Session resolveWithExpiration(long expiration) {
+        when(config.sessionTtl()).thenReturn(1800);
+        when(config.sessionTtlRefreshFraction()).thenReturn(0.1);
+        SessionMapper mapper = mock(SessionMapper.class);
+        when(config.sessionMapper()).thenReturn(mapper);
+        resolver = new SessionManager.CookieResolver(app);
+        H.Session session = new H.Session();
+        session.put("foo", "bar");
+        session.put(H.Session.KEY_EXPIRATION, expiration);
+        session.id();
+        String content = resolver.dissolveIntoCookieContent(session, true);
+        ActionContext ctx = mock(ActionContext.class);
+        H.Request req = mock(H.Request.class);
+        when(ctx.req()).thenReturn(req);
+        when(req.url()).thenReturn("/");
+        when(mapper.deserializeSession(ctx)).thenReturn(content);
+        return resolver.resolveSession(ctx);
+    }
+
+    private static void isNull(Object o) {
+        assertNull(o);
+    }
+
+    static class MapStore implements SessionStore {
+        Map<String, Map<String, String>> data = new HashMap<>();
+        int saves;
+
+        @Override
+        public Map<String, String> load(String id) {
+            return data.get(id);
+        }
+
+        @Override
+        public void save(String id, Map<String, String> data, int ttl) {
+            saves++;
+            this.data.put(id, data);
+        }
+
+        @Override
+        public void remove(String id) {
+            data.remove(id);
+        }
+    }
+
 }
@@ -0,0 +1,103 @@
+package act.util;
+
+import act.TestBase;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class SessionStoreTest extends TestBase {
+
+    private CountingStore backing;
+    private SessionStore.LocalCache cache;
+
+    @Before
+    public void prepare() {
+        backing = new CountingStore();
+        cache = new SessionStore.LocalCache(backing, 10, 60);
+    }
+
+    @Test
+    public void loadShallBeServedFromLocalCache() {
+        cache.save("a", data("foo", "bar"), 60);
+        eq("bar", cache.load("a").get("foo"));
+        eq("bar", cache.load("a").get("foo"));
+        eq(0, backing.loads);
+    }
+
+    @Test
+    public void missedSessionShallBeLoadedFromBackingStore() {
+        backing.save("a", data("foo", "bar"), 60);
+        eq("bar", cache.load("a").get("foo"));
+        eq("bar", cache.load("a").get("foo"));
+        eq(1, backing.loads);
+    }
+
+    @Test
+    public void removeShallRemoveFromBackingStore() {
+        cache.save("a", data("foo", "bar"), 60);
+        cache.remove("a");
+        assertNull(cache.load("a"));
+        assertNull(backing.load("a"));
+    }
+
+    @Test
+    public void cacheShallBeBounded() {
+        for (int i = 0; i < 25; ++i) {
+            cache.save("s" + i, data("i", "" + i), 60);
+        }
+        yes(cache.size() <= 10);
+        eq("3", cache.load("s3").get("i"));
+    }
+
+    @Test
+    public void leastRecentlyUsedSessionShallBeEvicted() {
+        for (int i = 0; i < 10; ++i) {
+            cache.save("s" + i, data("i", "" + i), 60);
+        }
+        cache.load("s0");
+        cache.save("s10", data("i", "10"), 60);
+        cache.load("s0");
+        eq(0, backing.loads);
+        cache.load("s1");
+        eq(1, backing.loads);
+    }
+
+    @Test
+    public void sessionLoadedFromBackingStoreShallExpireWithIt() {
+        Map<String, String> data = data("foo", "bar");
+        data.put(SessionStore.KEY_SAVED, String.valueOf(System.currentTimeMillis() - 61 * 1000L));
+        backing.save("a", data, 60);
+        cache.load("a");
+        cache.load("a");
+        eq(2, backing.loads);
+    }
+
+    private static Map<String, String> data(String key, String val) {
+        Map<String, String> map = new HashMap<>();
+        map.put(key, val);
+        return map;
+    }
+
+    private static class CountingStore implements SessionStore {
+        Map<String, Map<String, String>> data = new HashMap<>();
+        int loads;
+
+        @Override
+        public Map<String, String> load(String id) {
+            loads++;
+            return data.get(id);
+        }
+
+        @Override
+        public void save(String id, Map<String, String> data, int ttl) {
+            this.data.put(id, data);
+        }
+
+        @Override
+        public void remove(String id) {
+            data.remove(id);
+        }
+    }
+}
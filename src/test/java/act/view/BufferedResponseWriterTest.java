@@ -0,0 +1,116 @@
+package act.view;
+
+import act.ResponseImplBase;
+import act.TestBase;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.osgl.http.H;
+import org.osgl.util.S;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.*;
+
+public class BufferedResponseWriterTest extends TestBase {
+
+    private H.Response response;
+    private ByteArrayOutputStream out;
+
+    @Before
+    public void prepare() {
+        response = mock(H.Response.class);
+        out = new ByteArrayOutputStream();
+        when(response.characterEncoding()).thenReturn("UTF-8");
+        when(response.outputStream()).thenReturn(out);
+    }
+
+    @Test
+    public void contentFitsInBufferShallBeSentOnCloseWithContentLength() throws Exception {
+        Writer writer = BufferedResponseWriter.of(response, 64);
+        writer.write("héllo");
+        writer.write(' ');
+        writer.write("world".toCharArray());
+        verify(response, never()).writeContent(any(ByteBuffer.class));
+        writer.close();
+        String sent = sent(response);
+        eq("héllo world", sent);
+        verify(response).contentLength(sent.getBytes("UTF-8").length);
+        verify(response, never()).outputStream();
+    }
+
+    @Test
+    public void contentExceedsThresholdOnIoThreadShallBeSentOnClose() throws Exception {
+        ResponseImplBase ioResponse = mock(ResponseImplBase.class);
+        when(ioResponse.characterEncoding()).thenReturn("UTF-8");
+        when(ioResponse.blockingAllowed()).thenReturn(false);
+        String content = S.times("a😀é", 1000);
+        Writer writer = BufferedResponseWriter.of(ioResponse, 7);
+        writer.write(content);
+        writer.close();
+        eq(content, sent(ioResponse));
+        verify(ioResponse).contentLength(content.getBytes("UTF-8").length);
+        verify(ioResponse, never()).outputStream();
+    }
+
+    @Test
+    public void contentExceedsThresholdShallBeFlushedIncrementally() throws Exception {
+        // the surrogate pairs are split at the buffer boundaries
+        String content = S.times("a😀é", 1000);
+        Writer writer = BufferedResponseWriter.of(response, 7);
+        writer.write(content);
+        yes(out.size() > 0);
+        writer.close();
+        eq(content, out.toString("UTF-8"));
+        verify(response, never()).contentLength(anyLong());
+    }
+
+    @Test
+    public void nestedWritersShallNotShareBuffers() throws Exception {
+        Writer outer = BufferedResponseWriter.of(response, 16);
+        outer.write("outer");
+        H.Response inner = mock(H.Response.class);
+        Writer innerWriter = BufferedResponseWriter.of(inner, 16);
+        innerWriter.write("inner");
+        innerWriter.close();
+        outer.close();
+        eq("outer", sent(response));
+        eq("inner", sent(inner));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void flushThresholdShallFitSurrogatePair() {
+        BufferedResponseWriter.of(response, 1);
+    }
+
+    @Test
+    public void surrogatePairShallBeWrittenWithMinimumThreshold() throws Exception {
+        String content = S.times("😀", 10);
+        Writer writer = BufferedResponseWriter.of(response, 2);
+        writer.write(content);
+        for (char c : content.toCharArray()) {
+            writer.write(c);
+        }
+        writer.close();
+        eq(content + content, out.toString("UTF-8"));
+    }
+
+    private static String sent(H.Response response) throws Exception {
+        ArgumentCaptor<ByteBuffer> captor = ArgumentCaptor.forClass(ByteBuffer.class);
+        verify(response).writeContent(captor.capture());
+        ByteBuffer buffer = captor.getValue();
+        return new String(buffer.array(), buffer.position(), buffer.remaining(), "UTF-8");
+    }
+
+    @Test(expected = java.io.IOException.class)
+    public void writeAfterCloseShallFail() throws Exception {
+        Writer writer = BufferedResponseWriter.of(response, 16);
+        writer.close();
+        writer.write("x");
+    }
+
+}
@@ -0,0 +1,96 @@
+package act.view;
+
+import act.TestBase;
+import act.event.ActEventListener;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Matchers;
+import org.osgl.$;
+import org.osgl.cache.CacheService;
+import org.osgl.cache.CacheServiceProvider;
+
+import java.util.Locale;
+
+import static org.mockito.Mockito.verify;
+
+public class FragmentCacheTest extends TestBase {
+
+    private CacheService cacheService;
+    private FragmentCache cache;
+    private Renderer renderer;
+
+    @Before
+    public void prepare() throws Exception {
+        super.setup();
+        cacheService = CacheServiceProvider.Impl.Simple.get();
+        cacheService.clear();
+        cache = new FragmentCache(mockApp, cacheService);
+        renderer = new Renderer();
+    }
+
+    @Test
+    public void fragmentShallBeRenderedOnce() {
+        eq("content1", cache.get("sidebar", Locale.ENGLISH, 60, renderer, "u1"));
+        eq("content1", cache.get("sidebar", Locale.ENGLISH, 60, renderer, "u1"));
+        eq(1, renderer.count);
+    }
+
+    @Test
+    public void keysAndLocaleShallBePartOfCacheKey() {
+        eq("content1", cache.get("sidebar", Locale.ENGLISH, 60, renderer, "u1"));
+        eq("content2", cache.get("sidebar", Locale.ENGLISH, 60, renderer, "u2"));
+        eq("content3", cache.get("sidebar", Locale.CHINESE, 60, renderer, "u1"));
+        eq("content4", cache.get("menu", Locale.ENGLISH, 60, renderer, "u1"));
+    }
+
+    @Test
+    public void evictByKeysShallEvictAllLocales() {
+        cache.get("sidebar", Locale.ENGLISH, 60, renderer, "u1");
+        cache.get("sidebar", Locale.CHINESE, 60, renderer, "u1");
+        cache.get("sidebar", Locale.ENGLISH, 60, renderer, "u2");
+        cache.evict("sidebar", "u1");
+        eq("content4", cache.get("sidebar", Locale.ENGLISH, 60, renderer, "u1"));
+        eq("content5", cache.get("sidebar", Locale.CHINESE, 60, renderer, "u1"));
+        eq("content3", cache.get("sidebar", Locale.ENGLISH, 60, renderer, "u2"));
+    }
+
+    @Test
+    public void evictByNameShallEvictAllFragmentsOfTheName() {
+        cache.get("sidebar", Locale.ENGLISH, 60, renderer, "u1");
+        cache.get("menu", Locale.ENGLISH, 60, renderer, "u1");
+        cache.evict("sidebar");
+        eq("content3", cache.get("sidebar", Locale.ENGLISH, 60, renderer, "u1"));
+        eq("content2", cache.get("menu", Locale.ENGLISH, 60, renderer, "u1"));
+    }
+
+    @Test
+    public void evictByNameShallApplyToCacheSharedByOtherInstances() {
+        FragmentCache other = new FragmentCache(mockApp, cacheService);
+        cache.get("sidebar", Locale.ENGLISH, 60, renderer, "u1");
+        eq("content1", other.get("sidebar", Locale.ENGLISH, 60, renderer, "u1"));
+        other.evict("sidebar");
+        eq("content2", cache.get("sidebar", Locale.ENGLISH, 60, renderer, "u1"));
+        eq("content2", new FragmentCache(mockApp, cacheService).get("sidebar", Locale.ENGLISH, 60, renderer, "u1"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void evictEventShallEvictFragments() throws Exception {
+        ArgumentCaptor<ActEventListener> captor = ArgumentCaptor.forClass(ActEventListener.class);
+        verify(mockEventBus).bind(Matchers.eq(FragmentCache.EvictEvent.class), captor.capture());
+        cache.get("sidebar", Locale.ENGLISH, 60, renderer, "u1");
+        captor.getValue().on(new FragmentCache.EvictEvent("sidebar", "u1"));
+        eq("content2", cache.get("sidebar", Locale.ENGLISH, 60, renderer, "u1"));
+    }
+
+    private static class Renderer extends $.F0<String> {
+        int count;
+
+        @Override
+        public String apply() {
+            return "content" + ++count;
+        }
+    }
+
+}
@@ -0,0 +1,130 @@
+package act.view;
+
+import act.BenchmarkBase;
+import act.cli.view.CliView;
+import act.data.DataPropertyRepository;
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import org.junit.Before;
+import org.junit.Test;
+import testapp.model.Address;
+import testapp.model.Person;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.Iterator;
+
+import static org.mockito.Mockito.when;
+
+/**
+ * Compare exporting 1M rows through the streaming results with
+ * rendering the whole payload into a String first. The rows are
+ * generated on the fly as a database cursor does.
+ *
+ * Besides the time reported by the benchmark rule, each test prints
+ * the peak heap usage of its last round.
+ */
+public class StreamRenderBenchmark extends BenchmarkBase {
+
+    private static final int ROWS = 1000 * 1000;
+
+    @Before
+    public void prepare() throws Exception {
+        super.setup();
+        DataPropertyRepository repo = new DataPropertyRepository(mockApp);
+        when(mockApp.service(DataPropertyRepository.class)).thenReturn(repo);
+        System.gc();
+        resetPeakHeap();
+    }
+
+    @Test
+    @BenchmarkOptions(warmupRounds = 1, benchmarkRounds = 3, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void streamCsv() throws Exception {
+        new StreamRenderCSV(rows(), null, mockActionContext).render(rows().iterator(), new NullWriter());
+        printPeakHeap("streamCsv");
+    }
+
+    @Test
+    @BenchmarkOptions(warmupRounds = 1, benchmarkRounds = 3, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void stringCsv() throws Exception {
+        new NullWriter().write(CliView.CSV.render(rows(), null, mockActionContext));
+        printPeakHeap("stringCsv");
+    }
+
+    @Test
+    @BenchmarkOptions(warmupRounds = 1, benchmarkRounds = 3, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void streamJson() throws Exception {
+        new StreamRenderJSON(rows(), null, mockActionContext).render(rows().iterator(), new NullWriter());
+        printPeakHeap("streamJson");
+    }
+
+    @Test
+    @BenchmarkOptions(warmupRounds = 1, benchmarkRounds = 3, concurrency = BenchmarkOptions.CONCURRENCY_SEQUENTIAL)
+    public void stringJson() throws Exception {
+        new NullWriter().write(CliView.JSON.render(rows(), null, mockActionContext));
+        printPeakHeap("stringJson");
+    }
+
+    private static Iterable<Person> rows() {
+        return new Iterable<Person>() {
+            @Override
+            public Iterator<Person> iterator() {
+                return new Iterator<Person>() {
+                    int i;
+
+                    @Override
+                    public boolean hasNext() {
+                        return i < ROWS;
+                    }
+
+                    @Override
+                    public Person next() {
+                        i++;
+                        return new Person("first" + i, "last" + i, new Address(String.valueOf(i), "King St", "Sydney"), i % 100);
+                    }
+
+                    @Override
+                    public void remove() {
+                        throw new UnsupportedOperationException();
+                    }
+                };
+            }
+        };
+    }
+
+    private static void resetPeakHeap() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (MemoryType.HEAP == pool.getType()) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    private static void printPeakHeap(String test) {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (MemoryType.HEAP == pool.getType()) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        println("%s peak heap: %sMB", test, peak / 1024 / 1024);
+        resetPeakHeap();
+    }
+
+    private static class NullWriter extends Writer {
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+        }
+
+        @Override
+        public void flush() throws IOException {
+        }
+
+        @Override
+        public void close() throws IOException {
+        }
+    }
+
+}
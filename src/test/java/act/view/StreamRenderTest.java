@@ -0,0 +1,91 @@
+package act.view;
+
+import act.TestBase;
+import act.cli.view.CliView;
+import act.data.DataPropertyRepository;
+import act.util.PropertySpec;
+import org.junit.Before;
+import org.junit.Test;
+import org.osgl.util.C;
+import testapp.model.Address;
+import testapp.model.Person;
+
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+
+public class StreamRenderTest extends TestBase {
+
+    private List<Person> people;
+
+    @Before
+    public void prepare() throws Exception {
+        super.setup();
+        DataPropertyRepository repo = new DataPropertyRepository(mockApp);
+        when(mockApp.service(DataPropertyRepository.class)).thenReturn(repo);
+        people = C.list(
+                new Person("John", "Smith", new Address("1", "King St", "Sydney"), 30),
+                new Person("Jane", "Doe, Jr", null, 25));
+    }
+
+    @Test
+    public void jsonShallMatchFilteredRender() throws Exception {
+        eq(CliView.JSON.render(people, null, mockActionContext), json(people, null));
+        PropertySpec.MetaInfo spec = spec("-address,age");
+        String json = json(people, spec);
+        eq(CliView.JSON.render(people, spec, mockActionContext), json);
+        no(json.contains("address"));
+    }
+
+    @Test
+    public void emptyJson() throws Exception {
+        eq("[]", json(C.<Person>list(), null));
+    }
+
+    @Test
+    public void csvShallMatchFilteredRender() throws Exception {
+        PropertySpec.MetaInfo spec = spec("firstName,lastName,address.city");
+        eq(CliView.CSV.render(people, spec, mockActionContext), csv(people, spec));
+        eq(CliView.CSV.render(people, null, mockActionContext), csv(people, null));
+    }
+
+    @Test
+    public void csvShallSkipNullElementsToFindOutputFields() throws Exception {
+        PropertySpec.MetaInfo spec = spec("firstName,lastName");
+        List<Person> data = C.newList();
+        data.add(null);
+        data.addAll(people);
+        data.add(null);
+        String csv = csv(data, spec);
+        String[] lines = csv.split("\\r?\\n");
+        eq(5, lines.length);
+        eq(",", lines[1]);
+        eq("John,Smith", lines[2]);
+        yes(csv.endsWith(","));
+    }
+
+    @Test
+    public void emptyCsv() throws Exception {
+        eq("no data", csv(C.<Person>list(), null));
+    }
+
+    private String json(Iterable<Person> data, PropertySpec.MetaInfo spec) throws Exception {
+        StringWriter writer = new StringWriter();
+        new StreamRenderJSON(data, spec, mockActionContext).render(data.iterator(), writer);
+        return writer.toString();
+    }
+
+    private String csv(Iterable<Person> data, PropertySpec.MetaInfo spec) throws Exception {
+        StringWriter writer = new StringWriter();
+        new StreamRenderCSV(data, spec, mockActionContext).render(data.iterator(), writer);
+        return writer.toString();
+    }
+
+    private static PropertySpec.MetaInfo spec(String value) {
+        PropertySpec.MetaInfo spec = new PropertySpec.MetaInfo();
+        spec.onValue(value);
+        return spec;
+    }
+
+}
@@ -0,0 +1,93 @@
+package act.view;
+
+import act.TestBase;
+import act.util.ActContext;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.osgl.http.H;
+import org.osgl.util.C;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class TemplatePrecompilerTest extends TestBase {
+
+    private ViewManager viewManager;
+    private TemplatePrecompiler precompiler;
+
+    @Before
+    public void prepare() throws Exception {
+        super.setup();
+        viewManager = mock(ViewManager.class);
+        precompiler = new TemplatePrecompiler(mockApp, viewManager);
+    }
+
+    @Test
+    public void contextShallResolveTemplatePathOfAction() {
+        TemplatePathResolver resolver = new TemplatePathResolver();
+        eq("com/x/Foo/bar.html", resolver.resolve(new TemplatePrecompiler.Context(mockApp, "com.x.Foo.bar", H.Format.HTML)));
+        eq("com/x/Foo/bar.json", resolver.resolve(new TemplatePrecompiler.Context(mockApp, "com.x.Foo.bar", H.Format.JSON)));
+    }
+
+    @Test
+    public void templateSharedByActionsShallBeCompiledOnce() {
+        final Template shared = new MockTemplate();
+        when(viewManager.load(any(ActContext.class))).thenAnswer(new Answer<Template>() {
+            @Override
+            public Template answer(InvocationOnMock invocation) throws Throwable {
+                ActContext context = (ActContext) invocation.getArguments()[0];
+                if (context.methodPath().endsWith("broken")) {
+                    throw new IllegalStateException("broken");
+                }
+                return H.Format.HTML == context.accept() ? shared : null;
+            }
+        });
+        Map<String, Throwable> failures = new LinkedHashMap<>();
+        Map<TemplateBase, String> templates = precompiler.discover(C.list("com.x.Foo.bar", "com.x.Foo.baz", "com.x.Foo.broken"), failures);
+        eq(1, templates.size());
+        eq("com.x.Foo.bar[html]", templates.get(shared));
+        yes(failures.containsKey("com.x.Foo.broken[html]"));
+    }
+
+    @Test
+    public void compileFailuresShallBeReported() {
+        MockTemplate ok1 = new MockTemplate();
+        MockTemplate ok2 = new MockTemplate();
+        MockTemplate bad = new MockTemplate();
+        bad.error = new IllegalStateException("syntax error");
+        Map<TemplateBase, String> templates = new LinkedHashMap<>();
+        templates.put(ok1, "ok1");
+        templates.put(bad, "bad");
+        templates.put(ok2, "ok2");
+        Map<String, Throwable> failures = precompiler.compile(templates);
+        yes(ok1.compiled);
+        yes(ok2.compiled);
+        eq(1, failures.size());
+        same(bad.error, failures.get("bad"));
+    }
+
+    private static class MockTemplate extends TemplateBase {
+        volatile boolean compiled;
+        RuntimeException error;
+
+        @Override
+        protected void precompile() {
+            if (null != error) {
+                throw error;
+            }
+            compiled = true;
+        }
+
+        @Override
+        protected String render(Map<String, Object> renderArgs) {
+            return "";
+        }
+    }
+
+}
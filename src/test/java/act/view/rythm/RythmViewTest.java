@@ -0,0 +1,40 @@
+package act.view.rythm;
+
+import act.TestBase;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.osgl.util.IO;
+
+import java.io.File;
+
+public class RythmViewTest extends TestBase {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void fingerprintShallNotDependOnLocationAndTimestamp() throws Exception {
+        File deploy1 = deploy("deploy1", "@args String who\nHello @who");
+        File deploy2 = deploy("deploy2", "@args String who\nHello @who");
+        new File(deploy2, "app/index.html").setLastModified(1000L);
+        eq(RythmView.fingerprint("1.0", deploy1), RythmView.fingerprint("1.0", deploy2));
+    }
+
+    @Test
+    public void fingerprintShallChangeWithContentAndVersion() throws Exception {
+        File deploy1 = deploy("deploy1", "Hello");
+        File deploy2 = deploy("deploy2", "Hallo");
+        ne(RythmView.fingerprint("1.0", deploy1), RythmView.fingerprint("1.0", deploy2));
+        ne(RythmView.fingerprint("1.0", deploy1), RythmView.fingerprint("1.1", deploy1));
+    }
+
+    private File deploy(String name, String template) throws Exception {
+        File root = folder.newFolder(name);
+        File file = new File(root, "app/index.html");
+        yes(file.getParentFile().mkdirs());
+        IO.writeContent(template, file);
+        return root;
+    }
+
+}